@@ -6,7 +6,14 @@
  */
 package com.farao_community.farao.core_cc_post_processing.app;
 
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ArtifactStoreConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.CompressionConfiguration;
 import com.farao_community.farao.core_cc_post_processing.app.configuration.CoreCCPostProcessingConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.DownloadConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.UploadConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.WorkspaceConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -15,7 +22,7 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 /**
  * @author Ameni Walha {@literal <ameni.walha at rte-france.com>}
  */
-@EnableConfigurationProperties({CoreCCPostProcessingConfiguration.class})
+@EnableConfigurationProperties({CoreCCPostProcessingConfiguration.class, ExecutionConfiguration.class, CompressionConfiguration.class, WorkspaceConfiguration.class, UploadConfiguration.class, StorageConfiguration.class, DownloadConfiguration.class, ArtifactStoreConfiguration.class})
 @EnableWebMvc
 @SuppressWarnings("hideutilityclassconstructor")
 @SpringBootApplication
@@ -7,7 +7,10 @@
 package com.farao_community.farao.core_cc_post_processing.app;
 
 import com.farao_community.farao.core_cc_post_processing.app.configuration.CoreCCPostProcessingConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.services.HourlyPrecomputationService;
+import com.farao_community.farao.core_cc_post_processing.app.util.IntervalUtil;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -18,14 +21,20 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -38,11 +47,20 @@ public class CoreCCPostProcessingHandler {
     private final CoreCCPostProcessingConfiguration coreCCPostProcessingConfiguration;
     private final RestTemplateBuilder restTemplateBuilder;
     private final PostProcessingService postProcessingService;
+    private final HourlyPrecomputationService hourlyPrecomputationService;
+    // a single thread, so that provisional publications never overlap each other nor the cleanup of the final run
+    private final ScheduledExecutorService provisionalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "provisional-publication");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<LocalDate, ScheduledFuture<?>> pendingProvisionalPublications = new ConcurrentHashMap<>();
 
-    public CoreCCPostProcessingHandler(CoreCCPostProcessingConfiguration coreCCPostProcessingConfiguration, RestTemplateBuilder restTemplateBuilder, PostProcessingService postProcessingService) {
+    public CoreCCPostProcessingHandler(CoreCCPostProcessingConfiguration coreCCPostProcessingConfiguration, RestTemplateBuilder restTemplateBuilder, PostProcessingService postProcessingService, HourlyPrecomputationService hourlyPrecomputationService) {
         this.coreCCPostProcessingConfiguration = coreCCPostProcessingConfiguration;
         this.restTemplateBuilder = restTemplateBuilder;
         this.postProcessingService = postProcessingService;
+        this.hourlyPrecomputationService = hourlyPrecomputationService;
     }
 
     /**
@@ -56,20 +74,27 @@ public class CoreCCPostProcessingHandler {
     }
 
     /**
-     * Launch processTasks if all tasks associated to localDate are finished
+     * Launch processTasks if all tasks associated to localDate are finished,
+     * otherwise schedule processProvisionalTasks in background if provisional publication is enabled
      */
     void postProcessFinishedTasks(TaskDto taskDtoUpdated) {
         try {
             if (taskDtoUpdated.getStatus().isOver()) {
+                // Per-hour work of daily outputs is done as soon as the hour succeeds, end of day processing then only assembles it
+                hourlyPrecomputationService.precompute(taskDtoUpdated);
                 // propagate in logs MDC the task id as an extra field to be able to match microservices logs with calculation tasks.
                 // This should be done only once, as soon as the information to add in mdc is available.
-                LocalDate localDate = taskDtoUpdated.getTimestamp().atZoneSameInstant(ZoneId.of("CET")).toLocalDate();
+                LocalDate localDate = IntervalUtil.getBusinessDate(taskDtoUpdated.getTimestamp());
                 if (checkIfAllHourlyTasksAreFinished(localDate)) {
                     Set<TaskDto> taskDtoForBusinessDate = getAllTaskDtoForBusinessDate(localDate);
                     // Only perform post processing if a task from local date was updated
                     if (taskDtoForBusinessDate.stream().map(TaskDto::getId).anyMatch(uuid -> uuid.equals(taskDtoUpdated.getId()))) {
+                        cancelProvisionalPublication(localDate);
                         postProcessingService.processTasks(localDate, taskDtoForBusinessDate, getLogsForTask(taskDtoForBusinessDate));
+                        hourlyPrecomputationService.clearPrecomputedResults(localDate);
                     }
+                } else if (coreCCPostProcessingConfiguration.isProvisionalPublicationEnabled()) {
+                    scheduleProvisionalPublication(localDate);
                 }
             }
         } catch (Exception e) {
@@ -77,6 +102,55 @@ public class CoreCCPostProcessingHandler {
         }
     }
 
+    /**
+     * Publish provisional outputs of a business day once the debounce delay is over, together with the updates received meanwhile,
+     * so that a burst of finished hours leads to a single publication instead of one per hour
+     */
+    private void scheduleProvisionalPublication(LocalDate localDate) {
+        // the publication removes its own entry, which waits for computeIfAbsent to have stored it
+        pendingProvisionalPublications.computeIfAbsent(localDate, date -> provisionalExecutor.schedule(
+                () -> publishProvisionalOutputs(date),
+                coreCCPostProcessingConfiguration.getProvisionalDebounce().toMillis(),
+                TimeUnit.MILLISECONDS));
+    }
+
+    private void publishProvisionalOutputs(LocalDate localDate) {
+        // updates received from now on need another publication
+        pendingProvisionalPublications.remove(localDate);
+        try {
+            Set<TaskDto> taskDtoForBusinessDate = getAllTaskDtoForBusinessDate(localDate);
+            if (!taskDtoForBusinessDate.isEmpty()) {
+                postProcessingService.processProvisionalTasks(localDate, taskDtoForBusinessDate);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Could not publish provisional outputs of business day {}", localDate, e);
+        }
+    }
+
+    /**
+     * Drop the pending provisional publication of a business day and wait for a running one,
+     * so that no provisional output is written once final outputs are being published
+     */
+    private void cancelProvisionalPublication(LocalDate localDate) {
+        ScheduledFuture<?> pendingPublication = pendingProvisionalPublications.remove(localDate);
+        if (pendingPublication != null) {
+            pendingPublication.cancel(false);
+        }
+        try {
+            provisionalExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting for provisional publication of business day {}", localDate, e);
+        } catch (ExecutionException e) {
+            LOGGER.warn("Could not wait for provisional publication of business day {}", localDate, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        provisionalExecutor.shutdownNow();
+    }
+
     /**
      * Gather all finished tasks associated to localDate by requesting TaskManager
      * A task is finished when TaskStats::isOver is true
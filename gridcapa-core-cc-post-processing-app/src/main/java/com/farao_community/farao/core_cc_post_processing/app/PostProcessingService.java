@@ -10,6 +10,13 @@ import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPos
 import com.farao_community.farao.core_cc_post_processing.app.services.CoreCCMetadataGenerator;
 import com.farao_community.farao.core_cc_post_processing.app.services.DailyF303Generator;
 import com.farao_community.farao.core_cc_post_processing.app.services.F305XmlGenerator;
+import com.farao_community.farao.core_cc_post_processing.app.services.MinioFolderCleaner;
+import com.farao_community.farao.core_cc_post_processing.app.services.PostProcessingStage;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunCheckpoint;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunCheckpointService;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunPerformanceRecorder;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunPerformanceReport;
+import com.farao_community.farao.core_cc_post_processing.app.services.StorageBulkhead;
 import com.farao_community.farao.core_cc_post_processing.app.services.ZipAndUploadService;
 import com.farao_community.farao.core_cc_post_processing.app.util.NamingRules;
 import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
@@ -24,16 +31,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -50,18 +61,46 @@ import static com.farao_community.farao.core_cc_post_processing.app.util.RaoMeta
 public class PostProcessingService {
     private static final Logger LOGGER = LoggerFactory.getLogger(PostProcessingService.class);
     public static final String OUTPUTS_DIR = "RAO_OUTPUTS_DIR/";
+    public static final String PROVISIONAL_DIR = "/provisional";
+    private static final String PERFORMANCE_REPORT_PATH = "%s/report/performance-report.json";
     private final MinioAdapter minioAdapter;
     private final ZipAndUploadService zipAndUploadService;
-    private final RaoMetadata raoMetadata = new RaoMetadata();
+    private final RunCheckpointService runCheckpointService;
+    private final DailyF303Generator dailyF303Generator;
+    private final RunPerformanceRecorder runPerformanceRecorder;
+    private final StorageBulkhead storageBulkhead;
+    private final MinioFolderCleaner minioFolderCleaner;
 
     public PostProcessingService(MinioAdapter minioAdapter,
-                                 ZipAndUploadService zipAndUploadService) {
+                                 ZipAndUploadService zipAndUploadService,
+                                 RunCheckpointService runCheckpointService,
+                                 DailyF303Generator dailyF303Generator,
+                                 RunPerformanceRecorder runPerformanceRecorder,
+                                 StorageBulkhead storageBulkhead,
+                                 MinioFolderCleaner minioFolderCleaner) {
         this.minioAdapter = minioAdapter;
         this.zipAndUploadService = zipAndUploadService;
+        this.runCheckpointService = runCheckpointService;
+        this.dailyF303Generator = dailyF303Generator;
+        this.runPerformanceRecorder = runPerformanceRecorder;
+        this.storageBulkhead = storageBulkhead;
+        this.minioFolderCleaner = minioFolderCleaner;
     }
 
     public void processTasks(LocalDate localDate, Set<TaskDto> tasksToPostProcess, List<byte[]> logList) {
         String outputsTargetMinioFolder = generateTargetMinioFolder(localDate);
+        // figures are recorded on this thread only, provisional publication and precomputation running meanwhile are left out
+        final RunPerformanceRecorder.Run run = runPerformanceRecorder.startRun(localDate);
+        boolean completed = false;
+        try {
+            processAllStages(localDate, tasksToPostProcess, logList, outputsTargetMinioFolder);
+            completed = true;
+        } finally {
+            uploadPerformanceReport(outputsTargetMinioFolder, runPerformanceRecorder.finishRun(run, completed));
+        }
+    }
+
+    private void processAllStages(LocalDate localDate, Set<TaskDto> tasksToPostProcess, List<byte[]> logList, String outputsTargetMinioFolder) {
         // Fetch hourly outputs generated by core-cc runner
         Map<TaskDto, ProcessFileDto> cnePerTask = new HashMap<>();
         Map<TaskDto, ProcessFileDto> cgmPerTask = new HashMap<>();
@@ -70,11 +109,85 @@ public class PostProcessingService {
         fillMapsOfOutputs(tasksToPostProcess, cnePerTask, cgmPerTask, metadataPerTask, raoResultPerTask);
         //get version of outputs or default to 1
         final int outputFileVersion = getOutputFileVersion(tasksToPostProcess);
+        // Resume from the first incomplete stage if a previous run with the same inputs was interrupted
+        final String inputsFingerprint = RunCheckpointService.computeInputsFingerprint(tasksToPostProcess, logList);
+        final Optional<RunCheckpoint> checkpoint = runCheckpointService.loadCheckpoint(outputsTargetMinioFolder, inputsFingerprint);
+        final Set<PostProcessingStage> completedStages = EnumSet.noneOf(PostProcessingStage.class);
+        checkpoint.map(RunCheckpoint::completedStages).ifPresent(completedStages::addAll);
+        if (!completedStages.isEmpty()) {
+            LOGGER.info("Resuming post-processing of business day {}, stages {} were already completed", localDate, completedStages);
+        }
+        // Metadata are needed by several stages, they are always fetched
+        final long metadataStart = System.nanoTime();
+        Map<UUID, CoreCCMetadata> metadataMap = fetchMetadataFromMinio(metadataPerTask);
+        // A resumed run keeps the daily metadata of the interrupted one, so that e.g. its OutputsSendingInstant is the same in every output
+        final RaoMetadata raoMetadata = checkpoint.map(RunCheckpoint::raoMetadata)
+                .orElseGet(() -> generateRaoMetadata(metadataMap));
+        runPerformanceRecorder.recordStageWallTime("METADATA", Duration.ofNanos(System.nanoTime() - metadataStart));
         // Generate outputs
         //Rao Result files to one zip
-        zipAndUploadService.zipRaoResultsAndSendToOutputs(outputsTargetMinioFolder, raoResultPerTask, localDate);
+        runStage(PostProcessingStage.RAO_RESULTS, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> zipAndUploadService.zipRaoResultsAndSendToOutputs(outputsTargetMinioFolder, raoResultPerTask, localDate));
         // -- F341 : metadata file
+        runStage(PostProcessingStage.F341, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> uploadF341(outputsTargetMinioFolder, metadataMap, raoMetadata, outputFileVersion));
+        // -- F342 : zipped logs
+        runStage(PostProcessingStage.F342, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> zipAndUploadService.zipAndUploadLogs(logList, NamingRules.generateZippedLogsName(raoMetadata.getRaoRequestInstant(), outputsTargetMinioFolder, outputFileVersion)));
+        // -- F304 : cgms
+        runStage(PostProcessingStage.F304, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> zipAndUploadService.zipCgmsAndSendToOutputs(outputsTargetMinioFolder, cgmPerTask, localDate, raoMetadata.getCorrelationId(), raoMetadata.getOutputsSendingInstant(), raoMetadata.getTimeInterval(), outputFileVersion));
+        // -- F299 : cnes
+        runStage(PostProcessingStage.F299, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> zipAndUploadService.zipCnesAndSendToOutputs(outputsTargetMinioFolder, cnePerTask, localDate, outputFileVersion));
+        // -- F303 : flowBasedConstraintDocument
+        runStage(PostProcessingStage.F303, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> zipAndUploadService.uploadF303ToMinio(dailyF303Generator.generate(raoResultPerTask, cgmPerTask), outputsTargetMinioFolder, localDate, outputFileVersion));
+        // -- F305 : RaoResponse
+        runStage(PostProcessingStage.F305, outputsTargetMinioFolder, inputsFingerprint, raoMetadata, completedStages,
+                () -> zipAndUploadService.uploadF305ToMinio(outputsTargetMinioFolder, F305XmlGenerator.generateRaoResponse(tasksToPostProcess, cgmPerTask, localDate, raoMetadata.getCorrelationId(), raoMetadata.getOutputsSendingInstant(), metadataMap, raoMetadata.getTimeInterval()), localDate, outputFileVersion));
+        runCheckpointService.markRunCompleted(outputsTargetMinioFolder, inputsFingerprint, raoMetadata);
+        // Provisional outputs are superseded by the final ones
+        minioFolderCleaner.deleteFolder(outputsTargetMinioFolder + PROVISIONAL_DIR);
+        LOGGER.info("All outputs were uploaded");
+    }
+
+    /**
+     * Publish interim F341, F303 and F305 for the hours already computed, before every hour of the business day is over.
+     * Hours not computed yet are reported as not yet available in F305, final outputs are still generated by processTasks,
+     * which then deletes the provisional ones.
+     */
+    public void processProvisionalTasks(LocalDate localDate, Set<TaskDto> tasksOfBusinessDate) {
+        String provisionalTargetMinioFolder = generateTargetMinioFolder(localDate) + PROVISIONAL_DIR;
+        Set<TaskDto> finishedTasks = tasksOfBusinessDate.stream()
+                .filter(taskDto -> taskDto.getStatus().isOver())
+                .collect(Collectors.toSet());
+        Map<TaskDto, ProcessFileDto> cgmPerTask = new HashMap<>();
+        Map<TaskDto, ProcessFileDto> metadataPerTask = new HashMap<>();
+        Map<TaskDto, ProcessFileDto> raoResultPerTask = new HashMap<>();
+        fillMapsOfOutputs(finishedTasks, new HashMap<>(), cgmPerTask, metadataPerTask, raoResultPerTask);
+        if (metadataPerTask.isEmpty()) {
+            LOGGER.info("No hour of business day {} is computed yet, no provisional outputs to publish", localDate);
+            return;
+        }
+        final int outputFileVersion = getOutputFileVersion(finishedTasks);
         Map<UUID, CoreCCMetadata> metadataMap = fetchMetadataFromMinio(metadataPerTask);
+        final RaoMetadata raoMetadata = generateRaoMetadata(metadataMap);
+        // -- F341 : metadata file
+        uploadF341(provisionalTargetMinioFolder, metadataMap, raoMetadata, outputFileVersion);
+        // -- F303 : flowBasedConstraintDocument, only hours with a RAO result are part of it
+        if (!raoResultPerTask.isEmpty()) {
+            zipAndUploadService.uploadF303ToMinio(dailyF303Generator.generate(raoResultPerTask, cgmPerTask), provisionalTargetMinioFolder, localDate, outputFileVersion);
+        }
+        // -- F305 : RaoResponse
+        zipAndUploadService.uploadF305ToMinio(provisionalTargetMinioFolder, F305XmlGenerator.generateProvisionalRaoResponse(tasksOfBusinessDate, cgmPerTask, localDate, raoMetadata.getCorrelationId(), raoMetadata.getOutputsSendingInstant(), metadataMap, raoMetadata.getTimeInterval()), localDate, outputFileVersion);
+        LOGGER.info("Provisional outputs of business day {} were uploaded for {} finished hours", localDate, finishedTasks.size());
+    }
+
+    private void uploadF341(final String outputsTargetMinioFolder,
+                            final Map<UUID, CoreCCMetadata> metadataMap,
+                            final RaoMetadata raoMetadata,
+                            final int outputFileVersion) {
         try {
             // Only write metadata for timestamps with a RaoRequestInstant defined
             zipAndUploadService.uploadF341ToMinio(outputsTargetMinioFolder,
@@ -88,18 +201,33 @@ public class PostProcessingService {
             LOGGER.error(errorMessage);
             throw new CoreCCPostProcessingInternalException("Could not generate metadata file", e);
         }
+    }
 
-        // -- F342 : zipped logs
-        zipAndUploadService.zipAndUploadLogs(logList, NamingRules.generateZippedLogsName(raoMetadata.getRaoRequestInstant(), outputsTargetMinioFolder, outputFileVersion));
-        // -- F304 : cgms
-        zipAndUploadService.zipCgmsAndSendToOutputs(outputsTargetMinioFolder, cgmPerTask, localDate, raoMetadata.getCorrelationId(), raoMetadata.getTimeInterval(), outputFileVersion);
-        // -- F299 : cnes
-        zipAndUploadService.zipCnesAndSendToOutputs(outputsTargetMinioFolder, cnePerTask, localDate, outputFileVersion);
-        // -- F303 : flowBasedConstraintDocument
-        zipAndUploadService.uploadF303ToMinio(new DailyF303Generator(minioAdapter).generate(raoResultPerTask, cgmPerTask), outputsTargetMinioFolder, localDate, outputFileVersion);
-        // -- F305 : RaoResponse
-        zipAndUploadService.uploadF305ToMinio(outputsTargetMinioFolder, F305XmlGenerator.generateRaoResponse(tasksToPostProcess, cgmPerTask, localDate, raoMetadata.getCorrelationId(), metadataMap, raoMetadata.getTimeInterval()), localDate, outputFileVersion);
-        LOGGER.info("All outputs were uploaded");
+    private void runStage(final PostProcessingStage stage,
+                          final String outputsTargetMinioFolder,
+                          final String inputsFingerprint,
+                          final RaoMetadata raoMetadata,
+                          final Set<PostProcessingStage> completedStages,
+                          final Runnable stageProcessing) {
+        if (completedStages.contains(stage)) {
+            LOGGER.info("Stage {} was completed by a previous run, skipping it", stage);
+            return;
+        }
+        final long stageStart = System.nanoTime();
+        stageProcessing.run();
+        runPerformanceRecorder.recordStageWallTime(stage.name(), Duration.ofNanos(System.nanoTime() - stageStart));
+        completedStages.add(stage);
+        runCheckpointService.saveCompletedStages(outputsTargetMinioFolder, inputsFingerprint, completedStages, raoMetadata);
+    }
+
+    private void uploadPerformanceReport(final String outputsTargetMinioFolder, final RunPerformanceReport report) {
+        final String reportPath = String.format(PERFORMANCE_REPORT_PATH, outputsTargetMinioFolder);
+        // The report is only a diagnosis aid, it must not fail the run itself
+        try (final InputStream reportInputStream = new ByteArrayInputStream(new ObjectMapper().writeValueAsBytes(report))) {
+            minioAdapter.uploadArtifact(reportPath, reportInputStream);
+        } catch (final Exception e) {
+            LOGGER.warn("Could not upload performance report at {}", reportPath, e);
+        }
     }
 
     private static int getOutputFileVersion(final Set<TaskDto> tasksToPostProcess) {
@@ -137,8 +265,7 @@ public class PostProcessingService {
         Map<UUID, CoreCCMetadata> metadataMap = new HashMap<>();
         metadatas
                 .forEach((key, value) -> {
-                    InputStream inputStream = minioAdapter.getFileFromFullPath(value.getFilePath());
-                    try {
+                    try (InputStream inputStream = runPerformanceRecorder.countDownload(storageBulkhead.read(() -> minioAdapter.getFileFromFullPath(value.getFilePath())))) {
                         CoreCCMetadata coreCCMetadata = new ObjectMapper().readValue(IOUtils.toString(inputStream, StandardCharsets.UTF_8), CoreCCMetadata.class);
                         metadataMap.put(key.getId(), coreCCMetadata);
                     } catch (IOException e) {
@@ -158,7 +285,14 @@ public class PostProcessingService {
         if (metadataMap.values().stream().map(CoreCCMetadata::getCorrelationId).collect(Collectors.toSet()).size() > 1) {
             throw new CoreCCPostProcessingInternalException("Wrong correlationId in metadata");
         }
-        // Define raoMetadata attributes
+        return metadataMap;
+    }
+
+    /**
+     * Daily metadata of the outputs, aggregated from the metadata of each hour
+     */
+    private static RaoMetadata generateRaoMetadata(final Map<UUID, CoreCCMetadata> metadataMap) {
+        final RaoMetadata raoMetadata = new RaoMetadata();
         raoMetadata.setStatus(generateOverallStatus(metadataMap.values().stream().map(CoreCCMetadata::getStatus).collect(Collectors.toSet())));
         raoMetadata.setTimeInterval(metadataMap.values().stream().map(CoreCCMetadata::getTimeInterval).collect(Collectors.toSet()).iterator().next());
         raoMetadata.setRequestReceivedInstant(getFirstInstant(metadataMap.values().stream().map(CoreCCMetadata::getRequestReceivedInstant).collect(Collectors.toSet())));
@@ -170,7 +304,7 @@ public class PostProcessingService {
         raoMetadata.setComputationStartInstant(getFirstInstant(metadataMap.values().stream().map(CoreCCMetadata::getComputationStart).filter(Objects::nonNull).collect(Collectors.toSet())));
         raoMetadata.setComputationEndInstant(getLastInstant(metadataMap.values().stream().map(CoreCCMetadata::getComputationEnd).filter(Objects::nonNull).collect(Collectors.toSet())));
         raoMetadata.setRaoRequestInstant(getLastInstant(metadataMap.values().stream().map(CoreCCMetadata::getRaoRequestInstant).filter(Objects::nonNull).collect(Collectors.toSet())));
-        return metadataMap;
+        return raoMetadata;
     }
 
 }
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+/**
+ * Archives uploaded as outputs of the daily post-processing
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public enum ArchiveType {
+    CGMS,
+    CNES,
+    RAO_RESULTS,
+    LOGS
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Memory holding the raw artifacts downloaded during a run until they are parsed. Off heap by default, uncompressed unless compressed is set.
+ * Buffers released at the end of runs are kept up to the pooled size for the next runs.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.artifact-store")
+public class ArtifactStoreConfiguration {
+    static final int DEFAULT_BUFFER_SIZE_BYTES = 1024 * 1024;
+    static final long DEFAULT_POOLED_BYTES = 256L * 1024 * 1024;
+
+    private final Boolean offHeap;
+    private final Boolean compressed;
+    private final Long pooledBytes;
+
+    public ArtifactStoreConfiguration(Boolean offHeap, Boolean compressed, Long pooledBytes) {
+        this.offHeap = offHeap;
+        this.compressed = compressed;
+        this.pooledBytes = pooledBytes;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap == null || offHeap;
+    }
+
+    public boolean isCompressed() {
+        return compressed != null && compressed;
+    }
+
+    public int getBufferSizeBytes() {
+        return DEFAULT_BUFFER_SIZE_BYTES;
+    }
+
+    /**
+     * Number of released buffers kept for the next runs, 0 to disable pooling
+     */
+    public int getMaxPooledBuffers() {
+        final long configuredBytes = pooledBytes != null && pooledBytes >= 0 ? pooledBytes : DEFAULT_POOLED_BYTES;
+        return (int) Math.min(Integer.MAX_VALUE, configuredBytes / getBufferSizeBytes());
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.CompressionPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compression policy of each output archive. Archives without policy, and unset values of a policy,
+ * are deflated with the compression level of the execution configuration.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.compression")
+public class CompressionConfiguration {
+    private static final CompressionPolicy UNSET_POLICY = new CompressionPolicy(null, null, null);
+
+    private final Map<ArchiveType, CompressionPolicy> archives = new EnumMap<>(ArchiveType.class);
+
+    public CompressionConfiguration(Map<ArchiveType, CompressionPolicy> archives) {
+        if (archives != null) {
+            this.archives.putAll(archives);
+        }
+    }
+
+    public boolean hasPolicy(ArchiveType archive) {
+        return archives.containsKey(archive);
+    }
+
+    public CompressionPolicy getPolicy(ArchiveType archive, int defaultLevel) {
+        return archives.getOrDefault(archive, UNSET_POLICY).withDefaults(defaultLevel);
+    }
+}
@@ -8,17 +8,23 @@ package com.farao_community.farao.core_cc_post_processing.app.configuration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
  */
 @ConfigurationProperties("core-cc-post-processing")
 public class CoreCCPostProcessingConfiguration {
+    static final Duration DEFAULT_PROVISIONAL_DEBOUNCE = Duration.ofMinutes(1);
+
     private final UrlProperties url;
     private final ProcessProperties process;
+    private final ProvisionalProperties provisional;
 
-    public CoreCCPostProcessingConfiguration(UrlProperties url, ProcessProperties process) {
+    public CoreCCPostProcessingConfiguration(UrlProperties url, ProcessProperties process, ProvisionalProperties provisional) {
         this.url = url;
         this.process = process;
+        this.provisional = provisional;
     }
 
     public UrlProperties getUrl() {
@@ -29,9 +35,34 @@ public class CoreCCPostProcessingConfiguration {
         return process;
     }
 
+    public ProvisionalProperties getProvisional() {
+        return provisional;
+    }
+
+    /**
+     * Provisional publication is disabled unless explicitly enabled in configuration
+     */
+    public boolean isProvisionalPublicationEnabled() {
+        return provisional != null && provisional.enabled();
+    }
+
+    /**
+     * Delay during which the task updates of a business day are gathered into a single provisional publication
+     */
+    public Duration getProvisionalDebounce() {
+        return provisional != null && provisional.debounce() != null ? provisional.debounce() : DEFAULT_PROVISIONAL_DEBOUNCE;
+    }
+
     public record UrlProperties(String taskManagerTimestampUrl, String taskManagerBusinessDateUrl) {
     }
 
     public record ProcessProperties(String tag, String timezone) {
     }
+
+    /**
+     * @param enabled  publish interim daily outputs for the finished hours before every hour of the business day is over
+     * @param debounce delay between the first task update and the publication, later updates of the same business day being published with it
+     */
+    public record ProvisionalProperties(boolean enabled, Duration debounce) {
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Download of large inputs in byte ranges fetched concurrently. Disabled unless ranged is set,
+ * inputs are then read from MinIO as a single stream.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.download")
+public class DownloadConfiguration {
+    static final long MIN_RANGE_SIZE_BYTES = 1024L * 1024;
+    static final long DEFAULT_RANGE_SIZE_BYTES = 8L * 1024 * 1024;
+    static final long MAX_RANGE_SIZE_BYTES = 256L * 1024 * 1024;
+    static final int DEFAULT_PARALLELISM = 4;
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final Boolean ranged;
+    private final Long rangeSizeBytes;
+    private final Long minRangedSizeBytes;
+    private final Integer parallelism;
+    private final Integer maxAttempts;
+
+    public DownloadConfiguration(Boolean ranged, Long rangeSizeBytes, Long minRangedSizeBytes, Integer parallelism, Integer maxAttempts) {
+        this.ranged = ranged;
+        this.rangeSizeBytes = rangeSizeBytes;
+        this.minRangedSizeBytes = minRangedSizeBytes;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public boolean isRanged() {
+        return ranged != null && ranged;
+    }
+
+    /**
+     * Size of every range but the last, between 1 MB and 256 MB
+     */
+    public int getRangeSizeBytes() {
+        final long configuredSize = rangeSizeBytes != null ? rangeSizeBytes : DEFAULT_RANGE_SIZE_BYTES;
+        return (int) Math.min(MAX_RANGE_SIZE_BYTES, Math.max(MIN_RANGE_SIZE_BYTES, configuredSize));
+    }
+
+    /**
+     * Size from which an input is downloaded in ranges, smaller inputs are read as a single stream. At least two ranges
+     */
+    public long getMinRangedSizeBytes() {
+        return Math.max(2L * getRangeSizeBytes(), minRangedSizeBytes != null ? minRangedSizeBytes : 0);
+    }
+
+    /**
+     * Number of ranges downloaded at the same time, which is also the number of ranges of an input held in memory ahead of its reading
+     */
+    public int getParallelism() {
+        return parallelism != null && parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+    }
+
+    /**
+     * Number of times a range is fetched before the download of its input fails
+     */
+    public int getMaxAttempts() {
+        return maxAttempts != null && maxAttempts > 0 ? maxAttempts : DEFAULT_MAX_ATTEMPTS;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.zip.Deflater;
+
+/**
+ * Tuning of the daily post-processing execution. Unset values fall back to the ones of the selected profile,
+ * {@link ExecutionProfile#BALANCED} if no profile is selected.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.execution")
+public class ExecutionConfiguration {
+    static final ExecutionProfile DEFAULT_PROFILE = ExecutionProfile.BALANCED;
+
+    private final ExecutionProfile profile;
+    private final Boolean streamingIo;
+    private final Integer parallelism;
+    private final Integer prefetchDepth;
+    private final Integer cacheSize;
+    private final Integer compressionLevel;
+
+    public ExecutionConfiguration(ExecutionProfile profile, Boolean streamingIo, Integer parallelism, Integer prefetchDepth, Integer cacheSize, Integer compressionLevel) {
+        this.profile = profile;
+        this.streamingIo = streamingIo;
+        this.parallelism = parallelism;
+        this.prefetchDepth = prefetchDepth;
+        this.cacheSize = cacheSize;
+        this.compressionLevel = compressionLevel;
+    }
+
+    public static ExecutionConfiguration forProfile(ExecutionProfile profile) {
+        return new ExecutionConfiguration(profile, null, null, null, null, null);
+    }
+
+    public ExecutionProfile getProfile() {
+        return profile != null ? profile : DEFAULT_PROFILE;
+    }
+
+    /**
+     * True if archives are written straight in workspace files before being uploaded, false if they are built in memory up to the spill threshold
+     */
+    public boolean isStreamingIo() {
+        return streamingIo != null ? streamingIo : getProfile().isStreamingIo();
+    }
+
+    /**
+     * Number of threads of the background work: hourly precomputation and downloads ahead of daily F303 generation
+     */
+    public int getParallelism() {
+        final int configuredParallelism = parallelism != null ? parallelism : getProfile().getParallelism();
+        return configuredParallelism > ExecutionProfile.ALL_CORES ? configuredParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Number of hours whose CGM and RAO result are downloaded ahead of the hour being computed in daily F303 generation, 0 to disable
+     */
+    public int getPrefetchDepth() {
+        return Math.max(0, prefetchDepth != null ? prefetchDepth : getProfile().getPrefetchDepth());
+    }
+
+    /**
+     * Number of hours whose precomputed F303 info and compressed CGM are kept, until their business day is post-processed, 0 to disable precomputation
+     */
+    public int getCacheSize() {
+        return Math.max(0, cacheSize != null ? cacheSize : getProfile().getCacheSize());
+    }
+
+    /**
+     * Deflate level of the archives, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public int getCompressionLevel() {
+        final int configuredLevel = compressionLevel != null ? compressionLevel : getProfile().getCompressionLevel();
+        return configuredLevel >= Deflater.NO_COMPRESSION && configuredLevel <= Deflater.BEST_COMPRESSION ? configuredLevel : Deflater.DEFAULT_COMPRESSION;
+    }
+}
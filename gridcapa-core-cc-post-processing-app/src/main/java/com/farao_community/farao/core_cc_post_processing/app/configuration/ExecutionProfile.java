@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import java.util.zip.Deflater;
+
+/**
+ * Consistent sets of execution settings, from small pods where memory is scarce to large pods where throughput matters
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public enum ExecutionProfile {
+    /**
+     * Archives are written in workspace files before being uploaded, nothing is downloaded ahead or kept between hours
+     */
+    LOW_MEMORY(true, 1, 0, 0, Deflater.DEFAULT_COMPRESSION),
+    /**
+     * Archives are written in workspace files before being uploaded and one hour is downloaded ahead, nothing is precomputed nor kept between runs.
+     * Hourly precomputation is opted in by setting a cache size, 25 to keep every hour of the business day
+     */
+    BALANCED(true, 1, 1, 0, Deflater.DEFAULT_COMPRESSION),
+    /**
+     * Archives are built in memory with fast compression, all cores are used, two hours are downloaded ahead
+     * and the hours of the business day are precomputed as soon as they succeed
+     */
+    HIGH_THROUGHPUT(false, ExecutionProfile.ALL_CORES, 2, ExecutionProfile.HOURS_OF_LONGEST_BUSINESS_DAY, Deflater.BEST_SPEED);
+
+    static final int ALL_CORES = 0;
+    // the business day of the switch back from daylight saving time lasts 25 hours
+    static final int HOURS_OF_LONGEST_BUSINESS_DAY = 25;
+
+    private final boolean streamingIo;
+    private final int parallelism;
+    private final int prefetchDepth;
+    private final int cacheSize;
+    private final int compressionLevel;
+
+    ExecutionProfile(boolean streamingIo, int parallelism, int prefetchDepth, int cacheSize, int compressionLevel) {
+        this.streamingIo = streamingIo;
+        this.parallelism = parallelism;
+        this.prefetchDepth = prefetchDepth;
+        this.cacheSize = cacheSize;
+        this.compressionLevel = compressionLevel;
+    }
+
+    boolean isStreamingIo() {
+        return streamingIo;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    int getCacheSize() {
+        return cacheSize;
+    }
+
+    int getCompressionLevel() {
+        return compressionLevel;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the requests sent to MinIO at the same time, reads and writes being limited separately.
+ * The number of requests adapts between its minimum and maximum to the latency observed against the target.
+ * Reads can be hedged, a second request being sent when the first byte of a file is late.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.storage")
+public class StorageConfiguration {
+    static final int DEFAULT_MIN_CONCURRENT_REQUESTS = 2;
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 512L * 1024 * 1024;
+    static final long DEFAULT_LATENCY_TARGET_MILLIS = 2000;
+    static final double DEFAULT_HEDGE_PERCENTILE = 95;
+    static final long DEFAULT_HEDGE_INITIAL_DELAY_MILLIS = 1000;
+    static final int DEFAULT_MAX_READ_ATTEMPTS = 3;
+
+    private final Integer minConcurrentRequests;
+    private final Integer maxConcurrentRequests;
+    private final Long maxInFlightBytes;
+    private final Long latencyTargetMillis;
+    private final Boolean hedgedReads;
+    private final Double hedgePercentile;
+    private final Long hedgeInitialDelayMillis;
+    private final Integer maxReadAttempts;
+
+    public StorageConfiguration(Integer minConcurrentRequests, Integer maxConcurrentRequests, Long maxInFlightBytes, Long latencyTargetMillis,
+                                Boolean hedgedReads, Double hedgePercentile, Long hedgeInitialDelayMillis, Integer maxReadAttempts) {
+        this.minConcurrentRequests = minConcurrentRequests;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.latencyTargetMillis = latencyTargetMillis;
+        this.hedgedReads = hedgedReads;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeInitialDelayMillis = hedgeInitialDelayMillis;
+        this.maxReadAttempts = maxReadAttempts;
+    }
+
+    public int getMinConcurrentRequests() {
+        return minConcurrentRequests != null && minConcurrentRequests > 0 ? minConcurrentRequests : DEFAULT_MIN_CONCURRENT_REQUESTS;
+    }
+
+    /**
+     * Starting limit of requests, at least the minimum
+     */
+    public int getMaxConcurrentRequests() {
+        return Math.max(getMinConcurrentRequests(), maxConcurrentRequests != null ? maxConcurrentRequests : DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Bytes of the writes in flight, a write larger than that is sent alone
+     */
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes != null && maxInFlightBytes > 0 ? maxInFlightBytes : DEFAULT_MAX_IN_FLIGHT_BYTES;
+    }
+
+    /**
+     * Latency of a request, per MiB for writes, above which the limit is reduced
+     */
+    public Duration getLatencyTarget() {
+        return Duration.ofMillis(latencyTargetMillis != null && latencyTargetMillis > 0 ? latencyTargetMillis : DEFAULT_LATENCY_TARGET_MILLIS);
+    }
+
+    /**
+     * Reads are hedged and retried only when enabled, they are sent once otherwise
+     */
+    public boolean isHedgedReads() {
+        return Boolean.TRUE.equals(hedgedReads);
+    }
+
+    /**
+     * Percentile of the recent first byte latencies after which a read is hedged
+     */
+    public double getHedgePercentile() {
+        return hedgePercentile != null && hedgePercentile > 0 && hedgePercentile <= 100 ? hedgePercentile : DEFAULT_HEDGE_PERCENTILE;
+    }
+
+    /**
+     * Delay after which a read is hedged, until enough latencies are known
+     */
+    public Duration getHedgeInitialDelay() {
+        return Duration.ofMillis(hedgeInitialDelayMillis != null && hedgeInitialDelayMillis > 0 ? hedgeInitialDelayMillis : DEFAULT_HEDGE_INITIAL_DELAY_MILLIS);
+    }
+
+    public int getMaxReadAttempts() {
+        return maxReadAttempts != null && maxReadAttempts > 0 ? maxReadAttempts : DEFAULT_MAX_READ_ATTEMPTS;
+    }
+}
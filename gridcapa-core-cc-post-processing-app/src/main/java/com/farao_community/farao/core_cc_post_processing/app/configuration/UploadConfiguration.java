@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Upload of large outputs in parts sent concurrently. Disabled unless multipart is set,
+ * outputs are then sent to MinIO as a single stream.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.upload")
+public class UploadConfiguration {
+    static final long MIN_PART_SIZE_BYTES = 5L * 1024 * 1024;
+    static final long DEFAULT_PART_SIZE_BYTES = 16L * 1024 * 1024;
+    static final long MAX_PART_SIZE_BYTES = 1024L * 1024 * 1024;
+    static final int DEFAULT_PARALLELISM = 4;
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final Boolean multipart;
+    private final Long partSizeBytes;
+    private final Integer parallelism;
+    private final Integer maxInFlightParts;
+    private final Integer maxAttempts;
+
+    public UploadConfiguration(Boolean multipart, Long partSizeBytes, Integer parallelism, Integer maxInFlightParts, Integer maxAttempts) {
+        this.multipart = multipart;
+        this.partSizeBytes = partSizeBytes;
+        this.parallelism = parallelism;
+        this.maxInFlightParts = maxInFlightParts;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public boolean isMultipart() {
+        return multipart != null && multipart;
+    }
+
+    /**
+     * Size of every part but the last, between the 5 MB minimum of MinIO and 1 GB. Outputs smaller than a part are sent as a single stream
+     */
+    public int getPartSizeBytes() {
+        final long configuredSize = partSizeBytes != null ? partSizeBytes : DEFAULT_PART_SIZE_BYTES;
+        return (int) Math.min(MAX_PART_SIZE_BYTES, Math.max(MIN_PART_SIZE_BYTES, configuredSize));
+    }
+
+    /**
+     * Number of parts of an output uploaded at the same time
+     */
+    public int getParallelism() {
+        return parallelism != null && parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+    }
+
+    /**
+     * Number of parts of an output held in memory at the same time, uploaded or waiting for their upload, at least the parallelism
+     */
+    public int getMaxInFlightParts() {
+        return Math.max(getParallelism(), maxInFlightParts != null ? maxInFlightParts : 2 * getParallelism());
+    }
+
+    /**
+     * Number of times a part is sent before the upload of its output fails
+     */
+    public int getMaxAttempts() {
+        return maxAttempts != null && maxAttempts > 0 ? maxAttempts : DEFAULT_MAX_ATTEMPTS;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Local disk space used by runs for their temporary files, e.g. a tmpfs mount.
+ * Without root, a folder of the JVM temporary directory is used. Without quota, disk usage is not limited.
+ * Outputs buffered before their upload are kept in memory up to the spill threshold, then written to the workspace.
+ * The memory chunks of discarded outputs are kept in a pool up to the buffer pool size, to be reused by the next outputs.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ConfigurationProperties("core-cc-post-processing.workspace")
+public class WorkspaceConfiguration {
+    static final String DEFAULT_ROOT_NAME = "core-cc-post-processing";
+    static final int DEFAULT_SPILL_THRESHOLD_BYTES = 16 * 1024 * 1024;
+    static final long DEFAULT_BUFFER_POOL_BYTES = 64L * 1024 * 1024;
+
+    private final String root;
+    private final Long quotaBytes;
+    private final Integer spillThresholdBytes;
+    private final Long bufferPoolBytes;
+
+    public WorkspaceConfiguration(String root, Long quotaBytes, Integer spillThresholdBytes, Long bufferPoolBytes) {
+        this.root = root;
+        this.quotaBytes = quotaBytes;
+        this.spillThresholdBytes = spillThresholdBytes;
+        this.bufferPoolBytes = bufferPoolBytes;
+    }
+
+    public Path getRoot() {
+        return root != null && !root.isBlank() ? Path.of(root) : Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_ROOT_NAME);
+    }
+
+    public long getQuotaBytes() {
+        return quotaBytes != null && quotaBytes > 0 ? quotaBytes : Long.MAX_VALUE;
+    }
+
+    public int getSpillThresholdBytes() {
+        return spillThresholdBytes != null && spillThresholdBytes >= 0 ? spillThresholdBytes : DEFAULT_SPILL_THRESHOLD_BYTES;
+    }
+
+    /**
+     * Memory kept by the buffer pool, 0 to disable pooling
+     */
+    public long getBufferPoolBytes() {
+        return bufferPoolBytes != null && bufferPoolBytes >= 0 ? bufferPoolBytes : DEFAULT_BUFFER_POOL_BYTES;
+    }
+}
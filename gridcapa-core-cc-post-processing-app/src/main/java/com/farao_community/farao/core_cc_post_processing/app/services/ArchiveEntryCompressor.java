@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ArchiveType;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.CompressionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.CompressedZipEntry;
+import com.farao_community.farao.core_cc_post_processing.app.util.ParallelZipWriter;
+import com.farao_community.farao.core_cc_post_processing.app.util.PipedUpload;
+import com.farao_community.farao.core_cc_post_processing.app.util.RawZipWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compresses the entries of each output archive with the policy configured for it,
+ * and measures the compression ratio achieved per archive type.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class ArchiveEntryCompressor {
+    static final String UNCOMPRESSED_BYTES_METRIC = "core-cc-post-processing.archive.uncompressed.bytes";
+    static final String COMPRESSED_BYTES_METRIC = "core-cc-post-processing.archive.compressed.bytes";
+    static final String COMPRESSION_RATIO_METRIC = "core-cc-post-processing.archive.compression.ratio";
+    private static final String ARCHIVE_TAG = "archive";
+
+    private final ExecutionConfiguration executionConfiguration;
+    private final CompressionConfiguration compressionConfiguration;
+    private final MeterRegistry meterRegistry;
+    private final CompressionExecutor compressionExecutor;
+
+    public ArchiveEntryCompressor(final ExecutionConfiguration executionConfiguration,
+                                  final CompressionConfiguration compressionConfiguration,
+                                  final MeterRegistry meterRegistry,
+                                  final CompressionExecutor compressionExecutor) {
+        this.executionConfiguration = executionConfiguration;
+        this.compressionConfiguration = compressionConfiguration;
+        this.meterRegistry = meterRegistry;
+        this.compressionExecutor = compressionExecutor;
+    }
+
+    /**
+     * Writer of an archive whose entries are compressed on the threads shared by all archives
+     */
+    public ParallelZipWriter newZipWriter(final OutputStream outputStream) {
+        return new ParallelZipWriter(outputStream, compressionExecutor, compressionExecutor.getParallelism());
+    }
+
+    public CompressedZipEntry compress(final ArchiveType archive,
+                                       final String name,
+                                       final PipedUpload.ContentWriter content) throws IOException {
+        return record(archive, CompressedZipEntry.compress(name, content,
+                compressionConfiguration.getPolicy(archive, executionConfiguration.getCompressionLevel())));
+    }
+
+    /**
+     * Compress a large entry straight into its archive, with the policy configured for the archive
+     */
+    public void writeEntry(final ArchiveType archive,
+                           final ParallelZipWriter zipWriter,
+                           final String name,
+                           final PipedUpload.ContentWriter content) throws IOException {
+        final RawZipWriter.WrittenEntry entry = zipWriter.writeEntry(name, content,
+                compressionConfiguration.getPolicy(archive, executionConfiguration.getCompressionLevel()));
+        record(archive, entry.size(), entry.compressedSize());
+    }
+
+    /**
+     * Entries that are already compressed are copied as is, unless a compression policy is configured for their archive
+     */
+    public boolean copiesCompressedEntries(final ArchiveType archive) {
+        return !compressionConfiguration.hasPolicy(archive);
+    }
+
+    /**
+     * Measure the compression of an entry added to an archive
+     */
+    public CompressedZipEntry record(final ArchiveType archive, final CompressedZipEntry entry) {
+        record(archive, entry.size(), entry.compressedSize());
+        return entry;
+    }
+
+    private void record(final ArchiveType archive, final long size, final long compressedSize) {
+        final String archiveName = archive.name();
+        meterRegistry.counter(UNCOMPRESSED_BYTES_METRIC, ARCHIVE_TAG, archiveName).increment(size);
+        meterRegistry.counter(COMPRESSED_BYTES_METRIC, ARCHIVE_TAG, archiveName).increment(compressedSize);
+        if (compressedSize > 0) {
+            DistributionSummary.builder(COMPRESSION_RATIO_METRIC)
+                    .description("Uncompressed size of an archive entry divided by its compressed size")
+                    .tag(ARCHIVE_TAG, archiveName)
+                    .register(meterRegistry)
+                    .record((double) size / compressedSize);
+        }
+    }
+}
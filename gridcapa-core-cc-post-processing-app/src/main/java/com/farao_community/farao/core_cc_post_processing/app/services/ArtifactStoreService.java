@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ArtifactStoreConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.ByteBufferPool;
+import com.farao_community.farao.core_cc_post_processing.app.util.RunBlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Opens the blob stores holding the raw artifacts of runs, all of them sharing the same pool of buffers.
+ * Stores are closed at the end of their run, giving their buffers back to the pool.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class ArtifactStoreService {
+    static final String USED_BYTES_METRIC = "core-cc-post-processing.artifact-store.used.bytes";
+    static final String POOLED_BYTES_METRIC = "core-cc-post-processing.artifact-store.pooled.bytes";
+    static final String RAW_BYTES_METRIC = "core-cc-post-processing.artifact-store.raw.bytes";
+    static final String STORED_BYTES_METRIC = "core-cc-post-processing.artifact-store.stored.bytes";
+
+    private final boolean compressed;
+    private final ByteBufferPool pool;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    public ArtifactStoreService(final ArtifactStoreConfiguration artifactStoreConfiguration, final MeterRegistry meterRegistry) {
+        this.compressed = artifactStoreConfiguration.isCompressed();
+        this.pool = new ByteBufferPool(artifactStoreConfiguration.getBufferSizeBytes(), artifactStoreConfiguration.getMaxPooledBuffers(),
+                artifactStoreConfiguration.isOffHeap());
+        final String memory = pool.isDirect() ? "off-heap" : "heap";
+        Gauge.builder(USED_BYTES_METRIC, pool, ByteBufferPool::getUsedBytes)
+                .description("Memory holding the artifacts of the running runs")
+                .tag("memory", memory)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(POOLED_BYTES_METRIC, pool, ByteBufferPool::getPooledBytes)
+                .description("Memory of the artifact buffers kept for the next runs")
+                .tag("memory", memory)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.rawBytes = Counter.builder(RAW_BYTES_METRIC)
+                .description("Size of the artifacts stored")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.storedBytes = Counter.builder(STORED_BYTES_METRIC)
+                .description("Memory taken by the artifacts stored, once compressed if enabled")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Blob store of a run, to be closed at the end of the run
+     */
+    public RunBlobStore open() {
+        return new RunBlobStore(pool, compressed, (raw, stored) -> {
+            rawBytes.increment(raw);
+            storedBytes.increment(stored);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.CompressedZipEntry;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CGMs compressed as soon as their task succeeded, so that F304 is assembled by copying them as is.
+ * Entries are keyed by the path and modification date of the CGM they were compressed from.
+ * At most the configured cache size is kept, and the entries of a business day are evicted once it is post-processed.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class CompressedCgmStore {
+    private final Map<String, StoredEntry> entries;
+
+    private record StoredEntry(LocalDate businessDate, CompressedZipEntry entry) {
+    }
+
+    public CompressedCgmStore(final ExecutionConfiguration executionConfiguration) {
+        final int capacity = executionConfiguration.getCacheSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, StoredEntry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized void put(final LocalDate businessDate, final ProcessFileDto cgm, final CompressedZipEntry entry) {
+        entries.put(key(cgm), new StoredEntry(businessDate, entry));
+    }
+
+    public synchronized boolean contains(final ProcessFileDto cgm) {
+        return entries.containsKey(key(cgm));
+    }
+
+    public synchronized Optional<CompressedZipEntry> get(final ProcessFileDto cgm) {
+        return Optional.ofNullable(entries.get(key(cgm))).map(StoredEntry::entry);
+    }
+
+    synchronized void evict(final LocalDate businessDate) {
+        entries.values().removeIf(storedEntry -> storedEntry.businessDate().equals(businessDate));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static String key(final ProcessFileDto cgm) {
+        return cgm.getFilePath() + "@" + cgm.getLastModificationDate();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads compressing the entries of all the archives written at once. Its queue is bounded:
+ * once it is full, the thread giving an entry compresses it itself instead of queuing more work.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class CompressionExecutor implements Executor {
+    private final int parallelism;
+    private final ThreadPoolExecutor executor;
+
+    public CompressionExecutor(final ExecutionConfiguration executionConfiguration) {
+        this.parallelism = executionConfiguration.getParallelism();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(4 * parallelism), runnable -> {
+                    final Thread thread = new Thread(runnable, "archive-compression-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, rejectingExecutor) -> {
+                    if (rejectingExecutor.isShutdown()) {
+                        throw new RejectedExecutionException("Compression executor is shut down");
+                    }
+                    runnable.run();
+                });
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * Number of entries compressed at once
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
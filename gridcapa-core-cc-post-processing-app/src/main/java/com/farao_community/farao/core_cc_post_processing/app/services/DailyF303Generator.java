@@ -6,11 +6,14 @@
  */
 package com.farao_community.farao.core_cc_post_processing.app.services;
 
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
 import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
 import com.farao_community.farao.core_cc_post_processing.app.util.IntervalUtil;
+import com.farao_community.farao.core_cc_post_processing.app.util.RunBlobStore;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
-import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
 import com.powsybl.openrao.data.crac.api.parameters.CracCreationParameters;
 import com.powsybl.openrao.data.crac.api.parameters.JsonCracCreationParameters;
 import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.FlowBasedConstraintDocument;
@@ -19,16 +22,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.threeten.extra.Interval;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
-import static com.farao_community.farao.core_cc_post_processing.app.util.CracUtil.getBytesFromInputStream;
 import static com.farao_community.farao.core_cc_post_processing.app.util.CracUtil.importNativeCrac;
 
 /**
@@ -43,51 +51,129 @@ public class DailyF303Generator {
 
     public static final String CRAC_CREATION_PARAMETERS_JSON = "/crac/cracCreationParameters.json";
     private static final Logger LOGGER = LoggerFactory.getLogger(DailyF303Generator.class);
-    private final MinioAdapter minioAdapter;
+    private final RangedDownloadService rangedDownloadService;
+    private final HourlyF303InfoStore hourlyF303InfoStore;
+    private final ExecutionConfiguration executionConfiguration;
+    private final RunPerformanceRecorder runPerformanceRecorder;
+    private final ArtifactStoreService artifactStoreService;
+    private final NativeCracCache nativeCracCache = new NativeCracCache();
 
-    public DailyF303Generator(MinioAdapter minioAdapter) {
-        this.minioAdapter = minioAdapter;
+    public DailyF303Generator(RangedDownloadService rangedDownloadService, HourlyF303InfoStore hourlyF303InfoStore, ExecutionConfiguration executionConfiguration,
+                              RunPerformanceRecorder runPerformanceRecorder, ArtifactStoreService artifactStoreService) {
+        this.rangedDownloadService = rangedDownloadService;
+        this.hourlyF303InfoStore = hourlyF303InfoStore;
+        this.executionConfiguration = executionConfiguration;
+        this.runPerformanceRecorder = runPerformanceRecorder;
+        this.artifactStoreService = artifactStoreService;
     }
 
     public FlowBasedConstraintDocument generate(Map<TaskDto, ProcessFileDto> raoResults, Map<TaskDto, ProcessFileDto> cgms) {
-        String cracFilePath = raoResults.keySet().stream()
-            .findFirst().orElseThrow()
-            .getInputs()
-            .stream().filter(processFileDto -> processFileDto.getFileType().equals("CBCORA"))
-            .findFirst().orElseThrow(() -> new CoreCCPostProcessingInternalException("task dto missing cbcora file"))
-            .getFilePath();
+        ProcessFileDto cracFile = getCracFile(raoResults.keySet().stream().findFirst().orElseThrow());
         CracCreationParameters cracCreationParameters = getCimCracCreationParameters();
-        try (final InputStream cracXmlInputStream = minioAdapter.getFileFromFullPath(cracFilePath)) {
-            final byte[] cracXmlBytes = getBytesFromInputStream(cracXmlInputStream);
+        // the CRAC is read once per hour, it is loaded in chunks sized to fit it. Its download is over before the hourly files are read,
+        // it never holds a storage request slot they wait for
+        // hourly files are downloaded by the prefetching threads, counted in the run of this thread
+        final UnaryOperator<InputStream> downloadCounter = runPerformanceRecorder.downloadCounter();
+        try (final ChunkedByteBuffer cracXml = rangedDownloadService.load(cracFile.getFilePath(), downloadCounter)) {
             final FlowBasedConstraintDocument flowBasedConstraintDocument;
-            try (final InputStream firstUseStream = new ByteArrayInputStream(cracXmlBytes)) {
+            try (final InputStream firstUseStream = cracXml.openInputStream()) {
                 flowBasedConstraintDocument = importNativeCrac(firstUseStream);
             }
-            // generate F303Info for each hour of the initial CRAC
+            // generate F303Info for each hour of the initial CRAC, reusing the ones precomputed when their task succeeded
             Map<Integer, Interval> positionMap = IntervalUtil.getPositionsMap(flowBasedConstraintDocument.getConstraintTimeInterval().getV());
-            List<HourlyF303Info> hourlyF303Infos = new ArrayList<>();
-            positionMap.values().forEach(interval -> {
-                Optional<TaskDto> taskDtoOptional =  getTaskDtoOfInterval(interval, raoResults.keySet());
-                if (taskDtoOptional.isPresent()) {
-                    TaskDto taskDto = taskDtoOptional.get();
-                    try (final InputStream tempCracXmlInputStream = new ByteArrayInputStream(cracXmlBytes)) {
-                        hourlyF303Infos.add(new HourlyF303InfoGenerator(flowBasedConstraintDocument, interval, taskDto, minioAdapter, cracCreationParameters)
+            Map<Interval, TaskDto> taskPerInterval = new LinkedHashMap<>();
+            positionMap.values().forEach(interval -> getTaskDtoOfInterval(interval, raoResults.keySet()).ifPresentOrElse(
+                taskDto -> taskPerInterval.put(interval, taskDto),
+                () -> LOGGER.warn(String.format("Cannot find taskDto for interval %s", interval))));
+            Map<Interval, HourlyF303Info> precomputedInfos = new HashMap<>();
+            List<Interval> intervalsToCompute = new ArrayList<>();
+            taskPerInterval.forEach((interval, taskDto) -> hourlyF303InfoStore.get(HourlyF303InfoStore.key(taskDto, cracFile, raoResults.get(taskDto), cgms.get(taskDto)))
+                .ifPresentOrElse(info -> precomputedInfos.put(interval, info), () -> intervalsToCompute.add(interval)));
+            // files of the hours to compute are downloaded ahead, while previous hours are being computed, and held off heap until parsed
+            List<List<ProcessFileDto>> filesPerHour = intervalsToCompute.stream()
+                .map(taskPerInterval::get)
+                .map(taskDto -> Stream.of(cgms.get(taskDto), raoResults.get(taskDto)).filter(Objects::nonNull).toList())
+                .toList();
+            try (RunBlobStore blobStore = artifactStoreService.open();
+                 HourlyFilesPrefetcher prefetcher = new HourlyFilesPrefetcher(
+                    filePath -> downloadCounter.apply(rangedDownloadService.open(filePath)), blobStore, filesPerHour,
+                    executionConfiguration.getPrefetchDepth(), executionConfiguration.getParallelism())) {
+                for (int hourIndex = 0; hourIndex < intervalsToCompute.size(); hourIndex++) {
+                    prefetcher.startHour(hourIndex);
+                    Interval interval = intervalsToCompute.get(hourIndex);
+                    TaskDto taskDto = taskPerInterval.get(interval);
+                    final long hourStart = System.nanoTime();
+                    try (final InputStream tempCracXmlInputStream = cracXml.openInputStream()) {
+                        precomputedInfos.put(interval, new HourlyF303InfoGenerator(flowBasedConstraintDocument, interval, taskDto, prefetcher::open, cracCreationParameters)
                                 .generate(raoResults.get(taskDto), cgms.get(taskDto), tempCracXmlInputStream));
-                    } catch (final IOException e) {
-                        throw new CoreCCPostProcessingInternalException("Exception occurred during F303 file creation", e);
                     }
-                } else {
-                    LOGGER.warn(String.format("Cannot find taskDto for interval %s", interval));
+                    runPerformanceRecorder.recordHourlyF303WallTime(interval.toString(), Duration.ofNanos(System.nanoTime() - hourStart));
                 }
-            });
+            }
+            List<HourlyF303Info> hourlyF303Infos = taskPerInterval.keySet().stream().map(precomputedInfos::get).toList();
 
             // gather hourly info in one common document, cluster the elements that can be clusterized
-            return new DailyF303Clusterizer(hourlyF303Infos, flowBasedConstraintDocument).generateClusterizedDocument();
+            final FlowBasedConstraintDocument dailyFlowBasedConstraintDocument = new DailyF303Clusterizer(hourlyF303Infos, flowBasedConstraintDocument).generateClusterizedDocument();
+            runPerformanceRecorder.recordF303Content(dailyFlowBasedConstraintDocument.getCriticalBranches().getCriticalBranch().size(),
+                    dailyFlowBasedConstraintDocument.getComplexVariants().getComplexVariant().size());
+            return dailyFlowBasedConstraintDocument;
         } catch (Exception e) {
             throw new CoreCCPostProcessingInternalException("Exception occurred during F303 file creation", e);
         }
     }
 
+    /**
+     * Compute and store the hourly F303 info of a successful task, so that daily generation only has to cluster it
+     */
+    public void precomputeHourlyInfo(TaskDto taskDto) throws IOException {
+        Optional<ProcessFileDto> raoResultFile = getValidatedOutput(taskDto, "RAO_RESULT");
+        Optional<ProcessFileDto> cgmFile = getValidatedOutput(taskDto, "CGM_OUT");
+        if (raoResultFile.isEmpty() || cgmFile.isEmpty()) {
+            return;
+        }
+        ProcessFileDto cracFile = getCracFile(taskDto);
+        String key = HourlyF303InfoStore.key(taskDto, cracFile, raoResultFile.get(), cgmFile.get());
+        if (hourlyF303InfoStore.contains(key)) {
+            return;
+        }
+        LocalDate businessDate = IntervalUtil.getBusinessDate(taskDto.getTimestamp());
+        // hours of a business day share the same CBCORA, it is only downloaded and imported by the first one
+        final NativeCracCache.NativeCrac nativeCrac = nativeCracCache.get(businessDate, cracFile, filePath -> rangedDownloadService.load(filePath, UnaryOperator.identity()));
+        Optional<Interval> interval = IntervalUtil.getPositionsMap(nativeCrac.document().getConstraintTimeInterval().getV()).values().stream()
+            .filter(hourInterval -> hourInterval.contains(taskDto.getTimestamp().toInstant()))
+            .findFirst();
+        if (interval.isEmpty()) {
+            LOGGER.warn(String.format("Cannot find interval of taskDto %s", taskDto.getTimestamp()));
+            return;
+        }
+        try (final InputStream cracXmlInputStream = nativeCrac.openXml()) {
+            hourlyF303InfoStore.put(businessDate, key, new HourlyF303InfoGenerator(nativeCrac.document(), interval.get(), taskDto, rangedDownloadService::open, getCimCracCreationParameters())
+                    .generate(raoResultFile.get(), cgmFile.get(), cracXmlInputStream));
+        }
+        LOGGER.info("F303 info of task {} precomputed", taskDto.getTimestamp());
+    }
+
+    /**
+     * Drop the hourly F303 infos and the CRAC kept by precomputation for a business day, once it is post-processed
+     */
+    public void clearPrecomputedInfos(LocalDate businessDate) {
+        hourlyF303InfoStore.evict(businessDate);
+        nativeCracCache.evict(businessDate);
+    }
+
+    private static ProcessFileDto getCracFile(TaskDto taskDto) {
+        return taskDto.getInputs()
+            .stream().filter(processFileDto -> processFileDto.getFileType().equals("CBCORA"))
+            .findFirst().orElseThrow(() -> new CoreCCPostProcessingInternalException("task dto missing cbcora file"));
+    }
+
+    private static Optional<ProcessFileDto> getValidatedOutput(TaskDto taskDto, String fileType) {
+        return taskDto.getOutputs().stream()
+            .filter(processFileDto -> processFileDto.getProcessFileStatus() == ProcessFileStatus.VALIDATED)
+            .filter(processFileDto -> processFileDto.getFileType().equals(fileType))
+            .findFirst();
+    }
+
     private Optional<TaskDto> getTaskDtoOfInterval(Interval interval, Set<TaskDto> taskDtos) {
         return taskDtos.stream().filter(taskDto -> interval.contains(taskDto.getTimestamp().toInstant())).findFirst();
     }
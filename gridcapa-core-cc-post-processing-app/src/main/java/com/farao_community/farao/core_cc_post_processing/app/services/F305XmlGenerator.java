@@ -25,12 +25,7 @@ import org.springframework.stereotype.Service;
 import org.threeten.extra.Interval;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -60,14 +55,19 @@ public final class F305XmlGenerator {
     public static final String RECEIVER_ID = "17XTSO-CS------W";
     public static final String INTERNAL_EXCEPTION = "500-InternalException";
     public static final String NO_OUTPUT_AVAILABLE = "No output available";
+    public static final String NOT_YET_AVAILABLE = "NOT_YET_AVAILABLE";
+    public static final String HOUR_NOT_COMPUTED_YET = "Hour not computed yet";
 
     private F305XmlGenerator() {
     }
 
-    public static ResponseMessageType generateRaoResponse(Set<TaskDto> taskDtos, Map<TaskDto, ProcessFileDto> cgmPerTask, LocalDate localDate, String correlationId, Map<UUID, CoreCCMetadata> metadataMap, String timeInterval) {
+    /**
+     * @param timestamp creation instant of the response, the instant the outputs of the business day are sent
+     */
+    public static ResponseMessageType generateRaoResponse(Set<TaskDto> taskDtos, Map<TaskDto, ProcessFileDto> cgmPerTask, LocalDate localDate, String correlationId, String timestamp, Map<UUID, CoreCCMetadata> metadataMap, String timeInterval) {
         try {
             ResponseMessageType responseMessage = new ResponseMessageType();
-            generateRaoResponseHeader(responseMessage, localDate, correlationId);
+            generateRaoResponseHeader(responseMessage, localDate, correlationId, timestamp);
             generateRaoResponsePayLoad(taskDtos, cgmPerTask, responseMessage, localDate, metadataMap, timeInterval);
             return responseMessage;
         } catch (Exception e) {
@@ -75,24 +75,41 @@ public final class F305XmlGenerator {
         }
     }
 
-    public static void generateCgmXmlHeaderFile(Set<TaskDto> taskDtos, String cgmsTempDirPath, LocalDate localDate, String correlationId, String timeInterval) {
+    /**
+     * F305 published before every hour of the business day is over, hours still being computed are reported as not yet available
+     */
+    public static ResponseMessageType generateProvisionalRaoResponse(Set<TaskDto> taskDtos, Map<TaskDto, ProcessFileDto> cgmPerTask, LocalDate localDate, String correlationId, String timestamp, Map<UUID, CoreCCMetadata> metadataMap, String timeInterval) {
         try {
             ResponseMessageType responseMessage = new ResponseMessageType();
-            generateCgmXmlHeaderFileHeader(responseMessage, localDate, correlationId);
+            generateRaoResponseHeader(responseMessage, localDate, correlationId, timestamp);
+            generateRaoResponsePayLoad(taskDtos, cgmPerTask, responseMessage, localDate, metadataMap, timeInterval, true);
+            return responseMessage;
+        } catch (Exception e) {
+            throw new CoreCCPostProcessingInternalException("Error occurred during provisional F305 file creation", e);
+        }
+    }
+
+    /**
+     * Marshall CGM_XML_HEADER directly into a stream, e.g. its entry in the F304 archive. The stream is left open
+     */
+    public static void writeCgmXmlHeader(Set<TaskDto> taskDtos, LocalDate localDate, String correlationId, String timestamp, String timeInterval, OutputStream outputStream) {
+        try {
+            ResponseMessageType responseMessage = new ResponseMessageType();
+            generateCgmXmlHeaderFileHeader(responseMessage, localDate, correlationId, timestamp);
             generateCgmXmlHeaderFilePayLoad(taskDtos, responseMessage, timeInterval);
-            exportCgmXmlHeaderFile(responseMessage, cgmsTempDirPath);
+            JaxbUtil.marshallMessageAndSetJaxbProperties(responseMessage, outputStream);
         } catch (Exception e) {
             throw new CoreCCPostProcessingInternalException("Error occurred during CGM_XML_HEADER creation", e);
         }
     }
 
-    private static void generateRaoResponseHeader(ResponseMessageType responseMessage, LocalDate localDate, String correlationId) throws DatatypeConfigurationException {
+    private static void generateRaoResponseHeader(ResponseMessageType responseMessage, LocalDate localDate, String correlationId, String timestamp) throws DatatypeConfigurationException {
         HeaderType header = new HeaderType();
         header.setVerb("created");
         header.setNoun("OptimizedRemedialActions");
         header.setRevision(String.valueOf(1));
         header.setContext("PRODUCTION");
-        header.setTimestamp(DatatypeFactory.newInstance().newXMLGregorianCalendar(Instant.now().toString()));
+        header.setTimestamp(DatatypeFactory.newInstance().newXMLGregorianCalendar(timestamp));
         header.setSource(SENDER_ID);
         header.setAsyncReplyFlag(false);
         header.setAckRequired(false);
@@ -102,7 +119,7 @@ public final class F305XmlGenerator {
         responseMessage.setHeader(header);
     }
 
-    private static void generateCgmXmlHeaderFileHeader(ResponseMessageType responseMessage, LocalDate localDate, String correlationId) throws DatatypeConfigurationException {
+    private static void generateCgmXmlHeaderFileHeader(ResponseMessageType responseMessage, LocalDate localDate, String correlationId, String timestamp) throws DatatypeConfigurationException {
         HeaderType header = new HeaderType();
         header.setVerb("created");
         header.setNoun("OptimizedCommonGridModel");
@@ -110,7 +127,7 @@ public final class F305XmlGenerator {
         header.setRevision(String.valueOf(1));
         header.setSource(SENDER_ID);
         header.setReplyAddress(RECEIVER_ID);
-        header.setTimestamp(DatatypeFactory.newInstance().newXMLGregorianCalendar(Instant.now().toString()));
+        header.setTimestamp(DatatypeFactory.newInstance().newXMLGregorianCalendar(timestamp));
         header.setCorrelationID(correlationId);
 
         //need to save this MessageID and reuse in rao response
@@ -121,6 +138,10 @@ public final class F305XmlGenerator {
     }
 
     private static void generateRaoResponsePayLoad(Set<TaskDto> taskDtos, Map<TaskDto, ProcessFileDto> cgmPerTask, ResponseMessageType responseMessage, LocalDate localDate, Map<UUID, CoreCCMetadata> metadataMap, String timeInterval) {
+        generateRaoResponsePayLoad(taskDtos, cgmPerTask, responseMessage, localDate, metadataMap, timeInterval, false);
+    }
+
+    private static void generateRaoResponsePayLoad(Set<TaskDto> taskDtos, Map<TaskDto, ProcessFileDto> cgmPerTask, ResponseMessageType responseMessage, LocalDate localDate, Map<UUID, CoreCCMetadata> metadataMap, String timeInterval, boolean provisional) {
         ResponseItems responseItems = new ResponseItems();
         responseItems.setTimeInterval(timeInterval);
         taskDtos.stream().sorted(Comparator.comparing(TaskDto::getTimestamp))
@@ -132,7 +153,9 @@ public final class F305XmlGenerator {
                     responseItem.setTimeInterval(IntervalUtil.formatIntervalInUtc(interval));
                     boolean includeResponseItem = true;
 
-                    if (taskDto.getStatus().equals(TaskStatus.ERROR)) {
+                    if (provisional && !taskDto.getStatus().isOver()) {
+                        fillFailedHours(responseItem, NOT_YET_AVAILABLE, HOUR_NOT_COMPUTED_YET, false);
+                    } else if (taskDto.getStatus().equals(TaskStatus.ERROR)) {
                         if (!metadataMap.containsKey(taskDto.getId())) {
                             fillFailedHours(responseItem, INTERNAL_EXCEPTION, NO_OUTPUT_AVAILABLE, true);
                         } else if (StringUtils.equals(metadataMap.get(taskDto.getId()).getErrorMessage(), "Missing raoRequest")) {
@@ -232,22 +255,4 @@ public final class F305XmlGenerator {
         error.setReason(errorMessage);
         responseItem.setError(error);
     }
-
-    private static void exportCgmXmlHeaderFile(ResponseMessageType responseMessage, String cgmsArchiveTempPath) {
-        try {
-            byte[] responseMessageBytes = JaxbUtil.marshallMessageAndSetJaxbProperties(responseMessage);
-            File targetFile = new File(cgmsArchiveTempPath, NamingRules.CGM_XML_HEADER_FILENAME); //NOSONAR
-
-            if (!Files.exists(targetFile.getParentFile().toPath())) {
-                targetFile.getParentFile().mkdirs();
-            }
-
-            try (InputStream raoResponseIs = new ByteArrayInputStream(responseMessageBytes)) {
-                Files.copy(raoResponseIs, targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            }
-
-        } catch (IOException e) {
-            throw new CoreCCPostProcessingInternalException("Exception occurred during CGM_XML_HEADER Response export.", e);
-        }
-    }
 }
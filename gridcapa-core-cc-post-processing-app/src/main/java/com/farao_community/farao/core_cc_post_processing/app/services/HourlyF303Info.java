@@ -11,6 +11,7 @@ import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.IndependantComplexVaria
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Baptiste Seguinot {@literal <baptiste.seguinot at rte-france.com}
@@ -39,4 +40,13 @@ class HourlyF303Info {
     List<IndependantComplexVariant> getComplexVariants() {
         return complexVariants;
     }
+
+    /**
+     * Copy of the critical branches and complex variants, to be modified without altering this info
+     */
+    HourlyF303Info copy() {
+        return new HourlyF303Info(
+                criticalBranches.stream().map(cb -> (CriticalBranchType) cb.clone()).collect(Collectors.toCollection(ArrayList::new)),
+                complexVariants.stream().map(cv -> (IndependantComplexVariant) cv.clone()).collect(Collectors.toCollection(ArrayList::new)));
+    }
 }
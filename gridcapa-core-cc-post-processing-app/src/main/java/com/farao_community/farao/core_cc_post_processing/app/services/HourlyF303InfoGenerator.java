@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -63,14 +64,21 @@ class HourlyF303InfoGenerator {
     private final FlowBasedConstraintDocument flowBasedConstraintDocument;
     private final Interval interval;
     private final TaskDto taskDto;
-    private final MinioAdapter minioAdapter;
+    private final Function<String, InputStream> fileReader;
     private final CracCreationParameters cracCreationParameters;
 
     HourlyF303InfoGenerator(FlowBasedConstraintDocument flowBasedConstraintDocument, Interval interval, TaskDto taskDto, MinioAdapter minioAdapter, CracCreationParameters cracCreationParameters) {
+        this(flowBasedConstraintDocument, interval, taskDto, minioAdapter::getFileFromFullPath, cracCreationParameters);
+    }
+
+    /**
+     * @param fileReader opens the network and RAO result files from their full path
+     */
+    HourlyF303InfoGenerator(FlowBasedConstraintDocument flowBasedConstraintDocument, Interval interval, TaskDto taskDto, Function<String, InputStream> fileReader, CracCreationParameters cracCreationParameters) {
         this.flowBasedConstraintDocument = flowBasedConstraintDocument;
         this.interval = interval;
         this.taskDto = taskDto;
-        this.minioAdapter = minioAdapter;
+        this.fileReader = fileReader;
         this.cracCreationParameters = cracCreationParameters;
     }
 
@@ -191,7 +199,7 @@ class HourlyF303InfoGenerator {
     }
 
     private Network getNetworkOfTaskDto(ProcessFileDto cgmProcessFile) {
-        try (InputStream networkInputStream = minioAdapter.getFileFromFullPath(cgmProcessFile.getFilePath())) {
+        try (InputStream networkInputStream = fileReader.apply(cgmProcessFile.getFilePath())) {
             return Network.read(cgmProcessFile.getFilename(), networkInputStream);
         } catch (IOException e) {
             throw new CoreCCPostProcessingInternalException(String.format("Cannot import network of task %s", taskDto.getTimestamp()), e);
@@ -199,7 +207,7 @@ class HourlyF303InfoGenerator {
     }
 
     private RaoResult getRaoResultOfTaskDto(Crac crac, ProcessFileDto raoResultProcessFile) {
-        try (InputStream raoResultInputStream = minioAdapter.getFileFromFullPath(raoResultProcessFile.getFilePath())) {
+        try (InputStream raoResultInputStream = fileReader.apply(raoResultProcessFile.getFilePath())) {
             return RaoResult.read(raoResultInputStream, crac);
         } catch (IOException e) {
             throw new CoreCCPostProcessingInternalException(String.format("Cannot import RAO result of hourly RAO response of instant %s", taskDto.getTimestamp()), e);
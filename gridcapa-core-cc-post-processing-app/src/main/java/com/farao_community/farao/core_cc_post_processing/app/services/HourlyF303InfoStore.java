@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hourly F303 infos computed as soon as their task succeeded, so that daily F303 generation only has to cluster them.
+ * Infos are keyed by the files they were computed from, and are handed out as copies since clustering modifies them.
+ * At most the configured cache size is kept, and the infos of a business day are evicted once it is post-processed.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class HourlyF303InfoStore {
+    private final Map<String, StoredInfo> infos;
+
+    private record StoredInfo(LocalDate businessDate, HourlyF303Info hourlyF303Info) {
+    }
+
+    public HourlyF303InfoStore(final ExecutionConfiguration executionConfiguration) {
+        final int capacity = executionConfiguration.getCacheSize();
+        this.infos = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, StoredInfo> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized void put(final LocalDate businessDate, final String key, final HourlyF303Info hourlyF303Info) {
+        infos.put(key, new StoredInfo(businessDate, hourlyF303Info));
+    }
+
+    synchronized boolean contains(final String key) {
+        return infos.containsKey(key);
+    }
+
+    synchronized Optional<HourlyF303Info> get(final String key) {
+        return Optional.ofNullable(infos.get(key)).map(storedInfo -> storedInfo.hourlyF303Info().copy());
+    }
+
+    synchronized void evict(final LocalDate businessDate) {
+        infos.values().removeIf(storedInfo -> storedInfo.businessDate().equals(businessDate));
+    }
+
+    synchronized int size() {
+        return infos.size();
+    }
+
+    static String key(final TaskDto taskDto,
+                      final ProcessFileDto cracFile,
+                      final ProcessFileDto raoResultFile,
+                      final ProcessFileDto cgmFile) {
+        return String.join("|", taskDto.getId().toString(), taskDto.getTimestamp().toString(), fileKey(cracFile), fileKey(raoResultFile), fileKey(cgmFile));
+    }
+
+    private static String fileKey(final ProcessFileDto processFile) {
+        return processFile == null ? "-" : processFile.getFilePath() + "@" + processFile.getLastModificationDate();
+    }
+}
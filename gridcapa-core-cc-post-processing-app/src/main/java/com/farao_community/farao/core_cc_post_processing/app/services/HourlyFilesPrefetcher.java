@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.RunBlobStore;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Downloads the files of the next hours while the current hour is being computed, so that network I/O and CPU overlap.
+ * At most the files of the current hour and of the {@code lookAheadHours} next ones are held in the blob store of the run.
+ * Files that were not prefetched are read directly from MinIO.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class HourlyFilesPrefetcher implements AutoCloseable {
+
+    private final Function<String, InputStream> fileReader;
+    private final RunBlobStore blobStore;
+    private final List<List<ProcessFileDto>> filesPerHour;
+    private final int lookAheadHours;
+    private final ExecutorService downloadExecutor;
+    private final Map<String, Future<?>> downloads = new HashMap<>();
+    private int nextHourToDownload;
+
+    /**
+     * @param fileReader      opens a file from its path in MinIO
+     * @param blobStore       holds the prefetched files until they are opened
+     * @param filesPerHour    files of each hour, in the order hours are computed
+     * @param lookAheadHours  number of hours downloaded ahead of the current one, 0 to disable prefetching
+     * @param downloadThreads number of files downloaded at the same time
+     */
+    HourlyFilesPrefetcher(Function<String, InputStream> fileReader, RunBlobStore blobStore, List<List<ProcessFileDto>> filesPerHour, int lookAheadHours, int downloadThreads) {
+        this.fileReader = fileReader;
+        this.blobStore = blobStore;
+        this.filesPerHour = filesPerHour;
+        this.lookAheadHours = lookAheadHours;
+        this.downloadExecutor = lookAheadHours > 0 ? Executors.newFixedThreadPool(downloadThreads, runnable -> {
+            Thread thread = new Thread(runnable, "hourly-files-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Schedule the download of the given hour and of the next ones within the look-ahead depth
+     */
+    void startHour(int hourIndex) {
+        if (downloadExecutor == null) {
+            return;
+        }
+        int lastHourToDownload = Math.min(hourIndex + lookAheadHours, filesPerHour.size() - 1);
+        for (; nextHourToDownload <= lastHourToDownload; nextHourToDownload++) {
+            filesPerHour.get(nextHourToDownload).forEach(file ->
+                    downloads.put(file.getFilePath(), downloadExecutor.submit(() -> prefetch(file.getFilePath()))));
+        }
+    }
+
+    /**
+     * Open a file, waiting for its download if it was prefetched. Prefetched content is released once its stream is closed.
+     */
+    InputStream open(String filePath) {
+        Future<?> download = downloads.remove(filePath);
+        if (download == null) {
+            return fileReader.apply(filePath);
+        }
+        try {
+            download.get();
+            return blobStore.take(filePath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreCCPostProcessingInternalException(String.format("Interrupted while prefetching file %s", filePath), e);
+        } catch (ExecutionException e) {
+            throw new CoreCCPostProcessingInternalException(String.format("Could not prefetch file %s", filePath), e.getCause());
+        }
+    }
+
+    private Void prefetch(String filePath) throws IOException {
+        try (InputStream inputStream = fileReader.apply(filePath)) {
+            blobStore.put(filePath, inputStream);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        downloads.clear();
+        if (downloadExecutor != null) {
+            downloadExecutor.shutdownNow();
+        }
+    }
+}
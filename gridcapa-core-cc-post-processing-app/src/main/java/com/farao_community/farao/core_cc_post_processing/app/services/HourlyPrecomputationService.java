@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.IntervalUtil;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs in background the per-hour work of the daily outputs as soon as an hour succeeds,
+ * so that end of day post-processing only has to assemble the precomputed results.
+ * A failed precomputation is only logged, the hour is then processed again at the end of the day.
+ * Precomputed results are kept per business day, and evicted once that day is post-processed.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class HourlyPrecomputationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HourlyPrecomputationService.class);
+
+    private final DailyF303Generator dailyF303Generator;
+    private final ZipAndUploadService zipAndUploadService;
+    private final boolean precomputationEnabled;
+    private final ExecutorService precomputationExecutor;
+    private final Map<LocalDate, Set<Precomputation>> pendingPrecomputations = new ConcurrentHashMap<>();
+
+    public HourlyPrecomputationService(DailyF303Generator dailyF303Generator, ZipAndUploadService zipAndUploadService, ExecutionConfiguration executionConfiguration) {
+        this.dailyF303Generator = dailyF303Generator;
+        this.zipAndUploadService = zipAndUploadService;
+        // precomputed results would not be kept without cache
+        this.precomputationEnabled = executionConfiguration.getCacheSize() > 0;
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.precomputationExecutor = Executors.newFixedThreadPool(executionConfiguration.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "hourly-precomputation-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void precompute(TaskDto taskDto) {
+        if (!precomputationEnabled || taskDto.getStatus() != TaskStatus.SUCCESS) {
+            return;
+        }
+        final LocalDate businessDate = IntervalUtil.getBusinessDate(taskDto.getTimestamp());
+        final Set<Precomputation> precomputations = pendingPrecomputations.computeIfAbsent(businessDate, date -> ConcurrentHashMap.newKeySet());
+        final Precomputation precomputation = new Precomputation(() -> runPrecomputation(taskDto));
+        precomputations.add(precomputation);
+        precomputationExecutor.execute(() -> {
+            precomputation.run();
+            precomputations.remove(precomputation);
+        });
+    }
+
+    /**
+     * Drop the precomputed results of a business day once it is post-processed, they are not needed by the next days.
+     * Its precomputations not started yet are cancelled and the running ones are awaited, so that none stores its results once they are dropped.
+     * Results of the other business days are kept.
+     */
+    public void clearPrecomputedResults(LocalDate businessDate) {
+        final Set<Precomputation> precomputations = pendingPrecomputations.remove(businessDate);
+        if (precomputations != null) {
+            try {
+                for (Precomputation precomputation : precomputations) {
+                    precomputation.cancelOrAwait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for precomputations of business day {}", businessDate, e);
+            }
+        }
+        dailyF303Generator.clearPrecomputedInfos(businessDate);
+        zipAndUploadService.clearPrecompressedCgms(businessDate);
+    }
+
+    void runPrecomputation(TaskDto taskDto) {
+        try {
+            dailyF303Generator.precomputeHourlyInfo(taskDto);
+        } catch (Exception e) {
+            LOGGER.warn("Could not precompute F303 info of task {}", taskDto.getTimestamp(), e);
+        }
+        try {
+            zipAndUploadService.precompressCgm(taskDto);
+        } catch (Exception e) {
+            LOGGER.warn("Could not precompress CGM of task {}", taskDto.getTimestamp(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        precomputationExecutor.shutdownNow();
+    }
+
+    /**
+     * Precomputation of an hour, which either runs or is cancelled before it starts
+     */
+    private static final class Precomputation implements Runnable {
+        private final Runnable work;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Precomputation(Runnable work) {
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    work.run();
+                } finally {
+                    done.countDown();
+                }
+            }
+        }
+
+        void cancelOrAwait() throws InterruptedException {
+            if (!claimed.compareAndSet(false, true)) {
+                done.await();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes every object of an output folder, e.g. provisional outputs superseded by the final ones.
+ * Paths are relative to the base path, as given to {@link com.farao_community.farao.minio_adapter.starter.MinioAdapter#uploadOutput}.
+ * Objects left behind only waste storage, so failures are logged and never fail the run.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class MinioFolderCleaner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MinioFolderCleaner.class);
+
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final String basePath;
+    private final StorageBulkhead storageBulkhead;
+
+    public MinioFolderCleaner(final MinioClient minioClient,
+                              final MinioAdapterProperties minioAdapterProperties,
+                              final StorageBulkhead storageBulkhead) {
+        this.minioClient = minioClient;
+        this.bucket = minioAdapterProperties.getBucket();
+        this.basePath = minioAdapterProperties.getBasePath();
+        this.storageBulkhead = storageBulkhead;
+    }
+
+    public void deleteFolder(final String folderPath) {
+        final String prefix = objectName(folderPath) + "/";
+        try {
+            storageBulkhead.write(0, () -> {
+                try {
+                    final List<DeleteObject> objects = new ArrayList<>();
+                    for (final Result<Item> result : minioClient.listObjects(ListObjectsArgs.builder().bucket(bucket).prefix(prefix).recursive(true).build())) {
+                        objects.add(new DeleteObject(result.get().objectName()));
+                    }
+                    if (objects.isEmpty()) {
+                        return;
+                    }
+                    // deletion is lazy, errors must be iterated for the objects to be removed
+                    for (final Result<DeleteError> result : minioClient.removeObjects(RemoveObjectsArgs.builder().bucket(bucket).objects(objects).build())) {
+                        final DeleteError error = result.get();
+                        LOGGER.warn("Object {} of {} could not be deleted: {}", error.objectName(), folderPath, error.message());
+                    }
+                    LOGGER.info("{} objects of {} were deleted", objects.size(), folderPath);
+                } catch (final Exception e) {
+                    throw new IOException(String.format("Objects of %s could not be deleted", folderPath), e);
+                }
+            });
+        } catch (final Exception e) {
+            LOGGER.warn("Objects of {} could not be deleted", folderPath, e);
+        }
+    }
+
+    private String objectName(final String path) {
+        return basePath != null && !basePath.isBlank() ? String.format("%s/%s", basePath, path) : path;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.core_cc_post_processing.app.util.PartStore;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Parts of an output are uploaded as temporary objects next to it, then composed server side into the output and deleted.
+ * Parts of an aborted upload are deleted at once, and parts left behind by a stopped instance are deleted once the application is started,
+ * when they are older than any upload still running.
+ * Outputs are written with the MinIO client directly, so that their user metadata is stored along with them.
+ * Every request waits for its slot in the {@link StorageBulkhead}.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class MinioPartStore implements PartStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MinioPartStore.class);
+    private static final String PART_OBJECT_NAME = "%s.parts/%05d";
+    private static final Pattern PART_OBJECT_PATTERN = Pattern.compile(".+\\.parts/\\d{5}");
+    private static final Duration ORPHAN_PART_AGE = Duration.ofHours(1);
+
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final String basePath;
+    private final StorageBulkhead storageBulkhead;
+
+    public MinioPartStore(final MinioClient minioClient,
+                          final MinioAdapterProperties minioAdapterProperties,
+                          final StorageBulkhead storageBulkhead) {
+        this.minioClient = minioClient;
+        this.bucket = minioAdapterProperties.getBucket();
+        this.basePath = minioAdapterProperties.getBasePath();
+        this.storageBulkhead = storageBulkhead;
+    }
+
+    @Override
+    public void putObject(final String path, final ChunkedByteBuffer content, final Map<String, String> userMetadata) throws IOException {
+        storageBulkhead.write(content.size(), () -> {
+            try (final InputStream inputStream = content.openInputStream()) {
+                minioClient.putObject(PutObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName(path))
+                        .stream(inputStream, content.size(), -1)
+                        .userMetadata(userMetadata)
+                        .build());
+            } catch (final IOException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new IOException(String.format("%s could not be uploaded", path), e);
+            }
+        });
+    }
+
+    @Override
+    public void uploadPart(final String path, final int partNumber, final ChunkedByteBuffer content) throws IOException {
+        storageBulkhead.write(content.size(), () -> putPart(path, partNumber, content));
+    }
+
+    private void putPart(final String path, final int partNumber, final ChunkedByteBuffer content) throws IOException {
+        try (final InputStream inputStream = content.openInputStream()) {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(partObjectName(path, partNumber))
+                    .stream(inputStream, content.size(), -1)
+                    .build());
+        } catch (final IOException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IOException(String.format("Part %d of %s could not be uploaded", partNumber, path), e);
+        }
+    }
+
+    @Override
+    public void complete(final String path, final int partCount, final Map<String, String> userMetadata) throws IOException {
+        final List<ComposeSource> parts = IntStream.rangeClosed(1, partCount)
+                .mapToObj(partNumber -> ComposeSource.builder().bucket(bucket).object(partObjectName(path, partNumber)).build())
+                .toList();
+        storageBulkhead.write(0, () -> {
+            try {
+                minioClient.composeObject(ComposeObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName(path))
+                        .sources(parts)
+                        .userMetadata(userMetadata)
+                        .build());
+            } catch (final Exception e) {
+                throw new IOException(String.format("Parts of %s could not be composed", path), e);
+            }
+        });
+        removeParts(path, partCount);
+    }
+
+    @Override
+    public void abort(final String path, final int partCount) {
+        removeParts(path, partCount);
+    }
+
+    private void removeParts(final String path, final int partCount) {
+        final List<DeleteObject> parts = IntStream.rangeClosed(1, partCount)
+                .mapToObj(partNumber -> new DeleteObject(partObjectName(path, partNumber)))
+                .toList();
+        // parts left behind only waste storage, they must not fail the upload
+        try {
+            for (final Result<DeleteError> result : minioClient.removeObjects(RemoveObjectsArgs.builder().bucket(bucket).objects(parts).build())) {
+                final DeleteError error = result.get();
+                LOGGER.warn("Part {} of {} could not be deleted: {}", error.objectName(), path, error.message());
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Parts of {} could not be deleted", path, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void removeOrphanPartsInBackground() {
+        final Thread thread = new Thread(() -> removeOrphanParts(Instant.now().minus(ORPHAN_PART_AGE)), "orphan-parts-cleanup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Delete the parts last modified before the cutoff, left behind by uploads whose instance stopped before completing or aborting them
+     *
+     * @return number of parts deleted
+     */
+    int removeOrphanParts(final Instant cutoff) {
+        final String prefix = basePath != null && !basePath.isBlank() ? basePath + "/" : "";
+        try {
+            final List<DeleteObject> orphanParts = new ArrayList<>();
+            storageBulkhead.write(0, () -> {
+                try {
+                    for (final Result<Item> result : minioClient.listObjects(ListObjectsArgs.builder().bucket(bucket).prefix(prefix).recursive(true).build())) {
+                        final Item item = result.get();
+                        if (PART_OBJECT_PATTERN.matcher(item.objectName()).matches() && item.lastModified().toInstant().isBefore(cutoff)) {
+                            orphanParts.add(new DeleteObject(item.objectName()));
+                        }
+                    }
+                    if (orphanParts.isEmpty()) {
+                        return;
+                    }
+                    // deletion is lazy, errors must be iterated for the objects to be removed
+                    for (final Result<DeleteError> result : minioClient.removeObjects(RemoveObjectsArgs.builder().bucket(bucket).objects(orphanParts).build())) {
+                        final DeleteError error = result.get();
+                        LOGGER.warn("Orphan part {} could not be deleted: {}", error.objectName(), error.message());
+                    }
+                    LOGGER.info("{} orphan parts of interrupted uploads were deleted", orphanParts.size());
+                } catch (final Exception e) {
+                    throw new IOException("Orphan parts could not be deleted", e);
+                }
+            });
+            return orphanParts.size();
+        } catch (final Exception e) {
+            LOGGER.warn("Orphan parts could not be deleted", e);
+            return 0;
+        }
+    }
+
+    private String objectName(final String path) {
+        return basePath != null && !basePath.isBlank() ? String.format("%s/%s", basePath, path) : path;
+    }
+
+    private String partObjectName(final String path, final int partNumber) {
+        return String.format(PART_OBJECT_NAME, objectName(path), partNumber);
+    }
+}
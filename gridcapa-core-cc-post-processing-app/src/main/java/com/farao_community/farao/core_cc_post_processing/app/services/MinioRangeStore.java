@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.RangeStore;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Ranges of the inputs are read with the MinIO client directly, {@link com.farao_community.farao.minio_adapter.starter.MinioAdapter} only reading whole objects.
+ * Paths are full paths in the bucket, as given to {@code getFileFromFullPath}. Every range waits for its slot in the {@link StorageBulkhead}.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class MinioRangeStore implements RangeStore {
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final StorageBulkhead storageBulkhead;
+
+    public MinioRangeStore(final MinioClient minioClient,
+                           final MinioAdapterProperties minioAdapterProperties,
+                           final StorageBulkhead storageBulkhead) {
+        this.minioClient = minioClient;
+        this.bucket = minioAdapterProperties.getBucket();
+        this.storageBulkhead = storageBulkhead;
+    }
+
+    @Override
+    public long size(final String path) throws IOException {
+        try {
+            return minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(path).build()).size();
+        } catch (final Exception e) {
+            throw new IOException(String.format("Size of %s could not be read", path), e);
+        }
+    }
+
+    @Override
+    public InputStream openRange(final String path, final long offset, final long length) {
+        return storageBulkhead.read(() -> {
+            try {
+                return minioClient.getObject(GetObjectArgs.builder().bucket(bucket).object(path).offset(offset).length(length).build());
+            } catch (final Exception e) {
+                throw new CoreCCPostProcessingInternalException(String.format("Range at %d of %s could not be read", offset, path), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.UploadConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.MultipartUploader;
+import com.farao_community.farao.core_cc_post_processing.app.util.PartStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Uploads outputs in parts sent concurrently when multipart upload is enabled,
+ * so that the upload time of large archives depends on bandwidth rather than on the latency of a single stream.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class MultipartUploadService {
+    private static final Duration RETRY_DELAY = Duration.ofMillis(200);
+
+    private final UploadConfiguration uploadConfiguration;
+    private final ExecutorService executor;
+    private final MultipartUploader multipartUploader;
+
+    public MultipartUploadService(final UploadConfiguration uploadConfiguration, final PartStore partStore, final RunWorkspaceManager runWorkspaceManager) {
+        this.uploadConfiguration = uploadConfiguration;
+        this.executor = Executors.newFixedThreadPool(uploadConfiguration.getParallelism(), runnable -> {
+            final Thread thread = new Thread(runnable, "multipart-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // parts are held in chunks of the pool shared by all runs, given back once each part is uploaded
+        this.multipartUploader = new MultipartUploader(partStore, executor, runWorkspaceManager.getChunkPool(), uploadConfiguration.getPartSizeBytes(),
+                uploadConfiguration.getMaxInFlightParts(), uploadConfiguration.getMaxAttempts(), RETRY_DELAY);
+    }
+
+    public boolean isEnabled() {
+        return uploadConfiguration.isMultipart();
+    }
+
+    /**
+     * @param userMetadata metadata stored with the output
+     * @return number of bytes uploaded
+     */
+    public long upload(final String path, final InputStream content, final Map<String, String> userMetadata) throws IOException {
+        return multipartUploader.upload(path, content, userMetadata);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.FlowBasedConstraintDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+import static com.farao_community.farao.core_cc_post_processing.app.util.CracUtil.importNativeCrac;
+
+/**
+ * Native CRAC last imported by the precomputation of hourly F303 info. All the hours of a business day share the same CBCORA,
+ * so it is downloaded and imported once instead of once per hour.
+ * Only one CRAC is held, it is replaced when another CBCORA file or version is needed and dropped once the business day last asking for it is post-processed.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+final class NativeCracCache {
+
+    /**
+     * @param document parsed CBCORA, only read by the hourly generators
+     * @param xml      raw CBCORA, imported again by each hour for its own timestamp, held in chunks sized to fit it
+     */
+    record NativeCrac(FlowBasedConstraintDocument document, ChunkedByteBuffer xml) {
+        InputStream openXml() {
+            return xml.openInputStream();
+        }
+    }
+
+    @FunctionalInterface
+    interface CracLoader {
+        ChunkedByteBuffer load(String filePath) throws IOException;
+    }
+
+    private String cachedKey;
+    private LocalDate cachedBusinessDate;
+    private NativeCrac cachedCrac;
+
+    /**
+     * The CRAC of the CBCORA file, downloaded and imported if it is not the cached one.
+     * Hours asking for the same CRAC meanwhile wait for it instead of importing it too.
+     */
+    synchronized NativeCrac get(final LocalDate businessDate, final ProcessFileDto cracFile, final CracLoader cracLoader) throws IOException {
+        final String key = cracFile.getFilePath() + "@" + cracFile.getLastModificationDate();
+        if (!key.equals(cachedKey)) {
+            // the previous CRAC is released before the next one is downloaded, only one is ever on the heap
+            cachedKey = null;
+            cachedCrac = null;
+            final ChunkedByteBuffer xml = cracLoader.load(cracFile.getFilePath());
+            try (InputStream cracInputStream = xml.openInputStream()) {
+                cachedCrac = new NativeCrac(importNativeCrac(cracInputStream), xml);
+            }
+            cachedKey = key;
+        }
+        cachedBusinessDate = businessDate;
+        return cachedCrac;
+    }
+
+    synchronized void evict(final LocalDate businessDate) {
+        if (businessDate.equals(cachedBusinessDate)) {
+            cachedKey = null;
+            cachedCrac = null;
+            cachedBusinessDate = null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.OutputChecksum;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the SHA-256 digest of each uploaded output as user metadata of its object,
+ * so that an output whose content did not change since the previous run is not uploaded again.
+ * The digest is written along with the output and read back with a single status request:
+ * an output and its digest are always replaced at once, and a deleted output has no digest.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class OutputDigestStore {
+    static final String SKIPPED_UPLOADS_METRIC = "core-cc-post-processing.upload.skipped";
+    static final String SAVED_BYTES_METRIC = "core-cc-post-processing.upload.saved.bytes";
+    static final String DIGEST_METADATA = "sha256";
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutputDigestStore.class);
+
+    private final MinioClient minioClient;
+    private final String bucket;
+    private final String basePath;
+    private final MeterRegistry meterRegistry;
+
+    public OutputDigestStore(final MinioClient minioClient,
+                             final MinioAdapterProperties minioAdapterProperties,
+                             final MeterRegistry meterRegistry) {
+        this.minioClient = minioClient;
+        this.bucket = minioAdapterProperties.getBucket();
+        this.basePath = minioAdapterProperties.getBasePath();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Digest of the output stored at this path, empty if the output is not stored or was uploaded without digest
+     */
+    public Optional<String> findDigest(final String outputPath) {
+        final Map<String, String> userMetadata;
+        try {
+            userMetadata = minioClient.statObject(StatObjectArgs.builder().bucket(bucket).object(objectName(outputPath)).build()).userMetadata();
+        } catch (final Exception e) {
+            LOGGER.debug("Output {} is not stored yet", outputPath);
+            return Optional.empty();
+        }
+        // metadata names may come back capitalized from their HTTP headers
+        return userMetadata.entrySet().stream()
+                .filter(metadata -> DIGEST_METADATA.equalsIgnoreCase(metadata.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    /**
+     * User metadata recording the checksum of an output in its object
+     */
+    public Map<String, String> userMetadata(final OutputChecksum checksum) {
+        return Map.of(DIGEST_METADATA, checksum.sha256());
+    }
+
+    /**
+     * Upload an output along with its digest
+     */
+    public void uploadOutput(final String outputPath, final InputStream content, final OutputChecksum checksum) throws IOException {
+        try {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(bucket)
+                    .object(objectName(outputPath))
+                    .stream(content, checksum.size(), -1)
+                    .userMetadata(userMetadata(checksum))
+                    .build());
+        } catch (final IOException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new IOException(String.format("Output %s could not be uploaded", outputPath), e);
+        }
+    }
+
+    public void recordSkippedUpload(final String outputPath, final long size) {
+        LOGGER.info("Output {} did not change since its last upload, it is not uploaded again", outputPath);
+        meterRegistry.counter(SKIPPED_UPLOADS_METRIC).increment();
+        meterRegistry.counter(SAVED_BYTES_METRIC).increment(size);
+    }
+
+    private String objectName(final String path) {
+        return basePath != null && !basePath.isBlank() ? String.format("%s/%s", basePath, path) : path;
+    }
+}
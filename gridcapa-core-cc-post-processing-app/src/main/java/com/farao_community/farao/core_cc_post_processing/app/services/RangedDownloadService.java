@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.DownloadConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.core_cc_post_processing.app.util.RangeStore;
+import com.farao_community.farao.core_cc_post_processing.app.util.RangedDownloader;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+/**
+ * Opens the input files of the runs. Large files are downloaded in ranges fetched concurrently when enabled,
+ * the others are read as a single stream. The throughput of every download is measured until its stream is closed.
+ * Files loaded in memory are held in chunks, sized from the object size when it is known.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class RangedDownloadService {
+    static final String THROUGHPUT_METRIC = "core-cc-post-processing.download.throughput";
+    static final String BYTES_METRIC = "core-cc-post-processing.download.bytes";
+    static final String ALLOCATIONS_METRIC = "core-cc-post-processing.buffer.allocations";
+    static final String ALLOCATED_BYTES_METRIC = "core-cc-post-processing.buffer.allocated.bytes";
+    private static final Logger LOGGER = LoggerFactory.getLogger(RangedDownloadService.class);
+    private static final Duration RETRY_DELAY = Duration.ofMillis(200);
+    private static final String RANGED = "ranged";
+    private static final String SINGLE = "single";
+
+    private final DownloadConfiguration downloadConfiguration;
+    private final MinioAdapter minioAdapter;
+    private final RangeStore rangeStore;
+    private final StorageBulkhead storageBulkhead;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final RangedDownloader rangedDownloader;
+
+    public RangedDownloadService(final DownloadConfiguration downloadConfiguration,
+                                 final MinioAdapter minioAdapter,
+                                 final RangeStore rangeStore,
+                                 final StorageBulkhead storageBulkhead,
+                                 final MeterRegistry meterRegistry) {
+        this.downloadConfiguration = downloadConfiguration;
+        this.minioAdapter = minioAdapter;
+        this.rangeStore = rangeStore;
+        this.storageBulkhead = storageBulkhead;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(downloadConfiguration.getParallelism(), runnable -> {
+            final Thread thread = new Thread(runnable, "ranged-download");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rangedDownloader = new RangedDownloader(rangeStore, executor, downloadConfiguration.getRangeSizeBytes(),
+                downloadConfiguration.getParallelism(), downloadConfiguration.getMaxAttempts(), RETRY_DELAY);
+    }
+
+    /**
+     * Open a file from its full path in MinIO
+     */
+    public InputStream open(final String filePath) {
+        return open(filePath, statedSize(filePath));
+    }
+
+    /**
+     * Read a whole file in memory. Its size is known when ranged downloads are enabled, its chunks are then allocated once to fit it
+     *
+     * @param downloadCounter wraps the download stream, to count the bytes downloaded
+     */
+    public ChunkedByteBuffer load(final String filePath, final UnaryOperator<InputStream> downloadCounter) throws IOException {
+        final long size = statedSize(filePath);
+        final String sizing = size >= 0 ? "exact" : "growing";
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer(ChunkedByteBuffer.DEFAULT_CHUNK_SIZE, size, bytes -> {
+            meterRegistry.counter(ALLOCATIONS_METRIC, "sizing", sizing).increment();
+            meterRegistry.counter(ALLOCATED_BYTES_METRIC, "sizing", sizing).increment(bytes);
+        });
+        try (InputStream inputStream = downloadCounter.apply(open(filePath, size))) {
+            inputStream.transferTo(buffer);
+        }
+        return buffer;
+    }
+
+    private InputStream open(final String filePath, final long size) {
+        if (downloadConfiguration.isRanged() && size >= downloadConfiguration.getMinRangedSizeBytes()) {
+            return metered(filePath, RANGED, rangedDownloader.open(filePath, size));
+        }
+        return metered(filePath, SINGLE, storageBulkhead.read(() -> minioAdapter.getFileFromFullPath(filePath)));
+    }
+
+    /**
+     * Objects are only stated when ranged downloads are enabled, sparing a request per file otherwise
+     */
+    private long statedSize(final String filePath) {
+        return downloadConfiguration.isRanged() ? sizeOf(filePath) : -1;
+    }
+
+    /**
+     * @return size of the file, or -1 when it cannot be read, the file being then read as a single stream
+     */
+    private long sizeOf(final String filePath) {
+        try {
+            return rangeStore.size(filePath);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.debug("Size of {} could not be read, it is downloaded as a single stream", filePath, e);
+            return -1;
+        }
+    }
+
+    private InputStream metered(final String filePath, final String mode, final InputStream inputStream) {
+        return inputStream != null ? new MeteredInputStream(filePath, mode, inputStream) : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Records the bytes read and their throughput when the download is closed
+     */
+    private final class MeteredInputStream extends FilterInputStream {
+        private final String filePath;
+        private final String mode;
+        private final long start = System.nanoTime();
+        private long bytesRead;
+        private boolean closed;
+
+        private MeteredInputStream(final String filePath, final String mode, final InputStream inputStream) {
+            super(inputStream);
+            this.filePath = filePath;
+            this.mode = mode;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = super.read();
+            if (value != -1) {
+                bytesRead++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                bytesRead += count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                record();
+            }
+        }
+
+        private void record() {
+            final double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            final double bytesPerSecond = bytesRead / seconds;
+            meterRegistry.counter(BYTES_METRIC, "mode", mode).increment(bytesRead);
+            DistributionSummary.builder(THROUGHPUT_METRIC)
+                    .description("Throughput of the download of an input file")
+                    .baseUnit("bytes/s")
+                    .tag("mode", mode)
+                    .register(meterRegistry)
+                    .record(bytesPerSecond);
+            LOGGER.debug("{} bytes of {} downloaded as {} stream at {} MB/s", bytesRead, filePath, mode, String.format("%.1f", bytesPerSecond / 1_000_000));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
+
+import java.util.Set;
+
+/**
+ * Persisted progress of a daily post-processing run
+ *
+ * @param inputsFingerprint fingerprint of the tasks and logs the run was started with
+ * @param completedStages   stages whose outputs were successfully uploaded
+ * @param runCompleted      true once every stage of the run is over
+ * @param raoMetadata       daily metadata published by the completed stages, reused by a resumed run so that all outputs of the run agree
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public record RunCheckpoint(String inputsFingerprint,
+                            Set<PostProcessingStage> completedStages,
+                            boolean runCompleted,
+                            RaoMetadata raoMetadata) {
+}
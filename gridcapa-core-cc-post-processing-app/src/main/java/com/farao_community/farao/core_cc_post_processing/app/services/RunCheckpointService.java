@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
+import com.farao_community.farao.core_cc_post_processing.app.util.ZipUtil;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Persists the progress of a daily post-processing run in MinIO, so that a run interrupted
+ * after some outputs were uploaded resumes from its first incomplete stage.
+ * A checkpoint is only reused when the inputs of the new run have the same fingerprint.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class RunCheckpointService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunCheckpointService.class);
+    private static final String CHECKPOINT_PATH = "%s/checkpoint/run-checkpoint.json";
+
+    private final MinioAdapter minioAdapter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RunCheckpointService(final MinioAdapter minioAdapter) {
+        this.minioAdapter = minioAdapter;
+    }
+
+    /**
+     * Checkpoint of a previous run with the same inputs that was interrupted, empty if the run must start over
+     */
+    public Optional<RunCheckpoint> loadCheckpoint(final String targetMinioFolder,
+                                                  final String inputsFingerprint) {
+        final String checkpointPath = String.format(CHECKPOINT_PATH, targetMinioFolder);
+        final RunCheckpoint checkpoint;
+        try (final InputStream checkpointInputStream = minioAdapter.getFile(checkpointPath)) {
+            checkpoint = objectMapper.readValue(checkpointInputStream, RunCheckpoint.class);
+        } catch (final Exception e) {
+            LOGGER.info("No checkpoint available at {}, post-processing starts from the first stage", checkpointPath);
+            return Optional.empty();
+        }
+        if (checkpoint.runCompleted() || !Objects.equals(checkpoint.inputsFingerprint(), inputsFingerprint)) {
+            LOGGER.info("Checkpoint at {} belongs to a finished run or to other inputs, post-processing starts from the first stage", checkpointPath);
+            return Optional.empty();
+        }
+        return Optional.of(checkpoint);
+    }
+
+    /**
+     * @param raoMetadata daily metadata the completed stages were generated with
+     */
+    public void saveCompletedStages(final String targetMinioFolder,
+                                    final String inputsFingerprint,
+                                    final Set<PostProcessingStage> completedStages,
+                                    final RaoMetadata raoMetadata) {
+        save(targetMinioFolder, new RunCheckpoint(inputsFingerprint, completedStages, false, raoMetadata));
+    }
+
+    public void markRunCompleted(final String targetMinioFolder,
+                                 final String inputsFingerprint,
+                                 final RaoMetadata raoMetadata) {
+        save(targetMinioFolder, new RunCheckpoint(inputsFingerprint, EnumSet.allOf(PostProcessingStage.class), true, raoMetadata));
+    }
+
+    private void save(final String targetMinioFolder, final RunCheckpoint checkpoint) {
+        final String checkpointPath = String.format(CHECKPOINT_PATH, targetMinioFolder);
+        // A checkpoint that cannot be written only costs a longer rerun, it must not fail the run itself
+        try (final InputStream checkpointInputStream = new ByteArrayInputStream(objectMapper.writeValueAsBytes(checkpoint))) {
+            minioAdapter.uploadArtifact(checkpointPath, checkpointInputStream);
+        } catch (final Exception e) {
+            LOGGER.warn("Could not save checkpoint at {}", checkpointPath, e);
+        }
+    }
+
+    /**
+     * Fingerprint of everything a daily run reads: the tasks with their input and output files, and the logs.
+     * Logs are identified by the name, size and CRC of their entries, so that a log export generated again with the same files,
+     * e.g. with other zip timestamps, has the same fingerprint
+     */
+    public static String computeInputsFingerprint(final Set<TaskDto> tasks,
+                                                  final List<byte[]> logList) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            tasks.stream()
+                    .sorted(Comparator.comparing(TaskDto::getTimestamp).thenComparing(TaskDto::getId))
+                    .forEach(task -> {
+                        update(digest, task.getId() + "|" + task.getTimestamp() + "|" + task.getStatus() + "|" + task.getRunHistory().size());
+                        updateWithFiles(digest, task.getInputs());
+                        updateWithFiles(digest, task.getOutputs());
+                    });
+            // logs are gathered from an unordered set of tasks, only their sorted identities are stable between runs
+            logList.stream()
+                    .map(RunCheckpointService::logIdentity)
+                    .sorted()
+                    .forEach(logIdentity -> update(digest, logIdentity));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new CoreCCPostProcessingInternalException("Could not compute fingerprint of post-processing inputs", e);
+        }
+    }
+
+    private static String logIdentity(final byte[] log) {
+        // sizes and CRC are read from the central directory, log entries are not inflated
+        return ZipUtil.collectEntryChecksums(log).stream()
+                .map(entry -> entry.name() + "|" + entry.size() + "|" + Long.toHexString(entry.crc()))
+                .sorted()
+                .collect(Collectors.joining(";"));
+    }
+
+    private static void updateWithFiles(final MessageDigest digest, final Collection<ProcessFileDto> files) {
+        files.stream()
+                .sorted(Comparator.comparing(ProcessFileDto::getFileType).thenComparing(ProcessFileDto::getFilePath, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(file -> update(digest, file.getFileType() + "|" + file.getFilePath() + "|" + file.getProcessFileStatus() + "|" + file.getLastModificationDate()));
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
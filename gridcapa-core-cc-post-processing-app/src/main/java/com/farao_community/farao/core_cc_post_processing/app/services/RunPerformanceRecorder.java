@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.ByteCountingInputStream;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Records the performance figures of the daily post-processing runs.
+ * A run is bound to the thread processing it, figures are recorded in the run bound to the thread reporting them.
+ * Figures reported by other threads, e.g. by provisional publication or hourly precomputation running meanwhile, are ignored.
+ * Work handed by a run to worker threads reports its figures through the counters taken from the run beforehand.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class RunPerformanceRecorder {
+    private final ThreadLocal<Run> currentRun = new ThreadLocal<>();
+
+    /**
+     * Start recording a run, bound to the calling thread until it is finished
+     */
+    public Run startRun(final LocalDate runBusinessDate) {
+        final Run run = new Run(runBusinessDate);
+        currentRun.set(run);
+        return run;
+    }
+
+    public RunPerformanceReport finishRun(final Run run, final boolean completed) {
+        if (currentRun.get() == run) {
+            currentRun.remove();
+        }
+        return run.report(completed);
+    }
+
+    /**
+     * Wrap a stream read from MinIO so that its bytes are counted as downloaded by the run of the calling thread
+     */
+    public InputStream countDownload(final InputStream inputStream) {
+        return downloadCounter().apply(inputStream);
+    }
+
+    /**
+     * Counter of the bytes downloaded by the run of the calling thread, to be handed to the worker threads downloading for it
+     */
+    public UnaryOperator<InputStream> downloadCounter() {
+        final Run run = currentRun.get();
+        return run != null ? run::countDownload : UnaryOperator.identity();
+    }
+
+    public void recordUpload(final long bytes) {
+        ifRecording(run -> run.bytesUploaded.addAndGet(bytes));
+    }
+
+    public void recordStageWallTime(final String stage, final Duration wallTime) {
+        ifRecording(run -> run.stageWallTimesMs.put(stage, wallTime.toMillis()));
+    }
+
+    public void recordHourlyF303WallTime(final String interval, final Duration wallTime) {
+        ifRecording(run -> run.hourlyF303WallTimesMs.put(interval, wallTime.toMillis()));
+    }
+
+    public void recordF303Content(final int criticalBranches, final int complexVariants) {
+        ifRecording(run -> {
+            run.criticalBranchCount = criticalBranches;
+            run.complexVariantCount = complexVariants;
+        });
+    }
+
+    private void ifRecording(final Consumer<Run> recording) {
+        final Run run = currentRun.get();
+        if (run != null) {
+            synchronized (run) {
+                recording.accept(run);
+            }
+        }
+    }
+
+    private static Stream<MemoryPoolMXBean> heapMemoryPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid());
+    }
+
+    /**
+     * Figures of a run in progress. The peak heap usage is the one of the JVM since the run started
+     */
+    public static final class Run {
+        private final AtomicLong bytesDownloaded = new AtomicLong();
+        private final AtomicLong bytesUploaded = new AtomicLong();
+        private final Map<String, Long> stageWallTimesMs = new LinkedHashMap<>();
+        private final Map<String, Long> hourlyF303WallTimesMs = new TreeMap<>();
+        private final LocalDate businessDate;
+        private final Instant startInstant;
+        private final long startNanos;
+        private int criticalBranchCount;
+        private int complexVariantCount;
+
+        private Run(final LocalDate businessDate) {
+            this.businessDate = businessDate;
+            this.startInstant = Instant.now();
+            this.startNanos = System.nanoTime();
+            heapMemoryPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        private InputStream countDownload(final InputStream inputStream) {
+            return inputStream != null ? new ByteCountingInputStream(inputStream, bytesDownloaded::addAndGet) : null;
+        }
+
+        private synchronized RunPerformanceReport report(final boolean completed) {
+            final long peakHeapBytes = heapMemoryPools().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            return new RunPerformanceReport(String.valueOf(businessDate),
+                    String.valueOf(startInstant),
+                    completed,
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis(),
+                    new LinkedHashMap<>(stageWallTimesMs),
+                    bytesDownloaded.get(),
+                    bytesUploaded.get(),
+                    criticalBranchCount,
+                    complexVariantCount,
+                    new LinkedHashMap<>(hourlyF303WallTimesMs),
+                    peakHeapBytes);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import java.util.Map;
+
+/**
+ * Where time and memory went during a daily post-processing run, uploaded next to its outputs
+ *
+ * @param businessDate           business day of the run
+ * @param startInstant           instant the run started at
+ * @param completed              false if the run failed before uploading every output
+ * @param totalWallTimeMs        wall time of the whole run
+ * @param stageWallTimesMs       wall time of each stage run, in order of execution
+ * @param bytesDownloaded        bytes read from MinIO
+ * @param bytesUploaded          bytes written to MinIO
+ * @param criticalBranchCount    critical branches of the daily F303
+ * @param complexVariantCount    complex variants of the daily F303
+ * @param hourlyF303WallTimesMs  wall time of each hour computed during F303 generation, precomputed hours are not listed
+ * @param peakHeapBytes          sum of the peak usages of the heap memory pools during the run
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public record RunPerformanceReport(String businessDate,
+                                   String startInstant,
+                                   boolean completed,
+                                   long totalWallTimeMs,
+                                   Map<String, Long> stageWallTimesMs,
+                                   long bytesDownloaded,
+                                   long bytesUploaded,
+                                   int criticalBranchCount,
+                                   int complexVariantCount,
+                                   Map<String, Long> hourlyF303WallTimesMs,
+                                   long peakHeapBytes) {
+}
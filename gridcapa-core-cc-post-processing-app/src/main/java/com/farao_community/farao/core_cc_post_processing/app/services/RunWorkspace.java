@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.SpillStorage;
+import com.farao_community.farao.core_cc_post_processing.app.util.ZipUtil;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Directory of the temporary files of runs, deleted when the workspace is closed.
+ * Bytes written to its files count in the quota of the {@link RunWorkspaceManager}.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class RunWorkspace implements SpillStorage, AutoCloseable {
+    private final Path directory;
+    private final RunWorkspaceManager manager;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private boolean closed;
+
+    RunWorkspace(final Path directory, final RunWorkspaceManager manager) {
+        this.directory = directory;
+        this.manager = manager;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Create a file of the workspace, writing beyond the quota fails with an {@link IOException}
+     */
+    @Override
+    public OutputStream newOutputStream(final String fileName) throws IOException {
+        // an existing file is overwritten, its space is released
+        delete(fileName);
+        return new QuotaOutputStream(Files.newOutputStream(resolve(fileName)));
+    }
+
+    @Override
+    public InputStream newInputStream(final String fileName) throws IOException {
+        return Files.newInputStream(resolve(fileName));
+    }
+
+    /**
+     * Delete a file of the workspace once it is not needed anymore, releasing its space
+     */
+    @Override
+    public void delete(final String fileName) throws IOException {
+        final Path file = resolve(fileName);
+        if (Files.exists(file)) {
+            final long size = Files.size(file);
+            Files.delete(file);
+            release(size);
+        }
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    private Path resolve(final String fileName) {
+        final Path file = directory.resolve(fileName).normalize();
+        if (!file.getParent().equals(directory)) {
+            throw new IllegalArgumentException(String.format("%s is not a file name", fileName));
+        }
+        return file;
+    }
+
+    private void release(final long bytes) {
+        usedBytes.addAndGet(-bytes);
+        manager.release(bytes);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ZipUtil.deletePath(directory);
+        release(usedBytes.get());
+    }
+
+    private final class QuotaOutputStream extends FilterOutputStream {
+        private QuotaOutputStream(final OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            reserve(1);
+            out.write(value);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            reserve(length);
+            out.write(bytes, offset, length);
+        }
+
+        private void reserve(final long bytes) throws IOException {
+            manager.reserve(bytes);
+            usedBytes.addAndGet(bytes);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.WorkspaceConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkPool;
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.core_cc_post_processing.app.util.SpillingByteSink;
+import com.farao_community.farao.core_cc_post_processing.app.util.ZipUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives runs byte sinks to buffer their outputs, spilling to files of a workspace under the configured root.
+ * Each sink spills to a file of its own, so that concurrent runs, even of the same business date, never share files.
+ * The workspace of this instance is in an instance directory, locked while the instance is alive:
+ * at startup, instance directories left by a crashed instance are not locked anymore and are deleted.
+ * Disk usage of the workspace is limited by the configured quota.
+ * Byte sinks take their memory chunks from a pool shared by all runs, so that the buffers of an output reuse the chunks of the previous ones.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class RunWorkspaceManager {
+    static final String INSTANCE_DIRECTORY_PREFIX = "instance-";
+    static final String LOCK_FILE_NAME = ".lock";
+    static final String USED_BYTES_METRIC = "core-cc-post-processing.workspace.used.bytes";
+    static final String QUOTA_BYTES_METRIC = "core-cc-post-processing.workspace.quota.bytes";
+    static final String POOL_HITS_METRIC = "core-cc-post-processing.buffer.pool.hits";
+    static final String POOL_MISSES_METRIC = "core-cc-post-processing.buffer.pool.misses";
+    static final String POOL_SIZE_METRIC = "core-cc-post-processing.buffer.pool.size";
+    static final String BUFFERS_WORKSPACE_NAME = "buffers";
+    private static final Duration LOCK_CREATION_DELAY = Duration.ofMinutes(1);
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunWorkspaceManager.class);
+
+    private final long quotaBytes;
+    private final int spillThresholdBytes;
+    private final ChunkPool chunkPool;
+    private final Path instanceDirectory;
+    private final FileChannel lockChannel;
+    private final FileLock instanceLock;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong sinkCounter = new AtomicLong();
+    private final RunWorkspace buffersWorkspace;
+
+    public RunWorkspaceManager(final WorkspaceConfiguration workspaceConfiguration, final MeterRegistry meterRegistry) {
+        this.quotaBytes = workspaceConfiguration.getQuotaBytes();
+        this.spillThresholdBytes = workspaceConfiguration.getSpillThresholdBytes();
+        this.chunkPool = new ChunkPool(ChunkedByteBuffer.DEFAULT_CHUNK_SIZE,
+                (int) Math.min(Integer.MAX_VALUE, workspaceConfiguration.getBufferPoolBytes() / ChunkedByteBuffer.DEFAULT_CHUNK_SIZE));
+        final Path root = workspaceConfiguration.getRoot();
+        try {
+            Files.createDirectories(root);
+            cleanUpAbandonedInstances(root);
+            this.instanceDirectory = Files.createDirectory(root.resolve(INSTANCE_DIRECTORY_PREFIX + UUID.randomUUID()));
+            this.lockChannel = FileChannel.open(instanceDirectory.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.instanceLock = lockChannel.lock();
+            this.buffersWorkspace = new RunWorkspace(Files.createDirectory(instanceDirectory.resolve(BUFFERS_WORKSPACE_NAME)), this);
+        } catch (final IOException e) {
+            throw new CoreCCPostProcessingInternalException(String.format("Workspace could not be created in %s", root), e);
+        }
+        Gauge.builder(USED_BYTES_METRIC, usedBytes, AtomicLong::get)
+                .description("Disk space used by the temporary files of runs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder(QUOTA_BYTES_METRIC, () -> quotaBytes)
+                .description("Disk space the temporary files of runs may use")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder(POOL_HITS_METRIC, chunkPool, ChunkPool::getHits)
+                .description("Number of buffer chunks reused from the pool")
+                .register(meterRegistry);
+        FunctionCounter.builder(POOL_MISSES_METRIC, chunkPool, ChunkPool::getMisses)
+                .description("Number of buffer chunks allocated because the pool was empty")
+                .register(meterRegistry);
+        Gauge.builder(POOL_SIZE_METRIC, chunkPool, ChunkPool::getPooledBytes)
+                .description("Memory held by the buffer chunks waiting in the pool")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffer of an output, kept in pooled memory chunks up to the configured spill threshold, then in a file of this instance counted in the quota.
+     * The sink must be closed to give its chunks back to the pool
+     */
+    public SpillingByteSink newByteSink() {
+        return new SpillingByteSink(spillThresholdBytes, buffersWorkspace, "buffer-" + sinkCounter.incrementAndGet(), chunkPool);
+    }
+
+    /**
+     * Buffer of an output written straight in a file of this instance counted in the quota, whatever its size
+     */
+    public SpillingByteSink newFileSink() {
+        return new SpillingByteSink(0, buffersWorkspace, "buffer-" + sinkCounter.incrementAndGet(), chunkPool);
+    }
+
+    /**
+     * Pool of the memory chunks shared by all runs
+     */
+    ChunkPool getChunkPool() {
+        return chunkPool;
+    }
+
+    long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    Path getInstanceDirectory() {
+        return instanceDirectory;
+    }
+
+    RunWorkspace getBuffersWorkspace() {
+        return buffersWorkspace;
+    }
+
+    /**
+     * @throws IOException if the quota would be exceeded, nothing is reserved then
+     */
+    void reserve(final long bytes) throws IOException {
+        if (usedBytes.addAndGet(bytes) > quotaBytes) {
+            usedBytes.addAndGet(-bytes);
+            throw new IOException(String.format("Workspace quota of %d bytes exceeded", quotaBytes));
+        }
+    }
+
+    void release(final long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        buffersWorkspace.close();
+        try {
+            instanceLock.release();
+            lockChannel.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Workspace lock could not be released", e);
+        }
+        ZipUtil.deletePath(instanceDirectory);
+    }
+
+    private static void cleanUpAbandonedInstances(final Path root) throws IOException {
+        try (DirectoryStream<Path> instanceDirectories = Files.newDirectoryStream(root, INSTANCE_DIRECTORY_PREFIX + "*")) {
+            for (final Path instanceDirectory : instanceDirectories) {
+                if (isAbandoned(instanceDirectory)) {
+                    LOGGER.info("Deleting workspace {} left by a stopped instance", instanceDirectory);
+                    ZipUtil.deletePath(instanceDirectory);
+                }
+            }
+        }
+    }
+
+    private static boolean isAbandoned(final Path instanceDirectory) {
+        final Path lockFile = instanceDirectory.resolve(LOCK_FILE_NAME);
+        if (!Files.exists(lockFile)) {
+            // an instance starting at the same time may not have created its lock yet
+            return isOlderThan(instanceDirectory, LOCK_CREATION_DELAY);
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            return lock != null;
+        } catch (final OverlappingFileLockException e) {
+            // locked by another manager of this JVM
+            return false;
+        } catch (final IOException e) {
+            LOGGER.warn("Lock of workspace {} could not be checked, it is kept", instanceDirectory, e);
+            return false;
+        }
+    }
+
+    private static boolean isOlderThan(final Path path, final Duration age) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(Instant.now().minus(age));
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.AdaptiveConcurrencyLimiter;
+import com.farao_community.farao.core_cc_post_processing.app.util.HedgedReader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Shared limit of the MinIO requests of all stages and worker threads, so that parallel downloads and uploads cannot overload the storage.
+ * Reads and writes have their own limiter: a streamed upload in flight never waits for the downloads feeding it.
+ * Only transfers of input and output files go through it, small control files are never queued behind them.
+ * When enabled, reads are hedged and retried, each of their requests holding its own slot.
+ * A read is only hedged once its first request holds a slot and if another slot is free at once, so that waiting for the limiter is never taken for storage latency.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@Service
+public class StorageBulkhead {
+    static final String QUEUE_TIME_METRIC = "core-cc-post-processing.storage.queue.time";
+    static final String LIMIT_METRIC = "core-cc-post-processing.storage.limit";
+    static final String IN_FLIGHT_REQUESTS_METRIC = "core-cc-post-processing.storage.in.flight.requests";
+    static final String IN_FLIGHT_BYTES_METRIC = "core-cc-post-processing.storage.in.flight.bytes";
+    static final String ERRORS_METRIC = "core-cc-post-processing.storage.errors";
+    static final String HEDGED_REQUESTS_METRIC = "core-cc-post-processing.storage.hedged.requests";
+    static final String HEDGE_WINS_METRIC = "core-cc-post-processing.storage.hedge.wins";
+    static final String HEDGE_DELAY_METRIC = "core-cc-post-processing.storage.hedge.delay";
+    static final String READ_RETRIES_METRIC = "core-cc-post-processing.storage.read.retries";
+    private static final Duration READ_RETRY_DELAY = Duration.ofMillis(200);
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService hedgingExecutor;
+    private final HedgedReader hedgedReader;
+
+    public StorageBulkhead(final StorageConfiguration storageConfiguration, final MeterRegistry meterRegistry) {
+        this.readLimiter = newLimiter(storageConfiguration);
+        this.writeLimiter = newLimiter(storageConfiguration);
+        this.meterRegistry = meterRegistry;
+        registerGauges(READ, readLimiter);
+        registerGauges(WRITE, writeLimiter);
+        if (storageConfiguration.isHedgedReads()) {
+            this.hedgingExecutor = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "hedged-read");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.hedgedReader = new HedgedReader(hedgingExecutor, storageConfiguration.getHedgePercentile(), storageConfiguration.getHedgeInitialDelay(),
+                    storageConfiguration.getMaxReadAttempts(), READ_RETRY_DELAY);
+            registerHedgingMeters(hedgedReader);
+        } else {
+            this.hedgingExecutor = null;
+            this.hedgedReader = null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface StorageWrite {
+        void run() throws IOException;
+    }
+
+    /**
+     * Open a file, its request slot being held until the stream is closed
+     */
+    public InputStream read(final Supplier<InputStream> read) {
+        return hedgedReader != null ? hedgedReader.read(new LimitedRead(read)) : readWithinLimit(acquireReadPermit(), read);
+    }
+
+    private AdaptiveConcurrencyLimiter.Permit acquireReadPermit() {
+        try {
+            return acquire(READ, readLimiter, 0);
+        } catch (final InterruptedIOException e) {
+            throw new CoreCCPostProcessingInternalException("Interrupted while waiting to read from storage", e);
+        }
+    }
+
+    private InputStream readWithinLimit(final AdaptiveConcurrencyLimiter.Permit permit, final Supplier<InputStream> read) {
+        try {
+            final InputStream inputStream = read.get();
+            permit.complete(true);
+            if (inputStream == null) {
+                permit.close();
+                return null;
+            }
+            return new FilterInputStream(inputStream) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        permit.close();
+                    }
+                }
+            };
+        } catch (final RuntimeException e) {
+            meterRegistry.counter(ERRORS_METRIC, "operation", READ).increment();
+            permit.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read whose hedged requests hold slots of the read limiter
+     */
+    private final class LimitedRead implements HedgedReader.LimitedRequest {
+        private final Supplier<InputStream> read;
+
+        private LimitedRead(final Supplier<InputStream> read) {
+            this.read = read;
+        }
+
+        @Override
+        public HedgedReader.Slot awaitSlot() {
+            return slot(acquireReadPermit());
+        }
+
+        @Override
+        public Optional<HedgedReader.Slot> trySlot() {
+            return readLimiter.tryAcquire(0).map(this::slot);
+        }
+
+        private HedgedReader.Slot slot(final AdaptiveConcurrencyLimiter.Permit permit) {
+            return new HedgedReader.Slot() {
+                @Override
+                public InputStream send() {
+                    return readWithinLimit(permit, read);
+                }
+
+                @Override
+                public void release() {
+                    permit.cancel();
+                }
+            };
+        }
+    }
+
+    /**
+     * @param bytes size of the content written, 0 if unknown
+     */
+    public void write(final long bytes, final StorageWrite write) throws IOException {
+        try (AdaptiveConcurrencyLimiter.Permit permit = acquire(WRITE, writeLimiter, bytes)) {
+            write.run();
+            permit.complete(true);
+        } catch (final IOException | RuntimeException e) {
+            meterRegistry.counter(ERRORS_METRIC, "operation", WRITE).increment();
+            throw e;
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter.Permit acquire(final String operation,
+                                                      final AdaptiveConcurrencyLimiter limiter,
+                                                      final long bytes) throws InterruptedIOException {
+        final long queueStart = System.nanoTime();
+        final AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(bytes);
+        meterRegistry.timer(QUEUE_TIME_METRIC, "operation", operation).record(Duration.ofNanos(System.nanoTime() - queueStart));
+        return permit;
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(final StorageConfiguration storageConfiguration) {
+        return new AdaptiveConcurrencyLimiter(storageConfiguration.getMinConcurrentRequests(), storageConfiguration.getMaxConcurrentRequests(),
+                storageConfiguration.getMaxInFlightBytes(), storageConfiguration.getLatencyTarget());
+    }
+
+    private void registerHedgingMeters(final HedgedReader reader) {
+        FunctionCounter.builder(HEDGED_REQUESTS_METRIC, reader, HedgedReader::getHedgedRequests)
+                .description("Number of reads for which a second request was sent")
+                .register(meterRegistry);
+        FunctionCounter.builder(HEDGE_WINS_METRIC, reader, HedgedReader::getHedgeWins)
+                .description("Number of hedged reads answered first by their second request")
+                .register(meterRegistry);
+        FunctionCounter.builder(READ_RETRIES_METRIC, reader, HedgedReader::getRetries)
+                .description("Number of reads sent again after a failure")
+                .register(meterRegistry);
+        Gauge.builder(HEDGE_DELAY_METRIC, reader, hedged -> hedged.getHedgeDelay().toMillis())
+                .description("Delay after which a read is hedged")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (hedgingExecutor != null) {
+            hedgingExecutor.shutdownNow();
+        }
+    }
+
+    private void registerGauges(final String operation, final AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder(LIMIT_METRIC, limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Number of storage requests allowed at the same time")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_REQUESTS_METRIC, limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Number of storage requests in flight")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_BYTES_METRIC, limiter, AdaptiveConcurrencyLimiter::getInFlightBytes)
+                .description("Bytes of the storage writes in flight")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -6,39 +6,79 @@
  */
 package com.farao_community.farao.core_cc_post_processing.app.services;
 
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ArchiveType;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
 import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
 import com.farao_community.farao.core_cc_post_processing.app.outputs.rao_response.ResponseMessageType;
+import com.farao_community.farao.core_cc_post_processing.app.util.CompressedZipEntry;
+import com.farao_community.farao.core_cc_post_processing.app.util.DigestingOutputStream;
+import com.farao_community.farao.core_cc_post_processing.app.util.IntervalUtil;
 import com.farao_community.farao.core_cc_post_processing.app.util.JaxbUtil;
 import com.farao_community.farao.core_cc_post_processing.app.util.NamingRules;
+import com.farao_community.farao.core_cc_post_processing.app.util.OutputChecksum;
+import com.farao_community.farao.core_cc_post_processing.app.util.ParallelZipWriter;
+import com.farao_community.farao.core_cc_post_processing.app.util.PipedUpload;
 import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
+import com.farao_community.farao.core_cc_post_processing.app.util.RawZipWriter;
+import com.farao_community.farao.core_cc_post_processing.app.util.SpillingByteSink;
 import com.farao_community.farao.core_cc_post_processing.app.util.ZipUtil;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
 import com.farao_community.farao.gridcapa_core_cc.api.exception.CoreCCInternalException;
-import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
 import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.FlowBasedConstraintDocument;
-import org.apache.commons.io.FileUtils;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.ZipOutputStream;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 @Service
 public class ZipAndUploadService {
 
-    private final MinioAdapter minioAdapter;
-    private static final String TMP = "/tmp/";
+    private final CompressedCgmStore compressedCgmStore;
+    private final RunPerformanceRecorder runPerformanceRecorder;
+    private final ExecutionConfiguration executionConfiguration;
+    private final ArchiveEntryCompressor archiveEntryCompressor;
+    private final OutputDigestStore outputDigestStore;
+    private final MultipartUploadService multipartUploadService;
+    private final RunWorkspaceManager runWorkspaceManager;
+    private final StorageBulkhead storageBulkhead;
+    private final RangedDownloadService rangedDownloadService;
 
-    public ZipAndUploadService(final MinioAdapter minioAdapter) {
-        this.minioAdapter = minioAdapter;
+    public ZipAndUploadService(final CompressedCgmStore compressedCgmStore,
+                               final RunPerformanceRecorder runPerformanceRecorder,
+                               final ExecutionConfiguration executionConfiguration,
+                               final ArchiveEntryCompressor archiveEntryCompressor,
+                               final OutputDigestStore outputDigestStore,
+                               final MultipartUploadService multipartUploadService,
+                               final RunWorkspaceManager runWorkspaceManager,
+                               final StorageBulkhead storageBulkhead,
+                               final RangedDownloadService rangedDownloadService) {
+        this.compressedCgmStore = compressedCgmStore;
+        this.runPerformanceRecorder = runPerformanceRecorder;
+        this.executionConfiguration = executionConfiguration;
+        this.archiveEntryCompressor = archiveEntryCompressor;
+        this.outputDigestStore = outputDigestStore;
+        this.multipartUploadService = multipartUploadService;
+        this.runWorkspaceManager = runWorkspaceManager;
+        this.storageBulkhead = storageBulkhead;
+        this.rangedDownloadService = rangedDownloadService;
     }
 
     // --------- ZIP & UPLOAD ---------
@@ -51,17 +91,26 @@ public class ZipAndUploadService {
      */
     public void zipAndUploadLogs(final List<byte[]> logList,
                                  final String logFileName) {
-        try (final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             final ZipOutputStream zos = new ZipOutputStream(baos)) {
+        writeAndUploadArchive(outputStream -> {
+            // hourly log entries are copied without being inflated, unless they must be compressed again with the logs policy
+            final boolean copyCompressedEntries = archiveEntryCompressor.copiesCompressedEntries(ArchiveType.LOGS);
+            final List<CompressedZipEntry> entries = new ArrayList<>();
+            final ZipUtil.EntryWriter compressingEntryWriter = (name, content) -> entries.add(archiveEntryCompressor.compress(ArchiveType.LOGS, name, content::transferTo));
             for (final byte[] bytes : logList) {
-                ZipUtil.collectAndZip(zos, bytes);
+                if (copyCompressedEntries) {
+                    ZipUtil.collectCompressedEntries(bytes, entry -> entries.add(archiveEntryCompressor.record(ArchiveType.LOGS, entry)), compressingEntryWriter);
+                } else {
+                    ZipUtil.collectEntries(bytes, compressingEntryWriter);
+                }
             }
-            zos.close(); // NOSONAR because the `zos` ZipOutputStream must be closed before calling `toByteArray()` method on `baos`
-            // upload zipped result
-            uploadOrThrow(baos.toByteArray(), logFileName, "Error while unzipping logs");
-        } catch (final IOException e) {
-            throw new CoreCCPostProcessingInternalException("Error while unzipping logs", e);
-        }
+            // logs are gathered from an unordered set of tasks, their entries are archived in name order
+            entries.sort(Comparator.comparing(CompressedZipEntry::name));
+            try (final RawZipWriter zipWriter = new RawZipWriter(outputStream)) {
+                for (final CompressedZipEntry entry : entries) {
+                    zipWriter.writeEntry(entry);
+                }
+            }
+        }, logFileName, "Error while unzipping logs");
     }
 
     /**
@@ -71,6 +120,7 @@ public class ZipAndUploadService {
      * @param cgms
      * @param localDate
      * @param correlationId
+     * @param timestamp     creation instant of the CGM_XML_HEADER
      * @param timeInterval
      * @param version
      */
@@ -78,33 +128,74 @@ public class ZipAndUploadService {
                                         final Map<TaskDto, ProcessFileDto> cgms,
                                         final LocalDate localDate,
                                         final String correlationId,
+                                        final String timestamp,
                                         final String timeInterval,
                                         final int version) {
-        final String cgmZipTmpDir = TMP + "cgms_out/" + localDate.toString() + "/";
-        // add cgm xml header to tmp folder
-        F305XmlGenerator.generateCgmXmlHeaderFile(cgms.keySet(), cgmZipTmpDir, localDate, correlationId, timeInterval);
-
-        // Add all cgms from minio to tmp folder
-        cgms.values()
-                .forEach(cgm -> {
-                    final InputStream inputStream = minioAdapter.getFileFromFullPath(cgm.getFilePath());
-                    final File cgmFile = new File(cgmZipTmpDir + cgm.getFilename());
-                    try {
-                        FileUtils.copyInputStreamToFile(inputStream, cgmFile);
-                    } catch (final IOException e) {
-                        throw new CoreCCPostProcessingInternalException("error while copying cgm to tmp folder", e);
-                    }
-                });
-
-        // Zip tmp folder
-        final byte[] cgmsZipResult = ZipUtil.zipDirectory(cgmZipTmpDir);
         final String targetCgmsFolderName = NamingRules.generateCgmZipName(localDate, version);
         final String targetCgmsFolderPath = NamingRules.generateOutputsDestinationPath(targetMinioFolder, targetCgmsFolderName);
+        final String errorMessage = String.format("Exception occurred while zipping CGMs of business day %s", localDate);
 
-        try {
-            uploadOrThrow(cgmsZipResult, targetCgmsFolderPath, String.format("Exception occurred while zipping CGMs of business day %s", localDate));
-        } finally {
-            ZipUtil.deletePath(Paths.get(cgmZipTmpDir)); //NOSONAR
+        final MessageDigest contentDigest = DigestingOutputStream.newSha256Digest();
+        writeAndUploadArchive(outputStream -> {
+            final ParallelZipWriter zipWriter = archiveEntryCompressor.newZipWriter(outputStream);
+            try (zipWriter) {
+                zipWriter.writeEntry(() -> archiveEntryCompressor.compress(ArchiveType.CGMS, NamingRules.CGM_XML_HEADER_FILENAME,
+                        headerOutputStream -> F305XmlGenerator.writeCgmXmlHeader(cgms.keySet(), localDate, correlationId, timestamp, timeInterval, headerOutputStream)));
+                // CGMs compressed when their hour succeeded are copied as is, the others are compressed straight into the archive
+                for (final ProcessFileDto cgm : sortByHourAndFilename(cgms)) {
+                    final Optional<CompressedZipEntry> precompressedCgm = compressedCgmStore.get(cgm);
+                    if (precompressedCgm.isPresent()) {
+                        zipWriter.writeEntry(precompressedCgm.get());
+                    } else {
+                        try (final InputStream inputStream = runPerformanceRecorder.countDownload(rangedDownloadService.open(cgm.getFilePath()))) {
+                            archiveEntryCompressor.writeEntry(ArchiveType.CGMS, zipWriter, cgm.getFilename(), inputStream::transferTo);
+                        }
+                    }
+                }
+            }
+            // the CGM_XML_HEADER changes on every run with its creation instant, the archive is identified by the header of a fixed instant
+            F305XmlGenerator.writeCgmXmlHeader(cgms.keySet(), localDate, correlationId, Instant.EPOCH.toString(), timeInterval, new DigestOutputStream(OutputStream.nullOutputStream(), contentDigest));
+            zipWriter.getEntryChecksums().forEach((entryName, entryChecksum) -> {
+                if (!NamingRules.CGM_XML_HEADER_FILENAME.equals(entryName)) {
+                    updateWithEntry(contentDigest, entryName, entryChecksum);
+                }
+            });
+        }, targetCgmsFolderPath, () -> HexFormat.of().formatHex(contentDigest.digest()), errorMessage);
+    }
+
+    private static void updateWithEntry(final MessageDigest digest, final String entryName, final RawZipWriter.ContentChecksum entryChecksum) {
+        final byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES + name.length + 2 * Long.BYTES)
+                .putInt(name.length).put(name).putLong(entryChecksum.crc()).putLong(entryChecksum.size())
+                .flip());
+    }
+
+    /**
+     * Compress the CGM of a successful task, to be copied as is in F304 at the end of the business day
+     *
+     * @param taskDto
+     */
+    public void precompressCgm(final TaskDto taskDto) {
+        taskDto.getOutputs().stream()
+                .filter(processFileDto -> processFileDto.getProcessFileStatus() == ProcessFileStatus.VALIDATED)
+                .filter(processFileDto -> processFileDto.getFileType().equals("CGM_OUT"))
+                .findFirst()
+                .filter(cgm -> !compressedCgmStore.contains(cgm))
+                .ifPresent(cgm -> compressedCgmStore.put(IntervalUtil.getBusinessDate(taskDto.getTimestamp()), cgm, compressCgm(cgm)));
+    }
+
+    /**
+     * Drop the CGMs compressed by precomputation for a business day, once it is post-processed
+     */
+    public void clearPrecompressedCgms(final LocalDate businessDate) {
+        compressedCgmStore.evict(businessDate);
+    }
+
+    private CompressedZipEntry compressCgm(final ProcessFileDto cgm) {
+        try (final InputStream inputStream = runPerformanceRecorder.countDownload(rangedDownloadService.open(cgm.getFilePath()))) {
+            return archiveEntryCompressor.compress(ArchiveType.CGMS, cgm.getFilename(), inputStream::transferTo);
+        } catch (final IOException e) {
+            throw new CoreCCPostProcessingInternalException("error while compressing cgm", e);
         }
     }
 
@@ -120,59 +211,55 @@ public class ZipAndUploadService {
                                         final Map<TaskDto, ProcessFileDto> cnes,
                                         final LocalDate localDate,
                                         final int version) {
-        final String cneZipTmpDir = TMP + "cnes_out/" + localDate.toString() + "/";
-
-        // Add all cnes from minio to tmp folder
-        cnes.values()
-                .forEach(cne -> {
-                    final InputStream inputStream = minioAdapter.getFileFromFullPath(cne.getFilePath());
-                    final File cneFile = new File(cneZipTmpDir + cne.getFilename());
-                    try {
-                        FileUtils.copyInputStreamToFile(inputStream, cneFile);
-                    } catch (final IOException e) {
-                        throw new CoreCCPostProcessingInternalException("error while copying cne to tmp folder", e);
-                    }
-                });
-
-        final byte[] cneZipResult = ZipUtil.zipDirectory(cneZipTmpDir);
         final String targetCneFolderName = NamingRules.generateCneZipName(localDate, version);
         final String targetCneFolderPath = NamingRules.generateOutputsDestinationPath(targetMinioFolder, targetCneFolderName);
-
-        try {
-            uploadOrThrow(cneZipResult, targetCneFolderPath, String.format("Exception occurred while zipping CNEs of business day %s", localDate));
-        } finally {
-            ZipUtil.deletePath(Paths.get(cneZipTmpDir)); //NOSONAR
-        }
+        zipFilesAndUpload(ArchiveType.CNES, cnes, targetCneFolderPath, String.format("Exception occurred while zipping CNEs of business day %s", localDate));
     }
 
     public void zipRaoResultsAndSendToOutputs(final String targetMinioFolder,
                                               final Map<TaskDto, ProcessFileDto> raoResults,
                                               final LocalDate localDate) {
-        final String raoResultZipTmpDir = TMP + "raoResults_out/" + localDate.toString() + "/";
-
-        // Add all raoResult json files from minio to tmp folder
-        raoResults.values()
-                .forEach(raoResult -> {
-                    try (final InputStream inputStream = minioAdapter.getFileFromFullPath(raoResult.getFilePath())) {
-                        final File raoResultFile = new File(raoResultZipTmpDir + raoResult.getFilename());
-                        FileUtils.copyInputStreamToFile(inputStream, raoResultFile);
-                    } catch (final IOException e) {
-                        throw new CoreCCPostProcessingInternalException("error while copying cgm to tmp folder", e);
-                    }
-                });
-
-        // Zip tmp folder
-        final byte[] raoResultZipResult = ZipUtil.zipDirectory(raoResultZipTmpDir);
         final String targetRaoResultZipName = NamingRules.generateRaoResultFilename(localDate);
         final String targetRaoResultZipPath = NamingRules.generateOutputsDestinationPath(targetMinioFolder, targetRaoResultZipName);
+        zipFilesAndUpload(ArchiveType.RAO_RESULTS, raoResults, targetRaoResultZipPath, String.format("Exception occurred while zipping RaoResults of business day %s", localDate));
+    }
 
-        try {
-            uploadOrThrow(raoResultZipResult, targetRaoResultZipPath, String.format("Exception occurred while zipping RaoResults of business day %s", localDate));
-        } finally {
-            ZipUtil.deletePath(Paths.get(raoResultZipTmpDir)); //NOSONAR
-        }
+    /**
+     * Each file is streamed from MinIO straight into its compressed zip entry, files being compressed on all worker threads. A file name given several times is archived once, with the content of its last hour
+     */
+    private void zipFilesAndUpload(final ArchiveType archive,
+                                   final Map<TaskDto, ProcessFileDto> files,
+                                   final String destinationPath,
+                                   final String message) {
+        final Map<String, String> filePathPerName = new LinkedHashMap<>();
+        sortByHourAndFilename(files).forEach(file -> filePathPerName.put(file.getFilename(), file.getFilePath()));
 
+        // files are downloaded by the compression threads, counted in the run of this thread
+        final UnaryOperator<InputStream> downloadCounter = runPerformanceRecorder.downloadCounter();
+        writeAndUploadArchive(outputStream -> {
+            try (final ParallelZipWriter zipWriter = archiveEntryCompressor.newZipWriter(outputStream)) {
+                for (final Map.Entry<String, String> file : filePathPerName.entrySet()) {
+                    zipWriter.writeEntry(() -> {
+                        try (final InputStream inputStream = downloadCounter.apply(rangedDownloadService.open(file.getValue()))) {
+                            return archiveEntryCompressor.compress(archive, file.getKey(), inputStream::transferTo);
+                        }
+                    });
+                }
+            }
+        }, destinationPath, message);
+    }
+
+    /**
+     * Files of the tasks come from hash maps, they are archived in hour then filename order so that identical files give identical archives
+     */
+    private static List<ProcessFileDto> sortByHourAndFilename(final Map<TaskDto, ProcessFileDto> files) {
+        return files.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<TaskDto, ProcessFileDto> file) -> file.getKey().getTimestamp())
+                        .thenComparing(file -> file.getValue().getFilename()))
+                .map(Map.Entry::getValue)
+                .toList();
     }
+
     // --------- UPLOAD ---------
 
     /**
@@ -187,10 +274,9 @@ public class ZipAndUploadService {
                                   final String targetMinioFolder,
                                   final LocalDate localDate,
                                   final int version) {
-        final byte[] dailyFbConstraint = JaxbUtil.writeInBytes(FlowBasedConstraintDocument.class, dailyFbDocument);
         final String fbConstraintFileName = NamingRules.generateOptimizedCbFileName(localDate, version);
         final String fbConstraintDestinationPath = NamingRules.generateOutputsDestinationPath(targetMinioFolder, fbConstraintFileName);
-        uploadOrThrow(dailyFbConstraint, fbConstraintDestinationPath, String.format("Exception occurred while uploading F303 file of business day %s", localDate));
+        uploadOrThrow(outputStream -> JaxbUtil.write(FlowBasedConstraintDocument.class, dailyFbDocument, outputStream), fbConstraintDestinationPath, String.format("Exception occurred while uploading F303 file of business day %s", localDate));
     }
 
     /**
@@ -205,10 +291,9 @@ public class ZipAndUploadService {
                                   final ResponseMessageType responseMessage,
                                   final LocalDate localDate,
                                   final int version) {
-        final byte[] responseMessageBytes = JaxbUtil.marshallMessageAndSetJaxbProperties(responseMessage);
         final String f305FileName = NamingRules.generateRF305FileName(localDate, version);
         final String f305DestinationPath = NamingRules.generateOutputsDestinationPath(targetMinioFolder, f305FileName);
-        uploadOrThrow(responseMessageBytes, f305DestinationPath, String.format("Exception occurred while uploading F305 for business date %s", localDate));
+        uploadOrThrow(outputStream -> JaxbUtil.marshallMessageAndSetJaxbProperties(responseMessage, outputStream), f305DestinationPath, String.format("Exception occurred while uploading F305 for business date %s", localDate));
     }
 
     public void uploadF341ToMinio(final String targetMinioFolder,
@@ -217,20 +302,89 @@ public class ZipAndUploadService {
                                   final int version) {
         final String metadataFileName = NamingRules.generateMetadataFileName(raoMetadata.getRaoRequestInstant(), version);
         final String metadataDestinationPath = NamingRules.generateOutputsDestinationPath(targetMinioFolder, metadataFileName);
-        try (final InputStream csvIs = new ByteArrayInputStream(csv)) {
-            minioAdapter.uploadOutput(metadataDestinationPath, csvIs);
+        try {
+            uploadIfChanged(outputStream -> outputStream.write(csv), metadataDestinationPath);
         } catch (final IOException e) {
             throw new CoreCCInternalException("Exception occurred while uploading metadata file", e);
         }
     }
 
-    private void uploadOrThrow(final byte[] byteArray,
+    private void writeAndUploadArchive(final PipedUpload.ContentWriter archiveContent,
+                                       final String destinationPath,
+                                       final String message) {
+        writeAndUploadArchive(archiveContent, destinationPath, null, message);
+    }
+
+    /**
+     * Archives are written in a byte sink, or with streaming I/O straight in a workspace file,
+     * so that they never are on the heap as a whole and are checksummed before their upload
+     *
+     * @param contentDigest digest identifying the content of the archive once it is written, null for the digest of the archive itself
+     */
+    private void writeAndUploadArchive(final PipedUpload.ContentWriter archiveContent,
+                                       final String destinationPath,
+                                       final Supplier<String> contentDigest,
+                                       final String message) {
+        try (final SpillingByteSink output = executionConfiguration.isStreamingIo() ? runWorkspaceManager.newFileSink() : runWorkspaceManager.newByteSink()) {
+            uploadIfChanged(archiveContent, destinationPath, contentDigest, output);
+        } catch (final IOException e) {
+            throw new CoreCCPostProcessingInternalException(message, e);
+        }
+    }
+
+    private void uploadOrThrow(final PipedUpload.ContentWriter content,
                                final String destinationPath,
                                final String message) {
-        try (final InputStream inputStream = new ByteArrayInputStream(byteArray)) {
-            minioAdapter.uploadOutput(destinationPath, inputStream);
+        try {
+            uploadIfChanged(content, destinationPath);
         } catch (final IOException e) {
             throw new CoreCCPostProcessingInternalException(message, e);
         }
     }
+
+    private void uploadIfChanged(final PipedUpload.ContentWriter content,
+                                 final String destinationPath) throws IOException {
+        try (final SpillingByteSink output = runWorkspaceManager.newByteSink()) {
+            uploadIfChanged(content, destinationPath, null, output);
+        }
+    }
+
+    /**
+     * An output whose digest matches the one stored with the output at its destination is not uploaded again.
+     * The output is checksummed while it is written in the byte sink, then uploaded from it
+     *
+     * @param contentDigest digest identifying the content once it is written, leaving out what changes on every run; null for the digest of the output itself
+     */
+    private void uploadIfChanged(final PipedUpload.ContentWriter content,
+                                 final String destinationPath,
+                                 final Supplier<String> contentDigest,
+                                 final SpillingByteSink output) throws IOException {
+        final DigestingOutputStream digestingOutputStream = new DigestingOutputStream(output);
+        content.writeTo(digestingOutputStream);
+        final OutputChecksum writtenChecksum = digestingOutputStream.getChecksum();
+        final OutputChecksum checksum = contentDigest != null ? new OutputChecksum(contentDigest.get(), writtenChecksum.size()) : writtenChecksum;
+        if (outputDigestStore.findDigest(destinationPath).filter(checksum.sha256()::equals).isPresent()) {
+            outputDigestStore.recordSkippedUpload(destinationPath, checksum.size());
+            return;
+        }
+        try (final InputStream inputStream = output.openInputStream()) {
+            uploadOutput(destinationPath, inputStream, checksum);
+        }
+        runPerformanceRecorder.recordUpload(checksum.size());
+    }
+
+    /**
+     * The output replaces the one at its destination along with its digest
+     */
+    private void uploadOutput(final String destinationPath,
+                              final InputStream inputStream,
+                              final OutputChecksum checksum) throws IOException {
+        if (multipartUploadService.isEnabled()) {
+            // parts go through the bulkhead one by one
+            multipartUploadService.upload(destinationPath, inputStream, outputDigestStore.userMetadata(checksum));
+        } else {
+            storageBulkhead.write(checksum.size(), () -> outputDigestStore.uploadOutput(destinationPath, inputStream, checksum));
+        }
+    }
+
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of requests in flight and the bytes they carry. The request limit follows an AIMD policy:
+ * it grows by one every {@code limit} requests answered within the latency target, and is cut by a quarter on a slow or failed request.
+ * Latency of requests of known size is measured per MiB, so that large transfers are not taken for slow ones.
+ * A request is always let through when nothing is in flight, whatever its size.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.75;
+    private static final long MIB = 1024L * 1024;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxInFlightBytes;
+    private final long latencyTargetNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long inFlightBytes;
+
+    public AdaptiveConcurrencyLimiter(final int minLimit, final int maxLimit, final long maxInFlightBytes, final Duration latencyTarget) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * Wait until the request can be sent
+     *
+     * @param bytes size of the request, 0 if unknown
+     */
+    public Permit acquire(final long bytes) throws InterruptedIOException {
+        lock.lock();
+        try {
+            while (inFlight > 0 && (inFlight >= (int) limit || inFlightBytes + bytes > maxInFlightBytes)) {
+                released.await();
+            }
+            inFlight++;
+            inFlightBytes += bytes;
+            return new Permit(bytes);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a storage request slot");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A permit if the request can be sent right away, without waiting for another request to end
+     *
+     * @param bytes size of the request, 0 if unknown
+     */
+    public Optional<Permit> tryAcquire(final long bytes) {
+        lock.lock();
+        try {
+            if (inFlight > 0 && (inFlight >= (int) limit || inFlightBytes + bytes > maxInFlightBytes)) {
+                return Optional.empty();
+            }
+            inFlight++;
+            inFlightBytes += bytes;
+            return Optional.of(new Permit(bytes));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getInFlightBytes() {
+        lock.lock();
+        try {
+            return inFlightBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(final boolean success, final long latencyNanos, final long bytes) {
+        final long normalizedLatencyNanos = latencyNanos / Math.max(1, bytes / MIB);
+        lock.lock();
+        try {
+            if (success && normalizedLatencyNanos <= latencyTargetNanos) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(final long bytes) {
+        lock.lock();
+        try {
+            inFlight--;
+            inFlightBytes -= bytes;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Slot of a request. Its latency is measured from its acquisition until {@link #complete(boolean)}, its slot is freed on {@link #close()}
+     */
+    public final class Permit implements AutoCloseable {
+        private final long bytes;
+        private final long start = System.nanoTime();
+        private boolean completed;
+        private boolean closed;
+
+        private Permit(final long bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Report the outcome of the request, once its response started, to adjust the limit
+         */
+        public synchronized void complete(final boolean success) {
+            if (!completed) {
+                completed = true;
+                adjust(success, System.nanoTime() - start, bytes);
+            }
+        }
+
+        /**
+         * Free the slot of a request that was never sent, the limit is left as is
+         */
+        public synchronized void cancel() {
+            if (closed) {
+                return;
+            }
+            completed = true;
+            closed = true;
+            release(bytes);
+        }
+
+        /**
+         * Free the slot, a request closed without being completed counts as failed
+         */
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            complete(false);
+            closed = true;
+            release(bytes);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte buffers of a fixed size, direct ones being outside the heap, given back by {@link RunBlobStore}s once their blobs are discarded.
+ * Direct memory is only freed by the garbage collector, so released buffers are kept for the next stores up to a bounded number.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class ByteBufferPool {
+    private final int bufferSize;
+    private final int maxPooledBuffers;
+    private final boolean direct;
+    private final ConcurrentLinkedDeque<ByteBuffer> buffers = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+    private final AtomicInteger usedBuffers = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param direct whether buffers are allocated outside the heap
+     */
+    public ByteBufferPool(final int bufferSize, final int maxPooledBuffers, final boolean direct) {
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+        this.direct = direct;
+    }
+
+    /**
+     * An empty buffer, taken from the pool when possible
+     */
+    public ByteBuffer acquire() {
+        usedBuffers.incrementAndGet();
+        final ByteBuffer buffer = buffers.pollFirst();
+        if (buffer == null) {
+            misses.incrementAndGet();
+            return direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+        }
+        pooledBuffers.decrementAndGet();
+        hits.incrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Give back a buffer acquired from this pool, which must not be used anymore
+     */
+    public void release(final ByteBuffer buffer) {
+        usedBuffers.decrementAndGet();
+        if (pooledBuffers.incrementAndGet() > maxPooledBuffers) {
+            pooledBuffers.decrementAndGet();
+            return;
+        }
+        buffers.offerFirst(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Memory of the buffers acquired and not released yet
+     */
+    public long getUsedBytes() {
+        return (long) usedBuffers.get() * bufferSize;
+    }
+
+    /**
+     * Memory of the buffers waiting in the pool
+     */
+    public long getPooledBytes() {
+        return (long) pooledBuffers.get() * bufferSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
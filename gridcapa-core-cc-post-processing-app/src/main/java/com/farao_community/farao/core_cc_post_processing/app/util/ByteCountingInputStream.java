@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reports to a counter the number of bytes read from the wrapped stream
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class ByteCountingInputStream extends FilterInputStream {
+    private final LongConsumer byteCounter;
+
+    public ByteCountingInputStream(final InputStream inputStream, final LongConsumer byteCounter) {
+        super(inputStream);
+        this.byteCounter = byteCounter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int value = super.read();
+        if (value != -1) {
+            byteCounter.accept(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int bytesRead = super.read(buffer, offset, length);
+        if (bytesRead > 0) {
+            byteCounter.accept(bytesRead);
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public long skip(final long length) throws IOException {
+        final long bytesSkipped = super.skip(length);
+        if (bytesSkipped > 0) {
+            byteCounter.accept(bytesSkipped);
+        }
+        return bytesSkipped;
+    }
+}
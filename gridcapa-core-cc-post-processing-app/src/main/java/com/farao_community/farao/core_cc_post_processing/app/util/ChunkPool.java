@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chunks of a fixed size released by {@link ChunkedByteBuffer}s once their content is discarded, given again to the next buffers,
+ * so that the buffers of successive runs reuse the same arrays instead of allocating new ones.
+ * At most a bounded number of chunks is kept, chunks released beyond it are left to the garbage collector.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class ChunkPool {
+    private final int chunkSize;
+    private final int maxPooledChunks;
+    private final ConcurrentLinkedDeque<byte[]> chunks = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pooledChunks = new AtomicInteger();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ChunkPool(final int chunkSize, final int maxPooledChunks) {
+        this.chunkSize = chunkSize;
+        this.maxPooledChunks = maxPooledChunks;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * A pooled chunk, or a new one when the pool is empty. Its content is not cleared
+     */
+    public byte[] acquire() {
+        final byte[] chunk = chunks.pollFirst();
+        if (chunk == null) {
+            misses.incrementAndGet();
+            return new byte[chunkSize];
+        }
+        pooledChunks.decrementAndGet();
+        hits.incrementAndGet();
+        return chunk;
+    }
+
+    /**
+     * Give back a chunk, which must not be used anymore. Chunks of another size are ignored
+     */
+    public void release(final byte[] chunk) {
+        if (chunk.length != chunkSize) {
+            return;
+        }
+        if (pooledChunks.incrementAndGet() > maxPooledChunks) {
+            pooledChunks.decrementAndGet();
+            return;
+        }
+        // the most recently used chunks are given first, they are the most likely to be in the CPU caches
+        chunks.offerFirst(chunk);
+    }
+
+    public int getPooledChunks() {
+        return pooledChunks.get();
+    }
+
+    public long getPooledBytes() {
+        return (long) pooledChunks.get() * chunkSize;
+    }
+
+    /**
+     * Number of chunks given from the pool
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of chunks allocated because the pool was empty
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
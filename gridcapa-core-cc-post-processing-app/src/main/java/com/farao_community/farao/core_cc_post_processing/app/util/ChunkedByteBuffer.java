@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Content held in memory as a list of chunks, so that it grows without resizing nor copying and never needs a large contiguous array.
+ * When the size of the content is known, chunks are sized to fit it exactly and every byte is allocated once.
+ * Otherwise chunks double in size up to the chunk size, so that small contents stay small.
+ * The content can be read as many times as needed with {@link #openInputStream()}.
+ * A buffer drawing its full size chunks from a {@link ChunkPool} gives them back when closed, its content must not be read anymore then.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class ChunkedByteBuffer extends OutputStream {
+    /**
+     * Below half of the smallest G1 region, chunks are never humongous allocations
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    private static final int MIN_CHUNK_SIZE = 8 * 1024;
+
+    private final int chunkSize;
+    private final LongConsumer allocationCounter;
+    private final ChunkPool pool;
+    private final List<byte[]> chunks = new ArrayList<>();
+    private long remainingExpectedBytes;
+    private int nextChunkSize;
+    private byte[] currentChunk;
+    private int currentChunkPosition;
+    private long size;
+    private boolean closed;
+
+    public ChunkedByteBuffer() {
+        this(DEFAULT_CHUNK_SIZE, -1, bytes -> { });
+    }
+
+    /**
+     * Buffer of a content of unknown size, whose chunks reaching the size of the pool chunks are taken from the pool
+     */
+    public ChunkedByteBuffer(final ChunkPool pool) {
+        this(pool.getChunkSize(), -1, bytes -> { }, pool);
+    }
+
+    /**
+     * Buffer of a content of known size, whose chunks are sized to fit it and taken from the pool when they reach the size of the pool chunks
+     *
+     * @param expectedSize size of the content, -1 if unknown
+     */
+    public ChunkedByteBuffer(final ChunkPool pool, final long expectedSize) {
+        this(pool.getChunkSize(), expectedSize, bytes -> { }, pool);
+    }
+
+    /**
+     * @param expectedSize      size of the content, -1 if unknown
+     * @param allocationCounter notified of the size of every chunk allocated
+     */
+    public ChunkedByteBuffer(final int chunkSize, final long expectedSize, final LongConsumer allocationCounter) {
+        this(chunkSize, expectedSize, allocationCounter, null);
+    }
+
+    private ChunkedByteBuffer(final int chunkSize, final long expectedSize, final LongConsumer allocationCounter, final ChunkPool pool) {
+        this.chunkSize = chunkSize;
+        this.remainingExpectedBytes = Math.max(0, expectedSize);
+        this.allocationCounter = allocationCounter;
+        this.pool = pool;
+        this.nextChunkSize = Math.min(MIN_CHUNK_SIZE, chunkSize);
+    }
+
+    @Override
+    public void write(final int value) {
+        write(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        if (closed) {
+            throw new IllegalStateException("Chunked buffer is closed");
+        }
+        int written = 0;
+        while (written < length) {
+            if (currentChunk == null || currentChunkPosition == currentChunk.length) {
+                allocateChunk();
+            }
+            final int count = Math.min(length - written, currentChunk.length - currentChunkPosition);
+            System.arraycopy(bytes, offset + written, currentChunk, currentChunkPosition, count);
+            currentChunkPosition += count;
+            written += count;
+        }
+        size += length;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Copy the content to a stream, chunk by chunk
+     */
+    public void writeTo(final OutputStream outputStream) throws IOException {
+        long remaining = size;
+        for (final byte[] chunk : chunks) {
+            final int count = (int) Math.min(chunk.length, remaining);
+            outputStream.write(chunk, 0, count);
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Read the content written so far, without copying it
+     */
+    public InputStream openInputStream() {
+        return new ChunksInputStream(List.copyOf(chunks), size);
+    }
+
+    /**
+     * Discard the content, giving its chunks back to the pool if any
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pool != null) {
+            chunks.forEach(pool::release);
+        }
+        chunks.clear();
+        currentChunk = null;
+        size = 0;
+    }
+
+    private void allocateChunk() {
+        final int length;
+        if (remainingExpectedBytes > 0) {
+            length = (int) Math.min(chunkSize, remainingExpectedBytes);
+            remainingExpectedBytes -= length;
+        } else {
+            length = nextChunkSize;
+            nextChunkSize = Math.min(chunkSize, 2 * nextChunkSize);
+        }
+        if (pool != null && length == pool.getChunkSize()) {
+            currentChunk = pool.acquire();
+        } else {
+            currentChunk = new byte[length];
+            allocationCounter.accept(length);
+        }
+        currentChunkPosition = 0;
+        chunks.add(currentChunk);
+    }
+
+    private static final class ChunksInputStream extends InputStream {
+        private final List<byte[]> chunks;
+        private long remaining;
+        private int chunkIndex;
+        private int position;
+
+        private ChunksInputStream(final List<byte[]> chunks, final long size) {
+            this.chunks = chunks;
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            remaining--;
+            return chunks.get(chunkIndex)[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            final byte[] chunk = chunks.get(chunkIndex);
+            final int count = (int) Math.min(Math.min(length, chunk.length - position), remaining);
+            System.arraycopy(chunk, position, buffer, offset, count);
+            position += count;
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        private boolean ensureAvailable() {
+            if (remaining == 0) {
+                return false;
+            }
+            if (position == chunks.get(chunkIndex).length) {
+                chunkIndex++;
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
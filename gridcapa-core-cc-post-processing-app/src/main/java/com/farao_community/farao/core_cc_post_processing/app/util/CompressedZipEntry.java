@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * Zip entry whose content is already compressed, to be copied as is in an archive by {@link RawZipWriter}
+ *
+ * @param name           name of the entry in the archive
+ * @param method         {@link ZipEntry#DEFLATED} or {@link ZipEntry#STORED}
+ * @param crc            CRC-32 of the uncompressed content
+ * @param size           size of the uncompressed content
+ * @param compressedData raw deflate data of the content, or the content itself when stored, held in chunks so that large entries need no contiguous array
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public record CompressedZipEntry(String name, int method, long crc, long size, ChunkedByteBuffer compressedData) {
+
+    public long compressedSize() {
+        return compressedData.size();
+    }
+
+    public static CompressedZipEntry deflate(final String name, final InputStream inputStream) throws IOException {
+        return deflate(name, inputStream, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public static CompressedZipEntry deflate(final String name, final InputStream inputStream, final int level) throws IOException {
+        return deflate(name, outputStream -> inputStream.transferTo(outputStream), level);
+    }
+
+    /**
+     * Deflate content while it is written, without holding its uncompressed form in memory
+     */
+    public static CompressedZipEntry deflate(final String name, final PipedUpload.ContentWriter contentWriter, final int level) throws IOException {
+        return compress(name, contentWriter, CompressionPolicy.deflated(level));
+    }
+
+    /**
+     * Compress content while it is written according to a policy. Stored content gets its CRC computed while written.
+     */
+    public static CompressedZipEntry compress(final String name, final PipedUpload.ContentWriter contentWriter, final CompressionPolicy policy) throws IOException {
+        final CompressionPolicy resolvedPolicy = policy.withDefaults(Deflater.DEFAULT_COMPRESSION);
+        if (resolvedPolicy.isStored()) {
+            final ChunkedByteBuffer storedData = new ChunkedByteBuffer();
+            final CheckedOutputStream checkedOutputStream = new CheckedOutputStream(storedData, new CRC32());
+            contentWriter.writeTo(checkedOutputStream);
+            return new CompressedZipEntry(name, ZipEntry.STORED, checkedOutputStream.getChecksum().getValue(), storedData.size(), storedData);
+        }
+        final Deflater deflater = new Deflater(resolvedPolicy.level(), true);
+        deflater.setStrategy(resolvedPolicy.strategy().getDeflaterStrategy());
+        final ChunkedByteBuffer compressedData = new ChunkedByteBuffer();
+        // closing the deflater stream must not discard the compressed data
+        try (final DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(CloseShieldOutputStream.wrap(compressedData), deflater, 8192)) {
+            final CheckedOutputStream checkedOutputStream = new CheckedOutputStream(deflaterOutputStream, new CRC32());
+            contentWriter.writeTo(checkedOutputStream);
+            deflaterOutputStream.finish();
+            return new CompressedZipEntry(name, ZipEntry.DEFLATED, checkedOutputStream.getChecksum().getValue(), deflater.getBytesRead(), compressedData);
+        } finally {
+            deflater.end();
+        }
+    }
+}
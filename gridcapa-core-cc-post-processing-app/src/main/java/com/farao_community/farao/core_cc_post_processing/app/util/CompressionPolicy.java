@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.util.zip.Deflater;
+
+/**
+ * How the entries of an archive are compressed. Unset values fall back to deflate with the default level and strategy.
+ *
+ * @param method   DEFLATED, or STORED to copy entries uncompressed
+ * @param level    deflate level, from 0 to 9
+ * @param strategy deflate strategy
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public record CompressionPolicy(Method method, Integer level, Strategy strategy) {
+
+    public enum Method {
+        DEFLATED,
+        STORED
+    }
+
+    public enum Strategy {
+        DEFAULT(Deflater.DEFAULT_STRATEGY),
+        FILTERED(Deflater.FILTERED),
+        HUFFMAN_ONLY(Deflater.HUFFMAN_ONLY);
+
+        private final int deflaterStrategy;
+
+        Strategy(final int deflaterStrategy) {
+            this.deflaterStrategy = deflaterStrategy;
+        }
+
+        int getDeflaterStrategy() {
+            return deflaterStrategy;
+        }
+    }
+
+    public static CompressionPolicy deflated(final int level) {
+        return new CompressionPolicy(Method.DEFLATED, level, Strategy.DEFAULT);
+    }
+
+    public boolean isStored() {
+        return method == Method.STORED;
+    }
+
+    /**
+     * @return this policy, where unset values are replaced by the given default level and the default strategy
+     */
+    public CompressionPolicy withDefaults(final int defaultLevel) {
+        final int resolvedLevel = level != null && level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION ? level : defaultLevel;
+        return new CompressionPolicy(method != null ? method : Method.DEFLATED, resolvedLevel, strategy != null ? strategy : Strategy.DEFAULT);
+    }
+}
@@ -11,11 +11,7 @@ import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.FlowBasedConstraintDocu
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
-import org.apache.commons.io.IOUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -28,18 +24,11 @@ public final class CracUtil {
 
     public static FlowBasedConstraintDocument importNativeCrac(InputStream inputStream) {
         try {
-            byte[] bytes = getBytesFromInputStream(inputStream);
             JAXBContext jaxbContext = JAXBContext.newInstance(FlowBasedConstraintDocument.class);
             Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-            return (FlowBasedConstraintDocument) jaxbUnmarshaller.unmarshal(new ByteArrayInputStream(bytes));
-        } catch (JAXBException | IOException e) {
+            return (FlowBasedConstraintDocument) jaxbUnmarshaller.unmarshal(inputStream);
+        } catch (JAXBException e) {
             throw new CoreCCPostProcessingInternalException("Exception occurred during import of native crac", e);
         }
     }
-
-    public static byte[] getBytesFromInputStream(InputStream inputStream) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        IOUtils.copy(inputStream, baos);
-        return baos.toByteArray();
-    }
 }
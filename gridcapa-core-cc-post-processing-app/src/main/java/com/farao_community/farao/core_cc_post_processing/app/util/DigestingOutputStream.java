@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the SHA-256 digest and the size of the bytes written through it, so that outputs need no extra pass to be checksummed.
+ * Closing it closes the underlying stream.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class DigestingOutputStream extends FilterOutputStream {
+    private final MessageDigest digest = newSha256Digest();
+    private long size;
+    private OutputChecksum checksum;
+
+    public DigestingOutputStream(final OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    public static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new CoreCCPostProcessingInternalException("SHA-256 digest is not available", e);
+        }
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        write(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (checksum != null) {
+            throw new IOException("Checksum of the content is already computed");
+        }
+        out.write(bytes, offset, length);
+        digest.update(bytes, offset, length);
+        size += length;
+    }
+
+    /**
+     * Checksum of the bytes written so far, nothing can be written afterwards
+     */
+    public OutputChecksum getChecksum() {
+        if (checksum == null) {
+            checksum = new OutputChecksum(HexFormat.of().formatHex(digest.digest()), size);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Opens files with hedged requests: when the first byte of a file has not arrived within a percentile of the recent first byte latencies,
+ * a second request is sent and the first one to answer is read, the other one being cancelled and closed.
+ * A read failing on both requests is retried up to a bounded number of attempts.
+ * Requests limited by request slots wait for their slot before the hedge delay starts, and a read is only hedged if a slot is free at once.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class HedgedReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HedgedReader.class);
+    private static final int MIN_SAMPLES = 20;
+    private static final int MAX_SAMPLES = 256;
+
+    private final ExecutorService executor;
+    private final double percentile;
+    private final Duration initialDelay;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final long[] latencySamples = new long[MAX_SAMPLES];
+    private int sampleCount;
+    private int nextSample;
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * @param percentile   percentile of the first byte latencies after which a read is hedged
+     * @param initialDelay delay after which a read is hedged, until enough latencies are known
+     */
+    public HedgedReader(final ExecutorService executor, final double percentile, final Duration initialDelay, final int maxAttempts, final Duration retryDelay) {
+        this.executor = executor;
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Request that must hold a slot to be sent
+     */
+    public interface LimitedRequest {
+        /**
+         * Wait for a free slot
+         */
+        Slot awaitSlot();
+
+        /**
+         * A slot if one is free right away, empty if all slots are taken
+         */
+        Optional<Slot> trySlot();
+    }
+
+    /**
+     * Slot of a request, released when the answered stream is closed or when the request fails
+     */
+    public interface Slot {
+        InputStream send();
+
+        /**
+         * Release the slot of a request never sent
+         */
+        void release();
+    }
+
+    /**
+     * Open a file, the request being sent as many times as needed
+     */
+    public InputStream read(final Supplier<InputStream> request) {
+        return read(new LimitedRequest() {
+            @Override
+            public Slot awaitSlot() {
+                return unlimitedSlot(request);
+            }
+
+            @Override
+            public Optional<Slot> trySlot() {
+                return Optional.of(unlimitedSlot(request));
+            }
+        });
+    }
+
+    /**
+     * Open a file, the request being sent as many times as needed, each time within a slot of its own
+     */
+    public InputStream read(final LimitedRequest request) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return hedgedRead(request);
+            } catch (final RuntimeException e) {
+                if (attempt >= maxAttempts || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                LOGGER.debug("Read attempt {} failed, retrying", attempt, e);
+                retries.incrementAndGet();
+                sleep(retryDelay.multipliedBy(attempt));
+            }
+        }
+    }
+
+    /**
+     * Delay after which a read is hedged, the configured percentile of the recent first byte latencies
+     */
+    public synchronized Duration getHedgeDelay() {
+        if (sampleCount < MIN_SAMPLES) {
+            return initialDelay;
+        }
+        final long[] sortedSamples = Arrays.copyOf(latencySamples, sampleCount);
+        Arrays.sort(sortedSamples);
+        final int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+        return Duration.ofNanos(sortedSamples[Math.clamp(index, 0, sampleCount - 1)]);
+    }
+
+    public long getHedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    /**
+     * Number of hedged reads answered first by their second request
+     */
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    private InputStream hedgedRead(final LimitedRequest request) {
+        final long hedgeDelayNanos = getHedgeDelay().toNanos();
+        final CompletionService<Attempt> completionService = new ExecutorCompletionService<>(executor);
+        final List<Attempt> attempts = new ArrayList<>(2);
+        final List<Future<Attempt>> futures = new ArrayList<>(2);
+        Attempt winner = null;
+        try {
+            // the hedge delay starts once the first request holds its slot, time spent waiting for it is not latency of the storage
+            submit(request.awaitSlot(), completionService, attempts, futures);
+            Future<Attempt> answered = completionService.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (answered == null) {
+                // when all slots are taken, a second request would only add load to a storage already at its limit
+                final Optional<Slot> hedgeSlot = request.trySlot();
+                if (hedgeSlot.isPresent()) {
+                    hedgedRequests.incrementAndGet();
+                    submit(hedgeSlot.get(), completionService, attempts, futures);
+                }
+            }
+            RuntimeException failure = null;
+            for (int pending = futures.size(); pending > 0; pending--) {
+                if (answered == null) {
+                    answered = completionService.take();
+                }
+                try {
+                    winner = answered.get();
+                    break;
+                } catch (final ExecutionException e) {
+                    failure = asRuntimeException(e.getCause(), failure);
+                    answered = null;
+                }
+            }
+            if (winner == null) {
+                throw failure;
+            }
+            if (winner != attempts.getFirst()) {
+                hedgeWins.incrementAndGet();
+            }
+            recordLatency(winner.firstByteLatencyNanos);
+            return winner.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreCCPostProcessingInternalException("Interrupted while reading from storage", e);
+        } finally {
+            for (int i = 0; i < attempts.size(); i++) {
+                if (attempts.get(i) != winner) {
+                    futures.get(i).cancel(true);
+                    attempts.get(i).abandon();
+                }
+            }
+        }
+    }
+
+    private static Slot unlimitedSlot(final Supplier<InputStream> request) {
+        return new Slot() {
+            @Override
+            public InputStream send() {
+                return request.get();
+            }
+
+            @Override
+            public void release() {
+                // no slot is held
+            }
+        };
+    }
+
+    private void submit(final Slot slot,
+                        final CompletionService<Attempt> completionService,
+                        final List<Attempt> attempts,
+                        final List<Future<Attempt>> futures) {
+        final Attempt attempt = new Attempt(slot);
+        attempts.add(attempt);
+        futures.add(completionService.submit(attempt));
+    }
+
+    private synchronized void recordLatency(final long latencyNanos) {
+        latencySamples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % MAX_SAMPLES;
+        sampleCount = Math.min(sampleCount + 1, MAX_SAMPLES);
+    }
+
+    private static RuntimeException asRuntimeException(final Throwable cause, final RuntimeException previousFailure) {
+        final RuntimeException failure;
+        if (cause instanceof RuntimeException runtimeException) {
+            failure = runtimeException;
+        } else if (cause instanceof IOException ioException) {
+            failure = new UncheckedIOException(ioException);
+        } else {
+            failure = new CoreCCPostProcessingInternalException("Error while reading from storage", cause);
+        }
+        if (previousFailure != null) {
+            failure.addSuppressed(previousFailure);
+        }
+        return failure;
+    }
+
+    private static void sleep(final Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CoreCCPostProcessingInternalException("Interrupted while reading from storage", e);
+        }
+    }
+
+    private static void closeQuietly(final InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (final IOException e) {
+            LOGGER.debug("Cancelled read could not be closed", e);
+        }
+    }
+
+    /**
+     * A request of a read, answered once the first byte of the file arrived. The stream of an abandoned request is closed whenever it arrives,
+     * and the slot of a request abandoned before being sent is released.
+     */
+    private static final class Attempt implements Callable<Attempt> {
+        private final Slot slot;
+        private InputStream inputStream;
+        private long firstByteLatencyNanos;
+        private boolean sent;
+        private boolean abandoned;
+
+        private Attempt(final Slot slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public Attempt call() throws IOException {
+            synchronized (this) {
+                if (abandoned) {
+                    return this;
+                }
+                sent = true;
+            }
+            final long start = System.nanoTime();
+            final InputStream response = slot.send();
+            if (response == null) {
+                return this;
+            }
+            final PushbackInputStream answer = new PushbackInputStream(response);
+            try {
+                final int firstByte = answer.read();
+                if (firstByte >= 0) {
+                    answer.unread(firstByte);
+                }
+            } catch (final IOException | RuntimeException e) {
+                closeQuietly(answer);
+                throw e;
+            }
+            synchronized (this) {
+                if (abandoned) {
+                    closeQuietly(answer);
+                } else {
+                    inputStream = answer;
+                    firstByteLatencyNanos = System.nanoTime() - start;
+                }
+            }
+            return this;
+        }
+
+        private synchronized InputStream take() {
+            final InputStream answer = inputStream;
+            inputStream = null;
+            return answer;
+        }
+
+        private synchronized void abandon() {
+            if (!sent && !abandoned) {
+                slot.release();
+            }
+            abandoned = true;
+            if (inputStream != null) {
+                closeQuietly(inputStream);
+                inputStream = null;
+            }
+        }
+    }
+}
@@ -54,6 +54,13 @@ public final class IntervalUtil {
         return !offsetDateTime.isBefore(startTimeBranch) && offsetDateTime.isBefore(endTimeBranch);
     }
 
+    /**
+     * Business day of an hourly timestamp, days are delimited in CET
+     */
+    public static LocalDate getBusinessDate(OffsetDateTime timestamp) {
+        return timestamp.atZoneSameInstant(ZoneId.of("CET")).toLocalDate();
+    }
+
     public static String getFormattedBusinessDay(LocalDate localDate, String format) {
         return DateTimeFormatter.ofPattern(format).format(localDate);
     }
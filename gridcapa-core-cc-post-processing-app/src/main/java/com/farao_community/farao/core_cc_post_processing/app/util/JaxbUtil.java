@@ -17,8 +17,11 @@ import org.slf4j.LoggerFactory;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
-import java.io.ByteArrayOutputStream;
-import java.io.StringWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author Mohamed BenRejeb {@literal <mohamed.ben-rejeb at rte-france.com>}
@@ -33,14 +36,15 @@ public final class JaxbUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JaxbUtil.class);
 
-    public static <T> byte[] writeInBytes(Class<T> clazz, T type) {
+    /**
+     * Marshall an object into a stream, which is left open
+     */
+    public static <T> void write(Class<T> clazz, T type, OutputStream outputStream) {
         try {
             JAXBContext context = JAXBContext.newInstance(clazz);
             Marshaller marshaller = context.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            marshaller.marshal(type, bos);
-            return bos.toByteArray();
+            marshaller.marshal(type, outputStream);
         } catch (JAXBException e) {
             String errorMessage = String.format("Error occurred when writing content of object of type %s to bytes", clazz.getName());
             LOGGER.error(errorMessage);
@@ -48,23 +52,63 @@ public final class JaxbUtil {
         }
     }
 
-    public static byte[] marshallMessageAndSetJaxbProperties(ResponseMessageType responseMessage) {
-        try {
-            StringWriter stringWriter = new StringWriter();
+    /**
+     * Marshall a response message into a stream, which is left open.
+     * Namespaces expected by the receivers are set line by line while the message is written
+     */
+    public static void marshallMessageAndSetJaxbProperties(ResponseMessageType responseMessage, OutputStream outputStream) {
+        try (ResponseNamespacesWriter writer = new ResponseNamespacesWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
             JAXBContext jaxbContext = JAXBContext.newInstance(ResponseMessageType.class);
             Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
             jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
             String eventMessage = "EventMessage";
             QName qName = new QName(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, eventMessage);
             JAXBElement<ResponseMessageType> root = new JAXBElement<>(qName, ResponseMessageType.class, responseMessage);
-            jaxbMarshaller.marshal(root, stringWriter);
-            return stringWriter.toString()
-                .replace("xsi:EventMessage", "EventMessage")
-                .replace("<EventMessage", "<EventMessage xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\"")
-                .replace("<ResponseItems", "<ResponseItems xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns=\"http://unicorn.com/Response/response-payload\"")
-                .getBytes();
+            jaxbMarshaller.marshal(root, writer);
         } catch (Exception e) {
             throw new CoreCCPostProcessingInternalException("Exception occurred during RAO Response export.", e);
         }
     }
+
+    /**
+     * Formatted output has a tag per line at most, so that tags are rewritten once their line is complete.
+     * Closing the writer only flushes the underlying writer, leaving its stream open
+     */
+    private static final class ResponseNamespacesWriter extends Writer {
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder();
+
+        private ResponseNamespacesWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                line.append(chars[i]);
+                if (chars[i] == '\n') {
+                    writeLine();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeLine();
+            out.flush();
+        }
+
+        private void writeLine() throws IOException {
+            out.write(line.toString()
+                .replace("xsi:EventMessage", "EventMessage")
+                .replace("<EventMessage", "<EventMessage xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\"")
+                .replace("<ResponseItems", "<ResponseItems xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" xmlns=\"http://unicorn.com/Response/response-payload\""));
+            line.setLength(0);
+        }
+    }
 }
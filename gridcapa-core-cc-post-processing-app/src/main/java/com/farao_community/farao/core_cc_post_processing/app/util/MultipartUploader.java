@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Uploads a stream in parts of a fixed size, sent concurrently to a {@link PartStore}.
+ * Memory is bounded: at most {@code maxInFlightParts} parts are read ahead of their upload,
+ * in buffers taken from a chunk pool and given back once each part is uploaded.
+ * A failed part is sent again, up to {@code maxAttempts} times, before the whole upload is aborted.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class MultipartUploader {
+    static final int MAX_PARTS = 10000;
+
+    private final PartStore partStore;
+    private final ExecutorService executor;
+    private final ChunkPool chunkPool;
+    private final int partSize;
+    private final int maxInFlightParts;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    public MultipartUploader(final PartStore partStore,
+                             final ExecutorService executor,
+                             final ChunkPool chunkPool,
+                             final int partSize,
+                             final int maxInFlightParts,
+                             final int maxAttempts,
+                             final Duration retryDelay) {
+        this.partStore = partStore;
+        this.executor = executor;
+        this.chunkPool = chunkPool;
+        this.partSize = partSize;
+        this.maxInFlightParts = maxInFlightParts;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Content smaller than a part is stored at once, without being split
+     *
+     * @param userMetadata metadata stored with the object once all its parts are uploaded
+     * @return number of bytes uploaded
+     */
+    public long upload(final String path, final InputStream content, final Map<String, String> userMetadata) throws IOException {
+        ChunkedByteBuffer part = readPart(content);
+        if (part.size() < partSize) {
+            try (final ChunkedByteBuffer wholeContent = part) {
+                partStore.putObject(path, wholeContent, userMetadata);
+                return wholeContent.size();
+            }
+        }
+
+        final Semaphore inFlightParts = new Semaphore(maxInFlightParts);
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final List<Future<Void>> partUploads = new ArrayList<>();
+        long uploadedBytes = 0;
+        try {
+            // a permit is acquired before a part is read, and released once the part is uploaded
+            acquire(inFlightParts);
+            while (part.size() > 0) {
+                if (partUploads.size() == MAX_PARTS) {
+                    throw new IOException(String.format("Upload of %s exceeds %d parts of %d bytes", path, MAX_PARTS, partSize));
+                }
+                checkFailedParts(partUploads);
+                final long partBytes = part.size();
+                // the part is owned by its upload from now on, which closes it
+                final ChunkedByteBuffer submittedPart = part;
+                part = null;
+                partUploads.add(submitPart(path, partUploads.size() + 1, submittedPart, inFlightParts, aborted));
+                uploadedBytes += partBytes;
+                acquire(inFlightParts);
+                part = readPart(content);
+            }
+            part.close();
+            for (final Future<Void> partUpload : partUploads) {
+                await(partUpload);
+            }
+            partStore.complete(path, partUploads.size(), userMetadata);
+            return uploadedBytes;
+        } catch (final IOException | RuntimeException e) {
+            if (part != null) {
+                part.close();
+            }
+            // parts being uploaded are awaited, so that none of them is stored after the upload is aborted
+            aborted.set(true);
+            partUploads.forEach(MultipartUploader::awaitQuietly);
+            partStore.abort(path, partUploads.size());
+            throw e;
+        }
+    }
+
+    /**
+     * @return buffer of at most a part size, empty at the end of the content
+     */
+    private ChunkedByteBuffer readPart(final InputStream content) throws IOException {
+        final ChunkedByteBuffer part = new ChunkedByteBuffer(chunkPool, partSize);
+        try {
+            IOUtils.copyLarge(content, part, 0, partSize);
+            return part;
+        } catch (final IOException | RuntimeException e) {
+            part.close();
+            throw e;
+        }
+    }
+
+    private Future<Void> submitPart(final String path, final int partNumber, final ChunkedByteBuffer part, final Semaphore inFlightParts, final AtomicBoolean aborted) {
+        try {
+            return executor.submit(() -> {
+                try (part) {
+                    uploadPart(path, partNumber, part, aborted);
+                    return null;
+                } finally {
+                    inFlightParts.release();
+                }
+            });
+        } catch (final RuntimeException e) {
+            part.close();
+            inFlightParts.release();
+            throw e;
+        }
+    }
+
+    private void uploadPart(final String path, final int partNumber, final ChunkedByteBuffer part, final AtomicBoolean aborted) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            if (aborted.get()) {
+                throw new IOException(String.format("Upload of %s was aborted", path));
+            }
+            try {
+                partStore.uploadPart(path, partNumber, part);
+                return;
+            } catch (final IOException | RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw new IOException(String.format("Part %d of %s could not be uploaded after %d attempts", partNumber, path, attempt), e);
+                }
+                Thread.sleep(retryDelay.multipliedBy(attempt).toMillis());
+            }
+        }
+    }
+
+    private static void checkFailedParts(final List<Future<Void>> partUploads) throws IOException {
+        for (final Future<Void> partUpload : partUploads) {
+            if (partUpload.isDone()) {
+                await(partUpload);
+            }
+        }
+    }
+
+    private static void await(final Future<Void> partUpload) throws IOException {
+        try {
+            partUpload.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the upload of a part");
+        } catch (final ExecutionException e) {
+            throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e.getCause());
+        } catch (final CancellationException e) {
+            throw new IOException("Upload of a part was cancelled", e);
+        }
+    }
+
+    private static void awaitQuietly(final Future<Void> partUpload) {
+        try {
+            partUpload.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | CancellationException e) {
+            // the failure that aborted the upload is the one reported
+        }
+    }
+
+    private static void acquire(final Semaphore semaphore) throws InterruptedIOException {
+        try {
+            semaphore.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a part to be uploaded");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+/**
+ * Integrity data of an output, computed while it is written
+ *
+ * @param sha256 hexadecimal SHA-256 digest identifying the content, computed on the content itself or on a form of it leaving out what changes on every run, such as creation instants
+ * @param size   number of bytes of the content
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public record OutputChecksum(String sha256, long size) {
+}
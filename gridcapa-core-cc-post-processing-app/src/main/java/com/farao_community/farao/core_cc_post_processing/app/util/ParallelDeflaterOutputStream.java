@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Deflates a content in fixed-size blocks compressed on a pool of worker threads, and writes their raw deflate data in order.
+ * Each block is deflated on its own, primed with the last 32 KB of the block before, and ends with a sync flush on a byte boundary,
+ * so that the blocks written one after the other make a single deflate stream, the last block ending it.
+ * At most {@code maxPendingBlocks} blocks and their compressed data are held in memory, whatever the size of the content.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+final class ParallelDeflaterOutputStream extends OutputStream {
+    /**
+     * Below half of the smallest G1 region, blocks are never humongous allocations
+     */
+    static final int BLOCK_SIZE = ChunkedByteBuffer.DEFAULT_CHUNK_SIZE;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int DEFLATE_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream compressedOutputStream;
+    private final Executor compressionExecutor;
+    private final CompressionPolicy policy;
+    private final int maxPendingBlocks;
+    private final Deque<Future<ChunkedByteBuffer>> pendingBlocks = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int blockLength;
+    private byte[] dictionary;
+    private long size;
+    private boolean finished;
+
+    /**
+     * @param policy deflate policy, with its level and strategy resolved
+     */
+    ParallelDeflaterOutputStream(final OutputStream compressedOutputStream, final Executor compressionExecutor, final CompressionPolicy policy, final int maxPendingBlocks) {
+        this.compressedOutputStream = compressedOutputStream;
+        this.compressionExecutor = compressionExecutor;
+        this.policy = policy;
+        this.maxPendingBlocks = Math.max(maxPendingBlocks, 1);
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        write(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (finished) {
+            throw new IOException("Deflated content is finished");
+        }
+        crc.update(bytes, offset, length);
+        size += length;
+        int written = 0;
+        while (written < length) {
+            final int count = Math.min(length - written, BLOCK_SIZE - blockLength);
+            System.arraycopy(bytes, offset + written, block, blockLength, count);
+            blockLength += count;
+            written += count;
+            if (blockLength == BLOCK_SIZE) {
+                compressBlock(false);
+            }
+        }
+    }
+
+    /**
+     * Compress the last block, and write the compressed data of all blocks
+     *
+     * @return checksum of the content
+     */
+    RawZipWriter.ContentChecksum finish() throws IOException {
+        if (!finished) {
+            compressBlock(true);
+            while (!pendingBlocks.isEmpty()) {
+                writeFirstBlock();
+            }
+            finished = true;
+        }
+        return new RawZipWriter.ContentChecksum(crc.getValue(), size);
+    }
+
+    /**
+     * Blocks still being compressed are dropped, the compressed output is left as is
+     */
+    @Override
+    public void close() {
+        finished = true;
+        pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(true));
+        pendingBlocks.clear();
+    }
+
+    private void compressBlock(final boolean last) throws IOException {
+        final byte[] input = block;
+        final int inputLength = blockLength;
+        final byte[] inputDictionary = dictionary;
+        // only the last block may be shorter than the dictionary
+        dictionary = Arrays.copyOfRange(input, Math.max(0, inputLength - DICTIONARY_SIZE), inputLength);
+        block = last ? null : new byte[BLOCK_SIZE];
+        blockLength = 0;
+        while (pendingBlocks.size() >= maxPendingBlocks) {
+            writeFirstBlock();
+        }
+        pendingBlocks.addLast(CompletableFuture.supplyAsync(() -> deflate(input, inputLength, inputDictionary, last), compressionExecutor));
+    }
+
+    private ChunkedByteBuffer deflate(final byte[] input, final int inputLength, final byte[] inputDictionary, final boolean last) {
+        final Deflater deflater = new Deflater(policy.level(), true);
+        try {
+            deflater.setStrategy(policy.strategy().getDeflaterStrategy());
+            if (inputDictionary != null) {
+                deflater.setDictionary(inputDictionary);
+            }
+            deflater.setInput(input, 0, inputLength);
+            final ChunkedByteBuffer compressedBlock = new ChunkedByteBuffer();
+            final byte[] buffer = new byte[DEFLATE_BUFFER_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressedBlock.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // a sync flush is over once it leaves room in the buffer
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressedBlock.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return compressedBlock;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeFirstBlock() throws IOException {
+        try {
+            try (final ChunkedByteBuffer compressedBlock = pendingBlocks.removeFirst().get()) {
+                compressedBlock.writeTo(compressedOutputStream);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a block to be compressed");
+        } catch (final ExecutionException e) {
+            throw new IOException("Block could not be compressed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a zip archive whose entries are compressed on a pool of worker threads, shared by the archives written at once.
+ * Entries are written in the order they were given, whatever the order their compression ends in,
+ * and at most {@code 2 * parallelism} compressed entries are held in memory waiting to be written.
+ * With a parallelism of 1, entries are compressed by the calling thread. Large entries can be streamed into the archive instead.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class ParallelZipWriter implements Closeable {
+    private final RawZipWriter zipWriter;
+    private final Executor compressionExecutor;
+    private final int maxPendingEntries;
+    private final Deque<Future<CompressedZipEntry>> pendingEntries = new ArrayDeque<>();
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * @param compressionExecutor pool compressing the entries, left running once the archive is written
+     * @param parallelism         number of entries compressed at once
+     */
+    public ParallelZipWriter(final OutputStream outputStream, final Executor compressionExecutor, final int parallelism) {
+        this.zipWriter = new RawZipWriter(outputStream);
+        this.compressionExecutor = parallelism > 1 ? compressionExecutor : null;
+        this.maxPendingEntries = 2 * Math.max(parallelism, 1);
+    }
+
+    /**
+     * Schedule the compression of an entry, which is written once the entries given before are written
+     */
+    public void writeEntry(final Callable<CompressedZipEntry> entryCompression) throws IOException {
+        if (compressionExecutor == null) {
+            writeCompleted(complete(entryCompression));
+            return;
+        }
+        while (pendingEntries.size() >= maxPendingEntries) {
+            writeCompleted(pendingEntries.removeFirst());
+        }
+        final FutureTask<CompressedZipEntry> pendingEntry = new FutureTask<>(entryCompression);
+        compressionExecutor.execute(pendingEntry);
+        pendingEntries.addLast(pendingEntry);
+    }
+
+    /**
+     * Write an already compressed entry, once the entries given before are written
+     */
+    public void writeEntry(final CompressedZipEntry entry) throws IOException {
+        writeEntry(() -> entry);
+    }
+
+    /**
+     * Compress an entry straight into the archive, once the entries given before are written.
+     * Meant for large entries, which are never held in memory: their content is deflated in blocks compressed in parallel,
+     * at most {@code 2 * parallelism} blocks being held in memory at once.
+     */
+    public RawZipWriter.WrittenEntry writeEntry(final String name, final PipedUpload.ContentWriter contentWriter, final CompressionPolicy policy) throws IOException {
+        while (!pendingEntries.isEmpty()) {
+            writeCompleted(pendingEntries.removeFirst());
+        }
+        final CompressionPolicy resolvedPolicy = policy.withDefaults(Deflater.DEFAULT_COMPRESSION);
+        try {
+            if (compressionExecutor == null || resolvedPolicy.isStored()) {
+                return zipWriter.writeEntry(name, contentWriter, resolvedPolicy);
+            }
+            return zipWriter.writeDeflatedEntry(name, compressedOutputStream -> {
+                try (final ParallelDeflaterOutputStream deflaterOutputStream = new ParallelDeflaterOutputStream(compressedOutputStream, compressionExecutor, resolvedPolicy, maxPendingEntries)) {
+                    contentWriter.writeTo(CloseShieldOutputStream.wrap(deflaterOutputStream));
+                    return deflaterOutputStream.finish();
+                }
+            });
+        } catch (final IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Checksums of the uncompressed content of the entries written so far, by entry name in the order they were given: all of them once the archive is closed
+     */
+    public Map<String, RawZipWriter.ContentChecksum> getEntryChecksums() {
+        return zipWriter.getEntryChecksums();
+    }
+
+    private static Future<CompressedZipEntry> complete(final Callable<CompressedZipEntry> entryCompression) {
+        try {
+            return CompletableFuture.completedFuture(entryCompression.call());
+        } catch (final Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void writeCompleted(final Future<CompressedZipEntry> pendingEntry) throws IOException {
+        try {
+            zipWriter.writeEntry(pendingEntry.get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+            throw new InterruptedIOException("Interrupted while waiting for an entry to be compressed");
+        } catch (final ExecutionException e) {
+            failed = true;
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Zip entry could not be compressed", e.getCause());
+        } catch (final IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the remaining entries and the central directory, the underlying stream is flushed but left open.
+     * Once an entry failed, the archive is left incomplete.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            while (!failed && !pendingEntries.isEmpty()) {
+                writeCompleted(pendingEntries.removeFirst());
+            }
+            if (!failed) {
+                zipWriter.close();
+            }
+        } finally {
+            pendingEntries.forEach(pendingEntry -> pendingEntry.cancel(true));
+            pendingEntries.clear();
+        }
+    }
+}
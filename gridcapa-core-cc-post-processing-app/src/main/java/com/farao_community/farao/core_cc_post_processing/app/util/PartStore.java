@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Storage receiving the parts of an object uploaded by {@link MultipartUploader}.
+ * Parts may be uploaded concurrently, in any order, and a part may be uploaded again after a failure.
+ * Contents are only read during the call, they can be read again for each attempt.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public interface PartStore {
+
+    /**
+     * Store an object small enough to be sent at once
+     *
+     * @param userMetadata metadata stored with the object
+     */
+    void putObject(String path, ChunkedByteBuffer content, Map<String, String> userMetadata) throws IOException;
+
+    /**
+     * @param partNumber number of the part in the object, from 1
+     */
+    void uploadPart(String path, int partNumber, ChunkedByteBuffer content) throws IOException;
+
+    /**
+     * Assemble the parts numbered from 1 to {@code partCount} into the object
+     *
+     * @param userMetadata metadata stored with the object
+     */
+    void complete(String path, int partCount, Map<String, String> userMetadata) throws IOException;
+
+    /**
+     * Discard the parts already uploaded, the object is left unchanged
+     */
+    void abort(String path, int partCount);
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uploads content while it is being written: a writer, run by the given executor, fills a bounded pipe of chunks that the upload reads from,
+ * so that at most {@code chunkSize * maxChunks} bytes of the content are held by the pipe at once.
+ * The pipe does not bound the memory of the upload itself: an upload of unknown length buffers a whole part before sending it.
+ * A failure of the writer is reported to the upload as a read error, so that a truncated content is never uploaded as complete.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class PipedUpload {
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_MAX_CHUNKS = 4;
+
+    private static final Chunk END_OF_CONTENT = new Chunk(new byte[0], null);
+    private static final long POLL_MILLIS = 100;
+
+    private PipedUpload() {
+        throw new AssertionError("Utility class should not be constructed");
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Upload {
+        void upload(InputStream inputStream) throws IOException;
+    }
+
+    /**
+     * @return number of bytes uploaded
+     */
+    public static long upload(final ContentWriter contentWriter, final Upload upload, final Executor writerExecutor) throws IOException {
+        return upload(contentWriter, upload, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_CHUNKS, writerExecutor);
+    }
+
+    /**
+     * @return number of bytes uploaded
+     */
+    public static long upload(final ContentWriter contentWriter,
+                              final Upload upload,
+                              final int chunkSize,
+                              final int maxChunks,
+                              final Executor writerExecutor) throws IOException {
+        final Pipe pipe = new Pipe(maxChunks);
+        final AtomicLong bytesWritten = new AtomicLong();
+        final CompletableFuture<Void> writer;
+        try {
+            writer = CompletableFuture.runAsync(() -> write(contentWriter, pipe, chunkSize, bytesWritten), writerExecutor);
+        } catch (final RejectedExecutionException e) {
+            throw new IOException("No writer available to write the content to upload", e);
+        }
+        try (final PipeInputStream inputStream = new PipeInputStream(pipe)) {
+            upload.upload(inputStream);
+        } finally {
+            // the writer stops writing as soon as the upload closes its end of the pipe, it never fails since its failures go to the pipe
+            pipe.closeReadSide();
+            writer.join();
+        }
+        if (pipe.writerFailure != null) {
+            throw new IOException("Content could not be written while uploading it", pipe.writerFailure);
+        }
+        return bytesWritten.get();
+    }
+
+    private static void write(final ContentWriter contentWriter, final Pipe pipe, final int chunkSize, final AtomicLong bytesWritten) {
+        // the end of content must only be sent once the content is completely written
+        final PipeOutputStream outputStream = new PipeOutputStream(pipe, chunkSize);
+        try {
+            contentWriter.writeTo(outputStream);
+            outputStream.close();
+            bytesWritten.set(outputStream.bytesWritten);
+        } catch (final Throwable e) { // NOSONAR because the upload must not wait for a content that will never come
+            pipe.fail(e);
+        }
+    }
+
+    private record Chunk(byte[] data, Throwable failure) {
+    }
+
+    private static final class Pipe {
+        private final BlockingQueue<Chunk> chunks;
+        private volatile boolean readSideClosed;
+        private volatile Throwable writerFailure;
+
+        private Pipe(final int maxChunks) {
+            this.chunks = new ArrayBlockingQueue<>(maxChunks + 1);
+        }
+
+        private void put(final Chunk chunk) throws IOException {
+            try {
+                while (!chunks.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (readSideClosed) {
+                        throw new IOException("Upload stopped reading the content");
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while writing content to upload");
+            }
+        }
+
+        private void fail(final Throwable failure) {
+            writerFailure = failure;
+            try {
+                put(new Chunk(null, failure));
+            } catch (final IOException e) {
+                // the upload is not reading anymore, the failure is then reported by upload() itself
+            }
+        }
+
+        private void closeReadSide() {
+            readSideClosed = true;
+            chunks.clear();
+        }
+    }
+
+    private static final class PipeOutputStream extends OutputStream {
+        private final Pipe pipe;
+        private final byte[] buffer;
+        private int count;
+        private long bytesWritten;
+        private boolean closed;
+
+        private PipeOutputStream(final Pipe pipe, final int chunkSize) {
+            this.pipe = pipe;
+            this.buffer = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            if (count == buffer.length) {
+                flushChunk();
+            }
+            buffer[count++] = (byte) value;
+            bytesWritten++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            int position = offset;
+            int remaining = length;
+            while (remaining > 0) {
+                if (count == buffer.length) {
+                    flushChunk();
+                }
+                final int copied = Math.min(remaining, buffer.length - count);
+                System.arraycopy(bytes, position, buffer, count, copied);
+                count += copied;
+                position += copied;
+                remaining -= copied;
+            }
+            bytesWritten += length;
+        }
+
+        private void flushChunk() throws IOException {
+            if (count > 0) {
+                pipe.put(new Chunk(Arrays.copyOf(buffer, count), null));
+                count = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                flushChunk();
+                pipe.put(END_OF_CONTENT);
+            }
+        }
+    }
+
+    private static final class PipeInputStream extends InputStream {
+        private final Pipe pipe;
+        private byte[] current = new byte[0];
+        private int position;
+        private boolean ended;
+
+        private PipeInputStream(final Pipe pipe) {
+            this.pipe = pipe;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position == current.length) {
+                if (ended) {
+                    return -1;
+                }
+                nextChunk();
+            }
+            final int copied = Math.min(length, current.length - position);
+            System.arraycopy(current, position, bytes, offset, copied);
+            position += copied;
+            return copied;
+        }
+
+        private void nextChunk() throws IOException {
+            final Chunk chunk;
+            try {
+                chunk = pipe.chunks.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading content to upload");
+            }
+            if (chunk.failure() != null) {
+                throw new IOException("Content could not be written while uploading it", chunk.failure());
+            }
+            if (chunk == END_OF_CONTENT) {
+                ended = true;
+            }
+            current = chunk.data();
+            position = 0;
+        }
+
+        @Override
+        public int available() {
+            return current.length - position;
+        }
+
+        @Override
+        public void close() {
+            pipe.closeReadSide();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage from which {@link RangedDownloader} reads byte ranges of an object.
+ * Ranges may be read concurrently, in any order, and a range may be read again after a failure.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public interface RangeStore {
+
+    /**
+     * @return size of the object in bytes
+     */
+    long size(String path) throws IOException;
+
+    InputStream openRange(String path, long offset, long length) throws IOException;
+}
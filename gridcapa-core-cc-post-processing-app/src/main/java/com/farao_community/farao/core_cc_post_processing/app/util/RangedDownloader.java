@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Downloads an object in byte ranges of a fixed size, fetched concurrently from a {@link RangeStore} and read back in order.
+ * Memory is bounded: at most {@code maxRangesAhead} ranges are fetched ahead of the one being read.
+ * A failed range is fetched again, up to {@code maxAttempts} times, before the download fails.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class RangedDownloader {
+    private final RangeStore rangeStore;
+    private final ExecutorService executor;
+    private final int rangeSize;
+    private final int maxRangesAhead;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+
+    public RangedDownloader(final RangeStore rangeStore,
+                            final ExecutorService executor,
+                            final int rangeSize,
+                            final int maxRangesAhead,
+                            final int maxAttempts,
+                            final Duration retryDelay) {
+        this.rangeStore = rangeStore;
+        this.executor = executor;
+        this.rangeSize = rangeSize;
+        this.maxRangesAhead = maxRangesAhead;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Start downloading an object, its first ranges being fetched right away
+     *
+     * @param size size of the object, as stated by the store
+     */
+    public InputStream open(final String path, final long size) {
+        return new RangedInputStream(path, size);
+    }
+
+    private byte[] fetchRange(final String path, final long offset, final int length) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try (InputStream inputStream = rangeStore.openRange(path, offset, length)) {
+                final byte[] range = inputStream.readNBytes(length);
+                if (range.length < length) {
+                    throw new IOException(String.format("Range at %d of %s is truncated, %d bytes read out of %d", offset, path, range.length, length));
+                }
+                return range;
+            } catch (final IOException | RuntimeException e) {
+                if (attempt >= maxAttempts || Thread.currentThread().isInterrupted()) {
+                    throw new IOException(String.format("Range at %d of %s could not be downloaded after %d attempts", offset, path, attempt), e);
+                }
+                Thread.sleep(retryDelay.multipliedBy(attempt).toMillis());
+            }
+        }
+    }
+
+    /**
+     * Reads the ranges in order, a new range being fetched each time one is consumed
+     */
+    private final class RangedInputStream extends InputStream {
+        private final String path;
+        private final long size;
+        private final Deque<Future<byte[]>> pendingRanges = new ArrayDeque<>();
+        private long nextRangeOffset;
+        private byte[] currentRange = new byte[0];
+        private int position;
+        private boolean closed;
+
+        private RangedInputStream(final String path, final long size) {
+            this.path = path;
+            this.size = size;
+            boolean submitted = true;
+            while (submitted && pendingRanges.size() < maxRangesAhead) {
+                submitted = submitNextRange();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            return currentRange[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureAvailable()) {
+                return -1;
+            }
+            final int bytesRead = Math.min(length, currentRange.length - position);
+            System.arraycopy(currentRange, position, buffer, offset, bytesRead);
+            position += bytesRead;
+            return bytesRead;
+        }
+
+        @Override
+        public int available() {
+            return currentRange.length - position;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            currentRange = new byte[0];
+            pendingRanges.forEach(range -> range.cancel(true));
+            pendingRanges.clear();
+        }
+
+        private boolean ensureAvailable() throws IOException {
+            if (closed) {
+                throw new IOException(String.format("Download of %s is closed", path));
+            }
+            while (position == currentRange.length) {
+                final Future<byte[]> nextRange = pendingRanges.poll();
+                if (nextRange == null) {
+                    return false;
+                }
+                currentRange = await(nextRange);
+                position = 0;
+                submitNextRange();
+            }
+            return true;
+        }
+
+        private boolean submitNextRange() {
+            if (nextRangeOffset >= size) {
+                return false;
+            }
+            final long offset = nextRangeOffset;
+            final int length = (int) Math.min(rangeSize, size - offset);
+            pendingRanges.add(executor.submit(() -> fetchRange(path, offset, length)));
+            nextRangeOffset += length;
+            return true;
+        }
+
+        private byte[] await(final Future<byte[]> range) throws IOException {
+            try {
+                return range.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(String.format("Interrupted while downloading %s", path));
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw new IOException(String.format("Download of %s failed", path), e.getCause());
+            } catch (final CancellationException e) {
+                throw new IOException(String.format("Download of %s was cancelled", path), e);
+            }
+        }
+    }
+}
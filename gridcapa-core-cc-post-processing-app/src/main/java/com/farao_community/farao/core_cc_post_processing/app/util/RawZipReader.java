@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the file entries of an in-memory zip archive without inflating them, to be copied as is by {@link RawZipWriter}.
+ * Entries are located through the central directory, which holds their sizes and CRC even when written with a data descriptor.
+ * Their checksums can also be read alone, from the central directory only.
+ * Archives this reader does not support (zip64, encrypted entries, other compression methods) are rejected with a {@link ZipException}.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class RawZipReader {
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int ENCRYPTED_FLAG = 0x0001;
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+    private RawZipReader() {
+        throw new AssertionError("Utility class should not be constructed");
+    }
+
+    /**
+     * Name, CRC and size of a file entry, as recorded in the central directory
+     */
+    public record EntryChecksum(String name, long crc, long size) {
+    }
+
+    private record CentralDirectoryEntry(String name, int flags, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /**
+     * @param maxEntries maximum number of entries, directories included, the archive may have
+     * @throws ZipException if the archive is malformed or not supported
+     * @throws IOException  if the archive has more than {@code maxEntries} entries
+     */
+    public static List<CompressedZipEntry> readEntries(final byte[] archive, final int maxEntries) throws IOException {
+        final List<CentralDirectoryEntry> centralDirectory = readCentralDirectory(archive, maxEntries);
+        final List<CompressedZipEntry> entries = new ArrayList<>(centralDirectory.size());
+        for (final CentralDirectoryEntry entry : centralDirectory) {
+            if ((entry.flags() & ENCRYPTED_FLAG) != 0) {
+                throw new ZipException("encrypted entries are not supported: " + entry.name());
+            }
+            if (entry.method() != ZipEntry.DEFLATED && entry.method() != ZipEntry.STORED) {
+                throw new ZipException("unsupported compression method of entry: " + entry.name());
+            }
+            if (!entry.isDirectory()) {
+                entries.add(new CompressedZipEntry(entry.name(), entry.method(), entry.crc(), entry.size(),
+                        readData(archive, entry.localHeaderOffset(), entry.compressedSize(), entry.name())));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Checksums of the file entries, read from the central directory only: entries are neither inflated nor copied
+     *
+     * @param maxEntries maximum number of entries, directories included, the archive may have
+     * @throws ZipException if the archive is malformed or not supported
+     * @throws IOException  if the archive has more than {@code maxEntries} entries
+     */
+    public static List<EntryChecksum> readEntryChecksums(final byte[] archive, final int maxEntries) throws IOException {
+        return readCentralDirectory(archive, maxEntries).stream()
+                .filter(entry -> !entry.isDirectory())
+                .map(entry -> new EntryChecksum(entry.name(), entry.crc(), entry.size()))
+                .toList();
+    }
+
+    private static List<CentralDirectoryEntry> readCentralDirectory(final byte[] archive, final int maxEntries) throws IOException {
+        final int endOfCentralDirectory = findEndOfCentralDirectory(archive);
+        final int entryCount = readShort(archive, endOfCentralDirectory + 10);
+        if (entryCount > maxEntries) {
+            throw new IOException("Entry threshold reached while unzipping.");
+        }
+        final long centralDirectoryOffset = readInt(archive, endOfCentralDirectory + 16);
+        if (entryCount == 0xFFFF || centralDirectoryOffset == ZIP64_MARKER) {
+            throw new ZipException("zip64 archives are not supported");
+        }
+
+        final List<CentralDirectoryEntry> entries = new ArrayList<>(entryCount);
+        int position = checkRange(archive, centralDirectoryOffset, 0);
+        for (int i = 0; i < entryCount; i++) {
+            checkRange(archive, position, CENTRAL_DIRECTORY_HEADER_SIZE);
+            if (readInt(archive, position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                throw new ZipException("invalid central directory header");
+            }
+            final int flags = readShort(archive, position + 8);
+            final int method = readShort(archive, position + 10);
+            final long crc = readInt(archive, position + 16);
+            final long compressedSize = readInt(archive, position + 20);
+            final long size = readInt(archive, position + 24);
+            final int nameLength = readShort(archive, position + 28);
+            final int extraLength = readShort(archive, position + 30);
+            final int commentLength = readShort(archive, position + 32);
+            final long localHeaderOffset = readInt(archive, position + 42);
+            checkRange(archive, position + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength);
+            final String name = new String(archive, position + CENTRAL_DIRECTORY_HEADER_SIZE, nameLength, StandardCharsets.UTF_8);
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+            if (compressedSize == ZIP64_MARKER || size == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER) {
+                throw new ZipException("zip64 entries are not supported: " + name);
+            }
+            entries.add(new CentralDirectoryEntry(name, flags, method, crc, compressedSize, size, localHeaderOffset));
+        }
+        return entries;
+    }
+
+    private static ChunkedByteBuffer readData(final byte[] archive, final long localHeaderOffset, final long compressedSize, final String name) throws ZipException {
+        final int localHeader = checkRange(archive, localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+        if (readInt(archive, localHeader) != LOCAL_FILE_HEADER_SIGNATURE) {
+            throw new ZipException("invalid local file header of entry: " + name);
+        }
+        final int dataStart = localHeader + LOCAL_FILE_HEADER_SIZE + readShort(archive, localHeader + 26) + readShort(archive, localHeader + 28);
+        checkRange(archive, dataStart, compressedSize);
+        final ChunkedByteBuffer data = new ChunkedByteBuffer(ChunkedByteBuffer.DEFAULT_CHUNK_SIZE, compressedSize, bytes -> { });
+        data.write(archive, dataStart, (int) compressedSize);
+        return data;
+    }
+
+    private static int findEndOfCentralDirectory(final byte[] archive) throws ZipException {
+        final int lowestStart = Math.max(0, archive.length - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_LENGTH);
+        for (int start = archive.length - END_OF_CENTRAL_DIRECTORY_SIZE; start >= lowestStart; start--) {
+            if (readInt(archive, start) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return start;
+            }
+        }
+        throw new ZipException("end of central directory not found");
+    }
+
+    private static int checkRange(final byte[] archive, final long offset, final long length) throws ZipException {
+        if (offset < 0 || length < 0 || offset + length > archive.length) {
+            throw new ZipException("truncated zip archive");
+        }
+        return (int) offset;
+    }
+
+    private static int readShort(final byte[] archive, final int offset) {
+        return archive[offset] & 0xFF | (archive[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long readInt(final byte[] archive, final int offset) {
+        return readShort(archive, offset) | (long) readShort(archive, offset + 2) << 16;
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a zip archive from entries that are already deflated or stored, without compressing their content again.
+ * {@link java.util.zip.ZipOutputStream} cannot do it, as it always compresses the data it is given.
+ * Archives are written in zip64 format where zip32 limits are exceeded: entries or archive over 4 GB, more than 65535 entries.
+ * Only the central directory and the checksums of the entries are kept in memory, about a hundred bytes per entry, whatever the size of the archive.
+ * Large entries are compressed while they are written in the archive, the others are given already compressed.
+ * Entries all have the timestamp {@link ZipUtil#ENTRY_TIMESTAMP} and no attributes, so that identical entries written in the same order give identical archives.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class RawZipWriter implements Closeable {
+
+    /**
+     * @param size           size of the uncompressed content
+     * @param compressedSize size of the entry data in the archive
+     */
+    public record WrittenEntry(long size, long compressedSize) {
+    }
+
+    /**
+     * @param crc  CRC-32 of the uncompressed content
+     * @param size size of the uncompressed content
+     */
+    public record ContentChecksum(long crc, long size) {
+    }
+
+    @FunctionalInterface
+    public interface DeflatedContentWriter {
+        /**
+         * Write the raw deflate data of a content
+         *
+         * @return checksum of the uncompressed content
+         */
+        ContentChecksum writeTo(OutputStream compressedOutputStream) throws IOException;
+    }
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int VERSION = 20;
+    private static final int ZIP64_VERSION = 45;
+    private static final int UTF8_FLAG = 0x0800;
+    private static final int DATA_DESCRIPTOR_FLAG = 0x0008;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 44;
+    private static final long MAX_ZIP32_VALUE = 0xFFFFFFFFL;
+    private static final int MAX_ZIP32_ENTRIES = 0xFFFF;
+    private static final int DOS_TIME = ZipUtil.ENTRY_TIMESTAMP.getHour() << 11 | ZipUtil.ENTRY_TIMESTAMP.getMinute() << 5 | ZipUtil.ENTRY_TIMESTAMP.getSecond() >> 1;
+    private static final int DOS_DATE = (ZipUtil.ENTRY_TIMESTAMP.getYear() - 1980) << 9 | ZipUtil.ENTRY_TIMESTAMP.getMonthValue() << 5 | ZipUtil.ENTRY_TIMESTAMP.getDayOfMonth();
+
+    private final OutputStream outputStream;
+    private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+    private final Set<String> entryNames = new HashSet<>();
+    private final Map<String, ContentChecksum> entryChecksums = new LinkedHashMap<>();
+    private final long zip64Threshold;
+    private final int zip64EntriesThreshold;
+    private long offset;
+    private boolean closed;
+
+    public RawZipWriter(final OutputStream outputStream) {
+        this(outputStream, MAX_ZIP32_VALUE, MAX_ZIP32_ENTRIES);
+    }
+
+    /**
+     * Writer switching to zip64 fields from lower values than the zip32 limits, so that small archives exercise them
+     */
+    RawZipWriter(final OutputStream outputStream, final long zip64Threshold, final int zip64EntriesThreshold) {
+        this.outputStream = outputStream;
+        this.zip64Threshold = zip64Threshold;
+        this.zip64EntriesThreshold = zip64EntriesThreshold;
+    }
+
+    public void writeEntry(final CompressedZipEntry entry) throws IOException {
+        final byte[] name = entryName(entry.name());
+        // sizes are both written in the zip64 extra field of the local header as soon as one of them needs it
+        final boolean zip64Sizes = entry.size() >= zip64Threshold || entry.compressedSize() >= zip64Threshold;
+
+        writeInt(outputStream, LOCAL_FILE_HEADER_SIGNATURE);
+        writeShort(outputStream, zip64Sizes ? ZIP64_VERSION : VERSION);
+        writeShort(outputStream, UTF8_FLAG);
+        writeShort(outputStream, entry.method());
+        writeShort(outputStream, DOS_TIME);
+        writeShort(outputStream, DOS_DATE);
+        writeInt(outputStream, entry.crc());
+        writeInt(outputStream, zip64Sizes ? MAX_ZIP32_VALUE : entry.compressedSize());
+        writeInt(outputStream, zip64Sizes ? MAX_ZIP32_VALUE : entry.size());
+        writeShort(outputStream, name.length);
+        writeShort(outputStream, zip64Sizes ? 20 : 0);
+        outputStream.write(name);
+        if (zip64Sizes) {
+            writeShort(outputStream, ZIP64_EXTRA_FIELD_ID);
+            writeShort(outputStream, 16);
+            writeLong(outputStream, entry.size());
+            writeLong(outputStream, entry.compressedSize());
+        }
+        entry.compressedData().writeTo(outputStream);
+
+        writeCentralDirectoryHeader(name, UTF8_FLAG, entry.method(), entry.crc(), entry.size(), entry.compressedSize());
+        entryChecksums.put(entry.name(), new ContentChecksum(entry.crc(), entry.size()));
+        offset += 30L + name.length + (zip64Sizes ? 20 : 0) + entry.compressedSize();
+    }
+
+    /**
+     * Compress an entry while its content is written, straight into the archive: whatever its size, it is never held in memory.
+     * Stored entries are held in memory until written, as {@link java.util.zip.ZipInputStream} needs their size ahead of their data.
+     *
+     * @return the entry as written, without its data
+     */
+    public WrittenEntry writeEntry(final String entryName, final PipedUpload.ContentWriter contentWriter, final CompressionPolicy policy) throws IOException {
+        final CompressionPolicy resolvedPolicy = policy.withDefaults(Deflater.DEFAULT_COMPRESSION);
+        if (resolvedPolicy.isStored()) {
+            final CompressedZipEntry entry = CompressedZipEntry.compress(entryName, contentWriter, resolvedPolicy);
+            writeEntry(entry);
+            return new WrittenEntry(entry.size(), entry.compressedSize());
+        }
+        return writeDeflatedEntry(entryName, compressedOutputStream -> {
+            final Deflater deflater = new Deflater(resolvedPolicy.level(), true);
+            deflater.setStrategy(resolvedPolicy.strategy().getDeflaterStrategy());
+            try (final DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressedOutputStream, deflater, 8192)) {
+                final CheckedOutputStream checkedOutputStream = new CheckedOutputStream(deflaterOutputStream, new CRC32());
+                contentWriter.writeTo(checkedOutputStream);
+                deflaterOutputStream.finish();
+                return new ContentChecksum(checkedOutputStream.getChecksum().getValue(), deflater.getBytesRead());
+            } finally {
+                deflater.end();
+            }
+        });
+    }
+
+    /**
+     * Write an entry whose raw deflate data is written straight into the archive.
+     * Its CRC and sizes are only known once it is written, they follow its data in a data descriptor, in zip64 format when they exceed zip32 limits.
+     *
+     * @return the entry as written, without its data
+     */
+    public WrittenEntry writeDeflatedEntry(final String entryName, final DeflatedContentWriter deflatedContentWriter) throws IOException {
+        final byte[] name = entryName(entryName);
+        writeInt(outputStream, LOCAL_FILE_HEADER_SIGNATURE);
+        writeShort(outputStream, ZIP64_VERSION);
+        writeShort(outputStream, UTF8_FLAG | DATA_DESCRIPTOR_FLAG);
+        writeShort(outputStream, ZipEntry.DEFLATED);
+        writeShort(outputStream, DOS_TIME);
+        writeShort(outputStream, DOS_DATE);
+        writeInt(outputStream, 0); // CRC, in the data descriptor
+        writeInt(outputStream, 0); // compressed size, in the data descriptor
+        writeInt(outputStream, 0); // size, in the data descriptor
+        writeShort(outputStream, name.length);
+        writeShort(outputStream, 0); // extra field length
+        outputStream.write(name);
+
+        // closing the deflater stream must not close the archive
+        final CountingOutputStream compressedOutputStream = new CountingOutputStream(CloseShieldOutputStream.wrap(outputStream));
+        final ContentChecksum checksum = deflatedContentWriter.writeTo(compressedOutputStream);
+        final long crc = checksum.crc();
+        final long size = checksum.size();
+        final long compressedSize = compressedOutputStream.getByteCount();
+
+        // sizes are written on 8 bytes when one of them exceeds zip32 limits, as java.util.zip expects them
+        final boolean zip64Sizes = size >= zip64Threshold || compressedSize >= zip64Threshold;
+        writeInt(outputStream, DATA_DESCRIPTOR_SIGNATURE);
+        writeInt(outputStream, crc);
+        if (zip64Sizes) {
+            writeLong(outputStream, compressedSize);
+            writeLong(outputStream, size);
+        } else {
+            writeInt(outputStream, compressedSize);
+            writeInt(outputStream, size);
+        }
+
+        writeCentralDirectoryHeader(name, UTF8_FLAG | DATA_DESCRIPTOR_FLAG, ZipEntry.DEFLATED, crc, size, compressedSize);
+        entryChecksums.put(entryName, checksum);
+        offset += 30L + name.length + compressedSize + (zip64Sizes ? 24 : 16);
+        return new WrittenEntry(size, compressedSize);
+    }
+
+    /**
+     * Checksums of the uncompressed content of the entries written so far, by entry name in the order they were written
+     */
+    public Map<String, ContentChecksum> getEntryChecksums() {
+        return Collections.unmodifiableMap(entryChecksums);
+    }
+
+    private byte[] entryName(final String entryName) throws ZipException {
+        if (!entryNames.add(entryName)) {
+            throw new ZipException("duplicate entry: " + entryName);
+        }
+        return entryName.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Header of the entry whose local header is at the current offset.
+     * Only the values exceeding zip32 limits are written in its zip64 extra field, in this order
+     */
+    private void writeCentralDirectoryHeader(final byte[] name, final int flag, final int method, final long crc, final long size, final long compressedSize) throws IOException {
+        final ByteArrayOutputStream zip64ExtraField = new ByteArrayOutputStream();
+        if (size >= zip64Threshold) {
+            writeLong(zip64ExtraField, size);
+        }
+        if (compressedSize >= zip64Threshold) {
+            writeLong(zip64ExtraField, compressedSize);
+        }
+        if (offset >= zip64Threshold) {
+            writeLong(zip64ExtraField, offset);
+        }
+        final boolean zip64 = zip64ExtraField.size() > 0;
+        writeInt(centralDirectory, CENTRAL_DIRECTORY_HEADER_SIGNATURE);
+        writeShort(centralDirectory, zip64 ? ZIP64_VERSION : VERSION);
+        writeShort(centralDirectory, zip64 ? ZIP64_VERSION : VERSION);
+        writeShort(centralDirectory, flag);
+        writeShort(centralDirectory, method);
+        writeShort(centralDirectory, DOS_TIME);
+        writeShort(centralDirectory, DOS_DATE);
+        writeInt(centralDirectory, crc);
+        writeInt(centralDirectory, zip32Value(compressedSize));
+        writeInt(centralDirectory, zip32Value(size));
+        writeShort(centralDirectory, name.length);
+        writeShort(centralDirectory, zip64 ? 4 + zip64ExtraField.size() : 0); // extra field length
+        writeShort(centralDirectory, 0); // comment length
+        writeShort(centralDirectory, 0); // disk number
+        writeShort(centralDirectory, 0); // internal attributes
+        writeInt(centralDirectory, 0); // external attributes
+        writeInt(centralDirectory, zip32Value(offset));
+        centralDirectory.write(name);
+        if (zip64) {
+            writeShort(centralDirectory, ZIP64_EXTRA_FIELD_ID);
+            writeShort(centralDirectory, zip64ExtraField.size());
+            zip64ExtraField.writeTo(centralDirectory);
+        }
+    }
+
+    /**
+     * Writes the central directory, the underlying stream is flushed but left open
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        final long centralDirectoryOffset = offset;
+        final long centralDirectorySize = centralDirectory.size();
+        final int entryCount = entryNames.size();
+        centralDirectory.writeTo(outputStream);
+        if (entryCount >= zip64EntriesThreshold || centralDirectorySize >= zip64Threshold || centralDirectoryOffset >= zip64Threshold) {
+            final long zip64EndOfCentralDirectoryOffset = centralDirectoryOffset + centralDirectorySize;
+            writeInt(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeLong(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+            writeShort(outputStream, ZIP64_VERSION);
+            writeShort(outputStream, ZIP64_VERSION);
+            writeInt(outputStream, 0); // disk number
+            writeInt(outputStream, 0); // disk of central directory
+            writeLong(outputStream, entryCount);
+            writeLong(outputStream, entryCount);
+            writeLong(outputStream, centralDirectorySize);
+            writeLong(outputStream, centralDirectoryOffset);
+            writeInt(outputStream, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+            writeInt(outputStream, 0); // disk of zip64 end of central directory
+            writeLong(outputStream, zip64EndOfCentralDirectoryOffset);
+            writeInt(outputStream, 1); // number of disks
+        }
+        writeInt(outputStream, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(outputStream, 0); // disk number
+        writeShort(outputStream, 0); // disk of central directory
+        writeShort(outputStream, entryCount >= zip64EntriesThreshold ? MAX_ZIP32_ENTRIES : entryCount);
+        writeShort(outputStream, entryCount >= zip64EntriesThreshold ? MAX_ZIP32_ENTRIES : entryCount);
+        writeInt(outputStream, zip32Value(centralDirectorySize));
+        writeInt(outputStream, zip32Value(centralDirectoryOffset));
+        writeShort(outputStream, 0); // comment length
+        outputStream.flush();
+    }
+
+    /**
+     * Value of a zip32 field, replaced by the zip64 marker when the value is written in a zip64 field
+     */
+    private long zip32Value(final long value) {
+        return value >= zip64Threshold ? MAX_ZIP32_VALUE : value;
+    }
+
+    private static void writeShort(final OutputStream outputStream, final int value) throws IOException {
+        outputStream.write(value & 0xFF);
+        outputStream.write(value >>> 8 & 0xFF);
+    }
+
+    private static void writeInt(final OutputStream outputStream, final long value) throws IOException {
+        writeShort(outputStream, (int) (value & 0xFFFF));
+        writeShort(outputStream, (int) (value >>> 16 & 0xFFFF));
+    }
+
+    private static void writeLong(final OutputStream outputStream, final long value) throws IOException {
+        writeInt(outputStream, value & MAX_ZIP32_VALUE);
+        writeInt(outputStream, value >>> 32);
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Raw bytes of the artifacts of a run, e.g. downloaded CGMs and RAO results, held in buffers of a {@link ByteBufferPool},
+ * outside the heap when the pool is direct, so that only the objects parsed from them are on the heap.
+ * Blobs may be deflated at the fastest level, trading CPU for memory. They are read as streams.
+ * Closing the store gives the buffers of all its blobs back to the pool, reading their streams then fails.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class RunBlobStore implements AutoCloseable {
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final ByteBufferPool pool;
+    private final boolean compressed;
+    private final PutListener putListener;
+    private final Map<String, Blob> blobs = new ConcurrentHashMap<>();
+    private final Map<Blob, Boolean> unreleasedBlobs = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * @param compressed  whether blobs are deflated
+     * @param putListener notified of the raw and stored size of every blob
+     */
+    public RunBlobStore(final ByteBufferPool pool, final boolean compressed, final PutListener putListener) {
+        this.pool = pool;
+        this.compressed = compressed;
+        this.putListener = putListener;
+    }
+
+    /**
+     * Store the content of a stream, which is read until its end but left open. A blob already stored under the same key is replaced
+     */
+    public void put(final String key, final InputStream content) throws IOException {
+        if (closed) {
+            throw new IOException("Blob store is closed");
+        }
+        final Blob blob = new Blob();
+        unreleasedBlobs.put(blob, Boolean.TRUE);
+        final long rawSize;
+        try {
+            if (compressed) {
+                final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+                try (DeflaterOutputStream outputStream = new DeflaterOutputStream(new BlobOutputStream(blob), deflater, STREAM_BUFFER_SIZE)) {
+                    content.transferTo(outputStream);
+                    outputStream.finish();
+                    rawSize = deflater.getBytesRead();
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                try (OutputStream outputStream = new BlobOutputStream(blob)) {
+                    rawSize = content.transferTo(outputStream);
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            release(blob);
+            throw e;
+        }
+        putListener.stored(rawSize, blob.size);
+        final Blob replacedBlob = blobs.put(key, blob);
+        if (replacedBlob != null) {
+            release(replacedBlob);
+        }
+        if (closed) {
+            // the store was closed while the blob was being written
+            release(blob);
+        }
+    }
+
+    public boolean contains(final String key) {
+        return blobs.containsKey(key);
+    }
+
+    /**
+     * Read a blob and remove it from the store, its buffers being given back to the pool once the stream is closed
+     *
+     * @throws IllegalArgumentException if no blob is stored under the key
+     */
+    public InputStream take(final String key) {
+        final Blob blob = blobs.remove(key);
+        if (blob == null) {
+            throw new IllegalArgumentException(String.format("No blob is stored for %s", key));
+        }
+        final InputStream blobInputStream = new BlobInputStream(blob);
+        if (!compressed) {
+            return blobInputStream;
+        }
+        return new InflaterInputStream(blobInputStream, new Inflater(true), STREAM_BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                inf.end();
+                super.close();
+            }
+        };
+    }
+
+    /**
+     * Bytes held by the blobs of the store, compressed or not
+     */
+    public long getStoredBytes() {
+        return blobs.values().stream().mapToLong(blob -> blob.size).sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        blobs.clear();
+        unreleasedBlobs.keySet().forEach(this::release);
+    }
+
+    private void release(final Blob blob) {
+        if (unreleasedBlobs.remove(blob) != null) {
+            blob.release();
+        }
+    }
+
+    @FunctionalInterface
+    public interface PutListener {
+        void stored(long rawBytes, long storedBytes);
+    }
+
+    private final class Blob {
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private long size;
+        private boolean released;
+
+        private synchronized ByteBuffer writableBuffer() {
+            if (released) {
+                throw new IllegalStateException("Blob is released");
+            }
+            ByteBuffer buffer = buffers.isEmpty() ? null : buffers.getLast();
+            if (buffer == null || !buffer.hasRemaining()) {
+                buffer = pool.acquire();
+                buffers.add(buffer);
+            }
+            return buffer;
+        }
+
+        private synchronized void release() {
+            released = true;
+            buffers.forEach(pool::release);
+            buffers.clear();
+        }
+    }
+
+    private static final class BlobOutputStream extends OutputStream {
+        private final Blob blob;
+
+        private BlobOutputStream(final Blob blob) {
+            this.blob = blob;
+        }
+
+        @Override
+        public void write(final int value) {
+            write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            int written = 0;
+            while (written < length) {
+                final ByteBuffer buffer = blob.writableBuffer();
+                final int count = Math.min(length - written, buffer.remaining());
+                buffer.put(bytes, offset + written, count);
+                written += count;
+            }
+            blob.size += length;
+        }
+    }
+
+    private final class BlobInputStream extends InputStream {
+        private final Blob blob;
+        private long remaining;
+        private int bufferIndex;
+        private ByteBuffer current;
+
+        private BlobInputStream(final Blob blob) {
+            this.blob = blob;
+            this.remaining = blob.size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        /**
+         * Bytes are copied under the lock of the blob, so that its buffers cannot be given back to the pool, and reused, while they are read
+         */
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            synchronized (blob) {
+                if (blob.released) {
+                    throw new IOException("Blob is released, its stream cannot be read anymore");
+                }
+                if (remaining == 0) {
+                    return -1;
+                }
+                if (current == null || !current.hasRemaining()) {
+                    // read through a view, so that the buffers keep their own position
+                    current = blob.buffers.get(bufferIndex++).duplicate().flip();
+                }
+                final int count = (int) Math.min(Math.min(length, current.remaining()), remaining);
+                current.get(bytes, offset, count);
+                remaining -= count;
+                return count;
+            }
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        @Override
+        public void close() {
+            remaining = 0;
+            release(blob);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Local files a {@link SpillingByteSink} writes its content to once it exceeds its memory threshold
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public interface SpillStorage {
+
+    OutputStream newOutputStream(String fileName) throws IOException;
+
+    InputStream newInputStream(String fileName) throws IOException;
+
+    void delete(String fileName) throws IOException;
+}
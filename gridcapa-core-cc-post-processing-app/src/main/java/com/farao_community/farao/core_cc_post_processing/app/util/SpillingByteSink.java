@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Buffers a content in memory up to a threshold, then spills it transparently to a file of a {@link SpillStorage},
+ * so that large outputs never are on the heap as a whole.
+ * Once written, the content can be read as many times as needed with {@link #openInputStream()}.
+ * Closing the sink discards its content and deletes its file, the chunks of its memory buffer going back to their pool if any.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public final class SpillingByteSink extends OutputStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillingByteSink.class);
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final int memoryThreshold;
+    private final SpillStorage spillStorage;
+    private final String fileName;
+    private ChunkedByteBuffer memory;
+    private OutputStream fileOutputStream;
+    private boolean spilled;
+    private boolean writingFinished;
+    private boolean closed;
+    private long size;
+
+    public SpillingByteSink(final int memoryThreshold, final SpillStorage spillStorage, final String fileName) {
+        this(memoryThreshold, spillStorage, fileName, new ChunkedByteBuffer());
+    }
+
+    /**
+     * @param chunkPool pool the chunks of the memory buffer are taken from, and given back to once the content is discarded or spilled
+     */
+    public SpillingByteSink(final int memoryThreshold, final SpillStorage spillStorage, final String fileName, final ChunkPool chunkPool) {
+        this(memoryThreshold, spillStorage, fileName, new ChunkedByteBuffer(chunkPool));
+    }
+
+    private SpillingByteSink(final int memoryThreshold, final SpillStorage spillStorage, final String fileName, final ChunkedByteBuffer memory) {
+        this.memoryThreshold = memoryThreshold;
+        this.spillStorage = spillStorage;
+        this.fileName = fileName;
+        this.memory = memory;
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        write(new byte[] {(byte) value}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (writingFinished || closed) {
+            throw new IOException("Content of byte sink is already written");
+        }
+        if (!spilled && size + length > memoryThreshold) {
+            spill();
+        }
+        if (spilled) {
+            fileOutputStream.write(bytes, offset, length);
+        } else {
+            memory.write(bytes, offset, length);
+        }
+        size += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (fileOutputStream != null) {
+            fileOutputStream.flush();
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isSpilled() {
+        return spilled;
+    }
+
+    /**
+     * Read the content written so far, nothing can be written afterwards
+     */
+    public InputStream openInputStream() throws IOException {
+        if (closed) {
+            throw new IOException("Byte sink is closed");
+        }
+        if (!writingFinished) {
+            writingFinished = true;
+            if (fileOutputStream != null) {
+                fileOutputStream.close();
+            }
+        }
+        return spilled ? spillStorage.newInputStream(fileName) : memory.openInputStream();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (!spilled) {
+            memory.close();
+            memory = null;
+            return;
+        }
+        if (!writingFinished) {
+            try {
+                fileOutputStream.close();
+            } catch (final IOException e) {
+                // content is discarded anyway, e.g. after the quota was exceeded
+                LOGGER.debug("Spill file {} could not be completed", fileName, e);
+            }
+        }
+        try {
+            spillStorage.delete(fileName);
+        } catch (final IOException e) {
+            LOGGER.warn("Spill file {} could not be deleted", fileName, e);
+        }
+    }
+
+    private void spill() throws IOException {
+        fileOutputStream = new BufferedOutputStream(spillStorage.newOutputStream(fileName), FILE_BUFFER_SIZE);
+        spilled = true;
+        memory.writeTo(fileOutputStream);
+        memory.close();
+        memory = null;
+    }
+}
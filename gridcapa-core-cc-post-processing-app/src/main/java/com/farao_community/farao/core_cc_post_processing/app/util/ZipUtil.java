@@ -7,6 +7,7 @@
 package com.farao_community.farao.core_cc_post_processing.app.util;
 
 import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,14 @@ import org.springframework.util.FileSystemUtils;
 
 import java.io.*;
 import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
@@ -25,6 +33,11 @@ import java.util.zip.ZipOutputStream;
  */
 public final class ZipUtil {
     private static final Logger LOGGER = LoggerFactory.getLogger(ZipUtil.class);
+    private static final int MAX_ENTRIES = 10000;
+    /**
+     * Modification time of all archived entries, so that identical contents give identical archives
+     */
+    public static final LocalDateTime ENTRY_TIMESTAMP = LocalDateTime.of(1980, 1, 1, 0, 0);
 
     private ZipUtil() {
         throw new AssertionError("Utility class should not be instantiated");
@@ -38,12 +51,14 @@ public final class ZipUtil {
         }
     }
 
-    public static byte[] zipDirectory(String inputDirectory) {
-        try (ByteArrayOutputStream os = new ByteArrayOutputStream();
-             ZipOutputStream zos = new ZipOutputStream(os)) {
+    /**
+     * Zip a directory into a stream, which is left open. Archives exceeding zip32 limits are written in zip64 format.
+     * Files are archived in name order with a fixed timestamp, whatever the order of the file system
+     */
+    public static void zipDirectory(String inputDirectory, OutputStream os, int level) {
+        try (ZipOutputStream zos = new ZipOutputStream(CloseShieldOutputStream.wrap(os))) {
+            zos.setLevel(level);
             recursiveZip(inputDirectory, zos, inputDirectory);
-            zos.close(); // NOSONAR because the `zos` ZipOutputStream must be closed before calling `toByteArray()` method on `os`
-            return os.toByteArray();
         } catch (IOException e) {
             throw new CoreCCPostProcessingInternalException(String.format("Exception occurred while compressing directory '%s'", inputDirectory), e);
         }
@@ -58,6 +73,7 @@ public final class ZipUtil {
         if (ArrayUtils.isEmpty(dirList)) {
             return;
         }
+        Arrays.sort(dirList);
         byte[] readBuffer = new byte[2156];
         //loop through dirList, and zip the files
         for (String fileOrDir : dirList) {
@@ -84,6 +100,7 @@ public final class ZipUtil {
             // create a new zip entry
             String fileRelativePath = Paths.get(referencePath).relativize(Paths.get(file.getPath())).toString(); //NOSONAR
             ZipEntry anEntry = new ZipEntry(fileRelativePath);
+            anEntry.setTimeLocal(ENTRY_TIMESTAMP);
             //place the zip entry in the ZipOutputStream object
             zos.putNextEntry(anEntry);
             //now write the content of the file to the ZipOutputStream
@@ -95,8 +112,20 @@ public final class ZipUtil {
         }
     }
 
-    public static void collectAndZip(ZipOutputStream zos, byte[] bytes) {
-        byte[] byteBuff = new byte[1024];
+    @FunctionalInterface
+    public interface EntryWriter {
+        void write(String name, InputStream content) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface CompressedEntryWriter {
+        void write(CompressedZipEntry entry) throws IOException;
+    }
+
+    /**
+     * Give the content of each file entry of a zip to a writer, which must consume it before returning
+     */
+    public static void collectEntries(byte[] bytes, EntryWriter entryWriter) {
         try (ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(bytes))) {
             ZipEntry entry = zipIn.getNextEntry(); //NOSONAR
             int totalEntries = 0;
@@ -105,14 +134,11 @@ public final class ZipUtil {
                 totalEntries++;
                 if (!entry.isDirectory()) {
                     // if the entry is a file
-                    zos.putNextEntry(entry);
-                    for (int bytesRead; (bytesRead = zipIn.read(byteBuff)) != -1; ) {
-                        zos.write(byteBuff, 0, bytesRead);
-                    }
+                    entryWriter.write(entry.getName(), zipIn);
                 }
                 zipIn.closeEntry();
                 entry = zipIn.getNextEntry(); //NOSONAR
-                if (totalEntries > 10000) {
+                if (totalEntries > MAX_ENTRIES) {
                     throw new IOException("Entry threshold reached while unzipping.");
                 }
             }
@@ -122,5 +148,50 @@ public final class ZipUtil {
         }
     }
 
-}
+    /**
+     * Give each file entry of a zip to a writer with its compressed data as is, so that it is copied without being inflated and deflated again.
+     * Zips whose layout is not supported by {@link RawZipReader} have their entries given inflated to the fallback writer, which compresses them again.
+     */
+    public static void collectCompressedEntries(byte[] bytes, CompressedEntryWriter entryWriter, EntryWriter fallbackEntryWriter) {
+        final List<CompressedZipEntry> entries;
+        try {
+            entries = RawZipReader.readEntries(bytes, MAX_ENTRIES);
+        } catch (ZipException e) {
+            LOGGER.warn("Zip entries cannot be copied as is, they are compressed again: {}", e.getMessage());
+            collectEntries(bytes, fallbackEntryWriter);
+            return;
+        } catch (IOException e) {
+            LOGGER.error("Error while unzipping logs");
+            throw new CoreCCPostProcessingInternalException("Error while unzipping logs", e);
+        }
+        try {
+            for (CompressedZipEntry entry : entries) {
+                entryWriter.write(entry);
+            }
+        } catch (IOException e) {
+            throw new CoreCCPostProcessingInternalException("Error while copying zip entries", e);
+        }
+    }
 
+    /**
+     * Name, CRC and size of each file entry of a zip, read from its central directory without inflating the entries.
+     * Zips whose layout is not supported by {@link RawZipReader} have their entries inflated to compute them.
+     */
+    public static List<RawZipReader.EntryChecksum> collectEntryChecksums(byte[] bytes) {
+        try {
+            return RawZipReader.readEntryChecksums(bytes, MAX_ENTRIES);
+        } catch (ZipException e) {
+            LOGGER.warn("Zip entry checksums cannot be read from the central directory, entries are inflated: {}", e.getMessage());
+        } catch (IOException e) {
+            LOGGER.error("Error while unzipping logs");
+            throw new CoreCCPostProcessingInternalException("Error while unzipping logs", e);
+        }
+        final List<RawZipReader.EntryChecksum> checksums = new ArrayList<>();
+        collectEntries(bytes, (name, content) -> {
+            final CheckedInputStream checkedInputStream = new CheckedInputStream(content, new CRC32());
+            final long size = checkedInputStream.transferTo(OutputStream.nullOutputStream());
+            checksums.add(new RawZipReader.EntryChecksum(name, checkedInputStream.getChecksum().getValue(), size));
+        });
+        return checksums;
+    }
+}
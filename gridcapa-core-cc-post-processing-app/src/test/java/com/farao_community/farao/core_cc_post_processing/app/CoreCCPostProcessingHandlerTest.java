@@ -7,6 +7,7 @@
 package com.farao_community.farao.core_cc_post_processing.app;
 
 import com.farao_community.farao.core_cc_post_processing.app.configuration.CoreCCPostProcessingConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.services.HourlyPrecomputationService;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -40,17 +42,19 @@ class CoreCCPostProcessingHandlerTest {
 
     private final CoreCCPostProcessingConfiguration.UrlProperties url = new CoreCCPostProcessingConfiguration.UrlProperties("http://mockUrl/2023-08-21T11_26_00/", "/2023-08-21/");
     private final CoreCCPostProcessingConfiguration.ProcessProperties properties = new CoreCCPostProcessingConfiguration.ProcessProperties("tag", "Europe/Brussels");
-    private final CoreCCPostProcessingConfiguration configuration = new CoreCCPostProcessingConfiguration(url, properties);
+    private final CoreCCPostProcessingConfiguration configuration = new CoreCCPostProcessingConfiguration(url, properties, null);
+    private final CoreCCPostProcessingConfiguration provisionalConfiguration = new CoreCCPostProcessingConfiguration(url, properties, new CoreCCPostProcessingConfiguration.ProvisionalProperties(true, Duration.ofMillis(200)));
 
     @Autowired
     private CoreCCPostProcessingHandler coreCCPostProcessingHandler;
 
     private final RestTemplateBuilder restTemplateBuilder = Mockito.mock(RestTemplateBuilder.class);
     private final PostProcessingService postProcessingService = Mockito.mock(PostProcessingService.class);
+    private final HourlyPrecomputationService hourlyPrecomputationService = Mockito.mock(HourlyPrecomputationService.class);
     private boolean tasksProcessed = false;
 
     void initCoreCCPostProcessingHandler() {
-        coreCCPostProcessingHandler = new CoreCCPostProcessingHandler(configuration, restTemplateBuilder, postProcessingService);
+        coreCCPostProcessingHandler = new CoreCCPostProcessingHandler(configuration, restTemplateBuilder, postProcessingService, hourlyPrecomputationService);
     }
 
     @Test
@@ -199,5 +203,66 @@ class CoreCCPostProcessingHandlerTest {
         // Error task is over and all tasks are finished
         coreCCPostProcessingHandler.postProcessFinishedTasks(Utils.ERROR_TASK);
         assertTrue(tasksProcessed);
+        Mockito.verify(hourlyPrecomputationService).precompute(Utils.SUCCESS_TASK);
+        Mockito.verify(hourlyPrecomputationService).clearPrecomputedResults(LocalDate.of(2023, 8, 21));
+    }
+
+    @Test
+    void postProcessFinishedTasksProvisionally() {
+        LocalDate localDate = LocalDate.of(2023, 8, 21);
+        TaskDto[] tasks = new TaskDto[]{Utils.SUCCESS_TASK, Utils.RUNNING_TASK};
+        Set<TaskDto> tasksAsSet = new HashSet<>(Arrays.asList(tasks));
+        coreCCPostProcessingHandler = new CoreCCPostProcessingHandler(provisionalConfiguration, restTemplateBuilder, postProcessingService, hourlyPrecomputationService);
+
+        ResponseEntity responseEntityTasksNotFinished = Mockito.mock(ResponseEntity.class);
+        Mockito.when(responseEntityTasksNotFinished.getBody()).thenReturn(false);
+        Mockito.when(responseEntityTasksNotFinished.getStatusCode()).thenReturn(HttpStatus.OK);
+        ResponseEntity responseEntityTasks = Mockito.mock(ResponseEntity.class);
+        Mockito.when(responseEntityTasks.getBody()).thenReturn(tasks);
+        Mockito.when(responseEntityTasks.getStatusCode()).thenReturn(HttpStatus.OK);
+        RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        Mockito.when(restTemplate.getForEntity("/2023-08-21/2023-08-21/allOver", Boolean.class)).thenReturn(responseEntityTasksNotFinished);
+        Mockito.when(restTemplate.getForEntity("/2023-08-21/2023-08-21", TaskDto[].class)).thenReturn(responseEntityTasks);
+        Mockito.when(restTemplateBuilder.build()).thenReturn(restTemplate);
+
+        // Success task is over but all tasks not finished, both updates are published at once in background
+        coreCCPostProcessingHandler.postProcessFinishedTasks(Utils.SUCCESS_TASK);
+        coreCCPostProcessingHandler.postProcessFinishedTasks(Utils.SUCCESS_TASK);
+
+        Mockito.verify(postProcessingService, Mockito.timeout(5000)).processProvisionalTasks(localDate, tasksAsSet);
+        Mockito.verify(restTemplate).getForEntity("/2023-08-21/2023-08-21", TaskDto[].class);
+        Mockito.verify(postProcessingService, Mockito.never()).processTasks(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void finalPostProcessingCancelsPendingProvisionalPublication() {
+        LocalDate localDate = LocalDate.of(2023, 8, 21);
+        TaskDto[] tasks = new TaskDto[]{Utils.SUCCESS_TASK, Utils.ERROR_TASK};
+        CoreCCPostProcessingConfiguration slowProvisionalConfiguration = new CoreCCPostProcessingConfiguration(url, properties, new CoreCCPostProcessingConfiguration.ProvisionalProperties(true, Duration.ofMinutes(1)));
+        coreCCPostProcessingHandler = new CoreCCPostProcessingHandler(slowProvisionalConfiguration, restTemplateBuilder, postProcessingService, hourlyPrecomputationService);
+
+        ResponseEntity responseEntityTasksNotFinished = Mockito.mock(ResponseEntity.class);
+        Mockito.when(responseEntityTasksNotFinished.getBody()).thenReturn(false);
+        Mockito.when(responseEntityTasksNotFinished.getStatusCode()).thenReturn(HttpStatus.OK);
+        RestTemplate restTemplateTasksNotFinished = Mockito.mock(RestTemplate.class);
+        Mockito.when(restTemplateTasksNotFinished.getForEntity("/2023-08-21/2023-08-21/allOver", Boolean.class)).thenReturn(responseEntityTasksNotFinished);
+        Mockito.when(restTemplateBuilder.build()).thenReturn(restTemplateTasksNotFinished);
+        coreCCPostProcessingHandler.postProcessFinishedTasks(Utils.SUCCESS_TASK);
+
+        ResponseEntity responseEntityTasksFinishedBoolean = Mockito.mock(ResponseEntity.class);
+        Mockito.when(responseEntityTasksFinishedBoolean.getBody()).thenReturn(true);
+        Mockito.when(responseEntityTasksFinishedBoolean.getStatusCode()).thenReturn(HttpStatus.OK);
+        ResponseEntity responseEntityTasks = Mockito.mock(ResponseEntity.class);
+        Mockito.when(responseEntityTasks.getBody()).thenReturn(tasks);
+        Mockito.when(responseEntityTasks.getStatusCode()).thenReturn(HttpStatus.OK);
+        RestTemplate restTemplateTasksFinished = Mockito.mock(RestTemplate.class);
+        Mockito.when(restTemplateTasksFinished.getForEntity("/2023-08-21/2023-08-21/allOver", Boolean.class)).thenReturn(responseEntityTasksFinishedBoolean);
+        Mockito.when(restTemplateTasksFinished.getForEntity("/2023-08-21/2023-08-21", TaskDto[].class)).thenReturn(responseEntityTasks);
+        Mockito.when(restTemplateBuilder.build()).thenReturn(restTemplateTasksFinished);
+        coreCCPostProcessingHandler.postProcessFinishedTasks(Utils.ERROR_TASK);
+        coreCCPostProcessingHandler.shutdown();
+
+        Mockito.verify(postProcessingService).processTasks(Mockito.eq(localDate), Mockito.any(), Mockito.any());
+        Mockito.verify(postProcessingService, Mockito.never()).processProvisionalTasks(Mockito.any(), Mockito.any());
     }
 }
@@ -6,41 +6,69 @@
  */
 package com.farao_community.farao.core_cc_post_processing.app;
 
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.services.DailyF303Generator;
+import com.farao_community.farao.core_cc_post_processing.app.services.MinioFolderCleaner;
+import com.farao_community.farao.core_cc_post_processing.app.services.PostProcessingStage;
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunCheckpoint;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunCheckpointService;
+import com.farao_community.farao.core_cc_post_processing.app.services.RunPerformanceRecorder;
+import com.farao_community.farao.core_cc_post_processing.app.services.StorageBulkhead;
 import com.farao_community.farao.core_cc_post_processing.app.services.ZipAndUploadService;
+import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
 import com.farao_community.farao.gridcapa_core_cc.api.resource.CoreCCMetadata;
 import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.CGM_FILE_DTO;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.CNE_FILE_DTO;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.RAO_RESULT_FILE_DTO;
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.RUNNING_TASK;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.SUCCESS_TASK;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.SUCCESS_TASK_CGM_NOT_PRESENT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +80,21 @@ class PostProcessingServiceTest {
     @Mock
     private ZipAndUploadService zipAndUploadServiceMock;
 
+    @Mock
+    private RunCheckpointService runCheckpointServiceMock;
+
+    @Mock
+    private DailyF303Generator dailyF303GeneratorMock;
+
+    @Mock
+    private MinioFolderCleaner minioFolderCleanerMock;
+
+    @Spy
+    private RunPerformanceRecorder runPerformanceRecorder = new RunPerformanceRecorder();
+
+    @Spy
+    private StorageBulkhead storageBulkhead = new StorageBulkhead(new StorageConfiguration(null, null, null, null, null, null, null, null), new SimpleMeterRegistry());
+
     @InjectMocks
     private PostProcessingService postProcessingService;
 
@@ -59,7 +102,6 @@ class PostProcessingServiceTest {
     private final Set<TaskDto> tasksToPostProcess = Set.of(SUCCESS_TASK);
     private final List<byte[]> logList = new ArrayList<>();
     private final InputStream inputMetadataInputStream = getClass().getResourceAsStream("/services/metadatas/coreCCMetadata.json");
-    InputStream inputCracXmlInputStream = getClass().getResourceAsStream("/services/f303-1/inputs/F301.xml");
     private final ProcessFileDto metadataProcessFile = new ProcessFileDto("/CORE/CC/coreCCMetadata.json", "METADATA", ProcessFileStatus.VALIDATED, "coreCCMetadata.json", "docId", OffsetDateTime.parse("2019-01-08T12:30Z"));
     private final TaskDto task = new TaskDto(UUID.fromString("00000000-0000-0000-0000-000000000001"), OffsetDateTime.parse("2019-01-08T12:30Z"), TaskStatus.SUCCESS, List.of(metadataProcessFile), List.of(), List.of(), List.of(), List.of(), List.of());
 
@@ -68,10 +110,9 @@ class PostProcessingServiceTest {
         //Given
         when(minioAdapterMock.getFileFromFullPath(ArgumentMatchers.anyString()))
                 .thenReturn(inputMetadataInputStream);
-        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/crac.xml"))
-                .thenReturn(inputCracXmlInputStream);
 
         //When
+        final Instant runStart = Instant.now();
         postProcessingService.processTasks(localDate, tasksToPostProcess, logList);
 
         //Then
@@ -83,17 +124,23 @@ class PostProcessingServiceTest {
         final Map<TaskDto, ProcessFileDto> expectedCnePerTask = new HashMap<>();
         expectedCnePerTask.put(SUCCESS_TASK, CNE_FILE_DTO);
 
+        verify(dailyF303GeneratorMock).generate(expectedRaoResultPerTask, expectedCgmsPerTask);
         verify(zipAndUploadServiceMock)
                 .zipRaoResultsAndSendToOutputs(expectedTargetMinioFolder, expectedRaoResultPerTask, localDate);
-        verify(zipAndUploadServiceMock).uploadF341ToMinio(any(), any(), any(), anyInt());
+        // outputs are stamped with the instant they are sent, the CGM_XML_HEADER of F304 as well
+        final ArgumentCaptor<RaoMetadata> raoMetadataCaptor = ArgumentCaptor.forClass(RaoMetadata.class);
+        verify(zipAndUploadServiceMock).uploadF341ToMinio(any(), any(), raoMetadataCaptor.capture(), anyInt());
+        final String outputsSendingInstant = raoMetadataCaptor.getValue().getOutputsSendingInstant();
+        assertFalse(Instant.parse(outputsSendingInstant).isBefore(runStart));
         verify(zipAndUploadServiceMock)
                 .zipAndUploadLogs(logList, "RAO_OUTPUTS_DIR/2023-08-04/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-342_20190108-F342-01.zip");
         verify(zipAndUploadServiceMock)
-                .zipCgmsAndSendToOutputs(expectedTargetMinioFolder, expectedCgmsPerTask, localDate, "00000000-0000-0000-0000-000000000000", "2019-01-07T23:00Z/2019-01-08T23:00Z", 1);
+                .zipCgmsAndSendToOutputs(expectedTargetMinioFolder, expectedCgmsPerTask, localDate, "00000000-0000-0000-0000-000000000000", outputsSendingInstant, "2019-01-07T23:00Z/2019-01-08T23:00Z", 1);
         verify(zipAndUploadServiceMock)
                 .zipCnesAndSendToOutputs(expectedTargetMinioFolder, expectedCnePerTask, localDate, 1);
         verify(zipAndUploadServiceMock).uploadF303ToMinio(any(), any(), any(), anyInt());
         verify(zipAndUploadServiceMock).uploadF305ToMinio(any(), any(), any(), anyInt());
+        verify(minioFolderCleanerMock).deleteFolder("RAO_OUTPUTS_DIR/2023-08-04/provisional");
     }
 
     @Test
@@ -101,8 +148,6 @@ class PostProcessingServiceTest {
         //Given
         when(minioAdapterMock.getFileFromFullPath(ArgumentMatchers.anyString()))
                 .thenReturn(inputMetadataInputStream);
-        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/crac.xml"))
-                .thenReturn(inputCracXmlInputStream);
 
         //When
         postProcessingService.processTasks(localDate, Set.of(SUCCESS_TASK_CGM_NOT_PRESENT), logList);
@@ -121,13 +166,116 @@ class PostProcessingServiceTest {
                 .zipAndUploadLogs(logList, "RAO_OUTPUTS_DIR/2023-08-04/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-342_20190108-F342-01.zip");
         //No cgm persisted
         verify(zipAndUploadServiceMock)
-                .zipCgmsAndSendToOutputs(expectedTargetMinioFolder, Collections.emptyMap(), localDate, "00000000-0000-0000-0000-000000000000", "2019-01-07T23:00Z/2019-01-08T23:00Z", 1);
+                .zipCgmsAndSendToOutputs(eq(expectedTargetMinioFolder), eq(Collections.emptyMap()), eq(localDate), eq("00000000-0000-0000-0000-000000000000"), anyString(), eq("2019-01-07T23:00Z/2019-01-08T23:00Z"), eq(1));
         verify(zipAndUploadServiceMock)
                 .zipCnesAndSendToOutputs(expectedTargetMinioFolder, expectedCnePerTask, localDate, 1);
         verify(zipAndUploadServiceMock).uploadF303ToMinio(any(), any(), any(), anyInt());
         verify(zipAndUploadServiceMock).uploadF305ToMinio(any(), any(), any(), anyInt());
     }
 
+    @Test
+    void testProcessTasksResumesFromFirstIncompleteStage() {
+        //Given
+        when(minioAdapterMock.getFileFromFullPath(ArgumentMatchers.anyString()))
+                .thenReturn(inputMetadataInputStream);
+        final RaoMetadata checkpointedRaoMetadata = new RaoMetadata();
+        checkpointedRaoMetadata.setOutputsSendingInstant("2023-08-04T22:00:00Z");
+        checkpointedRaoMetadata.setCorrelationId("checkpointedCorrelationId");
+        checkpointedRaoMetadata.setTimeInterval("2019-01-07T23:00Z/2019-01-08T23:00Z");
+        when(runCheckpointServiceMock.loadCheckpoint(eq("RAO_OUTPUTS_DIR/2023-08-04"), anyString()))
+                .thenReturn(Optional.of(new RunCheckpoint("fingerprint",
+                        EnumSet.of(PostProcessingStage.RAO_RESULTS, PostProcessingStage.F341, PostProcessingStage.F342, PostProcessingStage.F304),
+                        false,
+                        checkpointedRaoMetadata)));
+
+        //When
+        postProcessingService.processTasks(localDate, tasksToPostProcess, logList);
+
+        //Then
+        verify(zipAndUploadServiceMock, never()).zipRaoResultsAndSendToOutputs(any(), any(), any());
+        verify(zipAndUploadServiceMock, never()).uploadF341ToMinio(any(), any(), any(), anyInt());
+        verify(zipAndUploadServiceMock, never()).zipAndUploadLogs(any(), any());
+        verify(zipAndUploadServiceMock, never()).zipCgmsAndSendToOutputs(any(), any(), any(), any(), any(), any(), anyInt());
+        verify(zipAndUploadServiceMock).zipCnesAndSendToOutputs(any(), any(), any(), anyInt());
+        verify(zipAndUploadServiceMock).uploadF303ToMinio(any(), any(), any(), anyInt());
+        verify(zipAndUploadServiceMock).uploadF305ToMinio(any(), any(), any(), anyInt());
+        // the metadata of the interrupted run are reused, not generated again
+        verify(runCheckpointServiceMock, times(3)).saveCompletedStages(eq("RAO_OUTPUTS_DIR/2023-08-04"), anyString(), any(), eq(checkpointedRaoMetadata));
+        verify(runCheckpointServiceMock).markRunCompleted(eq("RAO_OUTPUTS_DIR/2023-08-04"), anyString(), eq(checkpointedRaoMetadata));
+    }
+
+    @Test
+    void testProcessTasksUploadsPerformanceReport() throws IOException {
+        //Given
+        when(minioAdapterMock.getFileFromFullPath(ArgumentMatchers.anyString()))
+                .thenReturn(inputMetadataInputStream);
+
+        //When
+        postProcessingService.processTasks(localDate, tasksToPostProcess, logList);
+
+        //Then
+        final JsonNode report = captureUploadedPerformanceReport();
+        assertEquals("2023-08-04", report.get("businessDate").asText());
+        assertTrue(report.get("completed").asBoolean());
+        assertTrue(report.get("bytesDownloaded").asLong() > 0);
+        assertTrue(report.get("stageWallTimesMs").has("METADATA"));
+        assertTrue(report.get("stageWallTimesMs").has("F305"));
+        assertTrue(report.get("peakHeapBytes").asLong() > 0);
+    }
+
+    @Test
+    void testProcessTasksUploadsPerformanceReportOfFailedRun() throws IOException {
+        //Given
+        when(minioAdapterMock.getFileFromFullPath(ArgumentMatchers.anyString()))
+                .thenReturn(inputMetadataInputStream);
+        doThrow(new CoreCCPostProcessingInternalException("F304 failed"))
+                .when(zipAndUploadServiceMock).zipCgmsAndSendToOutputs(any(), any(), any(), any(), any(), any(), anyInt());
+
+        //When
+        assertThrows(CoreCCPostProcessingInternalException.class, () -> postProcessingService.processTasks(localDate, tasksToPostProcess, logList));
+
+        //Then
+        final JsonNode report = captureUploadedPerformanceReport();
+        assertFalse(report.get("completed").asBoolean());
+        assertTrue(report.get("stageWallTimesMs").has("F342"));
+        assertFalse(report.get("stageWallTimesMs").has("F304"));
+    }
+
+    private JsonNode captureUploadedPerformanceReport() throws IOException {
+        final ArgumentCaptor<InputStream> reportCaptor = ArgumentCaptor.forClass(InputStream.class);
+        verify(minioAdapterMock).uploadArtifact(eq("RAO_OUTPUTS_DIR/2023-08-04/report/performance-report.json"), reportCaptor.capture());
+        return new ObjectMapper().readTree(reportCaptor.getValue());
+    }
+
+    @Test
+    void testProcessProvisionalTasks() {
+        //Given
+        when(minioAdapterMock.getFileFromFullPath(ArgumentMatchers.anyString()))
+                .thenReturn(inputMetadataInputStream);
+
+        //When
+        postProcessingService.processProvisionalTasks(localDate, Set.of(SUCCESS_TASK, RUNNING_TASK));
+
+        //Then
+        final String expectedTargetMinioFolder = "RAO_OUTPUTS_DIR/2023-08-04/provisional";
+        verify(zipAndUploadServiceMock).uploadF341ToMinio(eq(expectedTargetMinioFolder), any(), any(), eq(1));
+        verify(zipAndUploadServiceMock).uploadF303ToMinio(any(), eq(expectedTargetMinioFolder), eq(localDate), eq(1));
+        verify(zipAndUploadServiceMock).uploadF305ToMinio(eq(expectedTargetMinioFolder), any(), eq(localDate), eq(1));
+        verify(zipAndUploadServiceMock, never()).zipRaoResultsAndSendToOutputs(any(), any(), any());
+        verify(zipAndUploadServiceMock, never()).zipAndUploadLogs(any(), any());
+        verify(zipAndUploadServiceMock, never()).zipCgmsAndSendToOutputs(any(), any(), any(), any(), any(), any(), anyInt());
+        verify(zipAndUploadServiceMock, never()).zipCnesAndSendToOutputs(any(), any(), any(), anyInt());
+        verifyNoInteractions(runCheckpointServiceMock);
+        verifyNoInteractions(minioFolderCleanerMock);
+    }
+
+    @Test
+    void testProcessProvisionalTasksWithoutFinishedHour() {
+        postProcessingService.processProvisionalTasks(localDate, Set.of(RUNNING_TASK));
+
+        verifyNoInteractions(zipAndUploadServiceMock);
+    }
+
     @Test
     void fetchMetadataFromMinio() {
         final Map<TaskDto, ProcessFileDto> metadatas = Map.of(task, metadataProcessFile);
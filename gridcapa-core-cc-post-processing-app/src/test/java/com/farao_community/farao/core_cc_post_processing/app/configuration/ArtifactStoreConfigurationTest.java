@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class ArtifactStoreConfigurationTest {
+
+    @Test
+    void artifactsAreOffHeapAndUncompressedByDefault() {
+        final ArtifactStoreConfiguration artifactStoreConfiguration = new ArtifactStoreConfiguration(null, null, null);
+
+        assertTrue(artifactStoreConfiguration.isOffHeap());
+        assertFalse(artifactStoreConfiguration.isCompressed());
+        assertEquals(ArtifactStoreConfiguration.DEFAULT_POOLED_BYTES / ArtifactStoreConfiguration.DEFAULT_BUFFER_SIZE_BYTES,
+                artifactStoreConfiguration.getMaxPooledBuffers());
+    }
+
+    @Test
+    void pooledSizeIsRoundedDownToBuffers() {
+        final ArtifactStoreConfiguration artifactStoreConfiguration = new ArtifactStoreConfiguration(false, true, 3L * 1024 * 1024 - 1);
+
+        assertFalse(artifactStoreConfiguration.isOffHeap());
+        assertTrue(artifactStoreConfiguration.isCompressed());
+        assertEquals(2, artifactStoreConfiguration.getMaxPooledBuffers());
+        assertEquals(0, new ArtifactStoreConfiguration(null, null, 0L).getMaxPooledBuffers());
+    }
+}
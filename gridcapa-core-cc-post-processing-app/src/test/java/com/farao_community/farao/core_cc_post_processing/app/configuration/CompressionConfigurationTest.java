@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.CompressionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class CompressionConfigurationTest {
+
+    @Test
+    void archivesWithoutPolicyAreDeflatedWithExecutionLevel() {
+        final CompressionConfiguration compressionConfiguration = new CompressionConfiguration(null);
+
+        assertEquals(CompressionPolicy.deflated(Deflater.BEST_SPEED), compressionConfiguration.getPolicy(ArchiveType.CGMS, Deflater.BEST_SPEED));
+    }
+
+    @Test
+    void configuredPolicyIsCompletedWithDefaults() {
+        final CompressionConfiguration compressionConfiguration = new CompressionConfiguration(Map.of(
+                ArchiveType.LOGS, new CompressionPolicy(CompressionPolicy.Method.STORED, null, null),
+                ArchiveType.RAO_RESULTS, new CompressionPolicy(null, Deflater.BEST_COMPRESSION, CompressionPolicy.Strategy.FILTERED),
+                ArchiveType.CNES, new CompressionPolicy(null, 42, null)));
+
+        assertEquals(new CompressionPolicy(CompressionPolicy.Method.STORED, Deflater.DEFAULT_COMPRESSION, CompressionPolicy.Strategy.DEFAULT),
+                compressionConfiguration.getPolicy(ArchiveType.LOGS, Deflater.DEFAULT_COMPRESSION));
+        assertEquals(new CompressionPolicy(CompressionPolicy.Method.DEFLATED, Deflater.BEST_COMPRESSION, CompressionPolicy.Strategy.FILTERED),
+                compressionConfiguration.getPolicy(ArchiveType.RAO_RESULTS, Deflater.DEFAULT_COMPRESSION));
+        assertEquals(CompressionPolicy.deflated(Deflater.BEST_SPEED), compressionConfiguration.getPolicy(ArchiveType.CNES, Deflater.BEST_SPEED));
+    }
+}
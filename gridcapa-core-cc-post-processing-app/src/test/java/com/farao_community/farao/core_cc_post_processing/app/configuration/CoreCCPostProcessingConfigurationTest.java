@@ -10,8 +10,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Thomas Bouquet {@literal <thomas.bouquet at rte-france.com>}
@@ -27,16 +31,20 @@ class CoreCCPostProcessingConfigurationTest {
         assertNull(coreCCPostProcessingConfiguration.getUrl().taskManagerTimestampUrl());
         assertEquals("http://localhost:8080/tasks/businessdate/", coreCCPostProcessingConfiguration.getUrl().taskManagerBusinessDateUrl());
         assertNull(coreCCPostProcessingConfiguration.getProcess());
+        assertFalse(coreCCPostProcessingConfiguration.isProvisionalPublicationEnabled());
+        assertEquals(CoreCCPostProcessingConfiguration.DEFAULT_PROVISIONAL_DEBOUNCE, coreCCPostProcessingConfiguration.getProvisionalDebounce());
     }
 
     @Test
     void customCoreCCPostProcessingConfiguration() {
         CoreCCPostProcessingConfiguration.ProcessProperties processProperties = new CoreCCPostProcessingConfiguration.ProcessProperties("test", "Europe/Brussels");
         CoreCCPostProcessingConfiguration.UrlProperties urlProperties = new CoreCCPostProcessingConfiguration.UrlProperties("task_manager_2023-08-04T14:30:00Z", "task_manager_20230804");
-        CoreCCPostProcessingConfiguration customCoreCCPostProcessingConfiguration = new CoreCCPostProcessingConfiguration(urlProperties, processProperties);
+        CoreCCPostProcessingConfiguration customCoreCCPostProcessingConfiguration = new CoreCCPostProcessingConfiguration(urlProperties, processProperties, new CoreCCPostProcessingConfiguration.ProvisionalProperties(true, Duration.ofSeconds(30)));
         assertEquals("task_manager_2023-08-04T14:30:00Z", customCoreCCPostProcessingConfiguration.getUrl().taskManagerTimestampUrl());
         assertEquals("task_manager_20230804", customCoreCCPostProcessingConfiguration.getUrl().taskManagerBusinessDateUrl());
         assertEquals("test", customCoreCCPostProcessingConfiguration.getProcess().tag());
         assertEquals("Europe/Brussels", customCoreCCPostProcessingConfiguration.getProcess().timezone());
+        assertTrue(customCoreCCPostProcessingConfiguration.isProvisionalPublicationEnabled());
+        assertEquals(Duration.ofSeconds(30), customCoreCCPostProcessingConfiguration.getProvisionalDebounce());
     }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class DownloadConfigurationTest {
+
+    @Test
+    void rangedDownloadIsDisabledByDefault() {
+        final DownloadConfiguration downloadConfiguration = new DownloadConfiguration(null, null, null, null, null);
+
+        assertFalse(downloadConfiguration.isRanged());
+        assertEquals(DownloadConfiguration.DEFAULT_RANGE_SIZE_BYTES, downloadConfiguration.getRangeSizeBytes());
+        assertEquals(2 * DownloadConfiguration.DEFAULT_RANGE_SIZE_BYTES, downloadConfiguration.getMinRangedSizeBytes());
+        assertEquals(DownloadConfiguration.DEFAULT_PARALLELISM, downloadConfiguration.getParallelism());
+        assertEquals(DownloadConfiguration.DEFAULT_MAX_ATTEMPTS, downloadConfiguration.getMaxAttempts());
+    }
+
+    @Test
+    void configuredValuesAreBounded() {
+        final DownloadConfiguration downloadConfiguration = new DownloadConfiguration(true, 1024L, 100L * 1024 * 1024, 0, 1);
+
+        assertTrue(downloadConfiguration.isRanged());
+        assertEquals(DownloadConfiguration.MIN_RANGE_SIZE_BYTES, downloadConfiguration.getRangeSizeBytes());
+        assertEquals(100L * 1024 * 1024, downloadConfiguration.getMinRangedSizeBytes());
+        assertEquals(DownloadConfiguration.DEFAULT_PARALLELISM, downloadConfiguration.getParallelism());
+        assertEquals(1, downloadConfiguration.getMaxAttempts());
+        assertEquals(DownloadConfiguration.MAX_RANGE_SIZE_BYTES, new DownloadConfiguration(true, Long.MAX_VALUE, null, null, null).getRangeSizeBytes());
+    }
+}
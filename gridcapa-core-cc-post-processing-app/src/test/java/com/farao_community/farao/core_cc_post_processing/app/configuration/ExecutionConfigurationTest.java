@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class ExecutionConfigurationTest {
+
+    @Test
+    void balancedProfileIsUsedWhenNoProfileIsSelected() {
+        final ExecutionConfiguration executionConfiguration = ExecutionConfiguration.forProfile(null);
+
+        assertEquals(ExecutionProfile.BALANCED, executionConfiguration.getProfile());
+        assertTrue(executionConfiguration.isStreamingIo());
+        assertEquals(1, executionConfiguration.getParallelism());
+        assertEquals(1, executionConfiguration.getPrefetchDepth());
+        assertEquals(0, executionConfiguration.getCacheSize());
+        assertEquals(Deflater.DEFAULT_COMPRESSION, executionConfiguration.getCompressionLevel());
+    }
+
+    @Test
+    void lowMemoryProfileStreamsAndKeepsNothing() {
+        final ExecutionConfiguration executionConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.LOW_MEMORY);
+
+        assertTrue(executionConfiguration.isStreamingIo());
+        assertEquals(0, executionConfiguration.getPrefetchDepth());
+        assertEquals(0, executionConfiguration.getCacheSize());
+    }
+
+    @Test
+    void highThroughputProfileBuffersInMemoryAndUsesAllCores() {
+        final ExecutionConfiguration executionConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.HIGH_THROUGHPUT);
+
+        assertFalse(executionConfiguration.isStreamingIo());
+        assertEquals(Runtime.getRuntime().availableProcessors(), executionConfiguration.getParallelism());
+        assertEquals(25, executionConfiguration.getCacheSize());
+        assertEquals(Deflater.BEST_SPEED, executionConfiguration.getCompressionLevel());
+    }
+
+    @Test
+    void explicitValuesOverrideProfile() {
+        final ExecutionConfiguration executionConfiguration = new ExecutionConfiguration(ExecutionProfile.LOW_MEMORY, false, 4, 3, 10, Deflater.BEST_COMPRESSION);
+
+        assertFalse(executionConfiguration.isStreamingIo());
+        assertEquals(4, executionConfiguration.getParallelism());
+        assertEquals(3, executionConfiguration.getPrefetchDepth());
+        assertEquals(10, executionConfiguration.getCacheSize());
+        assertEquals(Deflater.BEST_COMPRESSION, executionConfiguration.getCompressionLevel());
+    }
+
+    @Test
+    void invalidValuesAreBounded() {
+        final ExecutionConfiguration executionConfiguration = new ExecutionConfiguration(null, null, null, -1, -1, 42);
+
+        assertEquals(0, executionConfiguration.getPrefetchDepth());
+        assertEquals(0, executionConfiguration.getCacheSize());
+        assertEquals(Deflater.DEFAULT_COMPRESSION, executionConfiguration.getCompressionLevel());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class StorageConfigurationTest {
+
+    @Test
+    void defaultValuesAreUsedWhenNotConfigured() {
+        final StorageConfiguration storageConfiguration = new StorageConfiguration(null, null, null, null, null, null, null, null);
+
+        assertEquals(StorageConfiguration.DEFAULT_MIN_CONCURRENT_REQUESTS, storageConfiguration.getMinConcurrentRequests());
+        assertEquals(StorageConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS, storageConfiguration.getMaxConcurrentRequests());
+        assertEquals(StorageConfiguration.DEFAULT_MAX_IN_FLIGHT_BYTES, storageConfiguration.getMaxInFlightBytes());
+        assertEquals(Duration.ofMillis(StorageConfiguration.DEFAULT_LATENCY_TARGET_MILLIS), storageConfiguration.getLatencyTarget());
+        assertFalse(storageConfiguration.isHedgedReads());
+        assertEquals(StorageConfiguration.DEFAULT_HEDGE_PERCENTILE, storageConfiguration.getHedgePercentile());
+        assertEquals(Duration.ofMillis(StorageConfiguration.DEFAULT_HEDGE_INITIAL_DELAY_MILLIS), storageConfiguration.getHedgeInitialDelay());
+        assertEquals(StorageConfiguration.DEFAULT_MAX_READ_ATTEMPTS, storageConfiguration.getMaxReadAttempts());
+    }
+
+    @Test
+    void hedgePercentileIsBounded() {
+        final StorageConfiguration storageConfiguration = new StorageConfiguration(null, null, null, null, true, 150.0, null, 1);
+
+        assertTrue(storageConfiguration.isHedgedReads());
+        assertEquals(StorageConfiguration.DEFAULT_HEDGE_PERCENTILE, storageConfiguration.getHedgePercentile());
+        assertEquals(1, storageConfiguration.getMaxReadAttempts());
+    }
+
+    @Test
+    void maximumIsNeverBelowMinimum() {
+        final StorageConfiguration storageConfiguration = new StorageConfiguration(4, 2, 0L, 500L, null, null, null, null);
+
+        assertEquals(4, storageConfiguration.getMaxConcurrentRequests());
+        assertEquals(StorageConfiguration.DEFAULT_MAX_IN_FLIGHT_BYTES, storageConfiguration.getMaxInFlightBytes());
+        assertEquals(Duration.ofMillis(500), storageConfiguration.getLatencyTarget());
+    }
+}
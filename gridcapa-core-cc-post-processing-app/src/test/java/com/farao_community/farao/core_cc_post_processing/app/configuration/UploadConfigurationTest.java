@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class UploadConfigurationTest {
+
+    @Test
+    void multipartUploadIsDisabledByDefault() {
+        final UploadConfiguration uploadConfiguration = new UploadConfiguration(null, null, null, null, null);
+
+        assertFalse(uploadConfiguration.isMultipart());
+        assertEquals(UploadConfiguration.DEFAULT_PART_SIZE_BYTES, uploadConfiguration.getPartSizeBytes());
+        assertEquals(UploadConfiguration.DEFAULT_PARALLELISM, uploadConfiguration.getParallelism());
+        assertEquals(2 * UploadConfiguration.DEFAULT_PARALLELISM, uploadConfiguration.getMaxInFlightParts());
+        assertEquals(UploadConfiguration.DEFAULT_MAX_ATTEMPTS, uploadConfiguration.getMaxAttempts());
+    }
+
+    @Test
+    void configuredValuesAreBounded() {
+        final UploadConfiguration uploadConfiguration = new UploadConfiguration(true, 1024L, 8, 2, 0);
+
+        assertTrue(uploadConfiguration.isMultipart());
+        assertEquals(UploadConfiguration.MIN_PART_SIZE_BYTES, uploadConfiguration.getPartSizeBytes());
+        assertEquals(8, uploadConfiguration.getMaxInFlightParts());
+        assertEquals(UploadConfiguration.DEFAULT_MAX_ATTEMPTS, uploadConfiguration.getMaxAttempts());
+        assertEquals(UploadConfiguration.MAX_PART_SIZE_BYTES, new UploadConfiguration(true, Long.MAX_VALUE, null, null, null).getPartSizeBytes());
+    }
+}
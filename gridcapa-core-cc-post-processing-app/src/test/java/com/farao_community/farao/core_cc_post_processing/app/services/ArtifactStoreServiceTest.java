@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ArtifactStoreConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.RunBlobStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class ArtifactStoreServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void buffersOfClosedRunStoresAreReusedByNextRuns() throws IOException {
+        final ArtifactStoreService artifactStoreService = new ArtifactStoreService(new ArtifactStoreConfiguration(null, null, null), meterRegistry);
+        try (RunBlobStore firstRun = artifactStoreService.open()) {
+            firstRun.put("cgm.uct", new ByteArrayInputStream(new byte[1500 * 1024]));
+
+            assertEquals(2 * 1024 * 1024, meterRegistry.get(ArtifactStoreService.USED_BYTES_METRIC).tag("memory", "off-heap").gauge().value());
+        }
+        assertEquals(0, meterRegistry.get(ArtifactStoreService.USED_BYTES_METRIC).gauge().value());
+        assertEquals(2 * 1024 * 1024, meterRegistry.get(ArtifactStoreService.POOLED_BYTES_METRIC).gauge().value());
+        assertEquals(1500 * 1024, meterRegistry.get(ArtifactStoreService.RAW_BYTES_METRIC).counter().count());
+        assertEquals(1500 * 1024, meterRegistry.get(ArtifactStoreService.STORED_BYTES_METRIC).counter().count());
+    }
+
+    @Test
+    void compressedArtifactsTakeLessMemory() throws IOException {
+        final ArtifactStoreService artifactStoreService = new ArtifactStoreService(new ArtifactStoreConfiguration(false, true, 0L), meterRegistry);
+        try (RunBlobStore run = artifactStoreService.open()) {
+            run.put("raoResult.json", new ByteArrayInputStream(new byte[1500 * 1024]));
+        }
+
+        assertEquals(1500 * 1024, meterRegistry.get(ArtifactStoreService.RAW_BYTES_METRIC).counter().count());
+        assertEquals(0, meterRegistry.get(ArtifactStoreService.POOLED_BYTES_METRIC).tag("memory", "heap").gauge().value());
+        assertTrue(meterRegistry.get(ArtifactStoreService.STORED_BYTES_METRIC).counter().count() < 100 * 1024);
+    }
+}
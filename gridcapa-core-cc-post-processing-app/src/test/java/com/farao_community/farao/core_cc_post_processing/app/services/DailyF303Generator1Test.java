@@ -6,6 +6,8 @@
  */
 package com.farao_community.farao.core_cc_post_processing.app.services;
 
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionProfile;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
@@ -21,6 +23,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
@@ -50,6 +53,12 @@ class DailyF303Generator1Test {
     @Autowired
     private DailyF303Generator dailyF303Generator;
 
+    @Autowired
+    private RangedDownloadService rangedDownloadService;
+
+    @Autowired
+    private ArtifactStoreService artifactStoreService;
+
     @MockitoBean
     private MinioAdapter minioAdapter;
     private final Set<TaskDto> taskDtos = new HashSet<>();
@@ -123,6 +132,26 @@ class DailyF303Generator1Test {
         assertComplexVariants(dailyFbConstDocument.getComplexVariants().getComplexVariant());
     }
 
+    @Test
+    void validateMergedFlowBasedCreationWithPrecomputedHours() throws IOException {
+        Mockito.doAnswer(invocation -> getClass().getResourceAsStream("/services/f303-1/inputs/F301.xml")).when(minioAdapter).getFileFromFullPath("/CORE/CC/inputCracXml.xml");
+        ExecutionConfiguration executionConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.HIGH_THROUGHPUT);
+        DailyF303Generator generatorWithPrecomputation = new DailyF303Generator(rangedDownloadService, new HourlyF303InfoStore(executionConfiguration), executionConfiguration, new RunPerformanceRecorder(), artifactStoreService);
+        for (TaskDto successTask : raoResult.keySet()) {
+            generatorWithPrecomputation.precomputeHourlyInfo(successTask);
+        }
+
+        FlowBasedConstraintDocument dailyFbConstDocument = generatorWithPrecomputation.generate(raoResult, cgms);
+        // networks and RAO results were only read during precomputation
+        Mockito.verify(minioAdapter, Mockito.times(1)).getFileFromFullPath("/CORE/CC/network1.xiidm");
+        Mockito.verify(minioAdapter, Mockito.times(1)).getFileFromFullPath("/CORE/CC/raoResult2.json");
+        // the CRAC was imported once for both precomputed hours, then once by the daily generation
+        Mockito.verify(minioAdapter, Mockito.times(2)).getFileFromFullPath("/CORE/CC/inputCracXml.xml");
+        assertDocumentProperties(dailyFbConstDocument);
+        assertCriticalBranches(dailyFbConstDocument.getCriticalBranches().getCriticalBranch());
+        assertComplexVariants(dailyFbConstDocument.getComplexVariants().getComplexVariant());
+    }
+
     private void assertDocumentProperties(FlowBasedConstraintDocument document) {
         assertEquals("22XCORESO------S-20190108-F303v1", document.getDocumentIdentification().getV());
         assertEquals(1, document.getDocumentVersion().getV());
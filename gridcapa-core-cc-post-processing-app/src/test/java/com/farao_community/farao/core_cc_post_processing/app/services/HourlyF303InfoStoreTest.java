@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionProfile;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
+import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.CriticalBranchType;
+import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.etso.TimeIntervalType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.ERROR_TASK;
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.SUCCESS_TASK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class HourlyF303InfoStoreTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2023, 8, 21);
+
+    private final ExecutionConfiguration executionConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.HIGH_THROUGHPUT);
+    private final ProcessFileDto cracFile = new ProcessFileDto("/CORE/CC/crac.xml", "CBCORA", ProcessFileStatus.VALIDATED, "crac.xml", "docId", OffsetDateTime.parse("2023-08-21T15:00Z"));
+    private final ProcessFileDto raoResultFile = new ProcessFileDto("/CORE/CC/raoResult.json", "RAO_RESULT", ProcessFileStatus.VALIDATED, "raoResult.json", "docId", OffsetDateTime.parse("2023-08-21T15:00Z"));
+
+    @Test
+    void storedInfoIsHandedOutAsCopy() {
+        final HourlyF303InfoStore store = new HourlyF303InfoStore(executionConfiguration);
+        final String key = HourlyF303InfoStore.key(SUCCESS_TASK, cracFile, raoResultFile, null);
+        store.put(BUSINESS_DATE, key, new HourlyF303Info(new ArrayList<>(List.of(criticalBranch("2023-08-21T15:00Z/2023-08-21T16:00Z")))));
+
+        // clustering replaces the time interval of the critical branches it merges
+        final TimeIntervalType mergedInterval = new TimeIntervalType();
+        mergedInterval.setV("2023-08-21T15:00Z/2023-08-21T17:00Z");
+        store.get(key).orElseThrow().getCriticalBranches().getFirst().setTimeInterval(mergedInterval);
+
+        assertEquals("2023-08-21T15:00Z/2023-08-21T16:00Z", store.get(key).orElseThrow().getCriticalBranches().getFirst().getTimeInterval().getV());
+    }
+
+    @Test
+    void keyDependsOnTaskAndFileVersions() {
+        final ProcessFileDto updatedRaoResultFile = new ProcessFileDto("/CORE/CC/raoResult.json", "RAO_RESULT", ProcessFileStatus.VALIDATED, "raoResult.json", "docId", OffsetDateTime.parse("2023-08-21T16:00Z"));
+        final String key = HourlyF303InfoStore.key(SUCCESS_TASK, cracFile, raoResultFile, null);
+
+        assertEquals(key, HourlyF303InfoStore.key(SUCCESS_TASK, cracFile, raoResultFile, null));
+        assertNotEquals(key, HourlyF303InfoStore.key(SUCCESS_TASK, cracFile, updatedRaoResultFile, null));
+        assertNotEquals(key, HourlyF303InfoStore.key(ERROR_TASK, cracFile, raoResultFile, null));
+    }
+
+    @Test
+    void nothingIsStoredWithoutCache() {
+        final HourlyF303InfoStore store = new HourlyF303InfoStore(ExecutionConfiguration.forProfile(ExecutionProfile.LOW_MEMORY));
+        store.put(BUSINESS_DATE, "hour0", new HourlyF303Info(new ArrayList<>()));
+
+        assertFalse(store.contains("hour0"));
+    }
+
+    @Test
+    void oldestInfosAreEvicted() {
+        final HourlyF303InfoStore store = new HourlyF303InfoStore(executionConfiguration);
+        for (int i = 0; i <= executionConfiguration.getCacheSize(); i++) {
+            store.put(BUSINESS_DATE, "hour" + i, new HourlyF303Info(new ArrayList<>()));
+        }
+
+        assertEquals(executionConfiguration.getCacheSize(), store.size());
+        assertFalse(store.contains("hour0"));
+        assertTrue(store.contains("hour" + executionConfiguration.getCacheSize()));
+    }
+
+    @Test
+    void onlyInfosOfEvictedDayAreDropped() {
+        final HourlyF303InfoStore store = new HourlyF303InfoStore(executionConfiguration);
+        store.put(BUSINESS_DATE, "hour0", new HourlyF303Info(new ArrayList<>()));
+        store.put(BUSINESS_DATE.plusDays(1), "nextDayHour0", new HourlyF303Info(new ArrayList<>()));
+
+        store.evict(BUSINESS_DATE);
+
+        assertFalse(store.contains("hour0"));
+        assertTrue(store.contains("nextDayHour0"));
+    }
+
+    private static CriticalBranchType criticalBranch(final String timeInterval) {
+        final CriticalBranchType criticalBranch = new CriticalBranchType();
+        criticalBranch.setId("cb");
+        final TimeIntervalType timeIntervalType = new TimeIntervalType();
+        timeIntervalType.setV(timeInterval);
+        criticalBranch.setTimeInterval(timeIntervalType);
+        return criticalBranch;
+    }
+}
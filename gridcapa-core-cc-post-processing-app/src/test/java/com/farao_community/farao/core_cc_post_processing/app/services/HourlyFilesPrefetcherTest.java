@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
+import com.farao_community.farao.core_cc_post_processing.app.util.ByteBufferPool;
+import com.farao_community.farao.core_cc_post_processing.app.util.RunBlobStore;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class HourlyFilesPrefetcherTest {
+
+    private final MinioAdapter minioAdapter = Mockito.mock(MinioAdapter.class);
+    private final List<List<ProcessFileDto>> filesPerHour = List.of(
+            List.of(file("/hour0/cgm.uct"), file("/hour0/raoResult.json")),
+            List.of(file("/hour1/cgm.uct")),
+            List.of(file("/hour2/cgm.uct")));
+    private final RunBlobStore blobStore = new RunBlobStore(new ByteBufferPool(1024, 4, true), false, (rawBytes, storedBytes) -> { });
+
+    @AfterEach
+    void closeBlobStore() {
+        blobStore.close();
+    }
+
+    @Test
+    void nextHoursAreDownloadedWithinLookAheadDepth() throws IOException {
+        Mockito.when(minioAdapter.getFileFromFullPath(anyString())).thenAnswer(invocation -> content(invocation.getArgument(0)));
+
+        try (HourlyFilesPrefetcher prefetcher = new HourlyFilesPrefetcher(minioAdapter::getFileFromFullPath, blobStore, filesPerHour, 1, 1)) {
+            prefetcher.startHour(0);
+            verify(minioAdapter, timeout(1000)).getFileFromFullPath("/hour1/cgm.uct");
+            verify(minioAdapter, never()).getFileFromFullPath("/hour2/cgm.uct");
+
+            try (InputStream inputStream = prefetcher.open("/hour0/raoResult.json")) {
+                assertArrayEquals("/hour0/raoResult.json".getBytes(StandardCharsets.UTF_8), inputStream.readAllBytes());
+            }
+            assertFalse(blobStore.contains("/hour0/raoResult.json"));
+            prefetcher.startHour(1);
+            verify(minioAdapter, timeout(1000)).getFileFromFullPath("/hour2/cgm.uct");
+        }
+        verify(minioAdapter, times(4)).getFileFromFullPath(anyString());
+    }
+
+    @Test
+    void filesAreReadDirectlyWhenPrefetchingIsDisabled() throws IOException {
+        Mockito.when(minioAdapter.getFileFromFullPath(anyString())).thenAnswer(invocation -> content(invocation.getArgument(0)));
+
+        try (HourlyFilesPrefetcher prefetcher = new HourlyFilesPrefetcher(minioAdapter::getFileFromFullPath, blobStore, filesPerHour, 0, 1)) {
+            prefetcher.startHour(0);
+            verify(minioAdapter, never()).getFileFromFullPath(anyString());
+
+            try (InputStream inputStream = prefetcher.open("/hour1/cgm.uct")) {
+                assertArrayEquals("/hour1/cgm.uct".getBytes(StandardCharsets.UTF_8), inputStream.readAllBytes());
+            }
+        }
+        verify(minioAdapter, times(1)).getFileFromFullPath(anyString());
+    }
+
+    @Test
+    void prefetchFailureIsReportedWhenFileIsOpened() {
+        Mockito.when(minioAdapter.getFileFromFullPath(anyString())).thenThrow(new RuntimeException("MinIO not available"));
+
+        try (HourlyFilesPrefetcher prefetcher = new HourlyFilesPrefetcher(minioAdapter::getFileFromFullPath, blobStore, filesPerHour, 1, 1)) {
+            prefetcher.startHour(0);
+            assertThrows(CoreCCPostProcessingInternalException.class, () -> prefetcher.open("/hour0/cgm.uct"));
+        }
+    }
+
+    private static InputStream content(final String filePath) {
+        return new ByteArrayInputStream(filePath.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ProcessFileDto file(final String filePath) {
+        return new ProcessFileDto(filePath, "CGM_OUT", ProcessFileStatus.VALIDATED, filePath, "docId", OffsetDateTime.parse("2023-08-21T15:00Z"));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionProfile;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
+import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.concurrent.CountDownLatch;
+
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.RUNNING_TASK;
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.SUCCESS_TASK;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ExtendWith(MockitoExtension.class)
+class HourlyPrecomputationServiceTest {
+
+    @Mock
+    private DailyF303Generator dailyF303GeneratorMock;
+
+    @Mock
+    private ZipAndUploadService zipAndUploadServiceMock;
+
+    @Spy
+    private ExecutionConfiguration executionConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.HIGH_THROUGHPUT);
+
+    @InjectMocks
+    private HourlyPrecomputationService hourlyPrecomputationService;
+
+    @Test
+    void failedF303PrecomputationDoesNotPreventCgmPrecompression() throws IOException {
+        doThrow(new IOException("CRAC not available")).when(dailyF303GeneratorMock).precomputeHourlyInfo(SUCCESS_TASK);
+
+        hourlyPrecomputationService.runPrecomputation(SUCCESS_TASK);
+
+        verify(zipAndUploadServiceMock).precompressCgm(SUCCESS_TASK);
+    }
+
+    @Test
+    void unsuccessfulTaskIsNotPrecomputed() {
+        hourlyPrecomputationService.precompute(RUNNING_TASK);
+
+        verifyNoInteractions(dailyF303GeneratorMock, zipAndUploadServiceMock);
+    }
+
+    @Test
+    void precomputedResultsAreClearedTogether() {
+        hourlyPrecomputationService.clearPrecomputedResults(LocalDate.of(2023, 8, 21));
+
+        verify(dailyF303GeneratorMock).clearPrecomputedInfos(LocalDate.of(2023, 8, 21));
+        verify(zipAndUploadServiceMock).clearPrecompressedCgms(LocalDate.of(2023, 8, 21));
+    }
+
+    @Test
+    void clearedDayPrecomputationsAreCancelledOrAwaited() throws Exception {
+        final HourlyPrecomputationService singleThreadPrecomputationService = new HourlyPrecomputationService(dailyF303GeneratorMock, zipAndUploadServiceMock,
+                new ExecutionConfiguration(ExecutionProfile.HIGH_THROUGHPUT, null, 1, null, null, null));
+        final TaskDto nextDayTask = mock(TaskDto.class);
+        when(nextDayTask.getStatus()).thenReturn(TaskStatus.SUCCESS);
+        when(nextDayTask.getTimestamp()).thenReturn(OffsetDateTime.parse("2023-08-22T15:16:45Z"));
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            released.await();
+            return null;
+        }).when(dailyF303GeneratorMock).precomputeHourlyInfo(SUCCESS_TASK);
+
+        singleThreadPrecomputationService.precompute(SUCCESS_TASK);
+        singleThreadPrecomputationService.precompute(nextDayTask);
+        started.await();
+        // the next day precomputation waits behind the running one, it is dropped
+        singleThreadPrecomputationService.clearPrecomputedResults(LocalDate.of(2023, 8, 22));
+        released.countDown();
+        // the running precomputation ends before its day is evicted
+        singleThreadPrecomputationService.clearPrecomputedResults(LocalDate.of(2023, 8, 21));
+
+        verify(zipAndUploadServiceMock).precompressCgm(SUCCESS_TASK);
+        singleThreadPrecomputationService.shutdown();
+        verify(dailyF303GeneratorMock, never()).precomputeHourlyInfo(nextDayTask);
+        verify(zipAndUploadServiceMock, never()).precompressCgm(nextDayTask);
+    }
+
+    @Test
+    void nothingIsPrecomputedWithDefaultProfile() {
+        final HourlyPrecomputationService balancedPrecomputationService = new HourlyPrecomputationService(dailyF303GeneratorMock, zipAndUploadServiceMock,
+                ExecutionConfiguration.forProfile(ExecutionProfile.BALANCED));
+
+        balancedPrecomputationService.precompute(SUCCESS_TASK);
+        balancedPrecomputationService.shutdown();
+
+        verifyNoInteractions(dailyF303GeneratorMock, zipAndUploadServiceMock);
+    }
+
+    @Test
+    void nothingIsPrecomputedWithoutCache() {
+        final HourlyPrecomputationService lowMemoryPrecomputationService = new HourlyPrecomputationService(dailyF303GeneratorMock, zipAndUploadServiceMock,
+                ExecutionConfiguration.forProfile(ExecutionProfile.LOW_MEMORY));
+
+        lowMemoryPrecomputationService.precompute(SUCCESS_TASK);
+        lowMemoryPrecomputationService.shutdown();
+
+        verifyNoInteractions(dailyF303GeneratorMock, zipAndUploadServiceMock);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ExtendWith(MockitoExtension.class)
+class MinioFolderCleanerTest {
+    private static final String FOLDER = "RAO_OUTPUTS_DIR/2023-08-04/provisional";
+
+    @Mock
+    private MinioClient minioClientMock;
+
+    @Mock
+    private MinioAdapterProperties minioAdapterPropertiesMock;
+
+    @Test
+    void objectsOfFolderUnderBasePathAreDeleted() {
+        final Item item = mock(Item.class);
+        when(item.objectName()).thenReturn("base/path/" + FOLDER + "/outputs/F305.xml");
+        when(minioClientMock.listObjects(any(ListObjectsArgs.class))).thenReturn(List.of(new Result<>(item)));
+
+        folderCleaner().deleteFolder(FOLDER);
+
+        final ArgumentCaptor<ListObjectsArgs> listObjectsArgsCaptor = ArgumentCaptor.forClass(ListObjectsArgs.class);
+        verify(minioClientMock).listObjects(listObjectsArgsCaptor.capture());
+        assertEquals("base/path/" + FOLDER + "/", listObjectsArgsCaptor.getValue().prefix());
+        final ArgumentCaptor<RemoveObjectsArgs> removeObjectsArgsCaptor = ArgumentCaptor.forClass(RemoveObjectsArgs.class);
+        verify(minioClientMock).removeObjects(removeObjectsArgsCaptor.capture());
+        assertEquals("bucket", removeObjectsArgsCaptor.getValue().bucket());
+        assertTrue(removeObjectsArgsCaptor.getValue().objects().iterator().hasNext());
+    }
+
+    @Test
+    void emptyFolderIsLeftAsIs() {
+        when(minioClientMock.listObjects(any(ListObjectsArgs.class))).thenReturn(List.of());
+
+        folderCleaner().deleteFolder(FOLDER);
+
+        verify(minioClientMock, never()).removeObjects(any());
+    }
+
+    @Test
+    void failedDeletionDoesNotFailRun() {
+        when(minioClientMock.listObjects(any(ListObjectsArgs.class))).thenThrow(new IllegalStateException("Storage unavailable"));
+
+        final MinioFolderCleaner folderCleaner = folderCleaner();
+        assertDoesNotThrow(() -> folderCleaner.deleteFolder(FOLDER));
+    }
+
+    private MinioFolderCleaner folderCleaner() {
+        when(minioAdapterPropertiesMock.getBucket()).thenReturn("bucket");
+        when(minioAdapterPropertiesMock.getBasePath()).thenReturn("base/path");
+        return new MinioFolderCleaner(minioClientMock, minioAdapterPropertiesMock,
+                new StorageBulkhead(new StorageConfiguration(null, null, null, null, null, null, null, null), new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.ComposeObjectArgs;
+import io.minio.ComposeSource;
+import io.minio.ListObjectsArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ExtendWith(MockitoExtension.class)
+class MinioPartStoreTest {
+    private static final String PATH = "targetFolder/outputs/F304.zip";
+    private static final Map<String, String> USER_METADATA = Map.of("sha256", "0a0b");
+
+    @Mock
+    private MinioClient minioClientMock;
+
+    @Mock
+    private MinioAdapterProperties minioAdapterPropertiesMock;
+
+    @Test
+    void partsAreComposedIntoOutputUnderBasePath() throws Exception {
+        final MinioPartStore partStore = partStore();
+
+        partStore.uploadPart(PATH, 1, content(10));
+        partStore.uploadPart(PATH, 2, content(5));
+        partStore.complete(PATH, 2, USER_METADATA);
+
+        final ArgumentCaptor<PutObjectArgs> putObjectArgsCaptor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClientMock, times(2)).putObject(putObjectArgsCaptor.capture());
+        assertEquals("base/path/targetFolder/outputs/F304.zip.parts/00001", putObjectArgsCaptor.getAllValues().getFirst().object());
+        final ArgumentCaptor<ComposeObjectArgs> composeObjectArgsCaptor = ArgumentCaptor.forClass(ComposeObjectArgs.class);
+        verify(minioClientMock).composeObject(composeObjectArgsCaptor.capture());
+        assertEquals("bucket", composeObjectArgsCaptor.getValue().bucket());
+        assertEquals("base/path/targetFolder/outputs/F304.zip", composeObjectArgsCaptor.getValue().object());
+        assertEquals(List.of("base/path/targetFolder/outputs/F304.zip.parts/00001", "base/path/targetFolder/outputs/F304.zip.parts/00002"),
+                composeObjectArgsCaptor.getValue().sources().stream().map(ComposeSource::object).toList());
+        assertTrue(composeObjectArgsCaptor.getValue().userMetadata().containsValue("0a0b"));
+    }
+
+    @Test
+    void smallOutputIsUploadedAtOnceWithItsMetadata() throws Exception {
+        partStore().putObject(PATH, content(10), USER_METADATA);
+
+        final ArgumentCaptor<PutObjectArgs> putObjectArgsCaptor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClientMock).putObject(putObjectArgsCaptor.capture());
+        assertEquals("base/path/targetFolder/outputs/F304.zip", putObjectArgsCaptor.getValue().object());
+        assertTrue(putObjectArgsCaptor.getValue().userMetadata().containsValue("0a0b"));
+    }
+
+    @Test
+    void onlyOldPartsAreRemovedAsOrphans() throws Exception {
+        final Instant cutoff = Instant.parse("2026-01-01T00:00:00Z");
+        final MinioPartStore partStore = partStore();
+        when(minioClientMock.listObjects(any(ListObjectsArgs.class))).thenReturn(List.of(
+                item("base/path/targetFolder/outputs/F304.zip.parts/00001", cutoff.minusSeconds(60)),
+                item("base/path/targetFolder/outputs/F305.zip.parts/00001", cutoff.plusSeconds(60)),
+                item("base/path/targetFolder/outputs/F304.zip", cutoff.minusSeconds(60))));
+        when(minioClientMock.removeObjects(any(RemoveObjectsArgs.class))).thenReturn(List.of());
+
+        assertEquals(1, partStore.removeOrphanParts(cutoff));
+
+        final ArgumentCaptor<RemoveObjectsArgs> removeObjectsArgsCaptor = ArgumentCaptor.forClass(RemoveObjectsArgs.class);
+        verify(minioClientMock).removeObjects(removeObjectsArgsCaptor.capture());
+        final List<DeleteObject> removedObjects = StreamSupport.stream(removeObjectsArgsCaptor.getValue().objects().spliterator(), false).toList();
+        assertEquals(1, removedObjects.size());
+    }
+
+    private static Result<Item> item(final String objectName, final Instant lastModified) {
+        final Item item = mock(Item.class);
+        when(item.objectName()).thenReturn(objectName);
+        if (objectName.contains(".parts/")) {
+            when(item.lastModified()).thenReturn(ZonedDateTime.ofInstant(lastModified, ZoneOffset.UTC));
+        }
+        return new Result<>(item);
+    }
+
+    private static ChunkedByteBuffer content(final int size) {
+        final ChunkedByteBuffer content = new ChunkedByteBuffer();
+        content.write(new byte[size], 0, size);
+        return content;
+    }
+
+    private MinioPartStore partStore() {
+        when(minioAdapterPropertiesMock.getBucket()).thenReturn("bucket");
+        when(minioAdapterPropertiesMock.getBasePath()).thenReturn("base/path");
+        return new MinioPartStore(minioClientMock, minioAdapterPropertiesMock,
+                new StorageBulkhead(new StorageConfiguration(null, null, null, null, null, null, null, null), new SimpleMeterRegistry()));
+    }
+}
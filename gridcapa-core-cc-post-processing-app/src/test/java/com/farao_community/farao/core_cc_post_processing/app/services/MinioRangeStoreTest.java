@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.GetObjectArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ExtendWith(MockitoExtension.class)
+class MinioRangeStoreTest {
+    private static final String PATH = "CORE/CC/network.uct";
+
+    @Mock
+    private MinioClient minioClientMock;
+
+    @Mock
+    private MinioAdapterProperties minioAdapterPropertiesMock;
+
+    @Mock
+    private StatObjectResponse statObjectResponseMock;
+
+    @Test
+    void sizeIsStatedFromFullPath() throws Exception {
+        when(minioClientMock.statObject(any(StatObjectArgs.class))).thenReturn(statObjectResponseMock);
+        when(statObjectResponseMock.size()).thenReturn(42L);
+
+        assertEquals(42L, rangeStore().size(PATH));
+
+        final ArgumentCaptor<StatObjectArgs> statObjectArgsCaptor = ArgumentCaptor.forClass(StatObjectArgs.class);
+        verify(minioClientMock).statObject(statObjectArgsCaptor.capture());
+        assertEquals("bucket", statObjectArgsCaptor.getValue().bucket());
+        assertEquals(PATH, statObjectArgsCaptor.getValue().object());
+    }
+
+    @Test
+    void rangeIsReadWithOffsetAndLength() throws Exception {
+        try (InputStream ignored = rangeStore().openRange(PATH, 100, 50)) {
+            final ArgumentCaptor<GetObjectArgs> getObjectArgsCaptor = ArgumentCaptor.forClass(GetObjectArgs.class);
+            verify(minioClientMock).getObject(getObjectArgsCaptor.capture());
+            assertEquals(PATH, getObjectArgsCaptor.getValue().object());
+            assertEquals(100L, getObjectArgsCaptor.getValue().offset());
+            assertEquals(50L, getObjectArgsCaptor.getValue().length());
+        }
+    }
+
+    private MinioRangeStore rangeStore() {
+        when(minioAdapterPropertiesMock.getBucket()).thenReturn("bucket");
+        return new MinioRangeStore(minioClientMock, minioAdapterPropertiesMock,
+                new StorageBulkhead(new StorageConfiguration(null, null, null, null, null, null, null, null), new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class NativeCracCacheTest {
+    private static final String CRAC_PATH = "/CORE/CC/inputCracXml.xml";
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2019, 1, 8);
+
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final NativeCracCache.CracLoader cracLoader = filePath -> {
+        downloads.incrementAndGet();
+        final ChunkedByteBuffer xml = new ChunkedByteBuffer();
+        try (InputStream cracXml = getClass().getResourceAsStream("/services/f303-1/inputs/F301.xml")) {
+            cracXml.transferTo(xml);
+        }
+        return xml;
+    };
+
+    @Test
+    void sameCracIsDownloadedAndImportedOnce() throws IOException {
+        final NativeCracCache nativeCracCache = new NativeCracCache();
+
+        final NativeCracCache.NativeCrac nativeCrac = nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader);
+
+        assertSame(nativeCrac, nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader));
+        assertEquals(1, downloads.get());
+        assertEquals("2019-01-07T23:00Z/2019-01-08T23:00Z", nativeCrac.document().getConstraintTimeInterval().getV());
+        try (InputStream cracXml = nativeCrac.openXml(); InputStream expectedCracXml = getClass().getResourceAsStream("/services/f303-1/inputs/F301.xml")) {
+            assertArrayEquals(expectedCracXml.readAllBytes(), cracXml.readAllBytes());
+        }
+    }
+
+    @Test
+    void newVersionOfCracIsImportedAgain() throws IOException {
+        final NativeCracCache nativeCracCache = new NativeCracCache();
+
+        nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader);
+        nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-08T10:00Z"), cracLoader);
+
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void evictedCracIsImportedAgain() throws IOException {
+        final NativeCracCache nativeCracCache = new NativeCracCache();
+
+        nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader);
+        nativeCracCache.evict(BUSINESS_DATE);
+        nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader);
+
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void cracIsKeptWhenAnotherDayIsEvicted() throws IOException {
+        final NativeCracCache nativeCracCache = new NativeCracCache();
+
+        nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader);
+        nativeCracCache.evict(BUSINESS_DATE.minusDays(1));
+        nativeCracCache.get(BUSINESS_DATE, cracFile("2019-01-07T23:00Z"), cracLoader);
+
+        assertEquals(1, downloads.get());
+    }
+
+    private static ProcessFileDto cracFile(final String lastModificationDate) {
+        return new ProcessFileDto(CRAC_PATH, "CBCORA", ProcessFileStatus.VALIDATED, "inputCracXml.xml", "docId", OffsetDateTime.parse(lastModificationDate));
+    }
+}
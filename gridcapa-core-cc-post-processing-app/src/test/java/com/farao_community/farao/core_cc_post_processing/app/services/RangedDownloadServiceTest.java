@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.DownloadConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.ChunkedByteBuffer;
+import com.farao_community.farao.core_cc_post_processing.app.util.RangeStore;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ExtendWith(MockitoExtension.class)
+class RangedDownloadServiceTest {
+    private static final String PATH = "/CORE/CC/network.uct";
+    private static final int RANGE_SIZE = 1024 * 1024;
+
+    @Mock
+    private MinioAdapter minioAdapterMock;
+
+    @Mock
+    private RangeStore rangeStoreMock;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StorageBulkhead storageBulkhead = new StorageBulkhead(new StorageConfiguration(null, null, null, null, null, null, null, null), meterRegistry);
+
+    @Test
+    void largeFileIsDownloadedInRanges() throws IOException {
+        final byte[] content = new byte[3 * RANGE_SIZE + 10];
+        Arrays.fill(content, 2 * RANGE_SIZE, content.length, (byte) 7);
+        when(rangeStoreMock.size(PATH)).thenReturn((long) content.length);
+        when(rangeStoreMock.openRange(eq(PATH), anyLong(), anyLong()))
+                .thenAnswer(invocation -> new ByteArrayInputStream(content, Math.toIntExact(invocation.getArgument(1)), Math.toIntExact(invocation.getArgument(2))));
+        final RangedDownloadService rangedDownloadService = rangedDownloadService(true);
+
+        try (InputStream inputStream = rangedDownloadService.open(PATH)) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        } finally {
+            rangedDownloadService.shutdown();
+        }
+
+        verify(rangeStoreMock).openRange(PATH, 3L * RANGE_SIZE, 10);
+        verify(minioAdapterMock, never()).getFileFromFullPath(anyString());
+        assertEquals(content.length, meterRegistry.get(RangedDownloadService.BYTES_METRIC).tag("mode", "ranged").counter().count());
+        assertEquals(1, meterRegistry.get(RangedDownloadService.THROUGHPUT_METRIC).tag("mode", "ranged").summary().count());
+    }
+
+    @Test
+    void loadedFileIsAllocatedOnceFromItsSize() throws IOException {
+        final byte[] content = new byte[300 * 1024];
+        when(rangeStoreMock.size(PATH)).thenReturn((long) content.length);
+        when(minioAdapterMock.getFileFromFullPath(PATH)).thenReturn(new ByteArrayInputStream(content));
+
+        final ChunkedByteBuffer buffer = rangedDownloadService(true).load(PATH, UnaryOperator.identity());
+
+        assertEquals(content.length, buffer.size());
+        assertEquals(2, meterRegistry.get(RangedDownloadService.ALLOCATIONS_METRIC).tag("sizing", "exact").counter().count());
+        assertEquals(content.length, meterRegistry.get(RangedDownloadService.ALLOCATED_BYTES_METRIC).tag("sizing", "exact").counter().count());
+    }
+
+    @Test
+    void smallFileIsReadAsSingleStream() throws IOException {
+        when(rangeStoreMock.size(PATH)).thenReturn(10L);
+        when(minioAdapterMock.getFileFromFullPath(PATH)).thenReturn(new ByteArrayInputStream(new byte[10]));
+
+        try (InputStream inputStream = rangedDownloadService(true).open(PATH)) {
+            assertEquals(10, inputStream.readAllBytes().length);
+        }
+
+        verify(rangeStoreMock, never()).openRange(anyString(), anyLong(), anyLong());
+        assertEquals(10, meterRegistry.get(RangedDownloadService.BYTES_METRIC).tag("mode", "single").counter().count());
+    }
+
+    @Test
+    void filesAreReadAsSingleStreamWhenRangedDownloadIsDisabled() throws IOException {
+        when(minioAdapterMock.getFileFromFullPath(PATH)).thenReturn(new ByteArrayInputStream(new byte[10]));
+
+        try (InputStream inputStream = rangedDownloadService(false).open(PATH)) {
+            assertEquals(10, inputStream.readAllBytes().length);
+        }
+
+        verifyNoInteractions(rangeStoreMock);
+    }
+
+    private RangedDownloadService rangedDownloadService(final boolean ranged) {
+        return new RangedDownloadService(new DownloadConfiguration(ranged, (long) RANGE_SIZE, null, 2, null), minioAdapterMock, rangeStoreMock, storageBulkhead, meterRegistry);
+    }
+}
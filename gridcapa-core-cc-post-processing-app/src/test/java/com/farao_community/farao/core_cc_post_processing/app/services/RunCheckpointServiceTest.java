@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.ERROR_TASK;
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.SUCCESS_TASK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@ExtendWith(MockitoExtension.class)
+class RunCheckpointServiceTest {
+
+    private static final String TARGET_FOLDER = "RAO_OUTPUTS_DIR/2023-08-04";
+    private static final String CHECKPOINT_PATH = "RAO_OUTPUTS_DIR/2023-08-04/checkpoint/run-checkpoint.json";
+
+    @Mock
+    private MinioAdapter minioAdapterMock;
+
+    @InjectMocks
+    private RunCheckpointService runCheckpointService;
+
+    @Test
+    void fingerprintDoesNotDependOnTasksOrLogsOrder() throws IOException {
+        final byte[] log1 = zipLog("log1", 0L);
+        final byte[] log2 = zipLog("log2", 0L);
+        final String fingerprint = RunCheckpointService.computeInputsFingerprint(Set.of(SUCCESS_TASK, ERROR_TASK), List.of(log1, log2));
+        assertEquals(fingerprint, RunCheckpointService.computeInputsFingerprint(Set.of(ERROR_TASK, SUCCESS_TASK), List.of(log2, log1)));
+        assertNotEquals(fingerprint, RunCheckpointService.computeInputsFingerprint(Set.of(SUCCESS_TASK), List.of(log1, log2)));
+    }
+
+    @Test
+    void fingerprintDoesNotDependOnLogsExportTime() throws IOException {
+        final String fingerprint = RunCheckpointService.computeInputsFingerprint(Set.of(SUCCESS_TASK), List.of(zipLog("log1", 0L)));
+        assertEquals(fingerprint, RunCheckpointService.computeInputsFingerprint(Set.of(SUCCESS_TASK), List.of(zipLog("log1", 3_600_000L))));
+        assertNotEquals(fingerprint, RunCheckpointService.computeInputsFingerprint(Set.of(SUCCESS_TASK), List.of(zipLog("log2", 0L))));
+    }
+
+    @Test
+    void savedStagesAreResumedWithSameInputs() throws IOException {
+        final RaoMetadata raoMetadata = new RaoMetadata();
+        raoMetadata.setOutputsSendingInstant("2023-08-04T22:00:00Z");
+        runCheckpointService.saveCompletedStages(TARGET_FOLDER, "fingerprint", EnumSet.of(PostProcessingStage.RAO_RESULTS, PostProcessingStage.F341), raoMetadata);
+        final byte[] checkpoint = captureUploadedCheckpoint();
+        when(minioAdapterMock.getFile(CHECKPOINT_PATH)).thenReturn(new ByteArrayInputStream(checkpoint));
+
+        final RunCheckpoint runCheckpoint = runCheckpointService.loadCheckpoint(TARGET_FOLDER, "fingerprint").orElseThrow();
+        assertEquals(EnumSet.of(PostProcessingStage.RAO_RESULTS, PostProcessingStage.F341), runCheckpoint.completedStages());
+        assertEquals("2023-08-04T22:00:00Z", runCheckpoint.raoMetadata().getOutputsSendingInstant());
+    }
+
+    @Test
+    void savedStagesAreIgnoredWithOtherInputs() throws IOException {
+        runCheckpointService.saveCompletedStages(TARGET_FOLDER, "fingerprint", EnumSet.of(PostProcessingStage.RAO_RESULTS), new RaoMetadata());
+        final byte[] checkpoint = captureUploadedCheckpoint();
+        when(minioAdapterMock.getFile(CHECKPOINT_PATH)).thenReturn(new ByteArrayInputStream(checkpoint));
+
+        assertTrue(runCheckpointService.loadCheckpoint(TARGET_FOLDER, "otherFingerprint").isEmpty());
+    }
+
+    @Test
+    void completedRunStartsOver() throws IOException {
+        runCheckpointService.markRunCompleted(TARGET_FOLDER, "fingerprint", new RaoMetadata());
+        final byte[] checkpoint = captureUploadedCheckpoint();
+        when(minioAdapterMock.getFile(CHECKPOINT_PATH)).thenReturn(new ByteArrayInputStream(checkpoint));
+
+        assertTrue(runCheckpointService.loadCheckpoint(TARGET_FOLDER, "fingerprint").isEmpty());
+    }
+
+    @Test
+    void missingCheckpointStartsOver() {
+        when(minioAdapterMock.getFile(CHECKPOINT_PATH)).thenThrow(new RuntimeException("Not found"));
+
+        assertTrue(runCheckpointService.loadCheckpoint(TARGET_FOLDER, "fingerprint").isEmpty());
+    }
+
+    private byte[] captureUploadedCheckpoint() throws IOException {
+        final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+        verify(minioAdapterMock).uploadArtifact(eq(CHECKPOINT_PATH), inputStreamArgumentCaptor.capture());
+        return inputStreamArgumentCaptor.getValue().readAllBytes();
+    }
+
+    private static byte[] zipLog(final String content, final long entryTime) throws IOException {
+        final ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(zip)) {
+            final ZipEntry entry = new ZipEntry("task.log");
+            entry.setTime(entryTime);
+            zipOutputStream.putNextEntry(entry);
+            zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+        return zip.toByteArray();
+    }
+}
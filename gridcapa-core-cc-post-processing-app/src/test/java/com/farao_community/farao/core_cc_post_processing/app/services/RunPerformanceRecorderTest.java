@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class RunPerformanceRecorderTest {
+
+    private final RunPerformanceRecorder recorder = new RunPerformanceRecorder();
+
+    @Test
+    void figuresOfRunInProgressAreReported() throws IOException {
+        final RunPerformanceRecorder.Run run = recorder.startRun(LocalDate.of(2023, 8, 4));
+        try (InputStream inputStream = recorder.countDownload(new ByteArrayInputStream(new byte[1000]))) {
+            inputStream.read();
+            inputStream.readAllBytes();
+        }
+        recorder.recordUpload(300);
+        recorder.recordStageWallTime("F304", Duration.ofMillis(1500));
+        recorder.recordHourlyF303WallTime("2023-08-03T22:00:00Z/2023-08-03T23:00:00Z", Duration.ofMillis(200));
+        recorder.recordF303Content(12, 3);
+
+        final RunPerformanceReport report = recorder.finishRun(run, true);
+
+        assertEquals("2023-08-04", report.businessDate());
+        assertTrue(report.completed());
+        assertEquals(1000, report.bytesDownloaded());
+        assertEquals(300, report.bytesUploaded());
+        assertEquals(1500L, report.stageWallTimesMs().get("F304"));
+        assertEquals(200L, report.hourlyF303WallTimesMs().get("2023-08-03T22:00:00Z/2023-08-03T23:00:00Z"));
+        assertEquals(12, report.criticalBranchCount());
+        assertEquals(3, report.complexVariantCount());
+        assertTrue(report.peakHeapBytes() > 0);
+    }
+
+    @Test
+    void figuresReportedOutsideOfRunAreIgnored() {
+        final InputStream inputStream = new ByteArrayInputStream(new byte[10]);
+        assertSame(inputStream, recorder.countDownload(inputStream));
+        recorder.recordUpload(300);
+        recorder.recordStageWallTime("F304", Duration.ofMillis(1500));
+
+        final RunPerformanceRecorder.Run run = recorder.startRun(LocalDate.of(2023, 8, 4));
+        final RunPerformanceReport report = recorder.finishRun(run, false);
+
+        assertEquals(0, report.bytesUploaded());
+        assertTrue(report.stageWallTimesMs().isEmpty());
+    }
+
+    @Test
+    void figuresOfOtherThreadsAreIgnoredUnlessCountedForRun() throws Exception {
+        final RunPerformanceRecorder.Run run = recorder.startRun(LocalDate.of(2023, 8, 4));
+        final UnaryOperator<InputStream> downloadCounter = recorder.downloadCounter();
+        final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+        try {
+            otherThread.submit(() -> {
+                // e.g. provisional publication running meanwhile
+                recorder.recordUpload(300);
+                recorder.recordStageWallTime("F303", Duration.ofMillis(1500));
+                try (InputStream inputStream = recorder.countDownload(new ByteArrayInputStream(new byte[10]))) {
+                    inputStream.readAllBytes();
+                }
+                // e.g. compression thread downloading for the run
+                try (InputStream inputStream = downloadCounter.apply(new ByteArrayInputStream(new byte[1000]))) {
+                    inputStream.readAllBytes();
+                }
+                return null;
+            }).get();
+        } finally {
+            otherThread.shutdownNow();
+        }
+
+        final RunPerformanceReport report = recorder.finishRun(run, true);
+
+        assertEquals(1000, report.bytesDownloaded());
+        assertEquals(0, report.bytesUploaded());
+        assertTrue(report.stageWallTimesMs().isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.WorkspaceConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.util.SpillingByteSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class RunWorkspaceManagerTest {
+
+    @TempDir
+    private Path root;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentByteSinksSpillToTheirOwnFiles() throws IOException {
+        final RunWorkspaceManager manager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), null, 10, null), meterRegistry);
+        try (SpillingByteSink firstRunOutput = manager.newByteSink();
+             SpillingByteSink rerunOutput = manager.newByteSink()) {
+            firstRunOutput.write(new byte[100]);
+            firstRunOutput.flush();
+            rerunOutput.write(new byte[50]);
+            rerunOutput.flush();
+            rerunOutput.close();
+
+            assertTrue(firstRunOutput.isSpilled());
+            try (InputStream inputStream = firstRunOutput.openInputStream()) {
+                assertArrayEquals(new byte[100], inputStream.readAllBytes());
+            }
+            assertEquals(100, meterRegistry.get(RunWorkspaceManager.USED_BYTES_METRIC).gauge().value());
+        } finally {
+            manager.shutdown();
+        }
+        assertEquals(0, manager.getUsedBytes());
+    }
+
+    @Test
+    void quotaIsReleasedWithWorkspaceFiles() throws IOException {
+        final RunWorkspaceManager manager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), 150L, null, null), meterRegistry);
+        final RunWorkspace workspace = manager.getBuffersWorkspace();
+        try {
+            write(workspace, "cgm.uct", new byte[100]);
+            assertEquals(100, meterRegistry.get(RunWorkspaceManager.USED_BYTES_METRIC).gauge().value());
+
+            assertThrows(IOException.class, () -> write(workspace, "cne.xml", new byte[100]));
+            assertEquals(100, manager.getUsedBytes());
+
+            workspace.delete("cgm.uct");
+            write(workspace, "cne.xml", new byte[100]);
+            assertEquals(100, manager.getUsedBytes());
+        } finally {
+            manager.shutdown();
+        }
+        assertEquals(0, manager.getUsedBytes());
+        assertFalse(Files.exists(workspace.getDirectory()));
+    }
+
+    @Test
+    void fileOutsideWorkspaceIsRejected() {
+        final RunWorkspaceManager manager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), null, null, null), meterRegistry);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> manager.getBuffersWorkspace().newOutputStream("../cgm.uct"));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void workspacesOfCrashedInstanceAreDeletedAtStartup() throws IOException {
+        final RunWorkspaceManager runningManager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), null, null, null), meterRegistry);
+        final Path crashedInstance = Files.createDirectories(root.resolve(RunWorkspaceManager.INSTANCE_DIRECTORY_PREFIX + "crashed").resolve("2023-08-04-1"));
+        Files.createFile(crashedInstance.getParent().resolve(RunWorkspaceManager.LOCK_FILE_NAME));
+        Files.write(crashedInstance.resolve("cgm.uct"), new byte[10]);
+        final Path startingInstance = Files.createDirectory(root.resolve(RunWorkspaceManager.INSTANCE_DIRECTORY_PREFIX + "starting"));
+        final Path oldInstanceWithoutLock = Files.createDirectory(root.resolve(RunWorkspaceManager.INSTANCE_DIRECTORY_PREFIX + "old"));
+        Files.setLastModifiedTime(oldInstanceWithoutLock, FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS)));
+
+        final RunWorkspaceManager restartedManager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), null, null, null), new SimpleMeterRegistry());
+        try {
+            assertFalse(Files.exists(crashedInstance.getParent()));
+            assertFalse(Files.exists(oldInstanceWithoutLock));
+            assertTrue(Files.exists(startingInstance));
+            assertTrue(Files.exists(runningManager.getInstanceDirectory()));
+        } finally {
+            runningManager.shutdown();
+            restartedManager.shutdown();
+        }
+        assertFalse(Files.exists(runningManager.getInstanceDirectory()));
+    }
+
+    @Test
+    void byteSinksSpillToWorkspaceWithinQuota() throws IOException {
+        final RunWorkspaceManager manager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), 150L, 10, null), meterRegistry);
+        try (SpillingByteSink smallOutput = manager.newByteSink();
+             SpillingByteSink largeOutput = manager.newByteSink()) {
+            smallOutput.write(new byte[10]);
+            largeOutput.write(new byte[100]);
+            largeOutput.flush();
+
+            assertFalse(smallOutput.isSpilled());
+            assertTrue(largeOutput.isSpilled());
+            assertEquals(100, manager.getUsedBytes());
+            largeOutput.write(new byte[100]);
+            assertThrows(IOException.class, largeOutput::flush);
+            largeOutput.close();
+            assertEquals(0, manager.getUsedBytes());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void byteSinksReuseMemoryChunksOfClosedOnes() throws IOException {
+        final RunWorkspaceManager manager = new RunWorkspaceManager(new WorkspaceConfiguration(root.toString(), null, null, null), meterRegistry);
+        try {
+            for (int i = 0; i < 2; i++) {
+                try (SpillingByteSink output = manager.newByteSink()) {
+                    output.write(new byte[300 * 1024]);
+                }
+            }
+
+            assertEquals(1, meterRegistry.get(RunWorkspaceManager.POOL_MISSES_METRIC).functionCounter().count());
+            assertEquals(1, meterRegistry.get(RunWorkspaceManager.POOL_HITS_METRIC).functionCounter().count());
+            assertEquals(256 * 1024, meterRegistry.get(RunWorkspaceManager.POOL_SIZE_METRIC).gauge().value());
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    private static void write(final RunWorkspace workspace, final String fileName, final byte[] content) throws IOException {
+        try (OutputStream outputStream = workspace.newOutputStream(fileName)) {
+            outputStream.write(content);
+        }
+    }
+}
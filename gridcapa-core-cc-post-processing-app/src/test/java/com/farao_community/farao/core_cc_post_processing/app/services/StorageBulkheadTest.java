@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.services;
+
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class StorageBulkheadTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StorageBulkhead storageBulkhead = new StorageBulkhead(new StorageConfiguration(1, 1, null, null, null, null, null, null), meterRegistry);
+
+    @Test
+    void readHoldsItsSlotUntilStreamIsClosed() throws Exception {
+        final InputStream firstInputStream = storageBulkhead.read(() -> new ByteArrayInputStream(new byte[] {1, 2}));
+        assertEquals(1.0, inFlightRequests("read"));
+
+        final CompletableFuture<InputStream> secondRead = CompletableFuture.supplyAsync(() -> storageBulkhead.read(() -> new ByteArrayInputStream(new byte[] {3})));
+        assertThrows(TimeoutException.class, () -> secondRead.get(100, TimeUnit.MILLISECONDS));
+        assertArrayEquals(new byte[] {1, 2}, firstInputStream.readAllBytes());
+        firstInputStream.close();
+
+        try (InputStream secondInputStream = secondRead.get(5, TimeUnit.SECONDS)) {
+            assertArrayEquals(new byte[] {3}, secondInputStream.readAllBytes());
+        }
+        assertEquals(0.0, inFlightRequests("read"));
+        assertEquals(2, meterRegistry.get(StorageBulkhead.QUEUE_TIME_METRIC).tag("operation", "read").timer().count());
+    }
+
+    @Test
+    void writesDoNotWaitForReads() throws IOException {
+        try (InputStream ignored = storageBulkhead.read(() -> new ByteArrayInputStream(new byte[0]))) {
+            storageBulkhead.write(10, () -> assertEquals(10.0, meterRegistry.get(StorageBulkhead.IN_FLIGHT_BYTES_METRIC).tag("operation", "write").gauge().value()));
+        }
+
+        assertEquals(0.0, meterRegistry.get(StorageBulkhead.IN_FLIGHT_BYTES_METRIC).tag("operation", "write").gauge().value());
+    }
+
+    @Test
+    void failedRequestsAreCountedAndReleased() {
+        assertThrows(IOException.class, () -> storageBulkhead.write(0, () -> {
+            throw new IOException("unavailable");
+        }));
+        assertThrows(IllegalStateException.class, () -> storageBulkhead.read(() -> {
+            throw new IllegalStateException("unavailable");
+        }));
+
+        assertEquals(1.0, meterRegistry.get(StorageBulkhead.ERRORS_METRIC).tag("operation", "write").counter().count());
+        assertEquals(1.0, meterRegistry.get(StorageBulkhead.ERRORS_METRIC).tag("operation", "read").counter().count());
+        assertEquals(0.0, inFlightRequests("write"));
+        assertEquals(0.0, inFlightRequests("read"));
+    }
+
+    @Test
+    void hedgedReadReleasesSlotOfCancelledRequest() throws IOException {
+        final MeterRegistry hedgingMeterRegistry = new SimpleMeterRegistry();
+        final StorageBulkhead hedgingBulkhead = new StorageBulkhead(new StorageConfiguration(2, 2, null, null, true, null, 50L, null), hedgingMeterRegistry);
+        final AtomicInteger requests = new AtomicInteger();
+
+        try (InputStream inputStream = hedgingBulkhead.read(() -> {
+            if (requests.incrementAndGet() == 1) {
+                sleepUninterruptibly(500);
+            }
+            return new ByteArrayInputStream(new byte[] {(byte) requests.get()});
+        })) {
+            assertEquals(2, inputStream.read());
+        } finally {
+            hedgingBulkhead.shutdown();
+        }
+
+        assertEquals(1.0, hedgingMeterRegistry.get(StorageBulkhead.HEDGE_WINS_METRIC).functionCounter().count());
+        // the slow request completes after the read, its stream is closed and its slot freed then
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (hedgingMeterRegistry.get(StorageBulkhead.IN_FLIGHT_REQUESTS_METRIC).tag("operation", "read").gauge().value() > 0 && System.currentTimeMillis() < deadline) {
+            sleepUninterruptibly(10);
+        }
+        assertEquals(0.0, hedgingMeterRegistry.get(StorageBulkhead.IN_FLIGHT_REQUESTS_METRIC).tag("operation", "read").gauge().value());
+    }
+
+    @Test
+    void readIsNotHedgedWhileLimiterIsAtItsLimit() throws IOException {
+        final MeterRegistry hedgingMeterRegistry = new SimpleMeterRegistry();
+        final StorageBulkhead hedgingBulkhead = new StorageBulkhead(new StorageConfiguration(1, 1, null, null, true, null, 50L, null), hedgingMeterRegistry);
+        final AtomicInteger requests = new AtomicInteger();
+
+        try (InputStream inputStream = hedgingBulkhead.read(() -> {
+            requests.incrementAndGet();
+            sleepUninterruptibly(300);
+            return new ByteArrayInputStream(new byte[] {1});
+        })) {
+            assertEquals(1, inputStream.read());
+        } finally {
+            hedgingBulkhead.shutdown();
+        }
+
+        // the only slot is held by the slow request, a second one would have to queue behind it
+        assertEquals(1, requests.get());
+        assertEquals(0.0, hedgingMeterRegistry.get(StorageBulkhead.HEDGED_REQUESTS_METRIC).functionCounter().count());
+        assertEquals(0.0, hedgingMeterRegistry.get(StorageBulkhead.IN_FLIGHT_REQUESTS_METRIC).tag("operation", "read").gauge().value());
+    }
+
+    private static void sleepUninterruptibly(final long millis) {
+        final long end = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < end) {
+            try {
+                Thread.sleep(Math.max(1, end - System.currentTimeMillis()));
+            } catch (final InterruptedException e) {
+                // the cancelled request goes on, like a storage call ignoring interruption
+            }
+        }
+    }
+
+    private double inFlightRequests(final String operation) {
+        return meterRegistry.get(StorageBulkhead.IN_FLIGHT_REQUESTS_METRIC).tag("operation", operation).gauge().value();
+    }
+}
@@ -17,31 +17,25 @@ import com.farao_community.farao.gridcapa.task_manager.api.TaskStatus;
 import com.farao_community.farao.gridcapa_core_cc.api.resource.CoreCCMetadata;
 import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.time.ZonedDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
-import static com.farao_community.farao.core_cc_post_processing.app.Utils.TEMP_DIR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.mockito.Mockito.mockStatic;
 
 /**
  * @author Thomas Bouquet {@literal <thomas.bouquet at rte-france.com>}
@@ -55,6 +49,7 @@ class XmlGeneratorTest {
     private final String endInstantString = "2023-08-04T14:47:00Z";
     private final OffsetDateTime endInstant = OffsetDateTime.parse(endInstantString);
     private final String correlationId = "6fe0a389-9315-417e-956d-b3fbaa479caz";
+    private final String timestamp = "2023-08-04T12:42:42Z";
     private Set<TaskDto> taskDtos;
     private Map<TaskDto, ProcessFileDto> cgmPerTask;
     private final Map<UUID, CoreCCMetadata> metadataMap = new HashMap<>();
@@ -63,24 +58,12 @@ class XmlGeneratorTest {
     MinioAdapter minioAdapter;
 
     @Test
-    void generateCgmXmlHeaderFile() throws IOException {
+    void writeCgmXmlHeader() throws IOException {
         initTasksForCgmXmlHeader();
-        String cgmsArchiveTempPath = TEMP_DIR + "/gridcapa/cgms";
-        File generatedXmlHeaderFile = new File(cgmsArchiveTempPath, "CGM_XML_Header.xml");
-        // mock instant
-        Instant mockedInstant = ZonedDateTime.parse("2023-08-04T12:42:42.000Z").toInstant();
-        try (MockedStatic<Instant> mockedStatic = mockStatic(Instant.class, Mockito.CALLS_REAL_METHODS)) {
-            mockedStatic.when(Instant::now).thenReturn(mockedInstant);
-            // First pass with not existing directory
-            F305XmlGenerator.generateCgmXmlHeaderFile(taskDtos, cgmsArchiveTempPath, localDate, correlationId, "2023-08-04T14:46:00.000Z/2023-08-04T15:46:00.000Z");
-            Utils.assertFilesContentEqual("/services/CGM_XML_Header.xml", generatedXmlHeaderFile.toString(), true);
-            // Second pass with already existing directory
-            F305XmlGenerator.generateCgmXmlHeaderFile(taskDtos, cgmsArchiveTempPath, localDate, correlationId, "2023-08-04T14:46:00.000Z/2023-08-04T15:46:00.000Z");
-            Utils.assertFilesContentEqual("/services/CGM_XML_Header.xml", generatedXmlHeaderFile.toString(), true);
-            // Delete the temporary directory
-            FileUtils.deleteDirectory(new File(generatedXmlHeaderFile.getParent()));
-            assertFalse(Files.exists(generatedXmlHeaderFile.getParentFile().toPath()));
-        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        F305XmlGenerator.writeCgmXmlHeader(taskDtos, localDate, correlationId, timestamp, "2023-08-04T14:46:00.000Z/2023-08-04T15:46:00.000Z", outputStream);
+        String expectedXmlHeader = new String(getClass().getResourceAsStream("/services/CGM_XML_Header.xml").readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(expectedXmlHeader.replace("\r", "").strip(), outputStream.toString(StandardCharsets.UTF_8).replace("\r", "").strip());
     }
 
     private void initTasksForCgmXmlHeader() {
@@ -103,18 +86,13 @@ class XmlGeneratorTest {
         initTasksForRaoResponse();
         initMetadataMap();
         initCgmPerTaskMap();
-        // mock instant
-        Instant mockedInstant = ZonedDateTime.parse("2023-08-04T12:42:42.000Z").toInstant();
-        try (MockedStatic<Instant> mockedStatic = mockStatic(Instant.class, Mockito.CALLS_REAL_METHODS)) {
-            mockedStatic.when(Instant::now).thenReturn(mockedInstant);
-            final ResponseMessageType raoResponse = F305XmlGenerator.generateRaoResponse(taskDtos, cgmPerTask, localDate, correlationId, metadataMap, "2023-08-04T14:46:00.000Z/2023-08-04T15:46:00.000Z");
-            // JSON => OBJECT => JSON to get rid of formatting
-            String expectedFileContents = new String(Utils.class.getResourceAsStream("/services/raoResponseMessageType.json").readAllBytes()).replace("\r", "");
-            final ObjectMapper mapper = new ObjectMapper();
-            final ResponseMessageType parsedFileContent = mapper.readValue(expectedFileContents, ResponseMessageType.class);
-            final String reformattedFileContent = mapper.writeValueAsString(parsedFileContent);
-            assertEquals(mapper.writeValueAsString(raoResponse), reformattedFileContent);
-        }
+        final ResponseMessageType raoResponse = F305XmlGenerator.generateRaoResponse(taskDtos, cgmPerTask, localDate, correlationId, timestamp, metadataMap, "2023-08-04T14:46:00.000Z/2023-08-04T15:46:00.000Z");
+        // JSON => OBJECT => JSON to get rid of formatting
+        String expectedFileContents = new String(Utils.class.getResourceAsStream("/services/raoResponseMessageType.json").readAllBytes()).replace("\r", "");
+        final ObjectMapper mapper = new ObjectMapper();
+        final ResponseMessageType parsedFileContent = mapper.readValue(expectedFileContents, ResponseMessageType.class);
+        final String reformattedFileContent = mapper.writeValueAsString(parsedFileContent);
+        assertEquals(mapper.writeValueAsString(raoResponse), reformattedFileContent);
     }
 
     private void initTasksForRaoResponse() {
@@ -131,8 +109,9 @@ class XmlGeneratorTest {
     @Test
     void generateRaoResponseHeader() {
         ResponseMessageType responseMessage = new ResponseMessageType();
-        ReflectionTestUtils.invokeMethod(F305XmlGenerator.class, "generateRaoResponseHeader", responseMessage, localDate, correlationId);
+        ReflectionTestUtils.invokeMethod(F305XmlGenerator.class, "generateRaoResponseHeader", responseMessage, localDate, correlationId, timestamp);
         HeaderType header = responseMessage.getHeader();
+        assertEquals(timestamp, header.getTimestamp().toXMLFormat());
         assertEquals("created", header.getVerb());
         assertEquals("OptimizedRemedialActions", header.getNoun());
         assertEquals("1", header.getRevision());
@@ -171,11 +150,30 @@ class XmlGeneratorTest {
         assertNull(errorResponseItem.getFiles());
     }
 
+    @Test
+    void generateProvisionalRaoResponse() {
+        initTasksForRaoResponse();
+        initMetadataMap();
+        initCgmPerTaskMap();
+        final ResponseMessageType raoResponse = F305XmlGenerator.generateProvisionalRaoResponse(taskDtos, cgmPerTask, localDate, correlationId, timestamp, metadataMap, "2023-08-04T14:46:00.000Z/2023-08-04T15:46:00.000Z");
+        final List<ResponseItem> responseItems = raoResponse.getPayload().getResponseItems().getResponseItem();
+
+        assertEquals(4, responseItems.size());
+        final List<ResponseItem> notYetAvailableItems = responseItems.stream()
+                .filter(responseItem -> responseItem.getError() != null && F305XmlGenerator.NOT_YET_AVAILABLE.equals(responseItem.getError().getCode()))
+                .toList();
+        assertEquals(1, notYetAvailableItems.size());
+        assertEquals("Hour not computed yet", notYetAvailableItems.getFirst().getError().getReason());
+        assertNull(notYetAvailableItems.getFirst().getError().getLevel());
+        assertNull(notYetAvailableItems.getFirst().getFiles());
+    }
+
     @Test
     void generateCgmXmlHeaderFileHeader() {
         ResponseMessageType responseMessage = new ResponseMessageType();
-        ReflectionTestUtils.invokeMethod(F305XmlGenerator.class, "generateCgmXmlHeaderFileHeader", responseMessage, localDate, correlationId);
+        ReflectionTestUtils.invokeMethod(F305XmlGenerator.class, "generateCgmXmlHeaderFileHeader", responseMessage, localDate, correlationId, timestamp);
         HeaderType header = responseMessage.getHeader();
+        assertEquals(timestamp, header.getTimestamp().toXMLFormat());
         assertEquals("created", header.getVerb());
         assertEquals("OptimizedCommonGridModel", header.getNoun());
         assertEquals("1", header.getRevision());
@@ -6,45 +6,80 @@
  */
 package com.farao_community.farao.core_cc_post_processing.app.services;
 
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ArchiveType;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.CompressionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.ExecutionProfile;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.StorageConfiguration;
+import com.farao_community.farao.core_cc_post_processing.app.configuration.WorkspaceConfiguration;
 import com.farao_community.farao.core_cc_post_processing.app.exception.CoreCCPostProcessingInternalException;
 import com.farao_community.farao.core_cc_post_processing.app.outputs.rao_response.ResponseMessageType;
+import com.farao_community.farao.core_cc_post_processing.app.util.CompressionPolicy;
+import com.farao_community.farao.core_cc_post_processing.app.util.DigestingOutputStream;
+import com.farao_community.farao.core_cc_post_processing.app.util.OutputChecksum;
 import com.farao_community.farao.core_cc_post_processing.app.util.RaoMetadata;
 import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileDto;
+import com.farao_community.farao.gridcapa.task_manager.api.ProcessFileStatus;
 import com.farao_community.farao.gridcapa.task_manager.api.TaskDto;
 import com.farao_community.farao.minio_adapter.starter.MinioAdapter;
+import com.farao_community.farao.minio_adapter.starter.MinioAdapterProperties;
 import com.powsybl.openrao.data.crac.io.fbconstraint.xsd.FlowBasedConstraintDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.CGM_FILE_DTO;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.CNE_FILE_DTO;
+import static com.farao_community.farao.core_cc_post_processing.app.Utils.ERROR_TASK;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.RAO_RESULT_FILE_DTO;
 import static com.farao_community.farao.core_cc_post_processing.app.Utils.SUCCESS_TASK;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -54,29 +89,92 @@ class ZipAndUploadServiceTest {
     @Mock
     private MinioAdapter minioAdapterMock;
 
+    // archives are built in memory, so that uploaded streams can be read once the upload is over, and CGMs are precompressed
+    @Spy
+    private ExecutionConfiguration executionConfiguration = new ExecutionConfiguration(ExecutionProfile.BALANCED, false, null, null, 25, null);
+
+    @Spy
+    private CompressedCgmStore compressedCgmStore = new CompressedCgmStore(executionConfiguration);
+
+    @Spy
+    private RunPerformanceRecorder runPerformanceRecorder = new RunPerformanceRecorder();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CompressionExecutor compressionExecutor = new CompressionExecutor(executionConfiguration);
+
+    @Spy
+    private ArchiveEntryCompressor archiveEntryCompressor = new ArchiveEntryCompressor(executionConfiguration, new CompressionConfiguration(null), meterRegistry, compressionExecutor);
+
+    @Mock
+    private OutputDigestStore outputDigestStoreMock;
+
+    @Mock
+    private MinioClient minioClientMock;
+
+    @Mock
+    private MinioAdapterProperties minioAdapterPropertiesMock;
+
+    @Mock
+    private StatObjectResponse statObjectResponseMock;
+
+    @Mock
+    private MultipartUploadService multipartUploadServiceMock;
+
+    @Mock
+    private RangedDownloadService rangedDownloadServiceMock;
+
+    @Spy
+    private RunWorkspaceManager runWorkspaceManager = new RunWorkspaceManager(new WorkspaceConfiguration(null, null, null, null), meterRegistry);
+
+    @Spy
+    private StorageBulkhead storageBulkhead = new StorageBulkhead(new StorageConfiguration(null, null, null, null, null, null, null, null), meterRegistry);
+
     @InjectMocks
     private ZipAndUploadService zipAndUploadService;
     private static final LocalDate LOCAL_DATE = LocalDate.of(2023, 8, 4);
     private static final String TARGET_FOLDER = "targetFolder";
+    private static final String F341_PATH = "targetFolder/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-341_20230804-F341-01.csv";
 
     @Test
     void testZipAndUploadLogs() throws IOException {
         List<byte[]> logList = List.of(fileToByteArray("/services/export/logs1.txt"));
         zipAndUploadService.zipAndUploadLogs(logList, "logFileName");
-        verify(minioAdapterMock).uploadOutput(anyString(), any(InputStream.class));
+        verify(outputDigestStoreMock).uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
     }
 
     @Test
     void testZipAndUploadLogsWhenExceptionThrown() throws IOException {
         List<byte[]> logList = List.of(fileToByteArray("/services/export/logs1.txt"));
         doThrow(CoreCCPostProcessingInternalException.class)
-                .when(minioAdapterMock)
-                .uploadOutput(anyString(), any(InputStream.class));
+                .when(outputDigestStoreMock)
+                .uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
         Assertions.assertThrows(CoreCCPostProcessingInternalException.class,
                 () -> zipAndUploadService.zipAndUploadLogs(logList, "logFileName"));
 
     }
 
+    @Test
+    void testHourlyLogZipsAreMergedInF342() throws IOException {
+        final List<byte[]> logList = List.of(zipLogs("logs_0030.txt"), zipLogs("logs_0130.txt"));
+        zipAndUploadService.zipAndUploadLogs(logList, "logFileName");
+
+        final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+        verify(outputDigestStoreMock).uploadOutput(eq("logFileName"), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
+        final Map<String, byte[]> entries = readZipEntries(inputStreamArgumentCaptor.getValue());
+        assertEquals(Set.of("logs_0030.txt", "logs_0130.txt"), entries.keySet());
+        assertArrayEquals(fileToByteArray("/services/export/logs1.txt"), entries.get("logs_0130.txt"));
+    }
+
+    private byte[] zipLogs(final String entryName) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(byteArrayOutputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry(entryName));
+            zipOutputStream.write(fileToByteArray("/services/export/logs1.txt"));
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
     private byte[] fileToByteArray(final String filename) throws IOException {
         return getClass().getResourceAsStream(filename).readAllBytes();
     }
@@ -84,7 +182,7 @@ class ZipAndUploadServiceTest {
     // ------------ CGMES ------------
 
     @Test
-    void testZipValidatedCgmsAndSendToOutputs() {
+    void testZipValidatedCgmsAndSendToOutputs() throws IOException {
         final Map<TaskDto, ProcessFileDto> cgms = new HashMap<>();
         cgms.put(SUCCESS_TASK, CGM_FILE_DTO);
         when(minioAdapterMock.getFileFromFullPath("/CORE/CC/network.uct"))
@@ -93,16 +191,101 @@ class ZipAndUploadServiceTest {
                 cgms,
                 LOCAL_DATE,
                 "00000000-0000-0000-0000-000000000000",
+                "2019-01-08T12:31:00Z",
                 "2019-01-07T23:00Z/2019-01-08T23:00Z",
                 1);
-        verify(minioAdapterMock).uploadOutput(anyString(), any(InputStream.class));
+        verify(outputDigestStoreMock).uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
 
         assertFalse(new File("/tmp/cgms_out/2023-08-04").exists());
     }
 
+    @Test
+    void testPrecompressedCgmsAreCopiedInF304() throws IOException {
+        final Map<TaskDto, ProcessFileDto> cgms = new HashMap<>();
+        cgms.put(SUCCESS_TASK, CGM_FILE_DTO);
+        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/network.uct"))
+                .thenReturn(getClass().getResourceAsStream("/services/network.uct"));
+        zipAndUploadService.precompressCgm(SUCCESS_TASK);
+        assertTrue(compressedCgmStore.contains(CGM_FILE_DTO));
+
+        final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+        zipAndUploadService.zipCgmsAndSendToOutputs(TARGET_FOLDER,
+                cgms,
+                LOCAL_DATE,
+                "00000000-0000-0000-0000-000000000000",
+                "2019-01-08T12:31:00Z",
+                "2019-01-07T23:00Z/2019-01-08T23:00Z",
+                1);
+        // CGM was only read once, during precompression
+        verify(minioAdapterMock, times(1)).getFileFromFullPath("/CORE/CC/network.uct");
+        verify(outputDigestStoreMock).uploadOutput(eq("targetFolder/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-304_20230804-F304-01.zip"), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
+
+        final Map<String, byte[]> entries = readZipEntries(inputStreamArgumentCaptor.getValue());
+        assertEquals(Set.of("CGM_XML_Header.xml", "network.uct"), entries.keySet());
+        assertArrayEquals(fileToByteArray("/services/network.uct"), entries.get("network.uct"));
+    }
+
+    @Test
+    void testZipCgmsAndSendToOutputsWithStreamingIo() throws IOException {
+        final ExecutionConfiguration lowMemoryConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.LOW_MEMORY);
+        final ZipAndUploadService streamingZipAndUploadService = new ZipAndUploadService(new CompressedCgmStore(lowMemoryConfiguration), new RunPerformanceRecorder(), lowMemoryConfiguration, archiveEntryCompressor, outputDigestStoreMock, multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final Map<TaskDto, ProcessFileDto> cgms = new HashMap<>();
+        cgms.put(SUCCESS_TASK, CGM_FILE_DTO);
+        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/network.uct"))
+                .thenReturn(getClass().getResourceAsStream("/services/network.uct"));
+        // the spilled archive is deleted once uploaded, it must be read during upload
+        final Map<String, byte[]> entries = new HashMap<>();
+        doAnswer(invocation -> {
+            entries.putAll(readZipEntries(invocation.getArgument(1)));
+            return null;
+        }).when(outputDigestStoreMock).uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
+
+        streamingZipAndUploadService.zipCgmsAndSendToOutputs(TARGET_FOLDER,
+                cgms,
+                LOCAL_DATE,
+                "00000000-0000-0000-0000-000000000000",
+                "2019-01-08T12:31:00Z",
+                "2019-01-07T23:00Z/2019-01-08T23:00Z",
+                1);
+
+        assertEquals(Set.of("CGM_XML_Header.xml", "network.uct"), entries.keySet());
+        assertArrayEquals(fileToByteArray("/services/network.uct"), entries.get("network.uct"));
+        assertEquals(0, runWorkspaceManager.getUsedBytes());
+    }
+
+    @Test
+    void testStreamedArchiveIsNotUploadedWhenWritingFails() throws IOException {
+        final ExecutionConfiguration streamingConfiguration = ExecutionConfiguration.forProfile(ExecutionProfile.BALANCED);
+        final ZipAndUploadService streamingZipAndUploadService = new ZipAndUploadService(new CompressedCgmStore(streamingConfiguration), new RunPerformanceRecorder(), streamingConfiguration, archiveEntryCompressor, outputDigestStoreMock, multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final Map<TaskDto, ProcessFileDto> cgms = new HashMap<>();
+        cgms.put(SUCCESS_TASK, CGM_FILE_DTO);
+        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/network.uct"))
+                .thenThrow(new CoreCCPostProcessingInternalException("CGM not available"));
+
+        Assertions.assertThrows(CoreCCPostProcessingInternalException.class, () -> streamingZipAndUploadService.zipCgmsAndSendToOutputs(TARGET_FOLDER,
+                cgms,
+                LOCAL_DATE,
+                "00000000-0000-0000-0000-000000000000",
+                "2019-01-08T12:31:00Z",
+                "2019-01-07T23:00Z/2019-01-08T23:00Z",
+                1));
+        verify(outputDigestStoreMock, never()).uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
+        assertEquals(0, runWorkspaceManager.getUsedBytes());
+    }
+
+    private static Map<String, byte[]> readZipEntries(final InputStream inputStream) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
     // ------------ CNES ------------
     @Test
-    void testZipCnesAndSendToOutputs() {
+    void testZipCnesAndSendToOutputs() throws IOException {
         final Map<TaskDto, ProcessFileDto> cnes = new HashMap<>();
         cnes.put(SUCCESS_TASK, CNE_FILE_DTO);
         when(minioAdapterMock.getFileFromFullPath("/CORE/CC/cne.xml"))
@@ -112,14 +295,40 @@ class ZipAndUploadServiceTest {
                 cnes,
                 LOCAL_DATE,
                 1);
-        verify(minioAdapterMock).uploadOutput(anyString(), any(InputStream.class));
+        final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+        verify(outputDigestStoreMock).uploadOutput(anyString(), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
 
-        assertFalse(new File("/tmp/cnes_out/2023-08-04").exists());
+        final Map<String, byte[]> entries = readZipEntries(inputStreamArgumentCaptor.getValue());
+        assertEquals(Set.of("cne.xml"), entries.keySet());
+        assertArrayEquals(fileToByteArray("/services/cne.xml"), entries.get("cne.xml"));
+    }
+
+    @Test
+    void testCnesAreArchivedInHourOrderWhateverTheOrderOfTasks() throws IOException {
+        final ProcessFileDto laterCne = new ProcessFileDto("/CORE/CC/a-cne.xml", "CNE", ProcessFileStatus.VALIDATED, "a-cne.xml", "docId", ERROR_TASK.getTimestamp());
+        when(minioAdapterMock.getFileFromFullPath(anyString()))
+                .thenAnswer(invocation -> getClass().getResourceAsStream("/services/cne.xml"));
+        final List<byte[]> archives = new ArrayList<>();
+        doAnswer(invocation -> archives.add(((InputStream) invocation.getArgument(1)).readAllBytes()))
+                .when(outputDigestStoreMock).uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
+
+        final Map<TaskDto, ProcessFileDto> cnes = new LinkedHashMap<>();
+        cnes.put(SUCCESS_TASK, CNE_FILE_DTO);
+        cnes.put(ERROR_TASK, laterCne);
+        zipAndUploadService.zipCnesAndSendToOutputs(TARGET_FOLDER, cnes, LOCAL_DATE, 1);
+        final Map<TaskDto, ProcessFileDto> reversedCnes = new LinkedHashMap<>();
+        reversedCnes.put(ERROR_TASK, laterCne);
+        reversedCnes.put(SUCCESS_TASK, CNE_FILE_DTO);
+        zipAndUploadService.zipCnesAndSendToOutputs(TARGET_FOLDER, reversedCnes, LOCAL_DATE, 1);
+
+        assertEquals(2, archives.size());
+        assertEquals(List.of("cne.xml", "a-cne.xml"), List.copyOf(readZipEntries(new ByteArrayInputStream(archives.getFirst())).keySet()));
+        assertArrayEquals(archives.get(0), archives.get(1));
     }
 
     // ------------ RAO_RESULT ------------
     @Test
-    void testZipRaoResultAndSendToOutputs() {
+    void testZipRaoResultAndSendToOutputs() throws IOException {
         final Map<TaskDto, ProcessFileDto> raoResults = new HashMap<>();
         raoResults.put(SUCCESS_TASK, RAO_RESULT_FILE_DTO);
         when(minioAdapterMock.getFileFromFullPath("/CORE/CC/raoResult.json"))
@@ -128,32 +337,59 @@ class ZipAndUploadServiceTest {
         zipAndUploadService.zipRaoResultsAndSendToOutputs(TARGET_FOLDER,
                 raoResults,
                 LOCAL_DATE);
-        verify(minioAdapterMock).uploadOutput(anyString(), any(InputStream.class));
+        final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+        verify(outputDigestStoreMock).uploadOutput(anyString(), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
 
-        assertFalse(new File("/tmp/raoResults_out/2023-08-04").exists());
+        final Map<String, byte[]> entries = readZipEntries(inputStreamArgumentCaptor.getValue());
+        assertEquals(Set.of("raoResult.json"), entries.keySet());
+        assertArrayEquals(fileToByteArray("/services/raoResult.json"), entries.get("raoResult.json"));
+    }
+
+    @Test
+    void testRaoResultsArchiveFollowsItsCompressionPolicy() throws IOException {
+        final CompressionConfiguration storedRaoResults = new CompressionConfiguration(Map.of(ArchiveType.RAO_RESULTS, new CompressionPolicy(CompressionPolicy.Method.STORED, null, null)));
+        final ZipAndUploadService storingZipAndUploadService = new ZipAndUploadService(compressedCgmStore, runPerformanceRecorder, executionConfiguration,
+                new ArchiveEntryCompressor(executionConfiguration, storedRaoResults, meterRegistry, compressionExecutor), outputDigestStoreMock, multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final Map<TaskDto, ProcessFileDto> raoResults = new HashMap<>();
+        raoResults.put(SUCCESS_TASK, RAO_RESULT_FILE_DTO);
+        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/raoResult.json"))
+                .thenReturn(getClass().getResourceAsStream("/services/raoResult.json"));
+
+        storingZipAndUploadService.zipRaoResultsAndSendToOutputs(TARGET_FOLDER, raoResults, LOCAL_DATE);
+        final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
+        verify(outputDigestStoreMock).uploadOutput(anyString(), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
+
+        try (ZipInputStream zipInputStream = new ZipInputStream(inputStreamArgumentCaptor.getValue())) {
+            final ZipEntry entry = zipInputStream.getNextEntry();
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertArrayEquals(fileToByteArray("/services/raoResult.json"), zipInputStream.readAllBytes());
+        }
+        final double rawSize = fileToByteArray("/services/raoResult.json").length;
+        assertEquals(rawSize, meterRegistry.get(ArchiveEntryCompressor.COMPRESSED_BYTES_METRIC).tag("archive", "RAO_RESULTS").counter().count());
+        assertEquals(1.0, meterRegistry.get(ArchiveEntryCompressor.COMPRESSION_RATIO_METRIC).tag("archive", "RAO_RESULTS").summary().mean());
     }
 
     // ------------ UPLOAD ------------
 
     @Test
-    void testUploadF3O3ToMinio() throws JAXBException {
+    void testUploadF3O3ToMinio() throws JAXBException, IOException {
         final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
         final ArgumentCaptor<String> destinationPathArgumentCaptor = ArgumentCaptor.forClass(String.class);
         final FlowBasedConstraintDocument document = new FlowBasedConstraintDocument();
         zipAndUploadService.uploadF303ToMinio(document, TARGET_FOLDER, LOCAL_DATE, 1);
-        verify(minioAdapterMock).uploadOutput(destinationPathArgumentCaptor.capture(), inputStreamArgumentCaptor.capture());
+        verify(outputDigestStoreMock).uploadOutput(destinationPathArgumentCaptor.capture(), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
         final FlowBasedConstraintDocument parsedDocument = parseInputStreamToObject(inputStreamArgumentCaptor.getValue(), FlowBasedConstraintDocument.class);
         assertEquals("targetFolder/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-B06A01-303_20230804-F303-01.xml", destinationPathArgumentCaptor.getValue());
         assertEquals(document, parsedDocument);
     }
 
     @Test
-    void testUploadF3O5ToMinio() throws JAXBException {
+    void testUploadF3O5ToMinio() throws JAXBException, IOException {
         final ArgumentCaptor<InputStream> inputStreamArgumentCaptor = ArgumentCaptor.forClass(InputStream.class);
         final ArgumentCaptor<String> destinationPathArgumentCaptor = ArgumentCaptor.forClass(String.class);
         final ResponseMessageType responseMessage = new ResponseMessageType();
         zipAndUploadService.uploadF305ToMinio(TARGET_FOLDER, responseMessage, LOCAL_DATE, 1);
-        verify(minioAdapterMock).uploadOutput(destinationPathArgumentCaptor.capture(), inputStreamArgumentCaptor.capture());
+        verify(outputDigestStoreMock).uploadOutput(destinationPathArgumentCaptor.capture(), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
         final ResponseMessageType parsedResponseMessage = parseInputStreamToObjectUsingJaxbElement(inputStreamArgumentCaptor.getValue(), ResponseMessageType.class);
         assertEquals("targetFolder/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-305_20230804-F305-01.xml", destinationPathArgumentCaptor.getValue());
         assertEquals(responseMessage.getHeader(), parsedResponseMessage.getHeader());
@@ -171,12 +407,185 @@ class ZipAndUploadServiceTest {
         raoMetadata.setRaoRequestInstant(instantString);
         raoMetadata.setVersion(1);
         zipAndUploadService.uploadF341ToMinio(TARGET_FOLDER, byteArray, raoMetadata, 1);
-        verify(minioAdapterMock).uploadOutput(destinationPathArgumentCaptor.capture(), inputStreamArgumentCaptor.capture());
+        verify(outputDigestStoreMock).uploadOutput(destinationPathArgumentCaptor.capture(), inputStreamArgumentCaptor.capture(), any(OutputChecksum.class));
         final byte[] parsedResponseMessage = inputStreamToByteArray(inputStreamArgumentCaptor.getValue());
         assertEquals("targetFolder/outputs/22XCORESO------S_10V1001C--00236Y_CORE-FB-341_20230804-F341-01.csv", destinationPathArgumentCaptor.getValue());
         assertArrayEquals(byteArray, parsedResponseMessage);
     }
 
+    @Test
+    void testUnchangedOutputIsNotUploadedAgain() throws Exception {
+        final ZipAndUploadService digestingZipAndUploadService = new ZipAndUploadService(compressedCgmStore, runPerformanceRecorder, executionConfiguration,
+                archiveEntryCompressor, outputDigestStore(), multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final byte[] csv = "metadata".getBytes(StandardCharsets.UTF_8);
+        when(statObjectResponseMock.userMetadata()).thenReturn(Map.of("sha256", sha256(csv)));
+        when(minioClientMock.statObject(any(StatObjectArgs.class))).thenReturn(statObjectResponseMock);
+
+        digestingZipAndUploadService.uploadF341ToMinio(TARGET_FOLDER, csv, f341Metadata(), 1);
+
+        verify(minioClientMock, never()).putObject(any(PutObjectArgs.class));
+        assertEquals(1.0, meterRegistry.get(OutputDigestStore.SKIPPED_UPLOADS_METRIC).counter().count());
+        assertEquals(csv.length, meterRegistry.get(OutputDigestStore.SAVED_BYTES_METRIC).counter().count());
+    }
+
+    @Test
+    void testOutputIsUploadedWithItsDigest() throws Exception {
+        final ZipAndUploadService digestingZipAndUploadService = new ZipAndUploadService(compressedCgmStore, runPerformanceRecorder, executionConfiguration,
+                archiveEntryCompressor, outputDigestStore(), multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final byte[] csv = "metadata".getBytes(StandardCharsets.UTF_8);
+        when(minioClientMock.statObject(any(StatObjectArgs.class))).thenThrow(new IOException("Object does not exist"));
+
+        digestingZipAndUploadService.uploadF341ToMinio(TARGET_FOLDER, csv, f341Metadata(), 1);
+
+        final ArgumentCaptor<PutObjectArgs> putObjectArgsCaptor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClientMock).putObject(putObjectArgsCaptor.capture());
+        assertEquals(F341_PATH, putObjectArgsCaptor.getValue().object());
+        assertTrue(putObjectArgsCaptor.getValue().userMetadata().containsValue(sha256(csv)));
+        verify(minioAdapterMock, never()).uploadArtifact(anyString(), any(InputStream.class));
+    }
+
+    @Test
+    void testChangedOutputIsUploadedWithItsNewDigest() throws Exception {
+        final ZipAndUploadService digestingZipAndUploadService = new ZipAndUploadService(compressedCgmStore, runPerformanceRecorder, executionConfiguration,
+                archiveEntryCompressor, outputDigestStore(), multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final byte[] csv = "metadata".getBytes(StandardCharsets.UTF_8);
+        when(statObjectResponseMock.userMetadata()).thenReturn(Map.of("Sha256", "digest of previous output"));
+        when(minioClientMock.statObject(any(StatObjectArgs.class))).thenReturn(statObjectResponseMock);
+
+        digestingZipAndUploadService.uploadF341ToMinio(TARGET_FOLDER, csv, f341Metadata(), 1);
+
+        final ArgumentCaptor<PutObjectArgs> putObjectArgsCaptor = ArgumentCaptor.forClass(PutObjectArgs.class);
+        verify(minioClientMock).putObject(putObjectArgsCaptor.capture());
+        assertTrue(putObjectArgsCaptor.getValue().userMetadata().containsValue(sha256(csv)));
+    }
+
+    @Test
+    void testRerunOfSameF304IsNotUploadedAgain() throws Exception {
+        zipSameCgmsTwice(executionConfiguration);
+
+        verify(minioClientMock, times(1)).putObject(any(PutObjectArgs.class));
+        verify(minioClientMock, times(2)).statObject(any(StatObjectArgs.class));
+        assertEquals(1.0, meterRegistry.get(OutputDigestStore.SKIPPED_UPLOADS_METRIC).counter().count());
+    }
+
+    @Test
+    void testRerunOfSameF304IsNotUploadedAgainWithStreamingIo() throws Exception {
+        zipSameCgmsTwice(ExecutionConfiguration.forProfile(ExecutionProfile.BALANCED));
+
+        verify(minioClientMock, times(1)).putObject(any(PutObjectArgs.class));
+        assertEquals(1.0, meterRegistry.get(OutputDigestStore.SKIPPED_UPLOADS_METRIC).counter().count());
+        assertEquals(0, runWorkspaceManager.getUsedBytes());
+    }
+
+    @Test
+    void testF304WithChangedCgmIsUploadedAgain() throws Exception {
+        final ZipAndUploadService digestingZipAndUploadService = new ZipAndUploadService(compressedCgmStore, runPerformanceRecorder, executionConfiguration,
+                archiveEntryCompressor, outputDigestStore(), multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        storeUploadedDigests();
+        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/network.uct"))
+                .thenReturn(getClass().getResourceAsStream("/services/network.uct"))
+                .thenReturn(getClass().getResourceAsStream("/services/cne.xml"));
+        final Map<TaskDto, ProcessFileDto> cgms = new HashMap<>();
+        cgms.put(SUCCESS_TASK, CGM_FILE_DTO);
+
+        for (int run = 0; run < 2; run++) {
+            digestingZipAndUploadService.zipCgmsAndSendToOutputs(TARGET_FOLDER,
+                    cgms,
+                    LOCAL_DATE,
+                    "00000000-0000-0000-0000-000000000000",
+                    "2019-01-08T12:31:00Z",
+                    "2019-01-07T23:00Z/2019-01-08T23:00Z",
+                    1);
+        }
+
+        verify(minioClientMock, times(2)).putObject(any(PutObjectArgs.class));
+    }
+
+    /**
+     * Both runs have the same CGMs, their CGM_XML_HEADER being created at different instants
+     */
+    private void zipSameCgmsTwice(final ExecutionConfiguration configuration) throws Exception {
+        final ZipAndUploadService digestingZipAndUploadService = new ZipAndUploadService(new CompressedCgmStore(configuration), runPerformanceRecorder, configuration,
+                archiveEntryCompressor, outputDigestStore(), multipartUploadServiceMock, runWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        storeUploadedDigests();
+        when(minioAdapterMock.getFileFromFullPath("/CORE/CC/network.uct"))
+                .thenAnswer(invocation -> getClass().getResourceAsStream("/services/network.uct"));
+        final Map<TaskDto, ProcessFileDto> cgms = new HashMap<>();
+        cgms.put(SUCCESS_TASK, CGM_FILE_DTO);
+
+        for (final String timestamp : List.of("2019-01-08T12:31:00Z", "2019-01-09T08:02:00Z")) {
+            digestingZipAndUploadService.zipCgmsAndSendToOutputs(TARGET_FOLDER,
+                    cgms,
+                    LOCAL_DATE,
+                    "00000000-0000-0000-0000-000000000000",
+                    timestamp,
+                    "2019-01-07T23:00Z/2019-01-08T23:00Z",
+                    1);
+        }
+    }
+
+    /**
+     * Digests are read back as they were stored with the outputs
+     */
+    private void storeUploadedDigests() throws Exception {
+        final Map<String, String> storedMetadata = new HashMap<>();
+        when(minioClientMock.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            final PutObjectArgs putObjectArgs = invocation.getArgument(0);
+            putObjectArgs.stream().readAllBytes();
+            storedMetadata.put("sha256", putObjectArgs.userMetadata().values().iterator().next());
+            return null;
+        });
+        when(statObjectResponseMock.userMetadata()).thenAnswer(invocation -> storedMetadata);
+        when(minioClientMock.statObject(any(StatObjectArgs.class))).thenReturn(statObjectResponseMock);
+    }
+
+    @Test
+    void testOutputLargerThanSpillThresholdIsUploadedFromWorkspace() throws IOException {
+        final RunWorkspaceManager spillingWorkspaceManager = new RunWorkspaceManager(new WorkspaceConfiguration(null, null, 16, null), meterRegistry);
+        final ZipAndUploadService spillingZipAndUploadService = new ZipAndUploadService(compressedCgmStore, runPerformanceRecorder, executionConfiguration,
+                archiveEntryCompressor, outputDigestStoreMock, multipartUploadServiceMock, spillingWorkspaceManager, storageBulkhead, rangedDownloadServiceMock);
+        final byte[] csv = new byte[1024];
+        final List<byte[]> uploadedContents = new ArrayList<>();
+        doAnswer(invocation -> uploadedContents.add(((InputStream) invocation.getArgument(1)).readAllBytes()))
+                .when(outputDigestStoreMock).uploadOutput(anyString(), any(InputStream.class), any(OutputChecksum.class));
+
+        spillingZipAndUploadService.uploadF341ToMinio(TARGET_FOLDER, csv, f341Metadata(), 1);
+
+        assertEquals(1, uploadedContents.size());
+        assertArrayEquals(csv, uploadedContents.getFirst());
+        // the spill file is deleted once uploaded
+        assertEquals(0, spillingWorkspaceManager.getUsedBytes());
+        spillingWorkspaceManager.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // inputs are read as a single stream from the adapter, as when ranged downloads are disabled
+        lenient().when(rangedDownloadServiceMock.open(anyString())).thenAnswer(invocation -> minioAdapterMock.getFileFromFullPath(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        runWorkspaceManager.shutdown();
+        compressionExecutor.shutdown();
+    }
+
+    private OutputDigestStore outputDigestStore() {
+        when(minioAdapterPropertiesMock.getBucket()).thenReturn("bucket");
+        return new OutputDigestStore(minioClientMock, minioAdapterPropertiesMock, meterRegistry);
+    }
+
+    private static String sha256(final byte[] content) {
+        return HexFormat.of().formatHex(DigestingOutputStream.newSha256Digest().digest(content));
+    }
+
+    private static RaoMetadata f341Metadata() {
+        final RaoMetadata raoMetadata = new RaoMetadata();
+        raoMetadata.setRaoRequestInstant("2023-08-04T12:42:00Z");
+        raoMetadata.setVersion(1);
+        return raoMetadata;
+    }
+
     private static byte[] inputStreamToByteArray(final InputStream inputStream) throws IOException {
         final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         final byte[] buffer = new byte[1024];
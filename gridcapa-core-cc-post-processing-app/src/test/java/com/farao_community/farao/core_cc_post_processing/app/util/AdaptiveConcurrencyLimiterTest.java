@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void failedRequestsDecreaseLimitDownToMinimumAndSuccessfulOnesIncreaseIt() throws InterruptedIOException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 8, Long.MAX_VALUE, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(0).close();
+        }
+        assertEquals(2, limiter.getLimit());
+
+        // each success adds 1 / limit
+        for (int i = 0; i < 6; i++) {
+            try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(0)) {
+                permit.complete(true);
+            }
+        }
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void slowRequestsDecreaseLimit() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4, Long.MAX_VALUE, Duration.ofMillis(1));
+
+        try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(0)) {
+            Thread.sleep(20);
+            permit.complete(true);
+        }
+
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void requestWaitsForSlotOfLimitOrBytes() throws Exception {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 100, Duration.ofMinutes(1));
+        final AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(0);
+
+        final CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = CompletableFuture.supplyAsync(() -> acquire(limiter, 0));
+        assertThrows(TimeoutException.class, () -> waiting.get(100, TimeUnit.MILLISECONDS));
+        permit.complete(true);
+        permit.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+
+        final AdaptiveConcurrencyLimiter bytesLimiter = new AdaptiveConcurrencyLimiter(4, 4, 100, Duration.ofMinutes(1));
+        final AdaptiveConcurrencyLimiter.Permit largePermit = bytesLimiter.acquire(80);
+        assertEquals(80, bytesLimiter.getInFlightBytes());
+        final CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waitingForBytes = CompletableFuture.supplyAsync(() -> acquire(bytesLimiter, 40));
+        assertThrows(TimeoutException.class, () -> waitingForBytes.get(100, TimeUnit.MILLISECONDS));
+        largePermit.close();
+        waitingForBytes.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, bytesLimiter.getInFlightBytes());
+    }
+
+    @Test
+    void requestLargerThanBytesLimitIsSentAlone() throws InterruptedIOException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4, 100, Duration.ofMinutes(1));
+
+        try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(1000)) {
+            assertEquals(1, limiter.getInFlight());
+            assertFalse(limiter.getInFlightBytes() <= 100);
+        }
+    }
+
+    @Test
+    void slotIsOnlyTakenRightAwayWhenFreeAndCancelledSlotKeepsLimit() throws InterruptedIOException {
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2, Long.MAX_VALUE, Duration.ofMinutes(1));
+
+        try (AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(0)) {
+            final AdaptiveConcurrencyLimiter.Permit secondPermit = limiter.tryAcquire(0).orElseThrow();
+            assertTrue(limiter.tryAcquire(0).isEmpty());
+            secondPermit.cancel();
+            assertEquals(1, limiter.getInFlight());
+            permit.complete(true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static AdaptiveConcurrencyLimiter.Permit acquire(final AdaptiveConcurrencyLimiter limiter, final long bytes) {
+        try {
+            return limiter.acquire(bytes);
+        } catch (final InterruptedIOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
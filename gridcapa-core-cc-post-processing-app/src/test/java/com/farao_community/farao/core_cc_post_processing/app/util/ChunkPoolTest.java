@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class ChunkPoolTest {
+
+    @Test
+    void releasedChunksAreGivenAgainUpToPoolSize() {
+        final ChunkPool pool = new ChunkPool(1024, 1);
+        final byte[] firstChunk = pool.acquire();
+        final byte[] secondChunk = pool.acquire();
+
+        pool.release(firstChunk);
+        pool.release(secondChunk);
+        pool.release(new byte[512]);
+
+        assertEquals(1, pool.getPooledChunks());
+        assertEquals(1024, pool.getPooledBytes());
+        assertSame(firstChunk, pool.acquire());
+        assertNotSame(secondChunk, pool.acquire());
+        assertEquals(1, pool.getHits());
+        assertEquals(3, pool.getMisses());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class ChunkedByteBufferTest {
+
+    @Test
+    void contentOfKnownSizeIsAllocatedOnceInChunksFittingIt() throws IOException {
+        final byte[] content = randomContent(2500);
+        final List<Long> allocations = new ArrayList<>();
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer(1000, content.length, allocations::add);
+
+        buffer.write(content, 0, content.length);
+
+        assertEquals(List.of(1000L, 1000L, 500L), allocations);
+        assertEquals(content.length, buffer.size());
+        try (InputStream inputStream = buffer.openInputStream()) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void chunksOfContentOfUnknownSizeDoubleUpToChunkSize() {
+        final List<Long> allocations = new ArrayList<>();
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer(32 * 1024, -1, allocations::add);
+
+        buffer.write(new byte[100 * 1024], 0, 100 * 1024);
+
+        assertEquals(List.of(8192L, 16384L, 32768L, 32768L, 32768L), allocations);
+    }
+
+    @Test
+    void contentCanBeReadAndCopiedManyTimes() throws IOException {
+        final byte[] content = randomContent(20_000);
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer();
+        for (final byte value : content) {
+            buffer.write(value);
+        }
+
+        for (int i = 0; i < 2; i++) {
+            try (InputStream inputStream = buffer.openInputStream()) {
+                assertEquals(content[0] & 0xFF, inputStream.read());
+                assertArrayEquals(Arrays.copyOfRange(content, 1, content.length), inputStream.readAllBytes());
+                assertEquals(-1, inputStream.read());
+            }
+        }
+        final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        buffer.writeTo(copy);
+        assertArrayEquals(content, copy.toByteArray());
+    }
+
+    @Test
+    void fullSizeChunksAreTakenFromPoolAndGivenBackWhenClosed() throws IOException {
+        final ChunkPool pool = new ChunkPool(32 * 1024, 2);
+        final byte[] content = randomContent(100 * 1024);
+        try (ChunkedByteBuffer firstBuffer = new ChunkedByteBuffer(pool)) {
+            firstBuffer.write(content, 0, content.length);
+        }
+        assertEquals(3, pool.getMisses());
+        assertEquals(2, pool.getPooledChunks());
+
+        final ChunkedByteBuffer secondBuffer = new ChunkedByteBuffer(pool);
+        secondBuffer.write(content, 0, content.length);
+
+        assertEquals(2, pool.getHits());
+        assertEquals(4, pool.getMisses());
+        try (InputStream inputStream = secondBuffer.openInputStream()) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+        secondBuffer.close();
+        assertEquals(0, secondBuffer.size());
+        assertThrows(IllegalStateException.class, () -> secondBuffer.write(1));
+    }
+
+    private static byte[] randomContent(final int size) {
+        final byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+}
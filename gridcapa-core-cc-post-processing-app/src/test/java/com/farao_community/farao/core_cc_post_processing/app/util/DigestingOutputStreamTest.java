@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class DigestingOutputStreamTest {
+
+    @Test
+    void checksumIsComputedWhileContentIsWritten() throws IOException {
+        final byte[] content = "core-cc-post-processing".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DigestingOutputStream digestingOutputStream = new DigestingOutputStream(output);
+        digestingOutputStream.write(content[0]);
+        digestingOutputStream.write(content, 1, content.length - 1);
+
+        final OutputChecksum checksum = digestingOutputStream.getChecksum();
+        assertArrayEquals(content, output.toByteArray());
+        assertEquals(content.length, checksum.size());
+        assertEquals(HexFormat.of().formatHex(DigestingOutputStream.newSha256Digest().digest(content)), checksum.sha256());
+        assertEquals(checksum, digestingOutputStream.getChecksum());
+    }
+
+    @Test
+    void nothingCanBeWrittenOnceChecksumIsComputed() {
+        final DigestingOutputStream digestingOutputStream = new DigestingOutputStream(new ByteArrayOutputStream());
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", digestingOutputStream.getChecksum().sha256());
+
+        assertThrows(IOException.class, () -> digestingOutputStream.write(1));
+    }
+}
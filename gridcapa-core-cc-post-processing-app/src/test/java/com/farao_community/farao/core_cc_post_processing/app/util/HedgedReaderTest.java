@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class HedgedReaderTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void lateReadIsHedgedAndFirstAnswerWins() throws Exception {
+        final HedgedReader hedgedReader = new HedgedReader(executor, 95, Duration.ofMillis(50), 1, Duration.ZERO);
+        final LatencyInjectingStorage storage = new LatencyInjectingStorage(List.of(Duration.ofSeconds(5), Duration.ZERO));
+
+        final long start = System.nanoTime();
+        try (InputStream inputStream = hedgedReader.read(storage)) {
+            assertArrayEquals(new byte[] {2, 0}, inputStream.readAllBytes());
+        }
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        assertEquals(1, hedgedReader.getHedgedRequests());
+        assertEquals(1, hedgedReader.getHedgeWins());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        // the slow request is cancelled, its stream is closed if it was opened anyway
+        assertEquals(storage.opened.get(), storage.closed.get());
+    }
+
+    @Test
+    void fastReadIsNotHedged() throws IOException {
+        final HedgedReader hedgedReader = new HedgedReader(executor, 95, Duration.ofSeconds(5), 1, Duration.ZERO);
+        final LatencyInjectingStorage storage = new LatencyInjectingStorage(List.of(Duration.ZERO));
+
+        try (InputStream inputStream = hedgedReader.read(storage)) {
+            assertArrayEquals(new byte[] {1, 0}, inputStream.readAllBytes());
+        }
+
+        assertEquals(0, hedgedReader.getHedgedRequests());
+        assertEquals(1, storage.requests.get());
+    }
+
+    @Test
+    void hedgeDelayFollowsPercentileOfFirstByteLatencies() throws IOException {
+        final HedgedReader hedgedReader = new HedgedReader(executor, 50, Duration.ofSeconds(5), 1, Duration.ZERO);
+        final LatencyInjectingStorage storage = new LatencyInjectingStorage(List.of(Duration.ZERO));
+
+        assertEquals(Duration.ofSeconds(5), hedgedReader.getHedgeDelay());
+        for (int i = 0; i < 20; i++) {
+            hedgedReader.read(storage).close();
+        }
+
+        assertTrue(hedgedReader.getHedgeDelay().compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void failedReadsAreRetriedUpToMaxAttempts() throws IOException {
+        final HedgedReader hedgedReader = new HedgedReader(executor, 95, Duration.ofSeconds(5), 3, Duration.ofMillis(1));
+        final AtomicInteger requests = new AtomicInteger();
+
+        try (InputStream inputStream = hedgedReader.read(() -> {
+            if (requests.incrementAndGet() < 3) {
+                throw new IllegalStateException("Storage unavailable");
+            }
+            return new ByteArrayInputStream(new byte[] {1});
+        })) {
+            assertArrayEquals(new byte[] {1}, inputStream.readAllBytes());
+        }
+        assertEquals(2, hedgedReader.getRetries());
+
+        assertThrows(IllegalStateException.class, () -> hedgedReader.read(() -> {
+            throw new IllegalStateException("Storage unavailable");
+        }));
+        assertEquals(4, hedgedReader.getRetries());
+    }
+
+    @Test
+    void hedgeDelayStartsOnceFirstRequestHoldsItsSlot() throws IOException {
+        final HedgedReader hedgedReader = new HedgedReader(executor, 95, Duration.ofMillis(50), 1, Duration.ZERO);
+        final LatencyInjectingStorage storage = new LatencyInjectingStorage(List.of(Duration.ZERO));
+        final SlotCountingRequest request = new SlotCountingRequest(storage, Duration.ofMillis(300), true);
+
+        try (InputStream inputStream = hedgedReader.read(request)) {
+            assertArrayEquals(new byte[] {1, 0}, inputStream.readAllBytes());
+        }
+
+        assertEquals(0, hedgedReader.getHedgedRequests());
+        assertEquals(0, request.triedSlots.get());
+    }
+
+    @Test
+    void readIsNotHedgedWhenNoSlotIsFree() throws IOException {
+        final HedgedReader hedgedReader = new HedgedReader(executor, 95, Duration.ofMillis(50), 1, Duration.ZERO);
+        final LatencyInjectingStorage storage = new LatencyInjectingStorage(List.of(Duration.ofMillis(300)));
+        final SlotCountingRequest request = new SlotCountingRequest(storage, Duration.ZERO, false);
+
+        try (InputStream inputStream = hedgedReader.read(request)) {
+            assertArrayEquals(new byte[] {1, 0}, inputStream.readAllBytes());
+        }
+
+        assertEquals(0, hedgedReader.getHedgedRequests());
+        assertEquals(1, request.triedSlots.get());
+        assertEquals(1, storage.requests.get());
+    }
+
+    /**
+     * Gives its first slot after a queueing delay, and a second slot only if some are said to be free
+     */
+    private static final class SlotCountingRequest implements HedgedReader.LimitedRequest {
+        private final Supplier<InputStream> storage;
+        private final Duration queueingDelay;
+        private final boolean freeSlots;
+        private final AtomicInteger triedSlots = new AtomicInteger();
+
+        private SlotCountingRequest(final Supplier<InputStream> storage, final Duration queueingDelay, final boolean freeSlots) {
+            this.storage = storage;
+            this.queueingDelay = queueingDelay;
+            this.freeSlots = freeSlots;
+        }
+
+        @Override
+        public HedgedReader.Slot awaitSlot() {
+            try {
+                Thread.sleep(queueingDelay.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return slot();
+        }
+
+        @Override
+        public Optional<HedgedReader.Slot> trySlot() {
+            triedSlots.incrementAndGet();
+            return freeSlots ? Optional.of(slot()) : Optional.empty();
+        }
+
+        private HedgedReader.Slot slot() {
+            return new HedgedReader.Slot() {
+                @Override
+                public InputStream send() {
+                    return storage.get();
+                }
+
+                @Override
+                public void release() {
+                    // nothing to release
+                }
+            };
+        }
+    }
+
+    /**
+     * Answers its n-th request after the n-th latency, the last latency being used for the next ones
+     */
+    private static final class LatencyInjectingStorage implements Supplier<InputStream> {
+        private final List<Duration> latencies;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger opened = new AtomicInteger();
+        private final AtomicInteger closed = new AtomicInteger();
+
+        private LatencyInjectingStorage(final List<Duration> latencies) {
+            this.latencies = new ArrayList<>(latencies);
+        }
+
+        @Override
+        public InputStream get() {
+            final int request = requests.incrementAndGet();
+            try {
+                Thread.sleep(latencies.get(Math.min(request, latencies.size()) - 1).toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(new byte[] {(byte) request, 0}) {
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            };
+        }
+    }
+}
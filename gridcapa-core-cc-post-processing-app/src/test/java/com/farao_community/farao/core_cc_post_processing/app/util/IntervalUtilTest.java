@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import org.threeten.extra.Interval;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -45,4 +47,10 @@ class IntervalUtilTest {
         assertEquals(Interval.of(Instant.parse("2023-10-29T22:00:00Z"), Instant.parse("2023-10-29T23:00:00Z")), positionMap.get(1));
         assertEquals(Interval.of(Instant.parse("2023-10-30T22:00:00Z"), Instant.parse("2023-10-30T23:00:00Z")), positionMap.get(25));
     }
+
+    @Test
+    void getBusinessDateInCet() {
+        assertEquals(LocalDate.of(2023, 8, 22), IntervalUtil.getBusinessDate(OffsetDateTime.parse("2023-08-21T22:30:00Z")));
+        assertEquals(LocalDate.of(2023, 8, 21), IntervalUtil.getBusinessDate(OffsetDateTime.parse("2023-08-21T21:30:00Z")));
+    }
 }
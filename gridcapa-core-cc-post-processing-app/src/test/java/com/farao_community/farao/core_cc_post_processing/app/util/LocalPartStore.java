@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Stand-in of MinIO storing objects and their parts in a local directory.
+ * Parts can be made to fail a given number of times, and the number of parts uploaded at the same time is measured.
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+public class LocalPartStore implements PartStore {
+    private final Path directory;
+    private final Map<Integer, AtomicInteger> remainingFailuresPerPart = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, String>> userMetadataPerObject = new ConcurrentHashMap<>();
+    private final AtomicInteger partsInUpload = new AtomicInteger();
+    private final AtomicInteger maxPartsInUpload = new AtomicInteger();
+    private final AtomicInteger abortedUploads = new AtomicInteger();
+    private final long partLatencyMs;
+
+    public LocalPartStore(final Path directory, final long partLatencyMs) {
+        this.directory = directory;
+        this.partLatencyMs = partLatencyMs;
+    }
+
+    public void failPart(final int partNumber, final int times) {
+        remainingFailuresPerPart.put(partNumber, new AtomicInteger(times));
+    }
+
+    public byte[] getObject(final String path) throws IOException {
+        return Files.readAllBytes(directory.resolve(path));
+    }
+
+    public Map<String, String> getUserMetadata(final String path) {
+        return userMetadataPerObject.get(path);
+    }
+
+    public boolean hasObject(final String path) {
+        return Files.exists(directory.resolve(path));
+    }
+
+    public int getMaxPartsInUpload() {
+        return maxPartsInUpload.get();
+    }
+
+    public int getAbortedUploads() {
+        return abortedUploads.get();
+    }
+
+    public long countParts() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().contains(".part")).count();
+        }
+    }
+
+    @Override
+    public void putObject(final String path, final ChunkedByteBuffer content, final Map<String, String> userMetadata) throws IOException {
+        write(directory.resolve(path), content);
+        userMetadataPerObject.put(path, userMetadata);
+    }
+
+    @Override
+    public void uploadPart(final String path, final int partNumber, final ChunkedByteBuffer content) throws IOException {
+        maxPartsInUpload.accumulateAndGet(partsInUpload.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(partLatencyMs);
+            final AtomicInteger remainingFailures = remainingFailuresPerPart.get(partNumber);
+            if (remainingFailures != null && remainingFailures.getAndDecrement() > 0) {
+                throw new IOException("Injected failure of part " + partNumber);
+            }
+            write(partPath(path, partNumber), content);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } finally {
+            partsInUpload.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void complete(final String path, final int partCount, final Map<String, String> userMetadata) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(directory.resolve(path))) {
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                Files.copy(partPath(path, partNumber), outputStream);
+            }
+        }
+        userMetadataPerObject.put(path, userMetadata);
+        deleteParts(path, partCount);
+    }
+
+    @Override
+    public void abort(final String path, final int partCount) {
+        abortedUploads.incrementAndGet();
+        deleteParts(path, partCount);
+    }
+
+    private void deleteParts(final String path, final int partCount) {
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            try {
+                Files.deleteIfExists(partPath(path, partNumber));
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static void write(final Path file, final ChunkedByteBuffer content) throws IOException {
+        try (InputStream inputStream = content.openInputStream();
+             OutputStream outputStream = Files.newOutputStream(file)) {
+            inputStream.transferTo(outputStream);
+        }
+    }
+
+    private Path partPath(final String path, final int partNumber) {
+        return directory.resolve(path + ".part" + partNumber);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class MultipartUploaderTest {
+    private static final int PART_SIZE = 1024;
+    private static final String PATH = "F304.zip";
+    private static final Map<String, String> USER_METADATA = Map.of("sha256", "0a0b");
+
+    @TempDir
+    private Path directory;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ChunkPool chunkPool = new ChunkPool(256, 64);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void contentSmallerThanPartIsStoredAtOnce() throws IOException {
+        final LocalPartStore partStore = new LocalPartStore(directory, 0);
+        final byte[] content = randomBytes(PART_SIZE - 1);
+
+        assertEquals(content.length, uploader(partStore, 4, 1).upload(PATH, new ByteArrayInputStream(content), USER_METADATA));
+
+        assertArrayEquals(content, partStore.getObject(PATH));
+        assertEquals(USER_METADATA, partStore.getUserMetadata(PATH));
+        assertEquals(0, partStore.getMaxPartsInUpload());
+    }
+
+    @Test
+    void partsAreUploadedConcurrentlyWithBoundedMemory() throws IOException {
+        final LocalPartStore partStore = new LocalPartStore(directory, 20);
+        final byte[] content = randomBytes(20 * PART_SIZE + 10);
+
+        assertEquals(content.length, uploader(partStore, 3, 1).upload(PATH, new ByteArrayInputStream(content), USER_METADATA));
+
+        assertArrayEquals(content, partStore.getObject(PATH));
+        assertEquals(USER_METADATA, partStore.getUserMetadata(PATH));
+        assertTrue(partStore.getMaxPartsInUpload() > 1);
+        assertTrue(partStore.getMaxPartsInUpload() <= 3);
+        assertEquals(0, partStore.countParts());
+        // buffers of the parts are given back to the pool and reused by the next parts
+        assertTrue(chunkPool.getHits() > 0);
+        assertTrue(chunkPool.getMisses() <= 4L * (3 + 1));
+    }
+
+    @Test
+    void failedPartIsUploadedAgain() throws IOException {
+        final LocalPartStore partStore = new LocalPartStore(directory, 0);
+        final byte[] content = randomBytes(5 * PART_SIZE);
+        partStore.failPart(3, 2);
+
+        uploader(partStore, 4, 3).upload(PATH, new ByteArrayInputStream(content), USER_METADATA);
+
+        assertArrayEquals(content, partStore.getObject(PATH));
+    }
+
+    @Test
+    void uploadIsAbortedWhenPartFailsTooOften() throws IOException {
+        final LocalPartStore partStore = new LocalPartStore(directory, 0);
+        final byte[] content = randomBytes(5 * PART_SIZE);
+        partStore.failPart(3, 3);
+        final MultipartUploader uploader = uploader(partStore, 4, 3);
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
+
+        final IOException exception = assertThrows(IOException.class, () -> uploader.upload(PATH, inputStream, USER_METADATA));
+
+        assertEquals("Part 3 of F304.zip could not be uploaded after 3 attempts", exception.getMessage());
+        assertFalse(partStore.hasObject(PATH));
+        assertEquals(1, partStore.getAbortedUploads());
+        assertEquals(0, partStore.countParts());
+        assertEquals(chunkPool.getMisses(), chunkPool.getPooledChunks());
+    }
+
+    private MultipartUploader uploader(final LocalPartStore partStore, final int maxInFlightParts, final int maxAttempts) {
+        return new MultipartUploader(partStore, executor, chunkPool, PART_SIZE, maxInFlightParts, maxAttempts, Duration.ofMillis(1));
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
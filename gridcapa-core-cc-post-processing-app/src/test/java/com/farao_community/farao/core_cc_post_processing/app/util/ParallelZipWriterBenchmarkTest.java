@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the throughput of {@link ParallelZipWriter} with the one of {@link ZipUtil#zipDirectory(String, OutputStream, int)}
+ * on a synthetic daily CGM archive, whose CGMs are streamed into the archive as the ones not precompressed are.
+ * Run with {@code mvn test -Dtest=ParallelZipWriterBenchmarkTest -Dbenchmark=true}
+ *
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ParallelZipWriterBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelZipWriterBenchmarkTest.class);
+    private static final int HOURS = 24;
+    private static final int CGM_SIZE = 16 * 1024 * 1024;
+    private static final int ITERATIONS = 3;
+
+    private final ExecutorService compressionExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    @TempDir
+    private Path cgmDirectory;
+
+    @AfterEach
+    void tearDown() {
+        compressionExecutor.shutdownNow();
+    }
+
+    @Test
+    void compareWithZipDirectory() throws IOException {
+        final List<Path> cgms = writeSyntheticCgms();
+        final long totalSize = (long) HOURS * CGM_SIZE;
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+
+        // first iteration warms up the JIT and the file system cache
+        long zipDirectoryNanos = Long.MAX_VALUE;
+        long streamedNanos = Long.MAX_VALUE;
+        long precompressedNanos = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long zipDirectoryStart = System.nanoTime();
+            ZipUtil.zipDirectory(cgmDirectory.toString(), OutputStream.nullOutputStream(), Deflater.DEFAULT_COMPRESSION);
+            zipDirectoryNanos = Math.min(zipDirectoryNanos, System.nanoTime() - zipDirectoryStart);
+
+            final long streamedStart = System.nanoTime();
+            assertEquals(totalSize, zipStreamed(cgms, parallelism));
+            streamedNanos = Math.min(streamedNanos, System.nanoTime() - streamedStart);
+
+            final long precompressedStart = System.nanoTime();
+            assertEquals(totalSize, zipPrecompressed(cgms, parallelism));
+            precompressedNanos = Math.min(precompressedNanos, System.nanoTime() - precompressedStart);
+        }
+
+        LOGGER.info("ZipUtil.zipDirectory: {} MB/s", throughput(totalSize, zipDirectoryNanos));
+        LOGGER.info("ParallelZipWriter streaming entries on {} threads: {} MB/s", parallelism, throughput(totalSize, streamedNanos));
+        LOGGER.info("ParallelZipWriter compressing whole entries on {} threads: {} MB/s", parallelism, throughput(totalSize, precompressedNanos));
+    }
+
+    /**
+     * CGMs not precompressed: each one is deflated in blocks compressed in parallel, straight into the archive
+     */
+    private long zipStreamed(final List<Path> cgms, final int parallelism) throws IOException {
+        long totalSize = 0;
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(OutputStream.nullOutputStream(), compressionExecutor, parallelism)) {
+            for (final Path cgm : cgms) {
+                try (InputStream inputStream = Files.newInputStream(cgm)) {
+                    totalSize += zipWriter.writeEntry(cgm.getFileName().toString(), inputStream::transferTo,
+                            CompressionPolicy.deflated(Deflater.DEFAULT_COMPRESSION)).size();
+                }
+            }
+        }
+        return totalSize;
+    }
+
+    /**
+     * CGMs compressed in parallel as a whole, as when they are precompressed
+     */
+    private long zipPrecompressed(final List<Path> cgms, final int parallelism) throws IOException {
+        final AtomicLong totalSize = new AtomicLong();
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(OutputStream.nullOutputStream(), compressionExecutor, parallelism)) {
+            for (final Path cgm : cgms) {
+                zipWriter.writeEntry(() -> {
+                    try (InputStream inputStream = Files.newInputStream(cgm)) {
+                        final CompressedZipEntry entry = CompressedZipEntry.deflate(cgm.getFileName().toString(), inputStream, Deflater.DEFAULT_COMPRESSION);
+                        totalSize.addAndGet(entry.size());
+                        return entry;
+                    }
+                });
+            }
+        }
+        return totalSize.get();
+    }
+
+    private List<Path> writeSyntheticCgms() throws IOException {
+        final Random random = new Random(42);
+        final List<Path> cgms = new ArrayList<>();
+        for (int hour = 0; hour < HOURS; hour++) {
+            final Path cgm = cgmDirectory.resolve(String.format("20230804_%02d30_2D5_UX0.uct", hour));
+            try (OutputStream outputStream = Files.newOutputStream(cgm)) {
+                long written = 0;
+                while (written < CGM_SIZE) {
+                    // UCTE-like node lines, compressible as real CGMs are
+                    final byte[] line = String.format("FFNOD%03d1 NODE%05d    0 2 %8.3f %8.3f       0       0       0%n",
+                            random.nextInt(1000), random.nextInt(100000), random.nextDouble() * 1000, random.nextDouble() * 100)
+                            .getBytes(StandardCharsets.US_ASCII);
+                    final int length = (int) Math.min(line.length, CGM_SIZE - written);
+                    outputStream.write(line, 0, length);
+                    written += length;
+                }
+            }
+            cgms.add(cgm);
+        }
+        return cgms;
+    }
+
+    private static long throughput(final long bytes, final long nanos) {
+        return bytes * 1000 / Math.max(nanos, 1);
+    }
+}
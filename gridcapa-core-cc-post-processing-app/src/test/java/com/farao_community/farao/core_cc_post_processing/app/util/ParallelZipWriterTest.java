@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class ParallelZipWriterTest {
+    private final ExecutorService compressionExecutor = Executors.newFixedThreadPool(8);
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        compressionExecutor.shutdownNow();
+    }
+
+    @Test
+    void entriesAreWrittenInGivenOrderWhateverTheirCompressionEndOrder() throws IOException {
+        final CountDownLatch lastEntryCompressed = new CountDownLatch(1);
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(archive, compressionExecutor, 4)) {
+            // first entry is only compressed once the last one is
+            zipWriter.writeEntry(() -> {
+                assertTrue(lastEntryCompressed.await(5, TimeUnit.SECONDS));
+                return CompressedZipEntry.deflate("entry0", content(0));
+            });
+            zipWriter.writeEntry(CompressedZipEntry.deflate("entry1", content(1)));
+            zipWriter.writeEntry(() -> {
+                final CompressedZipEntry entry = CompressedZipEntry.deflate("entry2", content(2));
+                lastEntryCompressed.countDown();
+                return entry;
+            });
+        }
+
+        final Map<String, byte[]> entries = readEntries(archive.toByteArray());
+        assertEquals(List.of("entry0", "entry1", "entry2"), List.copyOf(entries.keySet()));
+        assertArrayEquals(content(2).readAllBytes(), entries.get("entry2"));
+    }
+
+    @Test
+    void parallelArchiveHasSameEntriesAsSequentialOne() throws IOException {
+        final List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            names.add("entry" + i);
+        }
+        final byte[] sequentialArchive = writeArchive(names, 1);
+        final byte[] parallelArchive = writeArchive(names, 8);
+
+        final Map<String, byte[]> sequentialEntries = readEntries(sequentialArchive);
+        final Map<String, byte[]> parallelEntries = readEntries(parallelArchive);
+        assertEquals(List.copyOf(sequentialEntries.keySet()), List.copyOf(parallelEntries.keySet()));
+        sequentialEntries.forEach((name, bytes) -> assertArrayEquals(bytes, parallelEntries.get(name)));
+    }
+
+    @Test
+    void streamedEntryIsWrittenAfterPendingEntries() throws IOException {
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(archive, compressionExecutor, 4)) {
+            zipWriter.writeEntry(() -> CompressedZipEntry.deflate("entry0", content(0)));
+            final RawZipWriter.WrittenEntry streamedEntry = zipWriter.writeEntry("entry1", outputStream -> content(1).transferTo(outputStream), CompressionPolicy.deflated(1));
+            assertEquals(content(1).available(), streamedEntry.size());
+            zipWriter.writeEntry(() -> CompressedZipEntry.deflate("entry2", content(2)));
+        }
+
+        final Map<String, byte[]> entries = readEntries(archive.toByteArray());
+        assertEquals(List.of("entry0", "entry1", "entry2"), List.copyOf(entries.keySet()));
+        assertArrayEquals(content(1).readAllBytes(), entries.get("entry1"));
+    }
+
+    @Test
+    void streamedEntryDeflatedInParallelBlocksIsReadBack() throws IOException {
+        // empty, single partial block, whole blocks, and blocks followed by a partial one
+        for (int size : new int[] {0, 1000, 2 * ParallelDeflaterOutputStream.BLOCK_SIZE, 7 * ParallelDeflaterOutputStream.BLOCK_SIZE / 2}) {
+            checkStreamedEntryIsReadBack(size);
+        }
+    }
+
+    @Test
+    void compressionFailureIsPropagatedAndArchiveLeftIncomplete() {
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        final IOException exception = assertThrows(IOException.class, () -> {
+            try (ParallelZipWriter zipWriter = new ParallelZipWriter(archive, compressionExecutor, 2)) {
+                zipWriter.writeEntry(() -> CompressedZipEntry.deflate("entry0", content(0)));
+                zipWriter.writeEntry(() -> {
+                    throw new IOException("File not available");
+                });
+            }
+        });
+        assertEquals("File not available", exception.getMessage());
+        assertFalse(endsWithCentralDirectory(archive.toByteArray()));
+    }
+
+    private void checkStreamedEntryIsReadBack(final int size) throws IOException {
+        // text repeated across blocks, so that blocks refer to the data of the block before
+        final byte[] content = new byte[size];
+        final Random random = new Random(size);
+        final byte[] line = new byte[5000];
+        for (int offset = 0; offset < size; offset += line.length) {
+            if (offset % (4 * line.length) == 0) {
+                random.nextBytes(line);
+            }
+            System.arraycopy(line, 0, content, offset, Math.min(line.length, size - offset));
+        }
+        final Path archive = tempDir.resolve("archive" + size + ".zip");
+        try (OutputStream archiveOutputStream = Files.newOutputStream(archive);
+             ParallelZipWriter zipWriter = new ParallelZipWriter(archiveOutputStream, compressionExecutor, 4)) {
+            final RawZipWriter.WrittenEntry streamedEntry = zipWriter.writeEntry("entry0", outputStream -> outputStream.write(content), CompressionPolicy.deflated(6));
+            assertEquals(size, streamedEntry.size());
+            zipWriter.writeEntry(() -> CompressedZipEntry.deflate("entry1", content(1)));
+        }
+
+        final Map<String, byte[]> entries = readEntries(Files.readAllBytes(archive));
+        assertArrayEquals(content, entries.get("entry0"));
+        assertArrayEquals(content(1).readAllBytes(), entries.get("entry1"));
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            final ZipEntry entry = zipFile.getEntry("entry0");
+            final CRC32 crc = new CRC32();
+            crc.update(content);
+            assertEquals(crc.getValue(), entry.getCrc());
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                assertArrayEquals(content, inputStream.readAllBytes());
+            }
+        }
+    }
+
+    private static boolean endsWithCentralDirectory(final byte[] archive) {
+        // end of central directory record without comment: 22 bytes starting with signature 0x06054b50
+        final int recordStart = archive.length - 22;
+        return recordStart >= 0 && archive[recordStart] == 0x50 && archive[recordStart + 1] == 0x4b
+                && archive[recordStart + 2] == 0x05 && archive[recordStart + 3] == 0x06;
+    }
+
+    private byte[] writeArchive(final List<String> names, final int parallelism) throws IOException {
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ParallelZipWriter zipWriter = new ParallelZipWriter(archive, compressionExecutor, parallelism)) {
+            for (int i = 0; i < names.size(); i++) {
+                final String name = names.get(i);
+                final int seed = i;
+                zipWriter.writeEntry(() -> CompressedZipEntry.deflate(name, content(seed)));
+            }
+        }
+        return archive.toByteArray();
+    }
+
+    private static ByteArrayInputStream content(final int seed) {
+        return new ByteArrayInputStream(("line of entry " + seed + "\n").repeat(1000).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, byte[]> readEntries(final byte[] archive) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
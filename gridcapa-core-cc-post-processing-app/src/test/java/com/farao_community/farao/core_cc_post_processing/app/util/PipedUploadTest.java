@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class PipedUploadTest {
+
+    private final byte[] content = randomBytes(50_000);
+    private final ExecutorService writerExecutor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdownWriterExecutor() {
+        writerExecutor.shutdownNow();
+    }
+
+    @Test
+    void contentLargerThanPipeIsUploadedWhileWritten() throws IOException {
+        final ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+
+        final long bytesUploaded = PipedUpload.upload(outputStream -> outputStream.write(content), inputStream -> inputStream.transferTo(uploaded), 1000, 2, writerExecutor);
+
+        assertEquals(content.length, bytesUploaded);
+        assertArrayEquals(content, uploaded.toByteArray());
+    }
+
+    @Test
+    void writerFailureFailsTheUpload() {
+        final IOException exception = assertThrows(IOException.class, () -> PipedUpload.upload(outputStream -> {
+            outputStream.write(content, 0, 3000);
+            throw new IOException("CGM not available");
+        }, inputStream -> inputStream.transferTo(OutputStream.nullOutputStream()), 1000, 2, writerExecutor));
+
+        assertEquals("CGM not available", exception.getCause().getMessage());
+    }
+
+    @Test
+    void uploadNotReadingWholeContentIsReported() {
+        final IOException exception = assertThrows(IOException.class,
+                () -> PipedUpload.upload(outputStream -> outputStream.write(content), inputStream -> inputStream.read(), 1000, 2, writerExecutor));
+
+        assertEquals("Upload stopped reading the content", exception.getCause().getMessage());
+    }
+
+    @Test
+    void uploadFailureIsPropagated() {
+        assertThrows(IllegalStateException.class, () -> PipedUpload.upload(outputStream -> outputStream.write(content), inputStream -> {
+            throw new IllegalStateException("MinIO not available");
+        }, 1000, 2, writerExecutor));
+    }
+
+    @Test
+    void uploadsShareTheWriterExecutor() throws IOException {
+        final ByteArrayOutputStream firstUpload = new ByteArrayOutputStream();
+        final ByteArrayOutputStream secondUpload = new ByteArrayOutputStream();
+
+        PipedUpload.upload(outputStream -> outputStream.write(content), inputStream -> inputStream.transferTo(firstUpload), 1000, 2, writerExecutor);
+        PipedUpload.upload(outputStream -> outputStream.write(content), inputStream -> inputStream.transferTo(secondUpload), writerExecutor);
+
+        assertArrayEquals(content, firstUpload.toByteArray());
+        assertArrayEquals(content, secondUpload.toByteArray());
+    }
+
+    @Test
+    void uploadWithoutWriterAvailableFails() {
+        writerExecutor.shutdownNow();
+
+        final IOException exception = assertThrows(IOException.class,
+                () -> PipedUpload.upload(outputStream -> outputStream.write(content), inputStream -> inputStream.transferTo(OutputStream.nullOutputStream()), writerExecutor));
+
+        assertEquals("No writer available to write the content to upload", exception.getMessage());
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        new Random(1).nextBytes(bytes);
+        return bytes;
+    }
+}
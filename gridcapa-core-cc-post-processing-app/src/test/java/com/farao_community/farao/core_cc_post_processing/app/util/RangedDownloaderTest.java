@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class RangedDownloaderTest {
+    private static final int RANGE_SIZE = 1000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void rangesAreFetchedConcurrentlyAndReadInOrder() throws IOException {
+        final byte[] content = randomContent(10 * RANGE_SIZE + 123);
+        final LocalRangeStore rangeStore = new LocalRangeStore(content, 20);
+        final RangedDownloader rangedDownloader = new RangedDownloader(rangeStore, executor, RANGE_SIZE, 4, 1, Duration.ZERO);
+
+        try (InputStream inputStream = rangedDownloader.open("cgm.uct", content.length)) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+
+        assertEquals(11, rangeStore.rangesRead.get());
+        assertTrue(rangeStore.maxRangesInFlight.get() > 1);
+        assertTrue(rangeStore.maxRangesInFlight.get() <= 4);
+    }
+
+    @Test
+    void failedRangeIsFetchedAgain() throws IOException {
+        final byte[] content = randomContent(3 * RANGE_SIZE);
+        final LocalRangeStore rangeStore = new LocalRangeStore(content, 0);
+        rangeStore.failRange(RANGE_SIZE, 2);
+        final RangedDownloader rangedDownloader = new RangedDownloader(rangeStore, executor, RANGE_SIZE, 2, 3, Duration.ofMillis(1));
+
+        try (InputStream inputStream = rangedDownloader.open("cgm.uct", content.length)) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void downloadFailsOnceRangeAttemptsAreExhausted() {
+        final byte[] content = randomContent(3 * RANGE_SIZE);
+        final LocalRangeStore rangeStore = new LocalRangeStore(content, 0);
+        rangeStore.failRange(2 * RANGE_SIZE, 5);
+        final RangedDownloader rangedDownloader = new RangedDownloader(rangeStore, executor, RANGE_SIZE, 2, 2, Duration.ofMillis(1));
+
+        final InputStream inputStream = rangedDownloader.open("cgm.uct", content.length);
+        final IOException exception = assertThrows(IOException.class, inputStream::readAllBytes);
+        assertTrue(exception.getMessage().contains("after 2 attempts"));
+    }
+
+    private static byte[] randomContent(final int size) {
+        final byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    /**
+     * Stand-in of MinIO serving ranges of an object from memory, ranges can be delayed or made to fail
+     */
+    private static final class LocalRangeStore implements RangeStore {
+        private final byte[] content;
+        private final long rangeLatencyMs;
+        private final Map<Long, AtomicInteger> remainingFailuresPerOffset = new ConcurrentHashMap<>();
+        private final AtomicInteger rangesInFlight = new AtomicInteger();
+        private final AtomicInteger maxRangesInFlight = new AtomicInteger();
+        private final AtomicInteger rangesRead = new AtomicInteger();
+
+        private LocalRangeStore(final byte[] content, final long rangeLatencyMs) {
+            this.content = content;
+            this.rangeLatencyMs = rangeLatencyMs;
+        }
+
+        private void failRange(final long offset, final int times) {
+            remainingFailuresPerOffset.put(offset, new AtomicInteger(times));
+        }
+
+        @Override
+        public long size(final String path) {
+            return content.length;
+        }
+
+        @Override
+        public InputStream openRange(final String path, final long offset, final long length) throws IOException {
+            maxRangesInFlight.accumulateAndGet(rangesInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(rangeLatencyMs);
+                final AtomicInteger remainingFailures = remainingFailuresPerOffset.get(offset);
+                if (remainingFailures != null && remainingFailures.getAndDecrement() > 0) {
+                    throw new IOException("Injected failure of range at " + offset);
+                }
+                rangesRead.incrementAndGet();
+                return new ByteArrayInputStream(content, (int) offset, (int) length);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                rangesInFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class RawZipReaderTest {
+    private static final byte[] LOGS = "2023-08-04 12:30:00 INFO task run\n".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void entriesWrittenWithDataDescriptorAreCopiedWithoutInflating() throws IOException {
+        // ZipOutputStream writes deflated entries with a data descriptor, sizes and CRC are only known from the central directory
+        final byte[] hourlyLogs = zip(2, true);
+
+        final List<CompressedZipEntry> entries = RawZipReader.readEntries(hourlyLogs, 10);
+        assertEquals(List.of("logs0.txt", "logs1.txt"), entries.stream().map(CompressedZipEntry::name).toList());
+        assertEquals(ZipEntry.DEFLATED, entries.getFirst().method());
+        assertEquals(LOGS.length, entries.getFirst().size());
+
+        final ByteArrayOutputStream mergedLogs = new ByteArrayOutputStream();
+        try (RawZipWriter zipWriter = new RawZipWriter(mergedLogs)) {
+            for (final CompressedZipEntry entry : entries) {
+                zipWriter.writeEntry(entry);
+            }
+        }
+        final Map<String, byte[]> mergedEntries = readEntries(mergedLogs.toByteArray());
+        assertEquals(2, mergedEntries.size());
+        mergedEntries.values().forEach(content -> assertArrayEquals(LOGS, content));
+    }
+
+    @Test
+    void directoriesAreSkippedButCountedInThreshold() throws IOException {
+        final byte[] hourlyLogs = zip(3, true);
+
+        assertEquals(3, RawZipReader.readEntries(hourlyLogs, 4).size());
+        final IOException exception = assertThrows(IOException.class, () -> RawZipReader.readEntries(hourlyLogs, 3));
+        assertEquals("Entry threshold reached while unzipping.", exception.getMessage());
+    }
+
+    @Test
+    void truncatedArchiveIsRejected() throws IOException {
+        final byte[] hourlyLogs = zip(1, false);
+
+        assertThrows(ZipException.class, () -> RawZipReader.readEntries(Arrays.copyOf(hourlyLogs, hourlyLogs.length - 10), 10));
+        assertThrows(ZipException.class, () -> RawZipReader.readEntries(LOGS, 10));
+    }
+
+    @Test
+    void entriesOfArchiveWithoutCentralDirectoryAreCompressedAgain() throws IOException {
+        final byte[] hourlyLogs = zip(2, false);
+        final byte[] hourlyLogsWithoutEndOfCentralDirectory = Arrays.copyOf(hourlyLogs, hourlyLogs.length - 22);
+        final List<CompressedZipEntry> copiedEntries = new ArrayList<>();
+        final List<CompressedZipEntry> compressedEntries = new ArrayList<>();
+
+        ZipUtil.collectCompressedEntries(hourlyLogsWithoutEndOfCentralDirectory, copiedEntries::add,
+                (name, content) -> compressedEntries.add(CompressedZipEntry.deflate(name, content, Deflater.BEST_COMPRESSION)));
+
+        assertTrue(copiedEntries.isEmpty());
+        assertEquals(List.of("logs0.txt", "logs1.txt"), compressedEntries.stream().map(CompressedZipEntry::name).toList());
+        assertEquals(LOGS.length, compressedEntries.getFirst().size());
+    }
+
+    @Test
+    void entryChecksumsReadFromCentralDirectoryMatchInflatedContent() throws IOException {
+        final byte[] hourlyLogs = zip(2, true);
+        final CRC32 crc = new CRC32();
+        crc.update(LOGS);
+
+        final List<RawZipReader.EntryChecksum> checksums = RawZipReader.readEntryChecksums(hourlyLogs, 10);
+
+        assertEquals(List.of(new RawZipReader.EntryChecksum("logs0.txt", crc.getValue(), LOGS.length), new RawZipReader.EntryChecksum("logs1.txt", crc.getValue(), LOGS.length)),
+                checksums);
+        // without central directory, entries are inflated to compute the same checksums
+        assertEquals(checksums, ZipUtil.collectEntryChecksums(Arrays.copyOf(hourlyLogs, hourlyLogs.length - 22)));
+    }
+
+    private static byte[] zip(final int fileCount, final boolean withDirectory) throws IOException {
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            if (withDirectory) {
+                zipOutputStream.putNextEntry(new ZipEntry("logs/"));
+                zipOutputStream.closeEntry();
+            }
+            for (int i = 0; i < fileCount; i++) {
+                zipOutputStream.putNextEntry(new ZipEntry("logs" + i + ".txt"));
+                zipOutputStream.write(LOGS);
+                zipOutputStream.closeEntry();
+            }
+        }
+        return archive.toByteArray();
+    }
+
+    private static Map<String, byte[]> readEntries(final byte[] archive) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+}
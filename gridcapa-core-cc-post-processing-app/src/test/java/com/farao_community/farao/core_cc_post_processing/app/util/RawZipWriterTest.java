@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class RawZipWriterTest {
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int DATA_DESCRIPTOR_FLAG = 0x0008;
+
+    @TempDir
+    private Path temporaryDirectory;
+
+    @Test
+    void precompressedEntriesAreReadableAsZip() throws IOException {
+        final byte[] network = getClass().getResourceAsStream("/services/network.uct").readAllBytes();
+        final byte[] header = "<header/>".getBytes(StandardCharsets.UTF_8);
+        final CompressedZipEntry networkEntry = CompressedZipEntry.deflate("network.uct", new ByteArrayInputStream(network));
+        assertEquals(network.length, networkEntry.size());
+        assertTrue(networkEntry.compressedSize() < networkEntry.size());
+
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (RawZipWriter zipWriter = new RawZipWriter(archive)) {
+            // header is deflated while written
+            zipWriter.writeEntry(CompressedZipEntry.deflate("CGM_XML_Header.xml", outputStream -> outputStream.write(header), Deflater.DEFAULT_COMPRESSION));
+            zipWriter.writeEntry(networkEntry);
+        }
+
+        final Map<String, byte[]> entries = readEntries(archive.toByteArray());
+        assertEquals(List.of("CGM_XML_Header.xml", "network.uct"), List.copyOf(entries.keySet()));
+        assertArrayEquals(header, entries.get("CGM_XML_Header.xml"));
+        assertArrayEquals(network, entries.get("network.uct"));
+    }
+
+    @Test
+    void identicalEntriesGiveIdenticalArchives() throws IOException {
+        final byte[] firstArchive = archiveOf(CompressedZipEntry.deflate("logs_0030.txt", new ByteArrayInputStream(new byte[100])));
+        final byte[] secondArchive = archiveOf(CompressedZipEntry.deflate("logs_0030.txt", new ByteArrayInputStream(new byte[100])));
+
+        assertArrayEquals(firstArchive, secondArchive);
+        // entry timestamps do not depend on the time archives are written: the DOS time and date of 1980-01-01 00:00 are written as is
+        final ByteBuffer localHeader = ByteBuffer.wrap(firstArchive).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(0, localHeader.getShort(10));
+        assertEquals(1 << 5 | 1, localHeader.getShort(12));
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(firstArchive))) {
+            assertEquals(ZipUtil.ENTRY_TIMESTAMP, zipInputStream.getNextEntry().getTimeLocal());
+        }
+    }
+
+    @Test
+    void storedEntriesAreReadableAsZip() throws IOException {
+        final byte[] logs = "log line\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+        final CompressedZipEntry storedEntry = CompressedZipEntry.compress("logs.txt", outputStream -> outputStream.write(logs),
+                new CompressionPolicy(CompressionPolicy.Method.STORED, null, null));
+        assertEquals(ZipEntry.STORED, storedEntry.method());
+        assertEquals(logs.length, storedEntry.compressedSize());
+
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (RawZipWriter zipWriter = new RawZipWriter(archive)) {
+            zipWriter.writeEntry(storedEntry);
+            zipWriter.writeEntry(CompressedZipEntry.compress("filtered.txt", outputStream -> outputStream.write(logs),
+                    new CompressionPolicy(null, Deflater.BEST_COMPRESSION, CompressionPolicy.Strategy.FILTERED)));
+        }
+
+        final Map<String, byte[]> entries = readEntries(archive.toByteArray());
+        assertArrayEquals(logs, entries.get("logs.txt"));
+        assertArrayEquals(logs, entries.get("filtered.txt"));
+    }
+
+    @Test
+    void duplicateEntryIsRejected() throws IOException {
+        final CompressedZipEntry entry = CompressedZipEntry.deflate("network.uct", new ByteArrayInputStream(new byte[10]));
+        try (RawZipWriter zipWriter = new RawZipWriter(new ByteArrayOutputStream())) {
+            zipWriter.writeEntry(entry);
+            assertThrows(ZipException.class, () -> zipWriter.writeEntry(entry));
+        }
+    }
+
+    @Test
+    void archiveWithMoreThan65535EntriesIsWrittenInZip64Format() throws IOException {
+        final Path archive = temporaryDirectory.resolve("F342.zip");
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(archive));
+             RawZipWriter zipWriter = new RawZipWriter(outputStream)) {
+            for (int i = 0; i < 70000; i++) {
+                final byte[] content = {(byte) i};
+                zipWriter.writeEntry(CompressedZipEntry.compress("log" + i + ".txt", entryOutputStream -> entryOutputStream.write(content),
+                        new CompressionPolicy(CompressionPolicy.Method.STORED, null, null)));
+            }
+        }
+
+        try (ZipFile zipFile = new ZipFile(archive.toFile());
+             InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("log69999.txt"))) {
+            assertEquals(70000, zipFile.size());
+            assertArrayEquals(new byte[] {(byte) 69999}, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void streamedEntriesAreReadableAsZip() throws IOException {
+        final byte[] network = getClass().getResourceAsStream("/services/network.uct").readAllBytes();
+        final byte[] logs = "log line\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+        final Path archive = temporaryDirectory.resolve("F304.zip");
+        try (OutputStream outputStream = Files.newOutputStream(archive);
+             RawZipWriter zipWriter = new RawZipWriter(outputStream)) {
+            final RawZipWriter.WrittenEntry networkEntry = zipWriter.writeEntry("network.uct", entryOutputStream -> entryOutputStream.write(network), CompressionPolicy.deflated(Deflater.BEST_SPEED));
+            assertEquals(network.length, networkEntry.size());
+            assertTrue(networkEntry.compressedSize() < networkEntry.size());
+            zipWriter.writeEntry("logs.txt", entryOutputStream -> entryOutputStream.write(logs), new CompressionPolicy(CompressionPolicy.Method.STORED, null, null));
+            zipWriter.writeEntry(CompressedZipEntry.deflate("CGM_XML_Header.xml", new ByteArrayInputStream(logs)));
+        }
+
+        // entries are read through their local headers, then through the central directory
+        final Map<String, byte[]> entries = readEntries(Files.readAllBytes(archive));
+        assertEquals(List.of("network.uct", "logs.txt", "CGM_XML_Header.xml"), List.copyOf(entries.keySet()));
+        assertArrayEquals(network, entries.get("network.uct"));
+        assertArrayEquals(logs, entries.get("logs.txt"));
+        try (ZipFile zipFile = new ZipFile(archive.toFile());
+             InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("network.uct"))) {
+            assertEquals(network.length, zipFile.getEntry("network.uct").getSize());
+            assertArrayEquals(network, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void entryChecksumsAreKeptInWritingOrder() throws IOException {
+        final byte[] network = getClass().getResourceAsStream("/services/network.uct").readAllBytes();
+        final byte[] header = "<header/>".getBytes(StandardCharsets.UTF_8);
+        final RawZipWriter zipWriter = new RawZipWriter(new ByteArrayOutputStream());
+        try (zipWriter) {
+            zipWriter.writeEntry(CompressedZipEntry.deflate("CGM_XML_Header.xml", new ByteArrayInputStream(header)));
+            zipWriter.writeEntry("network.uct", entryOutputStream -> entryOutputStream.write(network), CompressionPolicy.deflated(Deflater.BEST_SPEED));
+        }
+
+        assertEquals(List.of("CGM_XML_Header.xml", "network.uct"), List.copyOf(zipWriter.getEntryChecksums().keySet()));
+        assertEquals(new RawZipWriter.ContentChecksum(crc(header), header.length), zipWriter.getEntryChecksums().get("CGM_XML_Header.xml"));
+        assertEquals(new RawZipWriter.ContentChecksum(crc(network), network.length), zipWriter.getEntryChecksums().get("network.uct"));
+    }
+
+    @Test
+    void zip64FieldsAreWrittenFromTheirThreshold() throws IOException {
+        final byte[] stored = new byte[200];
+        final byte[] streamed = new byte[1000];
+        final Random random = new Random(42);
+        random.nextBytes(stored);
+        random.nextBytes(streamed);
+        final byte[] header = "<header/>".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream archiveOutputStream = new ByteArrayOutputStream();
+        final RawZipWriter.WrittenEntry streamedEntry;
+        // values from 100 and counts from 2 are written in zip64 fields
+        try (RawZipWriter zipWriter = new RawZipWriter(archiveOutputStream, 100, 2)) {
+            zipWriter.writeEntry(CompressedZipEntry.compress("stored.bin", entryOutputStream -> entryOutputStream.write(stored),
+                    new CompressionPolicy(CompressionPolicy.Method.STORED, null, null)));
+            streamedEntry = zipWriter.writeEntry("streamed.bin", entryOutputStream -> entryOutputStream.write(streamed), CompressionPolicy.deflated(Deflater.BEST_SPEED));
+            zipWriter.writeEntry("header.xml", entryOutputStream -> entryOutputStream.write(header), CompressionPolicy.deflated(Deflater.DEFAULT_COMPRESSION));
+        }
+        final byte[] archiveBytes = archiveOutputStream.toByteArray();
+        final ByteBuffer archive = ByteBuffer.wrap(archiveBytes).order(ByteOrder.LITTLE_ENDIAN);
+        assertTrue(streamedEntry.compressedSize() >= 100);
+
+        // sizes of the stored entry are in the zip64 extra field of its local header
+        assertEquals(LOCAL_FILE_HEADER_SIGNATURE, archive.getInt(0));
+        assertEquals(0xFFFFFFFF, archive.getInt(18));
+        assertEquals(20, archive.getShort(28));
+        assertEquals(stored.length, archive.getLong(30 + "stored.bin".length() + 4));
+        // sizes of the large streamed entry follow its data on 8 bytes, the ones of the small streamed entry on 4 bytes
+        final long streamedOffset = 30L + "stored.bin".length() + 20 + stored.length;
+        final int streamedDataDescriptor = (int) (streamedOffset + 30 + "streamed.bin".length() + streamedEntry.compressedSize());
+        assertEquals(DATA_DESCRIPTOR_SIGNATURE, archive.getInt(streamedDataDescriptor));
+        assertEquals(streamedEntry.compressedSize(), archive.getLong(streamedDataDescriptor + 8));
+        assertEquals(streamed.length, archive.getLong(streamedDataDescriptor + 16));
+        final long headerOffset = streamedDataDescriptor + 24L;
+        assertEquals(LOCAL_FILE_HEADER_SIGNATURE, archive.getInt((int) headerOffset));
+
+        // end of central directory points to the zip64 records, which hold the entry count
+        final int endOfCentralDirectory = archiveBytes.length - 22;
+        assertEquals(END_OF_CENTRAL_DIRECTORY_SIGNATURE, archive.getInt(endOfCentralDirectory));
+        assertEquals((short) 0xFFFF, archive.getShort(endOfCentralDirectory + 10));
+        assertEquals(0xFFFFFFFF, archive.getInt(endOfCentralDirectory + 16));
+        assertEquals(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE, archive.getInt(endOfCentralDirectory - 20));
+        final int zip64EndOfCentralDirectory = (int) archive.getLong(endOfCentralDirectory - 20 + 8);
+        assertEquals(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE, archive.getInt(zip64EndOfCentralDirectory));
+        assertEquals(3, archive.getLong(zip64EndOfCentralDirectory + 32));
+        final long centralDirectoryOffset = archive.getLong(zip64EndOfCentralDirectory + 48);
+        final int centralDirectorySize = (int) archive.getLong(zip64EndOfCentralDirectory + 40);
+
+        // offsets beyond the threshold are in the zip64 extra fields of the central directory
+        final Map<String, CentralDirectoryHeader> headers = readCentralDirectory(archive.slice((int) centralDirectoryOffset, centralDirectorySize).order(ByteOrder.LITTLE_ENDIAN));
+        assertEquals(0, headers.get("stored.bin").offset());
+        assertEquals(streamedOffset, headers.get("streamed.bin").offset());
+        assertEquals(streamed.length, headers.get("streamed.bin").size());
+        assertEquals(headerOffset, headers.get("header.xml").offset());
+        assertEquals(DATA_DESCRIPTOR_FLAG, headers.get("header.xml").flag() & DATA_DESCRIPTOR_FLAG);
+
+        // the archive is readable through its zip64 records
+        final Path archiveFile = temporaryDirectory.resolve("F304.zip");
+        Files.write(archiveFile, archiveBytes);
+        try (ZipFile zipFile = new ZipFile(archiveFile.toFile())) {
+            assertEquals(3, zipFile.size());
+            assertArrayEquals(stored, zipFile.getInputStream(zipFile.getEntry("stored.bin")).readAllBytes());
+            assertArrayEquals(streamed, zipFile.getInputStream(zipFile.getEntry("streamed.bin")).readAllBytes());
+            assertArrayEquals(header, zipFile.getInputStream(zipFile.getEntry("header.xml")).readAllBytes());
+        }
+    }
+
+    /**
+     * Streams an entry of more than 4 GB once inflated, followed by entries beyond the first 4 GB of the archive.
+     * Only the first and last megabytes of the archive are kept, enough to check its zip64 records.
+     * Deflating and copying about 4.5 GB takes a while, run with {@code mvn test -Dtest=RawZipWriterTest -DlargeArchive=true}
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "largeArchive", matches = "true")
+    void multiGigabyteArchiveIsWrittenInZip64Format() throws IOException {
+        final byte[] cgm = new byte[64 * 1024 * 1024];
+        new Random(42).nextBytes(cgm);
+        final CRC32 cgmCrc = new CRC32();
+        cgmCrc.update(cgm);
+        final ChunkedByteBuffer cgmData = new ChunkedByteBuffer();
+        cgmData.write(cgm, 0, cgm.length);
+        final byte[] header = "<header/>".getBytes(StandardCharsets.UTF_8);
+        final long zerosSize = (1L << 32) + 1000;
+        final SparseOutputStream archive = new SparseOutputStream(32 * 1024 * 1024, 1024 * 1024);
+        final RawZipWriter.WrittenEntry zerosEntry;
+        try (RawZipWriter zipWriter = new RawZipWriter(archive)) {
+            zerosEntry = zipWriter.writeEntry("zeros.uct", entryOutputStream -> writeZeros(entryOutputStream, zerosSize), CompressionPolicy.deflated(Deflater.BEST_SPEED));
+            for (int i = 0; i < 70; i++) {
+                zipWriter.writeEntry(new CompressedZipEntry("cgm" + i + ".uct", ZipEntry.STORED, cgmCrc.getValue(), cgm.length, cgmData));
+            }
+            zipWriter.writeEntry("header.xml", entryOutputStream -> entryOutputStream.write(header), CompressionPolicy.deflated(Deflater.DEFAULT_COMPRESSION));
+        }
+        assertEquals(zerosSize, zerosEntry.size());
+
+        // sizes of the streamed entry follow its data, in a zip64 data descriptor
+        final ByteBuffer zerosDataDescriptor = archive.read(30L + "zeros.uct".length() + zerosEntry.compressedSize(), 24);
+        assertEquals(DATA_DESCRIPTOR_SIGNATURE, zerosDataDescriptor.getInt());
+        zerosDataDescriptor.getInt(); // CRC
+        assertEquals(zerosEntry.compressedSize(), zerosDataDescriptor.getLong());
+        assertEquals(zerosSize, zerosDataDescriptor.getLong());
+
+        // end of central directory only points to the zip64 records
+        final ByteBuffer endOfCentralDirectory = archive.read(archive.size() - 22, 22);
+        assertEquals(END_OF_CENTRAL_DIRECTORY_SIGNATURE, endOfCentralDirectory.getInt());
+        assertEquals(0xFFFFFFFF, endOfCentralDirectory.getInt(16));
+        final ByteBuffer zip64Locator = archive.read(archive.size() - 22 - 20, 20);
+        assertEquals(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE, zip64Locator.getInt());
+        final long zip64EndOfCentralDirectoryOffset = zip64Locator.getLong(8);
+        assertEquals(archive.size() - 22 - 20 - 56, zip64EndOfCentralDirectoryOffset);
+        final ByteBuffer zip64EndOfCentralDirectory = archive.read(zip64EndOfCentralDirectoryOffset, 56);
+        assertEquals(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE, zip64EndOfCentralDirectory.getInt());
+        assertEquals(72, zip64EndOfCentralDirectory.getLong(24));
+        assertEquals(72, zip64EndOfCentralDirectory.getLong(32));
+        final long centralDirectorySize = zip64EndOfCentralDirectory.getLong(40);
+        final long centralDirectoryOffset = zip64EndOfCentralDirectory.getLong(48);
+        assertEquals(zip64EndOfCentralDirectoryOffset, centralDirectoryOffset + centralDirectorySize);
+
+        // each entry of the central directory points to its local header, through its zip64 extra field beyond 4 GB
+        final Map<String, CentralDirectoryHeader> headers = readCentralDirectory(archive.read(centralDirectoryOffset, (int) centralDirectorySize));
+        assertEquals(72, headers.size());
+        final CentralDirectoryHeader zerosHeader = headers.get("zeros.uct");
+        assertEquals(DATA_DESCRIPTOR_FLAG, zerosHeader.flag() & DATA_DESCRIPTOR_FLAG);
+        assertEquals(zerosSize, zerosHeader.size());
+        assertEquals(zerosEntry.compressedSize(), zerosHeader.compressedSize());
+        assertEquals(0, zerosHeader.offset());
+        long expectedOffset = 30L + "zeros.uct".length() + zerosEntry.compressedSize() + 24;
+        for (int i = 0; i < 70; i++) {
+            final String name = "cgm" + i + ".uct";
+            assertEquals(expectedOffset, headers.get(name).offset());
+            assertEquals(cgm.length, headers.get(name).size());
+            expectedOffset += 30L + name.length() + cgm.length;
+        }
+        assertTrue(headers.get("cgm69.uct").offset() > 1L << 32);
+        final CentralDirectoryHeader headerHeader = headers.get("header.xml");
+        assertEquals(expectedOffset, headerHeader.offset());
+        assertEquals(header.length, headerHeader.size());
+        final ByteBuffer headerLocalHeader = archive.read(headerHeader.offset(), 30);
+        assertEquals(LOCAL_FILE_HEADER_SIGNATURE, headerLocalHeader.getInt());
+        assertEquals(DATA_DESCRIPTOR_FLAG, headerLocalHeader.getShort(6) & DATA_DESCRIPTOR_FLAG);
+        // sizes of a small entry are written on 4 bytes, even beyond 4 GB
+        final ByteBuffer headerDataDescriptor = archive.read(headerHeader.offset() + 30 + "header.xml".length() + headerHeader.compressedSize(), 16);
+        assertEquals(DATA_DESCRIPTOR_SIGNATURE, headerDataDescriptor.getInt());
+        assertEquals(headerHeader.compressedSize(), headerDataDescriptor.getInt(8));
+        assertEquals(header.length, headerDataDescriptor.getInt(12));
+        assertEquals(centralDirectoryOffset, headerHeader.offset() + 30 + "header.xml".length() + headerHeader.compressedSize() + 16);
+    }
+
+    private static byte[] archiveOf(final CompressedZipEntry entry) throws IOException {
+        final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (RawZipWriter zipWriter = new RawZipWriter(archive)) {
+            zipWriter.writeEntry(entry);
+        }
+        return archive.toByteArray();
+    }
+
+    private static long crc(final byte[] content) {
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    private static void writeZeros(final OutputStream outputStream, final long size) throws IOException {
+        final byte[] zeros = new byte[1024 * 1024];
+        for (long written = 0; written < size; written += zeros.length) {
+            outputStream.write(zeros, 0, (int) Math.min(zeros.length, size - written));
+        }
+    }
+
+    private static Map<String, CentralDirectoryHeader> readCentralDirectory(final ByteBuffer centralDirectory) {
+        final Map<String, CentralDirectoryHeader> headers = new LinkedHashMap<>();
+        while (centralDirectory.hasRemaining()) {
+            assertEquals(CENTRAL_DIRECTORY_HEADER_SIGNATURE, centralDirectory.getInt());
+            final int flag = Short.toUnsignedInt(centralDirectory.getShort(centralDirectory.position() + 4));
+            long compressedSize = Integer.toUnsignedLong(centralDirectory.getInt(centralDirectory.position() + 16));
+            long size = Integer.toUnsignedLong(centralDirectory.getInt(centralDirectory.position() + 20));
+            final int nameLength = Short.toUnsignedInt(centralDirectory.getShort(centralDirectory.position() + 24));
+            final int extraFieldLength = Short.toUnsignedInt(centralDirectory.getShort(centralDirectory.position() + 26));
+            final int commentLength = Short.toUnsignedInt(centralDirectory.getShort(centralDirectory.position() + 28));
+            long offset = Integer.toUnsignedLong(centralDirectory.getInt(centralDirectory.position() + 38));
+            centralDirectory.position(centralDirectory.position() + 42);
+            final byte[] name = new byte[nameLength];
+            centralDirectory.get(name);
+            final int extraFieldEnd = centralDirectory.position() + extraFieldLength;
+            if (extraFieldLength > 0) {
+                assertEquals(1, centralDirectory.getShort());
+                centralDirectory.getShort();
+                size = size == 0xFFFFFFFFL ? centralDirectory.getLong() : size;
+                compressedSize = compressedSize == 0xFFFFFFFFL ? centralDirectory.getLong() : compressedSize;
+                offset = offset == 0xFFFFFFFFL ? centralDirectory.getLong() : offset;
+            }
+            centralDirectory.position(extraFieldEnd + commentLength);
+            headers.put(new String(name, StandardCharsets.UTF_8), new CentralDirectoryHeader(flag, compressedSize, size, offset));
+        }
+        return headers;
+    }
+
+    private static Map<String, byte[]> readEntries(final byte[] archive) throws IOException {
+        final Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                entries.put(entry.getName(), zipInputStream.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private record CentralDirectoryHeader(int flag, long compressedSize, long size, long offset) {
+    }
+
+    /**
+     * Keeps the first and last bytes written, enough to check the records of an archive too large to be held
+     */
+    private static final class SparseOutputStream extends OutputStream {
+        private final byte[] head;
+        private final byte[] tail;
+        private long size;
+
+        private SparseOutputStream(final int headSize, final int tailSize) {
+            this.head = new byte[headSize];
+            this.tail = new byte[tailSize];
+        }
+
+        @Override
+        public void write(final int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            if (size < head.length) {
+                System.arraycopy(bytes, offset, head, (int) size, (int) Math.min(length, head.length - size));
+            }
+            // the tail is a ring buffer of the last bytes written
+            int remaining = Math.min(length, tail.length);
+            int sourceOffset = offset + length - remaining;
+            long position = size + length - remaining;
+            while (remaining > 0) {
+                final int tailOffset = (int) (position % tail.length);
+                final int copied = Math.min(remaining, tail.length - tailOffset);
+                System.arraycopy(bytes, sourceOffset, tail, tailOffset, copied);
+                sourceOffset += copied;
+                position += copied;
+                remaining -= copied;
+            }
+            size += length;
+        }
+
+        private long size() {
+            return size;
+        }
+
+        private ByteBuffer read(final long position, final int length) {
+            final byte[] bytes = new byte[length];
+            if (position + length <= head.length) {
+                System.arraycopy(head, (int) position, bytes, 0, length);
+            } else {
+                assertTrue(position >= size - tail.length && position + length <= size, "bytes were not kept");
+                for (int i = 0; i < length; i++) {
+                    bytes[i] = tail[(int) ((position + i) % tail.length)];
+                }
+            }
+            return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
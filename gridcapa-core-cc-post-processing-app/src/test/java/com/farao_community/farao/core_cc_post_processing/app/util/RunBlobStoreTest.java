@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class RunBlobStoreTest {
+
+    private final ByteBufferPool pool = new ByteBufferPool(1000, 3, true);
+    private final List<long[]> storedSizes = new ArrayList<>();
+
+    @Test
+    void blobIsReadOnceAndReleasedWhenItsStreamIsClosed() throws IOException {
+        takeBlob(false);
+        takeBlob(true);
+    }
+
+    @Test
+    void compressedBlobTakesLessMemory() throws IOException {
+        try (RunBlobStore store = new RunBlobStore(pool, true, (rawBytes, storedBytes) -> { })) {
+            store.put("raoResult.json", new ByteArrayInputStream(new byte[10_000]));
+
+            assertTrue(store.getStoredBytes() < 1000);
+            assertEquals(1000, pool.getUsedBytes());
+        }
+    }
+
+    @Test
+    void closingStoreGivesBuffersBackToPool() throws IOException {
+        final RunBlobStore store = new RunBlobStore(pool, false, (rawBytes, storedBytes) -> { });
+        store.put("cgm.uct", new ByteArrayInputStream(new byte[2500]));
+        store.put("raoResult.json", new ByteArrayInputStream(new byte[1500]));
+        assertEquals(5000, pool.getUsedBytes());
+
+        store.close();
+
+        assertEquals(0, pool.getUsedBytes());
+        assertEquals(3000, pool.getPooledBytes());
+        assertThrows(IOException.class, () -> store.put("cgm.uct", new ByteArrayInputStream(new byte[10])));
+        try (RunBlobStore nextRunStore = new RunBlobStore(pool, false, (rawBytes, storedBytes) -> { })) {
+            nextRunStore.put("cgm.uct", new ByteArrayInputStream(new byte[2500]));
+            assertEquals(3, pool.getHits());
+        }
+    }
+
+    @Test
+    void blobStreamIsNotReadOnceStoreIsClosed() throws IOException {
+        final RunBlobStore store = new RunBlobStore(pool, false, (rawBytes, storedBytes) -> { });
+        store.put("cgm.uct", new ByteArrayInputStream(new byte[2500]));
+        try (InputStream inputStream = store.take("cgm.uct")) {
+            assertEquals(0, inputStream.read());
+
+            store.close();
+            // the buffers of the blob are reused by the next run, they must not be read as the blob content
+            try (RunBlobStore nextRunStore = new RunBlobStore(pool, false, (rawBytes, storedBytes) -> { })) {
+                final byte[] raoResult = new byte[2500];
+                Arrays.fill(raoResult, (byte) 1);
+                nextRunStore.put("raoResult.json", new ByteArrayInputStream(raoResult));
+                assertThrows(IOException.class, inputStream::read);
+                assertThrows(IOException.class, inputStream::readAllBytes);
+            }
+        }
+    }
+
+    private void takeBlob(final boolean compressed) throws IOException {
+        storedSizes.clear();
+        final byte[] cgm = new byte[2500];
+        new Random(42).nextBytes(cgm);
+        try (RunBlobStore store = new RunBlobStore(pool, compressed, (rawBytes, storedBytes) -> storedSizes.add(new long[] {rawBytes, storedBytes}))) {
+            store.put("cgm.uct", new ByteArrayInputStream(cgm));
+            assertTrue(store.contains("cgm.uct"));
+            assertEquals(cgm.length, storedSizes.getFirst()[0]);
+            assertEquals(storedSizes.getFirst()[1], store.getStoredBytes());
+
+            try (InputStream inputStream = store.take("cgm.uct")) {
+                assertEquals(cgm[0] & 0xFF, inputStream.read());
+                assertArrayEquals(Arrays.copyOfRange(cgm, 1, cgm.length), inputStream.readAllBytes());
+                assertFalse(store.contains("cgm.uct"));
+            }
+            assertEquals(0, pool.getUsedBytes());
+            assertThrows(IllegalArgumentException.class, () -> store.take("cgm.uct"));
+        }
+    }
+}
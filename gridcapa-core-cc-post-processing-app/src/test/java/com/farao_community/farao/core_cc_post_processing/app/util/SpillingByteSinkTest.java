@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.core_cc_post_processing.app.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Alexandre Montigny {@literal <alexandre.montigny at rte-france.com>}
+ */
+class SpillingByteSinkTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void contentBelowThresholdStaysInMemory() throws IOException {
+        try (SpillingByteSink sink = new SpillingByteSink(16, storage(), "buffer")) {
+            sink.write(content(16));
+
+            assertFalse(sink.isSpilled());
+            assertEquals(16, sink.size());
+            assertArrayEquals(content(16), read(sink));
+            assertFalse(Files.exists(directory.resolve("buffer")));
+        }
+    }
+
+    @Test
+    void contentAboveThresholdIsSpilledAndCanBeReadSeveralTimes() throws IOException {
+        final SpillingByteSink sink = new SpillingByteSink(16, storage(), "buffer");
+        sink.write(content(10));
+        sink.write(content(1000), 10, 990);
+
+        assertTrue(sink.isSpilled());
+        assertEquals(1000, sink.size());
+        assertArrayEquals(content(1000), read(sink));
+        assertArrayEquals(content(1000), read(sink));
+        sink.close();
+        assertFalse(Files.exists(directory.resolve("buffer")));
+    }
+
+    @Test
+    void nothingCanBeWrittenOnceContentIsRead() throws IOException {
+        try (SpillingByteSink sink = new SpillingByteSink(16, storage(), "buffer")) {
+            sink.write(content(4));
+            read(sink);
+
+            assertThrows(IOException.class, () -> sink.write(1));
+        }
+    }
+
+    @Test
+    void storageFailureIsRaisedWhenSpilling() throws IOException {
+        try (SpillingByteSink sink = new SpillingByteSink(16, storage(), "missing/buffer")) {
+            sink.write(content(16));
+
+            assertThrows(IOException.class, () -> sink.write(1));
+        }
+    }
+
+    private static byte[] content(final int size) {
+        final byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static byte[] read(final SpillingByteSink sink) throws IOException {
+        try (InputStream inputStream = sink.openInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private SpillStorage storage() {
+        return new SpillStorage() {
+            @Override
+            public OutputStream newOutputStream(final String fileName) throws IOException {
+                return Files.newOutputStream(directory.resolve(fileName));
+            }
+
+            @Override
+            public InputStream newInputStream(final String fileName) throws IOException {
+                return Files.newInputStream(directory.resolve(fileName));
+            }
+
+            @Override
+            public void delete(final String fileName) throws IOException {
+                Files.deleteIfExists(directory.resolve(fileName));
+            }
+        };
+    }
+}